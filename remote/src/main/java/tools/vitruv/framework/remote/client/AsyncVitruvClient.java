@@ -0,0 +1,36 @@
+package tools.vitruv.framework.remote.client;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import tools.vitruv.framework.views.ViewSelector;
+import tools.vitruv.framework.views.ViewType;
+
+/**
+ * The non-blocking companion of {@link VitruvClient}. The requests are sent without occupying the
+ * calling thread, so that many of them can be in flight concurrently over the same connection
+ * pool. The returned futures fail with the exceptions the blocking methods would throw, wrapped in
+ * a {@link java.util.concurrent.CompletionException}.
+ *
+ * <p>The views and selectors obtained this way offer non-blocking methods as well, see {@link
+ * tools.vitruv.framework.remote.client.impl.RemoteViewSelector#createViewAsync()} and {@link
+ * tools.vitruv.framework.remote.client.impl.RemoteView#updateAsync()}.
+ */
+public interface AsyncVitruvClient {
+  /**
+   * Queries the {@link ViewType}s available at the Vitruvius server.
+   *
+   * @return A future completed with the available view types.
+   * @see tools.vitruv.framework.views.ViewTypeProvider#getViewTypes()
+   */
+  CompletableFuture<Collection<ViewType<?>>> getViewTypesAsync();
+
+  /**
+   * Queries a view selector for the given {@link ViewType} from the Vitruvius server.
+   *
+   * @param <S> The type of the selector.
+   * @param viewType The view type to create a selector for.
+   * @return A future completed with the selector.
+   * @see tools.vitruv.framework.views.ViewProvider#createSelector(ViewType)
+   */
+  <S extends ViewSelector> CompletableFuture<S> createSelectorAsync(ViewType<S> viewType);
+}
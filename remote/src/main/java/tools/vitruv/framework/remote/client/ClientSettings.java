@@ -0,0 +1,75 @@
+package tools.vitruv.framework.remote.client;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tools.vitruv.framework.remote.common.CompressionSettings;
+import tools.vitruv.framework.remote.common.json.JsonMapperSettings;
+
+/**
+ * Configures a {@link VitruvClient}. Starting from {@link #defaults()}, the settings are adjusted
+ * with the {@code with} methods, e.g.:
+ *
+ * <pre>{@code
+ * ClientSettings.defaults()
+ *     .withCompression(CompressionSettings.disabled())
+ *     .withHttp(HttpClientSettings.defaults().withRequestTimeout(Duration.ofSeconds(30)));
+ * }</pre>
+ *
+ * @param json The settings of the JSON mapper, e.g., to enable pretty printing.
+ * @param compression Determines whether responses are requested compressed and which request
+ *     bodies are compressed.
+ * @param http The settings of the HTTP client, e.g., its HTTP version, timeouts, and executor.
+ */
+public record ClientSettings(
+    JsonMapperSettings json, CompressionSettings compression, HttpClientSettings http) {
+
+  /** Validates the settings. */
+  public ClientSettings {
+    checkArgument(json != null, "JSON settings must not be null");
+    checkArgument(compression != null, "compression settings must not be null");
+    checkArgument(http != null, "HTTP client settings must not be null");
+  }
+
+  /**
+   * Returns the default settings of the JSON mapper, the compression and the HTTP client.
+   *
+   * @return The default {@link ClientSettings}.
+   */
+  public static ClientSettings defaults() {
+    return new ClientSettings(
+        JsonMapperSettings.defaults(),
+        CompressionSettings.defaults(),
+        HttpClientSettings.defaults());
+  }
+
+  /**
+   * Returns a copy of these settings with the given JSON mapper settings.
+   *
+   * @param json The settings of the JSON mapper.
+   * @return The adjusted {@link ClientSettings}.
+   */
+  public ClientSettings withJson(JsonMapperSettings json) {
+    return new ClientSettings(json, compression, http);
+  }
+
+  /**
+   * Returns a copy of these settings with the given compression settings.
+   *
+   * @param compression Determines whether responses are requested compressed and which request
+   *     bodies are compressed.
+   * @return The adjusted {@link ClientSettings}.
+   */
+  public ClientSettings withCompression(CompressionSettings compression) {
+    return new ClientSettings(json, compression, http);
+  }
+
+  /**
+   * Returns a copy of these settings with the given HTTP client settings.
+   *
+   * @param http The settings of the HTTP client.
+   * @return The adjusted {@link ClientSettings}.
+   */
+  public ClientSettings withHttp(HttpClientSettings http) {
+    return new ClientSettings(json, compression, http);
+  }
+}
@@ -0,0 +1,140 @@
+package tools.vitruv.framework.remote.client;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Configures the HTTP client a Vitruvius client uses to connect to the server. Starting from
+ * {@link #defaults()}, the settings are adjusted with the {@code with} methods, e.g.:
+ *
+ * <pre>{@code
+ * HttpClientSettings.defaults()
+ *     .withConnectTimeout(Duration.ofSeconds(5))
+ *     .withRequestTimeout(Duration.ofSeconds(30))
+ *     .withEndpointTimeout(EndpointPath.VIEW_TYPES, Duration.ofSeconds(2))
+ *     .withExecutor(Executors.newVirtualThreadPerTaskExecutor());
+ * }</pre>
+ *
+ * <p>Requests exceeding their timeout fail with a {@link
+ * tools.vitruv.framework.remote.client.exception.BadServerResponseException}. The stream of events
+ * about a view is never subject to a request timeout.
+ *
+ * @param version The preferred HTTP version. The client falls back to HTTP/1.1 if the server does
+ *     not support HTTP/2.
+ * @param connectTimeout The maximum time to establish a connection, or {@code null} to wait
+ *     indefinitely.
+ * @param requestTimeout The maximum time to wait for the response to a request, or {@code null} to
+ *     wait indefinitely.
+ * @param executor The executor running the asynchronous tasks of the client, or {@code null} to use
+ *     the default executor of the HTTP client.
+ * @param endpointTimeouts The request timeouts of single endpoints, mapping the endpoint path as
+ *     defined in {@link tools.vitruv.framework.remote.common.rest.constants.EndpointPath} to the
+ *     timeout, which takes precedence over the request timeout.
+ */
+public record HttpClientSettings(
+    HttpClient.Version version,
+    Duration connectTimeout,
+    Duration requestTimeout,
+    Executor executor,
+    Map<String, Duration> endpointTimeouts) {
+
+  /** Validates the settings. */
+  public HttpClientSettings {
+    checkArgument(version != null, "version must not be null");
+    checkArgument(isPositive(connectTimeout), "connect timeout must be positive");
+    checkArgument(isPositive(requestTimeout), "request timeout must be positive");
+    checkArgument(endpointTimeouts != null, "endpoint timeouts must not be null");
+    endpointTimeouts = Map.copyOf(endpointTimeouts);
+    checkArgument(
+        endpointTimeouts.values().stream().allMatch(HttpClientSettings::isPositive),
+        "endpoint timeouts must be positive");
+  }
+
+  /**
+   * Returns the default settings, which prefer HTTP/2 and neither limit the time to connect nor to
+   * wait for responses.
+   *
+   * @return The default {@link HttpClientSettings}.
+   */
+  public static HttpClientSettings defaults() {
+    return new HttpClientSettings(HttpClient.Version.HTTP_2, null, null, null, Map.of());
+  }
+
+  /**
+   * Returns a copy of these settings with the given preferred HTTP version.
+   *
+   * @param version The preferred HTTP version.
+   * @return The adjusted {@link HttpClientSettings}.
+   */
+  public HttpClientSettings withVersion(HttpClient.Version version) {
+    return new HttpClientSettings(
+        version, connectTimeout, requestTimeout, executor, endpointTimeouts);
+  }
+
+  /**
+   * Returns a copy of these settings with the given connect timeout.
+   *
+   * @param connectTimeout The maximum time to establish a connection.
+   * @return The adjusted {@link HttpClientSettings}.
+   */
+  public HttpClientSettings withConnectTimeout(Duration connectTimeout) {
+    return new HttpClientSettings(
+        version, connectTimeout, requestTimeout, executor, endpointTimeouts);
+  }
+
+  /**
+   * Returns a copy of these settings with the given request timeout, which applies to all endpoints
+   * without a timeout of their own.
+   *
+   * @param requestTimeout The maximum time to wait for the response to a request.
+   * @return The adjusted {@link HttpClientSettings}.
+   */
+  public HttpClientSettings withRequestTimeout(Duration requestTimeout) {
+    return new HttpClientSettings(
+        version, connectTimeout, requestTimeout, executor, endpointTimeouts);
+  }
+
+  /**
+   * Returns a copy of these settings with the given executor, e.g., one running each task on a
+   * virtual thread.
+   *
+   * @param executor The executor running the asynchronous tasks of the client.
+   * @return The adjusted {@link HttpClientSettings}.
+   */
+  public HttpClientSettings withExecutor(Executor executor) {
+    return new HttpClientSettings(
+        version, connectTimeout, requestTimeout, executor, endpointTimeouts);
+  }
+
+  /**
+   * Returns a copy of these settings with the given request timeout for a single endpoint.
+   *
+   * @param path The path of the endpoint.
+   * @param timeout The maximum time to wait for the response of the endpoint.
+   * @return The adjusted {@link HttpClientSettings}.
+   */
+  public HttpClientSettings withEndpointTimeout(String path, Duration timeout) {
+    var timeouts = new HashMap<>(endpointTimeouts);
+    timeouts.put(path, timeout);
+    return new HttpClientSettings(version, connectTimeout, requestTimeout, executor, timeouts);
+  }
+
+  /**
+   * Returns the request timeout of the endpoint with the given path.
+   *
+   * @param path The path of the endpoint.
+   * @return The timeout, or {@code null} if requests to the endpoint do not time out.
+   */
+  public Duration timeoutFor(String path) {
+    return endpointTimeouts.getOrDefault(path, requestTimeout);
+  }
+
+  private static boolean isPositive(Duration duration) {
+    return duration == null || (!duration.isNegative() && !duration.isZero());
+  }
+}
@@ -7,6 +7,16 @@ import tools.vitruv.framework.views.ViewTypeProvider;
  * A Vitruvius client can remotely access the available {@link
  * tools.vitruv.framework.views.ViewType}s of a Vitruvius instance and query {@link
  * tools.vitruv.framework.views.ViewSelector}s in order to create remotely editable {@link
- * tools.vitruv.framework.views.View}s.
+ * tools.vitruv.framework.views.View}s. Every request can also be sent without blocking, see {@link
+ * AsyncVitruvClient}. A client must be closed once it is no longer used.
  */
-public interface VitruvClient extends ViewTypeProvider, ViewProvider {}
+public interface VitruvClient
+    extends ViewTypeProvider, ViewProvider, AsyncVitruvClient, AutoCloseable {
+
+  /**
+   * Closes this client after the resources received so far are saved. The client and the views
+   * created by it must not be used afterwards.
+   */
+  @Override
+  void close();
+}
@@ -51,6 +51,22 @@ public class VitruvClientFactory {
    * @return A {@link VitruvClient}.
    */
   public static VitruvClient create(String protocol, String hostOrIp, int port, Path temp) {
-    return new VitruvRemoteConnection(protocol, hostOrIp, port, temp);
+    return create(protocol, hostOrIp, port, temp, ClientSettings.defaults());
+  }
+
+  /**
+   * Creates a new {@link VitruvClient} using the given protocol, host name or IP address, port,
+   * and settings.
+   *
+   * @param protocol The protocol.
+   * @param hostOrIp The host name of IP address of the Vitruvius server.
+   * @param port Port of the Vitruvius server.
+   * @param temp A non-existing or empty directory for temporary files.
+   * @param settings The settings of the JSON mapper, the compression and the HTTP client.
+   * @return A {@link VitruvClient}.
+   */
+  public static VitruvClient create(
+      String protocol, String hostOrIp, int port, Path temp, ClientSettings settings) {
+    return new VitruvRemoteConnection(protocol, hostOrIp, port, temp, settings);
   }
 }
@@ -5,9 +5,13 @@ import static com.google.common.base.Preconditions.checkState;
 
 import edu.kit.ipd.sdq.commons.util.org.eclipse.emf.ecore.resource.ResourceCopier;
 import edu.kit.ipd.sdq.commons.util.org.eclipse.emf.ecore.resource.ResourceSetUtil;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
@@ -25,13 +29,22 @@ import tools.vitruv.framework.views.changederivation.StateBasedChangeResolutionS
 /**
  * A {@link RemoteView} that derives changes based on the changed state of its resources and allows
  * to propagate them back to the Vitruvius server using the {@link #commitChanges} method.
+ *
+ * <p>The view keeps a copy of the original state of each resource. Only the resources the base
+ * view tracked as touched are compared with their copies, and only their copies are refreshed after
+ * a commit or an update, so that the cost of a commit depends on the modified resources rather
+ * than on the size of the view.
  */
 public class ChangeDerivingRemoteView implements CommittableView {
   private final RemoteView base;
   private final StateBasedChangeResolutionStrategy resolutionStrategy;
 
+  private ResourceSet originalResources;
   private Map<Resource, Resource> originalResourceMapping;
 
+  /** The hashes of the resources as last uploaded by {@link #commitResources()}. */
+  private final Map<String, String> uploadedHashes = new HashMap<>();
+
   /**
    * Creates a new {@link ChangeDerivingRemoteView}.
    *
@@ -50,9 +63,40 @@ public class ChangeDerivingRemoteView implements CommittableView {
   }
 
   private void initializeResourceMapping(ResourceSet source) {
+    originalResources = ResourceSetUtil.withGlobalFactories(new ResourceSetImpl());
     originalResourceMapping =
-        ResourceCopier.copyViewResources(
-            source.getResources(), ResourceSetUtil.withGlobalFactories(new ResourceSetImpl()));
+        new LinkedHashMap<>(
+            ResourceCopier.copyViewResources(source.getResources(), originalResources));
+    base.untouch(base.getTouchedResources());
+  }
+
+  /**
+   * Replaces the copies of the touched resources by copies of their current state. If the base
+   * view replaced its resource set, all resources are copied again.
+   *
+   * @param previousSource The resource set of the base view before the commit or update.
+   */
+  private void refreshResourceMapping(ResourceSet previousSource) {
+    if (base.viewSource != previousSource) {
+      initializeResourceMapping(base.viewSource);
+      return;
+    }
+    var touched = base.getTouchedResources();
+    var present = new ArrayList<Resource>();
+    for (var resource : touched) {
+      var original = originalResourceMapping.remove(resource);
+      if (original != null) {
+        original.unload();
+        originalResources.getResources().remove(original);
+      }
+      if (resource.getResourceSet() == base.viewSource) {
+        present.add(resource);
+      }
+    }
+    if (!present.isEmpty()) {
+      originalResourceMapping.putAll(ResourceCopier.copyViewResources(present, originalResources));
+    }
+    base.untouch(touched);
   }
 
   @Override
@@ -77,8 +121,9 @@ public class ChangeDerivingRemoteView implements CommittableView {
 
   @Override
   public void update() {
+    var previousSource = base.viewSource;
     base.update();
-    initializeResourceMapping(base.viewSource);
+    refreshResourceMapping(previousSource);
   }
 
   @Override
@@ -127,19 +172,114 @@ public class ChangeDerivingRemoteView implements CommittableView {
   @Override
   public void commitChanges() {
     base.checkNotClosed();
-    var allChanges = new LinkedList<VitruviusChange<HierarchicalId>>();
-    base.viewSource
-        .getResources()
-        .forEach(
-            it -> {
-              var changes = findChanges(originalResourceMapping.get(it), it);
-              if (changes.getEChanges().isEmpty()) {
-                allChanges.add(changes);
-              }
+    base.propagateChanges(deriveChanges());
+    base.modified = false;
+    refreshResourceMapping(base.viewSource);
+  }
+
+  /**
+   * Commits the changes made to the view and its containing elements and updates the view
+   * afterwards. Both are done in a single round trip to the server.
+   *
+   * @throws IllegalStateException if called on a closed view
+   * @see #commitChanges()
+   * @see #update()
+   */
+  @Override
+  public void commitChangesAndUpdate() {
+    base.checkNotClosed();
+    var previousSource = base.viewSource;
+    base.propagateChangesAndUpdate(deriveChanges());
+    refreshResourceMapping(previousSource);
+  }
+
+  /**
+   * Commits the changes made to the view and its containing elements without blocking while
+   * waiting for the server. The view must not be modified until the returned future is completed.
+   *
+   * @return A future completed when the changes were propagated.
+   * @throws IllegalStateException if called on a closed view
+   * @see #commitChanges()
+   */
+  public CompletableFuture<Void> commitChangesAsync() {
+    base.checkNotClosed();
+    var previousSource = base.viewSource;
+    return base.propagateChangesAsync(deriveChanges())
+        .thenRun(
+            () -> {
+              base.modified = false;
+              refreshResourceMapping(previousSource);
             });
-    base.remoteConnection.propagateChanges(
-        base.uuid, VitruviusChangeFactory.getInstance().createCompositeChange(allChanges));
+  }
+
+  /**
+   * Commits the changes made to the view and its containing elements in the background. The server
+   * answers as soon as it accepted the changes and propagates them afterwards, so that no
+   * connection is held open during the propagation. The view must not be modified until the
+   * returned future is completed.
+   *
+   * @return A future completed when the changes were propagated.
+   * @throws IllegalStateException if called on a closed view
+   * @see #commitChangesAsync()
+   */
+  public CompletableFuture<Void> commitChangesInBackground() {
+    base.checkNotClosed();
+    var previousSource = base.viewSource;
+    return base.propagateChangesInBackground(deriveChanges())
+        .thenRun(
+            () -> {
+              base.modified = false;
+              refreshResourceMapping(previousSource);
+            });
+  }
+
+  /**
+   * Commits the changes made to the view by sending the state of its resources to the server, which
+   * derives the changes instead of this view. Only the resources whose content changed since they
+   * were last committed this way are uploaded, the server takes the state of the others from its
+   * copy of the view. The first such commit uploads all resources.
+   *
+   * @throws IllegalStateException if called on a closed view
+   * @see #commitChanges()
+   */
+  public void commitResources() {
+    base.checkNotClosed();
+    base.deriveChangesOnServer(uploadedHashes);
     base.modified = false;
+    refreshResourceMapping(base.viewSource);
+  }
+
+  /**
+   * Derives the changes of the touched resources. A touched resource without a copy was created, a
+   * touched resource which is no longer part of the view was deleted. The changes are ordered like
+   * the resources of the view, followed by the deleted resources in the order of their copies, so
+   * that they do not depend on the order in which the resources were touched.
+   */
+  private VitruviusChange<HierarchicalId> deriveChanges() {
+    var touched = base.getTouchedResources();
+    var allChanges = new LinkedList<VitruviusChange<HierarchicalId>>();
+    for (var resource : base.viewSource.getResources()) {
+      if (touched.contains(resource)) {
+        addChanges(allChanges, originalResourceMapping.get(resource), resource);
+      }
+    }
+    originalResourceMapping.forEach(
+        (resource, original) -> {
+          if (touched.contains(resource) && resource.getResourceSet() != base.viewSource) {
+            addChanges(allChanges, original, null);
+          }
+        });
+    return VitruviusChangeFactory.getInstance().createCompositeChange(allChanges);
+  }
+
+  private void addChanges(
+      Collection<VitruviusChange<HierarchicalId>> allChanges,
+      Resource oldState,
+      Resource newState) {
+    var changes = findChanges(oldState, newState);
+    if (!changes.getEChanges().isEmpty()) {
+      allChanges.add(changes);
+    }
   }
 
   private VitruviusChange<HierarchicalId> findChanges(Resource oldState, Resource newState) {
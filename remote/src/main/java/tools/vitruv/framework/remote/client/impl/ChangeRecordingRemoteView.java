@@ -4,6 +4,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import tools.vitruv.change.composite.description.TransactionalChange;
@@ -126,11 +127,73 @@ public class ChangeRecordingRemoteView implements CommittableView {
     var recordedChange = changeRecorder.endRecording();
     var changeResolver = VitruviusChangeResolverFactory.forHierarchicalIds(base.viewSource);
     var unresolvedChanges = changeResolver.assignIds(recordedChange);
-    base.remoteConnection.propagateChanges(base.uuid, unresolvedChanges);
+    base.propagateChanges(unresolvedChanges);
     base.modified = false;
     changeRecorder.beginRecording();
   }
 
+  /**
+   * Commits the changes made to the view and its containing elements and updates the view
+   * afterwards. Both are done in a single round trip to the server.
+   *
+   * @throws IllegalStateException if called on a closed view
+   * @see #commitChanges()
+   * @see #update()
+   */
+  @Override
+  public void commitChangesAndUpdate() {
+    base.checkNotClosed();
+    var recordedChange = changeRecorder.endRecording();
+    var changeResolver = VitruviusChangeResolverFactory.forHierarchicalIds(base.viewSource);
+    var unresolvedChanges = changeResolver.assignIds(recordedChange);
+    changeRecorder.close();
+    base.propagateChangesAndUpdate(unresolvedChanges);
+    setupChangeRecorder();
+  }
+
+  /**
+   * Commits the changes made to the view and its containing elements without blocking while
+   * waiting for the server. The view must not be modified until the returned future is completed.
+   *
+   * @return A future completed when the changes were propagated.
+   * @throws IllegalStateException if called on a closed view
+   * @see #commitChanges()
+   */
+  public CompletableFuture<Void> commitChangesAsync() {
+    base.checkNotClosed();
+    var recordedChange = changeRecorder.endRecording();
+    var changeResolver = VitruviusChangeResolverFactory.forHierarchicalIds(base.viewSource);
+    var unresolvedChanges = changeResolver.assignIds(recordedChange);
+    return base.propagateChangesAsync(unresolvedChanges)
+        .thenRun(
+            () -> {
+              base.modified = false;
+              changeRecorder.beginRecording();
+            });
+  }
+
+  /**
+   * Commits the changes made to the view and its containing elements in the background. The server
+   * answers as soon as it accepted the changes and propagates them afterwards, so that no
+   * connection is held open during the propagation. The changes are sent before this method
+   * returns, so the view can be modified further right away. If the server rejects the changes,
+   * the view still contains them and should be updated.
+   *
+   * @return A future completed when the changes were propagated.
+   * @throws IllegalStateException if called on a closed view
+   * @see #commitChangesAsync()
+   */
+  public CompletableFuture<Void> commitChangesInBackground() {
+    base.checkNotClosed();
+    var recordedChange = changeRecorder.endRecording();
+    var changeResolver = VitruviusChangeResolverFactory.forHierarchicalIds(base.viewSource);
+    var unresolvedChanges = changeResolver.assignIds(recordedChange);
+    var propagation = base.propagateChangesInBackground(unresolvedChanges);
+    base.modified = false;
+    changeRecorder.beginRecording();
+    return propagation;
+  }
+
   /**
    * Commits the changes made to the view and its containing elements, along with the provided user.
    *
@@ -142,7 +205,7 @@ public class ChangeRecordingRemoteView implements CommittableView {
     var changeResolver = VitruviusChangeResolverFactory.forHierarchicalIds(base.viewSource);
     var unresolvedChanges = changeResolver.assignIds(recordedChange);
     ((TransactionalChange<?>) unresolvedChanges).setUserInteractions(userInputs);
-    base.remoteConnection.propagateChanges(base.uuid, unresolvedChanges);
+    base.propagateChanges(unresolvedChanges);
     base.modified = false;
     changeRecorder.beginRecording();
   }
@@ -2,15 +2,27 @@ package tools.vitruv.framework.remote.client.impl;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
+import static java.net.HttpURLConnection.HTTP_CONFLICT;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import org.eclipse.emf.common.notify.Notification;
-import org.eclipse.emf.common.notify.Notifier;
-import org.eclipse.emf.common.notify.impl.AdapterImpl;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import tools.vitruv.change.composite.description.VitruviusChange;
+import tools.vitruv.change.composite.description.VitruviusChangeResolverFactory;
+import tools.vitruv.framework.remote.client.exception.BadServerResponseException;
+import tools.vitruv.framework.remote.common.rest.PropagationJob;
+import tools.vitruv.framework.remote.common.rest.constants.ViewEvent;
+import tools.vitruv.framework.remote.common.rest.constants.ViewStatus;
 import tools.vitruv.framework.views.CommittableView;
 import tools.vitruv.framework.views.View;
 import tools.vitruv.framework.views.ViewSelection;
@@ -23,27 +35,68 @@ import tools.vitruv.framework.views.changederivation.StateBasedChangeResolutionS
  *
  * <p>Actions performed on this remote view or to the original view can be synchronized via the
  * network. This view uses a {@link VitruvRemoteConnection} to do so.
+ *
+ * <p>Whether the view is closed or outdated is tracked locally and learned from the events and
+ * responses of the server, so that accessing the view does not cause network traffic. {@link
+ * #refreshStatus()} queries the current status from the server explicitly.
  */
 public class RemoteView implements View {
+  private static final long JOB_POLL_INTERVAL_MILLIS = 1000;
+
   private final ViewSelector selector;
 
   protected final String uuid;
   protected final VitruvRemoteConnection remoteConnection;
 
-  protected ResourceSet viewSource;
-  protected boolean modified = false;
+  /** The content of the view, which asynchronous updates replace on the threads of the client. */
+  protected volatile ResourceSet viewSource;
+
+  /**
+   * Whether the view was modified since it was last committed or updated. Asynchronous commits and
+   * updates reset it on the threads of the HTTP client.
+   */
+  protected volatile boolean modified = false;
+
+  /**
+   * The resources touched by a notification since they were last {@link #untouch(Collection)
+   * untouched}, including resources added to or removed from the view source. Updates applied
+   * asynchronously touch resources on the threads of the HTTP client, so the set is concurrent.
+   */
+  private final Set<Resource> touchedResources = ConcurrentHashMap.newKeySet();
+
+  /** The single adapter tracking the changes of all notifiers of the view source. */
+  private final ChangeTracker changeTracker = new ChangeTracker();
+
+  /** The version of the view source as sent by the server, or {@code null} if it is unknown. */
+  private volatile String version;
+
+  /** Whether the view is known to be closed, either by this client or by the server. */
+  private volatile boolean closed;
+
+  /**
+   * Whether the view is outdated as last reported by the events of the server, or {@code null} if
+   * no event stream is available.
+   */
+  private final AtomicReference<Boolean> outdated = new AtomicReference<>();
+
+  private final ServerSentEventSubscriber events;
+
+  /** The asynchronous propagations of this view, by their job id, which are not finished yet. */
+  private final Map<String, CompletableFuture<Void>> pendingJobs = new ConcurrentHashMap<>();
 
   /**
    * Creates a new {@link RemoteView}.
    *
    * @param uuid the unique identifier of the view
    * @param viewSource the resource set representing the view's content
+   * @param version the version of the view's content, or {@code null} if it is unknown
    * @param selector the view selector used to create this view
    * @param remoteConnection the remote connection to the Vitruvius server
    */
   RemoteView(
       String uuid,
       ResourceSet viewSource,
+      String version,
       ViewSelector selector,
       VitruvRemoteConnection remoteConnection) {
     checkArgument(uuid != null, "uuid must not be null");
@@ -53,9 +106,11 @@ public class RemoteView implements View {
     this.uuid = uuid;
     this.remoteConnection = remoteConnection;
     this.viewSource = viewSource;
+    this.version = version;
     this.selector = selector;
 
     addChangeListeners(viewSource);
+    this.events = remoteConnection.subscribeToViewEvents(uuid, this::onEvent, this::onEventsEnd);
   }
 
   /**
@@ -76,10 +131,14 @@ public class RemoteView implements View {
   /**
    * Checks whether the view was closed. Closed views cannot be used further. All methods may throw
    * an {@link IllegalStateException}.
+   *
+   * <p>This is a local check. A view closed by the server, e.g., because it was evicted from its
+   * cache, is only recognized after the server reported it in an event or a response, or after
+   * {@link #refreshStatus()}.
    */
   @Override
   public boolean isClosed() {
-    return remoteConnection.isViewClosed(uuid);
+    return closed;
   }
 
   /** Returns whether the view was modified. */
@@ -90,15 +149,36 @@ public class RemoteView implements View {
 
   /**
    * Returns whether the view is outdated, i.e., whether the underlying view sources have changed.
+   * While the server pushes events about the view, this is a local check. Otherwise, the server is
+   * queried.
    */
   @Override
   public boolean isOutdated() {
-    return remoteConnection.isViewOutdated(uuid);
+    var known = outdated.get();
+    if (known != null) {
+      return known;
+    }
+    var status = remoteConnection.getViewStatus(uuid);
+    learnStatus(status);
+    return status.equals(ViewStatus.OUTDATED);
+  }
+
+  /**
+   * Queries the current status of the view from the server and updates the locally tracked state
+   * accordingly.
+   *
+   * @see #isClosed()
+   * @see #isOutdated()
+   */
+  public void refreshStatus() {
+    learnStatus(remoteConnection.getViewStatus(uuid));
   }
 
   /**
    * Updates the view via the {@link VitruvRemoteConnection}, thus invalidating its previous state
-   * and now providing an updated view. This can only be done for an unmodified view.
+   * and now providing an updated view. This can only be done for an unmodified view. If the server
+   * only sends the changes since the current state, they are applied to the view in place, so that
+   * unchanged elements are kept.
    *
    * @throws UnsupportedOperationException If called on a modified view.
    * @throws IllegalStateException If called on a closed view.
@@ -109,20 +189,57 @@ public class RemoteView implements View {
   public void update() {
     checkNotClosed();
     checkState(!isModified(), "cannot update from model when view is modified");
-    removeChangeListeners(viewSource);
-    viewSource = remoteConnection.updateView(uuid);
+    // Changes propagated after this point are reported by a later event.
+    outdated.compareAndSet(Boolean.TRUE, Boolean.FALSE);
+    apply(remoteConnection.updateView(uuid, version));
+  }
+
+  /**
+   * Updates the view like {@link #update()}, but without blocking while waiting for the server.
+   * The update is applied on a thread of the HTTP client, so the view must not be accessed until
+   * the returned future is completed.
+   *
+   * @return A future completed when the update was applied.
+   * @throws UnsupportedOperationException If called on a modified view.
+   * @throws IllegalStateException If called on a closed view.
+   * @see #update()
+   */
+  public CompletableFuture<Void> updateAsync() {
+    checkNotClosed();
+    checkState(!isModified(), "cannot update from model when view is modified");
+    outdated.compareAndSet(Boolean.TRUE, Boolean.FALSE);
+    return remoteConnection.updateViewAsync(uuid, version).thenAccept(this::apply);
+  }
+
+  private void apply(ViewUpdate update) {
+    if (update.isDelta()) {
+      // Applied while the tracker is attached, so that it follows the changed containment and
+      // tracks the touched resources.
+      VitruviusChangeResolverFactory.forHierarchicalIds(viewSource)
+          .resolveAndApply(update.changes());
+    } else {
+      removeChangeListeners(viewSource);
+      viewSource = update.resources();
+      touchedResources.clear();
+      addChangeListeners(viewSource);
+    }
+    version = update.version();
     modified = false;
-    addChangeListeners(viewSource);
   }
 
   @Override
   public void close() {
-    if (!isClosed()) {
+    if (!closed) {
+      // Closing is idempotent on the server, even if it closed the view without us noticing yet.
       remoteConnection.closeView(uuid);
+      closed = true;
+      removeChangeListeners(viewSource);
       viewSource.getResources().forEach(Resource::unload);
       viewSource.getResources().clear();
-      removeChangeListeners(viewSource);
+      touchedResources.clear();
     }
+    events.cancel();
+    outdated.set(null);
   }
 
   /** Persists the given object at the given {@link URI} and adds it as view root. */
@@ -175,7 +292,7 @@ public class RemoteView implements View {
    * @see #isModified()
    */
   @Override
-  public CommittableView withChangeRecordingTrait() {
+  public ChangeRecordingRemoteView withChangeRecordingTrait() {
     checkNotClosed();
     return new ChangeRecordingRemoteView(this);
   }
@@ -192,38 +309,223 @@ public class RemoteView implements View {
    * @see #isModified()
    */
   @Override
-  public CommittableView withChangeDerivingTrait(
+  public ChangeDerivingRemoteView withChangeDerivingTrait(
       StateBasedChangeResolutionStrategy changeResolutionStrategy) {
     checkNotClosed();
     return new ChangeDerivingRemoteView(this, changeResolutionStrategy);
   }
 
-  /** Checks that the view is not closed. */
-  void checkNotClosed() {
-    checkState(!isClosed(), "view is already closed");
+  private void onEvent(String event, String data) {
+    switch (event) {
+      case ViewEvent.OUTDATED -> outdated.set(Boolean.parseBoolean(data));
+      case ViewEvent.CLOSED -> {
+        closed = true;
+        outdated.set(null);
+      }
+      case ViewEvent.PROPAGATED -> pendingJobs.keySet().forEach(this::checkJob);
+      default -> {
+        // Unknown events are ignored for compatibility with newer servers.
+      }
+    }
   }
 
-  private void addChangeListeners(Notifier notifier) {
-    notifier
-        .eAdapters()
-        .add(
-            new AdapterImpl() {
-              @Override
-              public void notifyChanged(Notification message) {
-                modified = true;
+  private void onEventsEnd() {
+    outdated.set(null);
+    // Without events, the pending jobs are polled.
+    pendingJobs.keySet().forEach(this::checkJob);
+  }
+
+  /**
+   * Takes over the status of the view reported by the server. An open status does not reset a
+   * known outdated state, as an event about newer changes may already have been received.
+   *
+   * @param status The status as defined in {@link ViewStatus}, or {@code null} if it is unknown.
+   */
+  private void learnStatus(String status) {
+    if (ViewStatus.CLOSED.equals(status)) {
+      closed = true;
+      outdated.set(null);
+    } else if (ViewStatus.OUTDATED.equals(status)) {
+      outdated.compareAndSet(Boolean.FALSE, Boolean.TRUE);
+    }
+  }
+
+  /**
+   * Propagates the given changes to the server and takes over the status of the view reported in
+   * the response.
+   *
+   * @param change The changes performed on this view.
+   */
+  void propagateChanges(VitruviusChange<?> change) {
+    learnStatus(remoteConnection.propagateChanges(uuid, change));
+  }
+
+  /**
+   * Lets the server derive the changes from the current state of the resources of this view and
+   * propagate them, and takes over the status of the view reported in the response. Only the
+   * resources modified since they were last uploaded are sent.
+   *
+   * @param uploadedHashes The hashes of the resources as last uploaded by their URI. They are
+   *     replaced by the current hashes once the server accepted the changes.
+   */
+  void deriveChangesOnServer(Map<String, String> uploadedHashes) {
+    learnStatus(remoteConnection.deriveChanges(uuid, viewSource.getResources(), uploadedHashes));
+  }
+
+  /**
+   * Propagates the given changes to the server without blocking and takes over the status of the
+   * view reported in the response.
+   *
+   * @param change The changes performed on this view.
+   * @return A future completed when the changes were propagated.
+   */
+  CompletableFuture<Void> propagateChangesAsync(VitruviusChange<?> change) {
+    return remoteConnection.propagateChangesAsync(uuid, change).thenAccept(this::learnStatus);
+  }
+
+  /**
+   * Submits the given changes to be propagated by the server in the background. The server answers
+   * as soon as it accepted the changes. The completion of the propagation is learned from the
+   * events of the view, or polled every {@value #JOB_POLL_INTERVAL_MILLIS} milliseconds if no event
+   * stream is available.
+   *
+   * @param change The changes performed on this view.
+   * @return A future completed when the changes were propagated, or completed exceptionally with a
+   *     {@link BadServerResponseException} if the server rejected them.
+   */
+  CompletableFuture<Void> propagateChangesInBackground(VitruviusChange<?> change) {
+    return remoteConnection.submitChangesAsync(uuid, change).thenCompose(this::awaitJob);
+  }
+
+  private CompletableFuture<Void> awaitJob(PropagationJob job) {
+    var result = new CompletableFuture<Void>();
+    if (job.isFinished()) {
+      complete(result, job);
+      return result;
+    }
+    pendingJobs.put(job.id(), result);
+    // The job may have finished before it was registered, so its event may have been missed.
+    checkJob(job.id());
+    return result;
+  }
+
+  private void checkJob(String jobId) {
+    remoteConnection
+        .getJobAsync(jobId)
+        .whenComplete(
+            (job, failure) -> {
+              if (failure == null && !job.isFinished()) {
+                if (outdated.get() == null) {
+                  CompletableFuture.delayedExecutor(
+                          JOB_POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)
+                      .execute(() -> checkJob(jobId));
+                }
+                return;
+              }
+              // Concurrent checks may both see the finished job, but only one completes it.
+              var result = pendingJobs.remove(jobId);
+              if (result == null) {
+                return;
+              }
+              if (failure != null) {
+                result.completeExceptionally(failure);
+              } else {
+                complete(result, job);
               }
             });
+  }
 
-    if (notifier instanceof ResourceSet resourceSet) {
-      resourceSet.getResources().forEach(this::addChangeListeners);
-    } else if (notifier instanceof Resource resource) {
-      resource.getContents().forEach(this::addChangeListeners);
-    } else if (notifier instanceof EObject eObject) {
-      eObject.eContents().forEach(this::addChangeListeners);
+  private void complete(CompletableFuture<Void> result, PropagationJob job) {
+    if (job.isFailed()) {
+      result.completeExceptionally(new BadServerResponseException(job.message(), HTTP_CONFLICT));
+    } else {
+      learnStatus(job.viewStatus());
+      result.complete(null);
     }
   }
 
+  /**
+   * Propagates the given changes to the server and updates the view afterwards in a single round
+   * trip. The view is unmodified afterwards.
+   *
+   * @param change The changes performed on this view.
+   */
+  void propagateChangesAndUpdate(VitruviusChange<?> change) {
+    // Changes propagated after this point are reported by a later event.
+    outdated.compareAndSet(Boolean.TRUE, Boolean.FALSE);
+    apply(remoteConnection.propagateChangesAndUpdate(uuid, change, version));
+  }
+
+  /** Checks that the view is not closed without querying the server. */
+  void checkNotClosed() {
+    checkState(!closed, "view is already closed");
+  }
+
+  private void addChangeListeners(ResourceSet resourceSet) {
+    resourceSet.eAdapters().add(changeTracker);
+  }
+
   private void removeChangeListeners(ResourceSet resourceSet) {
-    resourceSet.getAllContents().forEachRemaining(it -> it.eAdapters().clear());
+    // Detaches the tracker from all contents, while adapters of others remain attached.
+    resourceSet.eAdapters().remove(changeTracker);
+  }
+
+  /**
+   * Returns the resources touched since they were last untouched. Notifications of changes applied
+   * by an update of the view touch resources as well.
+   *
+   * @return A copy of the touched resources.
+   */
+  Set<Resource> getTouchedResources() {
+    return Set.copyOf(touchedResources);
+  }
+
+  /**
+   * Forgets that the given resources were touched, e.g., because their changes were committed.
+   *
+   * @param resources The resources to forget.
+   */
+  void untouch(Collection<Resource> resources) {
+    touchedResources.removeAll(resources);
+  }
+
+  /**
+   * Marks the view as modified on any change of the view source and tracks the resource containing
+   * the notifier as touched. A single instance is attached to the view source and follows its
+   * containment, so that it is attached to added objects and detached from removed ones.
+   */
+  private class ChangeTracker extends EContentAdapter {
+    @Override
+    public void notifyChanged(Notification message) {
+      super.notifyChanged(message);
+      if (message.isTouch()) {
+        // Neither a change nor a modification, e.g., detaching the tracker.
+        return;
+      }
+      modified = true;
+      switch (message.getNotifier()) {
+        case Resource resource -> touchedResources.add(resource);
+        case EObject eObject when eObject.eResource() != null ->
+            touchedResources.add(eObject.eResource());
+        case ResourceSet resourceSet -> {
+          // Resources added to or removed from the view.
+          if (message.getNewValue() instanceof Resource resource) {
+            touchedResources.add(resource);
+          }
+          if (message.getOldValue() instanceof Resource resource) {
+            touchedResources.add(resource);
+          }
+        }
+        default -> {
+          // Objects detached from the view do not touch any resource.
+        }
+      }
+    }
+
+    /** Attaching the tracker must not load the targets of proxies. */
+    @Override
+    protected boolean resolve() {
+      return false;
+    }
   }
 }
@@ -1,12 +1,13 @@
 package tools.vitruv.framework.remote.client.impl;
 
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.emfcloud.jackson.resource.JsonResource;
+import tools.vitruv.framework.remote.common.util.SelectionRanges;
 import tools.vitruv.framework.views.ModifiableViewSelection;
 import tools.vitruv.framework.views.View;
 import tools.vitruv.framework.views.ViewSelection;
@@ -48,6 +49,17 @@ public class RemoteViewSelector implements ViewSelector {
     return remoteConnection.getView(this);
   }
 
+  /**
+   * Creates a view by delegating the request to the Vitruvius server without blocking, performing
+   * the selection done by this selector. The selection must not be changed until the returned
+   * future is completed.
+   *
+   * @return A future completed with the created view.
+   */
+  public CompletableFuture<RemoteView> createViewAsync() {
+    return remoteConnection.getViewAsync(this);
+  }
+
   @Override
   public boolean isValid() {
     return true;
@@ -94,21 +106,22 @@ public class RemoteViewSelector implements ViewSelector {
   }
 
   /**
-   * Gets the IDs of the selected elements in the selection.
+   * Gets the selected elements in the selection, encoded as {@link SelectionRanges} of the indices
+   * the server assigned to the elements.
    *
-   * @return The list of IDs.
+   * @return The ranges of the selected elements.
    */
-  List<String> getSelectionIds() {
-    var ids = new LinkedList<String>();
+  int[] getSelectedRanges() {
+    var selected = new BitSet();
     viewSelection
         .getSelectableElements()
         .forEach(
             it -> {
               if (viewSelection.isSelected(it)) {
                 var resource = (JsonResource) it.eResource();
-                ids.add(resource.getID(it));
+                selected.set(Integer.parseInt(resource.getID(it)));
               }
             });
-    return ids;
+    return SelectionRanges.encode(selected);
   }
 }
@@ -0,0 +1,97 @@
+package tools.vitruv.framework.remote.client.impl;
+
+import java.util.concurrent.Flow;
+import java.util.function.BiConsumer;
+
+/**
+ * Parses a stream of server-sent events line by line and passes each complete event to a listener.
+ * Comments and fields other than {@code event} and {@code data} are ignored.
+ */
+class ServerSentEventSubscriber implements Flow.Subscriber<String> {
+  private static final String DEFAULT_EVENT = "message";
+
+  private final BiConsumer<String, String> listener;
+  private final Runnable onEnd;
+  private final StringBuilder data = new StringBuilder();
+  private String event;
+  private Flow.Subscription subscription;
+  private volatile boolean cancelled;
+
+  /**
+   * Creates a new {@link ServerSentEventSubscriber}.
+   *
+   * @param listener Receives the name and the data of each event.
+   * @param onEnd Is called when the stream ends or fails.
+   */
+  ServerSentEventSubscriber(BiConsumer<String, String> listener, Runnable onEnd) {
+    this.listener = listener;
+    this.onEnd = onEnd;
+  }
+
+  @Override
+  public synchronized void onSubscribe(Flow.Subscription subscription) {
+    this.subscription = subscription;
+    if (cancelled) {
+      subscription.cancel();
+    } else {
+      subscription.request(Long.MAX_VALUE);
+    }
+  }
+
+  @Override
+  public void onNext(String line) {
+    if (line.isEmpty()) {
+      dispatch();
+      return;
+    }
+    if (line.startsWith(":")) {
+      return;
+    }
+    var colon = line.indexOf(':');
+    var field = colon < 0 ? line : line.substring(0, colon);
+    var value = colon < 0 ? "" : line.substring(colon + 1);
+    if (value.startsWith(" ")) {
+      value = value.substring(1);
+    }
+    switch (field) {
+      case "event" -> event = value;
+      case "data" -> {
+        if (!data.isEmpty()) {
+          data.append('\n');
+        }
+        data.append(value);
+      }
+      default -> {
+        // Other fields, such as id and retry, are not used.
+      }
+    }
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    onEnd.run();
+  }
+
+  @Override
+  public void onComplete() {
+    onEnd.run();
+  }
+
+  /** Stops receiving events. The listener is not called afterwards. */
+  synchronized void cancel() {
+    cancelled = true;
+    if (subscription != null) {
+      subscription.cancel();
+    }
+  }
+
+  private void dispatch() {
+    if (event != null || !data.isEmpty()) {
+      if (!cancelled) {
+        listener.accept(event == null ? DEFAULT_EVENT : event, data.toString());
+      }
+      event = null;
+      data.setLength(0);
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package tools.vitruv.framework.remote.client.impl;
+
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import tools.vitruv.change.atomic.hid.HierarchicalId;
+import tools.vitruv.change.composite.description.VitruviusChange;
+
+/**
+ * The result of updating a {@link RemoteView}. The server sends either the complete updated view or
+ * only the changes since the version held by the client.
+ *
+ * @param version The version of the updated view, or {@code null} if the server does not version
+ *     views.
+ * @param resources The complete updated view, or {@code null} if only the changes were sent.
+ * @param changes The changes to apply to the view held by the client, or {@code null} if the
+ *     complete view was sent.
+ */
+record ViewUpdate(
+    String version, ResourceSet resources, VitruviusChange<HierarchicalId> changes) {
+
+  /**
+   * Checks whether only the changes since the version held by the client were sent.
+   *
+   * @return {@code true} if the update contains changes, {@code false} if it contains the complete
+   *     view.
+   */
+  boolean isDelta() {
+    return changes != null;
+  }
+}
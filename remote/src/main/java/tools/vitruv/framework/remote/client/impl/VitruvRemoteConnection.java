@@ -2,34 +2,61 @@ package tools.vitruv.framework.remote.client.impl;
 
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Timer;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpResponse;
-import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
 import java.util.stream.Stream;
+import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import tools.vitruv.change.atomic.hid.HierarchicalId;
 import tools.vitruv.change.atomic.root.InsertRootEObject;
 import tools.vitruv.change.composite.description.VitruviusChange;
 import tools.vitruv.change.utils.ProjectMarker;
+import tools.vitruv.framework.remote.client.ClientSettings;
+import tools.vitruv.framework.remote.client.HttpClientSettings;
 import tools.vitruv.framework.remote.client.VitruvClient;
 import tools.vitruv.framework.remote.client.exception.BadClientResponseException;
 import tools.vitruv.framework.remote.client.exception.BadServerResponseException;
+import tools.vitruv.framework.remote.common.CompressionSettings;
 import tools.vitruv.framework.remote.common.json.JsonFieldName;
 import tools.vitruv.framework.remote.common.json.JsonMapper;
+import tools.vitruv.framework.remote.common.json.WireFormat;
+import tools.vitruv.framework.remote.common.rest.BatchOperation;
+import tools.vitruv.framework.remote.common.rest.BatchResult;
+import tools.vitruv.framework.remote.common.rest.PropagationJob;
 import tools.vitruv.framework.remote.common.rest.constants.ContentType;
 import tools.vitruv.framework.remote.common.rest.constants.EndpointPath;
 import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.common.rest.constants.JobStatus;
+import tools.vitruv.framework.remote.common.rest.constants.ViewEvent;
+import tools.vitruv.framework.remote.common.rest.constants.ViewStatus;
+import tools.vitruv.framework.remote.common.util.CompressionUtil;
+import tools.vitruv.framework.remote.common.util.ResourceHashes;
 import tools.vitruv.framework.remote.common.util.ResourceUtil;
 import tools.vitruv.framework.views.ViewSelector;
 import tools.vitruv.framework.views.ViewType;
@@ -57,11 +84,25 @@ public class VitruvRemoteConnection implements VitruvClient {
   /** The metric client name. */
   private static final String METRIC_CLIENT_NAME = "vitruv.client.rest.client";
 
+  /** The metric name for the size of compressed response bodies. */
+  private static final String METRIC_PAYLOAD_NAME = "vitruv.client.rest.payload";
+
   private final int port;
   private final String hostOrIp;
   private final String protocol;
   private final HttpClient client;
   private final JsonMapper mapper;
+  private final CompressionSettings compression;
+  private final HttpClientSettings httpSettings;
+
+  /** Whether the server answered in the binary format, so that it also accepts it in requests. */
+  private volatile boolean serverSupportsBinary;
+
+  /**
+   * The encoding the server announced to accept for request bodies, or {@code null} if it did not
+   * announce one yet, so that request bodies are sent uncompressed.
+   */
+  private volatile String serverRequestEncoding;
 
   /**
    * Creates a new {@link VitruvRemoteConnection} using the given URL and port to connect to the
@@ -70,9 +111,28 @@ public class VitruvRemoteConnection implements VitruvClient {
    * @param protocol The protocol of the Vitruvius server.
    * @param hostOrIp The host name of IP address of the Vitruvius server.
    * @param port of the Vitruvius server.
+   * @param temp A non-existing or empty directory for temporary files.
    */
   public VitruvRemoteConnection(String protocol, String hostOrIp, int port, Path temp) {
-    this.client = HttpClient.newHttpClient();
+    this(protocol, hostOrIp, port, temp, ClientSettings.defaults());
+  }
+
+  /**
+   * Creates a new {@link VitruvRemoteConnection} using the given URL and port to connect to the
+   * Vitruvius server.
+   *
+   * @param protocol The protocol of the Vitruvius server.
+   * @param hostOrIp The host name of IP address of the Vitruvius server.
+   * @param port of the Vitruvius server.
+   * @param temp A non-existing or empty directory for temporary files.
+   * @param settings The settings of the JSON mapper, the compression and the HTTP client.
+   */
+  public VitruvRemoteConnection(
+      String protocol, String hostOrIp, int port, Path temp, ClientSettings settings) {
+    var httpSettings = settings.http();
+    this.client = createHttpClient(httpSettings);
+    this.httpSettings = httpSettings;
+    this.compression = settings.compression();
     this.protocol = protocol;
     this.hostOrIp = hostOrIp;
     this.port = port;
@@ -87,7 +147,24 @@ public class VitruvRemoteConnection implements VitruvClient {
           "Given temporary directory for models could not be created!", e);
     }
 
-    this.mapper = new JsonMapper(temp);
+    this.mapper = new JsonMapper(temp, settings.json());
+  }
+
+  private static HttpClient createHttpClient(HttpClientSettings settings) {
+    var builder = HttpClient.newBuilder().version(settings.version());
+    if (settings.connectTimeout() != null) {
+      builder.connectTimeout(settings.connectTimeout());
+    }
+    if (settings.executor() != null) {
+      builder.executor(settings.executor());
+    }
+    return builder.build();
+  }
+
+  @Override
+  public void close() {
+    mapper.close();
+    client.close();
   }
 
   private boolean isDirectoryEmpty(Path directory) throws IOException {
@@ -102,11 +179,21 @@ public class VitruvRemoteConnection implements VitruvClient {
    */
   @Override
   public Collection<ViewType<?>> getViewTypes() {
-    var request =
-        HttpRequest.newBuilder().uri(createURIFrom(EndpointPath.VIEW_TYPES)).GET().build();
+    return toViewTypes(sendRequest(viewTypesRequest()));
+  }
+
+  @Override
+  public CompletableFuture<Collection<ViewType<?>>> getViewTypesAsync() {
+    return sendRequestAsync(viewTypesRequest()).thenApply(this::toViewTypes);
+  }
+
+  private HttpRequest viewTypesRequest() {
+    return HttpRequest.newBuilder().uri(createURIFrom(EndpointPath.VIEW_TYPES)).GET().build();
+  }
+
+  private Collection<ViewType<?>> toViewTypes(HttpResponse<byte[]> response) {
     try {
-      var response = sendRequest(request);
-      var typeNames = mapper.deserializeArrayOf(response.body(), String.class);
+      var typeNames = mapper.deserializeArrayOf(bodyOf(response), String.class, formatOf(response));
       var list = new LinkedList<ViewType<?>>();
       typeNames.forEach(it -> list.add(new RemoteViewType(it, this)));
       return list;
@@ -132,6 +219,24 @@ public class VitruvRemoteConnection implements VitruvClient {
     return viewType.createSelector(null);
   }
 
+  /**
+   * Queries a view selector for the given {@link ViewType} from the Vitruvius server without
+   * blocking. The view type must be of type {@link RemoteViewType} as these represent the actual
+   * view types available at the server side.
+   *
+   * @param viewType The {@link ViewType} to create a selector for.
+   * @return A future completed with the {@link ViewSelector} for the given view type.
+   * @throws IllegalArgumentException If view type is no {@link RemoteViewType}.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public <S extends ViewSelector> CompletableFuture<S> createSelectorAsync(ViewType<S> viewType) {
+    if (!(viewType instanceof RemoteViewType remoteViewType)) {
+      throw new IllegalArgumentException("This vitruv client can only process RemoteViewType!");
+    }
+    return getSelectorAsync(remoteViewType.getName()).thenApply(selector -> (S) selector);
+  }
+
   /**
    * Queries the Vitruvius server to obtain a view selector from the view type with the given name.
    *
@@ -143,17 +248,37 @@ public class VitruvRemoteConnection implements VitruvClient {
    *     UUID.
    */
   RemoteViewSelector getSelector(String typeName) throws BadServerResponseException {
-    var request =
-        HttpRequest.newBuilder()
-            .uri(createURIFrom(EndpointPath.VIEW_SELECTOR))
-            .header(Header.VIEW_TYPE, typeName)
-            .GET()
-            .build();
+    return toSelector(sendRequest(selectorRequest(typeName)));
+  }
+
+  /**
+   * Queries the Vitruvius server to obtain a view selector from the view type with the given name
+   * without blocking.
+   *
+   * @param typeName The name of the view type.
+   * @return A future completed with the selector generated with the view type of the given name.
+   * @see #getSelector(String)
+   */
+  CompletableFuture<RemoteViewSelector> getSelectorAsync(String typeName) {
+    return sendRequestAsync(selectorRequest(typeName)).thenApply(this::toSelector);
+  }
+
+  private HttpRequest selectorRequest(String typeName) {
+    return HttpRequest.newBuilder()
+        .uri(createURIFrom(EndpointPath.VIEW_SELECTOR))
+        .header(Header.VIEW_TYPE, typeName)
+        .GET()
+        .build();
+  }
+
+  private RemoteViewSelector toSelector(HttpResponse<byte[]> response) {
     try {
-      var response = sendRequest(request);
       var resource =
           mapper.deserializeResource(
-              response.body(), JsonFieldName.TEMP_VALUE, ResourceUtil.createJsonResourceSet());
+              bodyOf(response),
+              JsonFieldName.TEMP_VALUE,
+              ResourceUtil.createJsonResourceSet(),
+              formatOf(response));
       Optional<String> selectorUuid = response.headers().firstValue(Header.SELECTOR_UUID);
       if (selectorUuid.isPresent()) {
         return new RemoteViewSelector(selectorUuid.get(), resource, this);
@@ -176,18 +301,46 @@ public class VitruvRemoteConnection implements VitruvClient {
    *     error occurred.
    */
   RemoteView getView(RemoteViewSelector selector) throws BadServerResponseException {
+    return toView(sendRequest(viewRequest(selector)), selector);
+  }
+
+  /**
+   * Queries the Vitruvius server to obtain the view using the given view selector without
+   * blocking.
+   *
+   * @param selector The {@link tools.vitruv.framework.views.ViewSelector} which should be used to
+   *     create the view.
+   * @return A future completed with the view generated with the given view selector.
+   * @see #getView(RemoteViewSelector)
+   */
+  CompletableFuture<RemoteView> getViewAsync(RemoteViewSelector selector) {
+    return sendRequestAsync(viewRequest(selector))
+        .thenApply(response -> toView(response, selector));
+  }
+
+  private HttpRequest viewRequest(RemoteViewSelector selector) {
     try {
-      var request =
-          HttpRequest.newBuilder()
-              .uri(createURIFrom(EndpointPath.VIEW))
-              .header(Header.SELECTOR_UUID, selector.getUUID())
-              .POST(BodyPublishers.ofString(mapper.serialize(selector.getSelectionIds())))
-              .build();
-      var response = sendRequest(request);
-      var rSet = mapper.deserialize(response.body(), ResourceSet.class);
+      var format = requestFormat();
+      return HttpRequest.newBuilder()
+          .uri(createURIFrom(EndpointPath.VIEW))
+          .header(Header.SELECTOR_UUID, selector.getUUID())
+          .header(Header.CONTENT_TYPE, format.contentType())
+          .POST(
+              BodyPublishers.ofByteArray(
+                  mapper.serializeToBytes(selector.getSelectedRanges(), format)))
+          .build();
+    } catch (IOException e) {
+      throw new BadClientResponseException(e);
+    }
+  }
+
+  private RemoteView toView(HttpResponse<byte[]> response, RemoteViewSelector selector) {
+    try {
+      var rSet = mapper.deserialize(bodyOf(response), ResourceSet.class, formatOf(response));
       Optional<String> viewUuid = response.headers().firstValue(Header.VIEW_UUID);
       if (viewUuid.isPresent()) {
-        return new RemoteView(viewUuid.get(), rSet, selector, this);
+        var version = response.headers().firstValue(Header.VIEW_VERSION).orElse(null);
+        return new RemoteView(viewUuid.get(), rSet, version, selector, this);
       } else {
         // Handle the case where the value is not present
         throw new NoSuchElementException("Header.VIEW_UUID not found in response headers");
@@ -202,35 +355,186 @@ public class VitruvRemoteConnection implements VitruvClient {
    *
    * @param uuid UUID of the changed view.
    * @param change The changes performed on the affected view.
+   * @return The status of the view after the propagation as defined in {@link ViewStatus}, or
+   *     {@code null} if the server did not report it.
    * @throws BadServerResponseException If the server answered with a bad response or a connection
    *     error occurred.
    */
-  void propagateChanges(String uuid, VitruviusChange<?> change) throws BadServerResponseException {
+  String propagateChanges(String uuid, VitruviusChange<?> change)
+      throws BadServerResponseException {
+    return statusOf(sendRequest(propagationRequest(uuid, change)));
+  }
+
+  /**
+   * Queries the Vitruvius server to propagate the given changes for the view with the given UUID
+   * without blocking.
+   *
+   * @param uuid UUID of the changed view.
+   * @param change The changes performed on the affected view.
+   * @return A future completed with the status of the view after the propagation.
+   * @see #propagateChanges(String, VitruviusChange)
+   */
+  CompletableFuture<String> propagateChangesAsync(String uuid, VitruviusChange<?> change) {
+    return sendRequestAsync(propagationRequest(uuid, change)).thenApply(this::statusOf);
+  }
+
+  /**
+   * Submits the given changes for the view with the given UUID to be propagated by the Vitruvius
+   * server in the background. The server answers as soon as it accepted the changes, so that the
+   * connection is not held open during the propagation. The outcome is retrieved with {@link
+   * #getJobAsync(String)}.
+   *
+   * @param uuid UUID of the changed view.
+   * @param change The changes performed on the affected view.
+   * @return A future completed with the running job, or with a finished job if the server
+   *     propagated the changes before answering.
+   */
+  CompletableFuture<PropagationJob> submitChangesAsync(String uuid, VitruviusChange<?> change) {
+    var request = propagationRequest(uuid, change, Header.RESPOND_ASYNC);
+    return sendRequestAsync(request)
+        .thenApply(
+            response -> {
+              var jobId = response.headers().firstValue(Header.JOB_ID);
+              if (jobId.isEmpty()) {
+                // The server does not support asynchronous propagations and already propagated.
+                return new PropagationJob(null, JobStatus.SUCCEEDED, statusOf(response), null);
+              }
+              return new PropagationJob(jobId.get(), JobStatus.RUNNING, null, null);
+            });
+  }
+
+  /**
+   * Queries the Vitruvius server for the state of an asynchronous change propagation without
+   * blocking.
+   *
+   * @param jobId The id of the job, see {@link #submitChangesAsync(String, VitruviusChange)}.
+   * @return A future completed with the state of the job.
+   */
+  CompletableFuture<PropagationJob> getJobAsync(String jobId) {
+    var request =
+        HttpRequest.newBuilder()
+            .uri(createURIFrom(EndpointPath.JOB))
+            .header(Header.JOB_ID, jobId)
+            .GET()
+            .build();
+    return sendRequestAsync(request)
+        .thenApply(
+            response -> {
+              try {
+                return mapper.deserialize(
+                    bodyOf(response), PropagationJob.class, formatOf(response));
+              } catch (IOException e) {
+                throw new BadClientResponseException(e);
+              }
+            });
+  }
+
+  /**
+   * Queries the Vitruvius server to derive the changes of the view with the given UUID from the
+   * given state of its resources and to propagate them. Only the resources whose content changed
+   * since they were last uploaded are sent, together with the hashes of all resources, so that the
+   * server reuses its state of the others. Resources of the view missing from the given ones are
+   * deleted.
+   *
+   * @param uuid UUID of the changed view.
+   * @param resources The resources of the view in their current state.
+   * @param uploadedHashes The hashes of the resources as last uploaded by their URI. They are
+   *     replaced by the current hashes once the server accepted the changes. If there are none, all
+   *     resources are uploaded.
+   * @return The status of the view after the propagation as defined in {@link ViewStatus}, or
+   *     {@code null} if the server did not report it.
+   * @throws BadServerResponseException If the server answered with a bad response or a connection
+   *     error occurred.
+   */
+  String deriveChanges(
+      String uuid, Collection<? extends Resource> resources, Map<String, String> uploadedHashes)
+      throws BadServerResponseException {
+    var hashes = new LinkedHashMap<String, String>();
+    var modified = new ArrayList<Resource>();
+    HttpRequest request;
     try {
-      change
-          .getEChanges()
-          .forEach(
-              it -> {
-                if (it instanceof InsertRootEObject<?>) {
-                  ((InsertRootEObject<?>) it).setResource(null);
-                }
-              });
-      var jsonBody = mapper.serialize(change);
-      var request =
+      for (var resource : resources) {
+        var uri = mapper.getIdTransformation().toLocal(resource.getURI()).toString();
+        var hash = mapper.hashResource(resource);
+        hashes.put(uri, hash);
+        if (!hash.equals(uploadedHashes.get(uri))) {
+          modified.add(resource);
+        }
+      }
+      var format = requestFormat();
+      var requestBuilder =
           HttpRequest.newBuilder()
-              .uri(createURIFrom(EndpointPath.VIEW))
-              .header(Header.CONTENT_TYPE, ContentType.APPLICATION_JSON)
+              .uri(createURIFrom(EndpointPath.CHANGE_DERIVING))
+              .header(Header.CONTENT_TYPE, format.contentType())
               .header(Header.VIEW_UUID, uuid)
-              .method("PATCH", BodyPublishers.ofString(jsonBody))
-              .build();
-      sendRequest(request);
+              .header(Header.RESOURCE_HASHES, ResourceHashes.encode(hashes));
+      request =
+          withBody(requestBuilder, "PATCH", mapper.serializeResourcesToBytes(modified, format));
     } catch (IOException e) {
       throw new BadClientResponseException(e);
     }
+    var status = statusOf(sendRequest(request));
+    uploadedHashes.clear();
+    uploadedHashes.putAll(hashes);
+    return status;
+  }
+
+  private HttpRequest propagationRequest(String uuid, VitruviusChange<?> change) {
+    return propagationRequest(uuid, change, null);
+  }
+
+  private HttpRequest propagationRequest(
+      String uuid, VitruviusChange<?> change, String preference) {
+    try {
+      detachRootResources(change);
+      var format = requestFormat();
+      var requestBuilder =
+          HttpRequest.newBuilder()
+              .uri(createURIFrom(EndpointPath.VIEW))
+              .header(Header.CONTENT_TYPE, format.contentType())
+              .header(Header.VIEW_UUID, uuid);
+      if (preference != null) {
+        requestBuilder.header(Header.PREFER, preference);
+      }
+      return withBody(requestBuilder, "PATCH", mapper.serializeToBytes(change, format));
+    } catch (IOException e) {
+      throw new BadClientResponseException(e);
+    }
+  }
+
+  /** Removes the resources of inserted root objects, which are not sent to the server. */
+  private static void detachRootResources(VitruviusChange<?> change) {
+    change
+        .getEChanges()
+        .forEach(
+            it -> {
+              if (it instanceof InsertRootEObject<?>) {
+                ((InsertRootEObject<?>) it).setResource(null);
+              }
+            });
+  }
+
+  /**
+   * Sets the given body of the request, compressing it if it is large enough and the server
+   * announced an encoding it accepts for request bodies.
+   */
+  private HttpRequest withBody(HttpRequest.Builder requestBuilder, String method, byte[] body)
+      throws IOException {
+    var encoding = serverRequestEncoding;
+    if (encoding != null && compression.appliesTo(body.length)) {
+      body = CompressionUtil.encode(encoding, body);
+      requestBuilder.header(Header.CONTENT_ENCODING, encoding);
+    }
+    return requestBuilder.method(method, BodyPublishers.ofByteArray(body)).build();
+  }
+
+  private String statusOf(HttpResponse<byte[]> response) {
+    return response.headers().firstValue(Header.VIEW_STATUS).orElse(null);
   }
 
   /**
-   * Queries the Vitruvius server to close the view with the given.
+   * Queries the Vitruvius server to close the view with the given. Closing a view which is
+   * already closed succeeds as well.
    *
    * @param uuid UUID of the view.
    * @throws BadServerResponseException If the server answered with a bad response or a connection
@@ -281,90 +585,384 @@ public class VitruvRemoteConnection implements VitruvClient {
   }
 
   /**
-   * Queries the Vitruvius server to update the view with the given ID.
+   * Queries the Vitruvius server for the combined status of the view with the given ID.
    *
    * @param uuid UUID of the view.
-   * @return The updated {@link ResourceSet} of the view.
+   * @return The status of the view as defined in {@link ViewStatus}.
    * @throws BadServerResponseException If the server answered with a bad response or a connection
    *     error occurred.
    */
-  ResourceSet updateView(String uuid) throws BadServerResponseException {
+  String getViewStatus(String uuid) throws BadServerResponseException {
     var request =
         HttpRequest.newBuilder()
-            .uri(createURIFrom(EndpointPath.VIEW))
+            .uri(createURIFrom(EndpointPath.VIEW_STATUS))
             .header(Header.VIEW_UUID, uuid)
             .GET()
             .build();
+    var status = bodyAsString(sendRequest(request));
+    if (!status.equals(ViewStatus.OPEN)
+        && !status.equals(ViewStatus.OUTDATED)
+        && !status.equals(ViewStatus.CLOSED)) {
+      throw new BadServerResponseException("Unexpected view status! Actual: " + status);
+    }
+    return status;
+  }
+
+  /**
+   * Queries the Vitruvius server to update the view with the given ID. If the given version is
+   * still known to the server, it only sends the changes since that version.
+   *
+   * @param uuid UUID of the view.
+   * @param version The version of the view held by the client, or {@code null} if it is unknown.
+   * @return The update of the view.
+   * @throws BadServerResponseException If the server answered with a bad response or a connection
+   *     error occurred.
+   */
+  ViewUpdate updateView(String uuid, String version) throws BadServerResponseException {
+    return toViewUpdate(sendRequest(updateRequest(uuid, version)), version);
+  }
+
+  /**
+   * Queries the Vitruvius server to update the view with the given ID without blocking.
+   *
+   * @param uuid UUID of the view.
+   * @param version The version of the view held by the client, or {@code null} if it is unknown.
+   * @return A future completed with the update of the view.
+   * @see #updateView(String, String)
+   */
+  CompletableFuture<ViewUpdate> updateViewAsync(String uuid, String version) {
+    return sendRequestAsync(updateRequest(uuid, version))
+        .thenApply(response -> toViewUpdate(response, version));
+  }
+
+  private HttpRequest updateRequest(String uuid, String version) {
+    var requestBuilder =
+        HttpRequest.newBuilder()
+            .uri(createURIFrom(EndpointPath.VIEW))
+            .header(Header.VIEW_UUID, uuid)
+            .GET();
+    if (version != null) {
+      requestBuilder.header(Header.VIEW_VERSION, version);
+    }
+    return requestBuilder.build();
+  }
+
+  private ViewUpdate toViewUpdate(HttpResponse<byte[]> response, String version) {
+    return toViewUpdate(
+        response.headers().firstValue(Header.VIEW_VERSION).orElse(null),
+        response.headers().firstValue(Header.DELTA_BASE).orElse(null),
+        bodyOf(response),
+        formatOf(response),
+        version);
+  }
+
+  @SuppressWarnings("unchecked")
+  private ViewUpdate toViewUpdate(
+      String updatedVersion,
+      String deltaBase,
+      InputStream body,
+      WireFormat format,
+      String version) {
+    try {
+      if (deltaBase != null && deltaBase.equals(version)) {
+        VitruviusChange<HierarchicalId> changes =
+            mapper.deserialize(body, VitruviusChange.class, format);
+        return new ViewUpdate(updatedVersion, null, changes);
+      }
+      var resources = mapper.deserialize(body, ResourceSet.class, format);
+      return new ViewUpdate(updatedVersion, resources, null);
+    } catch (IOException e) {
+      throw new BadClientResponseException(e);
+    }
+  }
+
+  /**
+   * Sends the given operations to the Vitruvius server in a single request. The server processes
+   * them in the given order, each as if it were sent on its own, and answers with one result per
+   * operation. The request only fails as a whole if the batch itself cannot be processed, so the
+   * status of each result must be checked.
+   *
+   * @param operations The operations to send.
+   * @return The results of the operations in the same order.
+   * @throws BadServerResponseException If the server answered with a bad response or a connection
+   *     error occurred.
+   */
+  public List<BatchResult> sendBatch(List<BatchOperation> operations)
+      throws BadServerResponseException {
+    return toBatchResults(sendRequest(batchRequest(operations)));
+  }
+
+  /**
+   * Sends the given operations to the Vitruvius server in a single request without blocking.
+   *
+   * @param operations The operations to send.
+   * @return A future completed with the results of the operations in the same order.
+   * @see #sendBatch(List)
+   */
+  public CompletableFuture<List<BatchResult>> sendBatchAsync(List<BatchOperation> operations) {
+    return sendRequestAsync(batchRequest(operations)).thenApply(this::toBatchResults);
+  }
+
+  private HttpRequest batchRequest(List<BatchOperation> operations) {
     try {
-      var response = sendRequest(request);
-      return mapper.deserialize(response.body(), ResourceSet.class);
+      var format = requestFormat();
+      var requestBuilder =
+          HttpRequest.newBuilder()
+              .uri(createURIFrom(EndpointPath.BATCH))
+              .header(Header.CONTENT_TYPE, format.contentType());
+      return withBody(requestBuilder, "POST", mapper.serializeToBytes(operations, format));
     } catch (IOException e) {
       throw new BadClientResponseException(e);
     }
   }
 
+  private List<BatchResult> toBatchResults(HttpResponse<byte[]> response) {
+    try {
+      return mapper.deserializeArrayOf(bodyOf(response), BatchResult.class, formatOf(response));
+    } catch (IOException e) {
+      throw new BadClientResponseException(e);
+    }
+  }
+
+  /**
+   * Propagates the given changes for the view with the given UUID and updates the view afterwards
+   * in a single round trip, see {@link #sendBatch(List)}.
+   *
+   * @param uuid UUID of the changed view.
+   * @param change The changes performed on the affected view.
+   * @param version The version of the view held by the client, or {@code null} if it is unknown.
+   * @return The update of the view after the propagation.
+   * @throws BadServerResponseException If the server rejected the changes or the update, answered
+   *     with a bad response, or a connection error occurred.
+   */
+  ViewUpdate propagateChangesAndUpdate(String uuid, VitruviusChange<?> change, String version)
+      throws BadServerResponseException {
+    String body;
+    try {
+      detachRootResources(change);
+      body = mapper.serialize(change);
+    } catch (IOException e) {
+      throw new BadClientResponseException(e);
+    }
+    var updateHeaders =
+        version == null
+            ? Map.of(Header.VIEW_UUID, uuid)
+            : Map.of(Header.VIEW_UUID, uuid, Header.VIEW_VERSION, version);
+    var propagation =
+        new BatchOperation("PATCH", EndpointPath.VIEW, Map.of(Header.VIEW_UUID, uuid), body);
+    var results =
+        sendBatch(List.of(propagation, BatchOperation.of("GET", EndpointPath.VIEW, updateHeaders)));
+    for (var result : results) {
+      if (!result.isSuccessful()) {
+        throw new BadServerResponseException(result.bodyAsString(), result.status());
+      }
+    }
+    var update = results.get(1);
+    return toViewUpdate(
+        update.header(Header.VIEW_VERSION),
+        update.header(Header.DELTA_BASE),
+        new ByteArrayInputStream(update.body()),
+        update.format(),
+        version);
+  }
+
+  /**
+   * Subscribes to the server-sent events about the view with the given UUID, see {@link
+   * ViewEvent}. The events are passed to the listener on a thread of the HTTP client as soon as
+   * they arrive.
+   *
+   * @param uuid UUID of the view.
+   * @param listener Receives the name and the data of each event.
+   * @param onEnd Is called when the subscription ends, fails or is not supported by the server.
+   * @return The subscriber receiving the events, which can be cancelled to end the subscription.
+   */
+  ServerSentEventSubscriber subscribeToViewEvents(
+      String uuid, BiConsumer<String, String> listener, Runnable onEnd) {
+    var subscriber = new ServerSentEventSubscriber(listener, onEnd);
+    var request =
+        HttpRequest.newBuilder()
+            .uri(createURIFrom(EndpointPath.VIEW_EVENTS))
+            .header(Header.VIEW_UUID, uuid)
+            .header(Header.ACCEPT, ContentType.TEXT_EVENT_STREAM)
+            .GET()
+            .build();
+    client
+        .sendAsync(
+            request,
+            info ->
+                info.statusCode() == HttpURLConnection.HTTP_OK
+                    ? BodySubscribers.fromLineSubscriber(subscriber)
+                    : BodySubscribers.replacing(null))
+        .whenComplete(
+            (response, error) -> {
+              if (error != null || response.statusCode() != HttpURLConnection.HTTP_OK) {
+                onEnd.run();
+              }
+            });
+    return subscriber;
+  }
+
   private boolean sendRequestAndCheckBooleanResult(HttpRequest request) {
-    var response = sendRequest(request);
-    if (!Objects.equals(response.body(), Boolean.TRUE.toString())
-        && !Objects.equals(response.body(), Boolean.FALSE.toString())) {
+    var body = bodyAsString(sendRequest(request));
+    if (!Objects.equals(body, Boolean.TRUE.toString())
+        && !Objects.equals(body, Boolean.FALSE.toString())) {
       throw new BadServerResponseException(
-          "Expected response to be true or false! Actual: " + response);
+          "Expected response to be true or false! Actual: " + body);
     }
-    return response.body().equals(Boolean.TRUE.toString());
+    return body.equals(Boolean.TRUE.toString());
+  }
+
+  /**
+   * Returns the format to use for request bodies. The binary format is only used after the server
+   * answered in it, as older servers only understand JSON.
+   */
+  private WireFormat requestFormat() {
+    return serverSupportsBinary ? WireFormat.SMILE : WireFormat.JSON;
+  }
+
+  /** Returns the format of the given response body and remembers if the server supports Smile. */
+  private WireFormat formatOf(HttpResponse<byte[]> response) {
+    var format =
+        WireFormat.fromContentType(response.headers().firstValue(Header.CONTENT_TYPE).orElse(null));
+    if (format == WireFormat.SMILE) {
+      serverSupportsBinary = true;
+    }
+    return format;
+  }
+
+  private static ByteArrayInputStream bodyOf(HttpResponse<byte[]> response) {
+    return new ByteArrayInputStream(response.body());
   }
 
-  private HttpResponse<String> sendRequest(HttpRequest request) {
+  private static String bodyAsString(HttpResponse<byte[]> response) {
+    return new String(response.body(), StandardCharsets.UTF_8);
+  }
+
+  private HttpResponse<byte[]> sendRequest(HttpRequest request) {
+    request = prepare(request);
     var timer = Timer.start(Metrics.globalRegistry);
     try {
-      var response = client.send(request, BodyHandlers.ofString());
-      if (response.statusCode() != HttpURLConnection.HTTP_OK) {
-        timer.stop(
-            Metrics.timer(
-                METRIC_CLIENT_NAME,
-                ENDPOINT,
-                request.uri().getPath(),
-                METHOD,
-                request.method(),
-                RESULT,
-                "" + response.statusCode()));
-        throw new BadServerResponseException(response.body(), response.statusCode());
-      }
-      timer.stop(
-          Metrics.timer(
-              METRIC_CLIENT_NAME,
-              ENDPOINT,
-              request.uri().getPath(),
-              METHOD,
-              request.method(),
-              RESULT,
-              SUCCESS));
-      return response;
+      var endpoint = request.uri().getPath();
+      var response = client.send(request, info -> decodeBody(info, endpoint));
+      return checkResponse(request, response, timer);
     } catch (IOException e) {
-      timer.stop(
-          Metrics.timer(
-              METRIC_CLIENT_NAME,
-              ENDPOINT,
-              request.uri().getPath(),
-              METHOD,
-              request.method(),
-              RESULT,
-              EXCEPTION));
+      stopTimer(timer, request, EXCEPTION);
       throw new BadServerResponseException(e);
     } catch (InterruptedException e) {
-      timer.stop(
-          Metrics.timer(
-              METRIC_CLIENT_NAME,
-              ENDPOINT,
-              request.uri().getPath(),
-              METHOD,
-              request.method(),
-              RESULT,
-              EXCEPTION));
+      stopTimer(timer, request, EXCEPTION);
       Thread.currentThread().interrupt(); // Re-interrupt the current thread
       throw new BadServerResponseException(e);
     }
   }
 
+  /**
+   * Sends the given request without blocking the calling thread. The returned future fails with a
+   * {@link BadServerResponseException} under the same conditions under which {@link
+   * #sendRequest(HttpRequest)} throws it.
+   */
+  private CompletableFuture<HttpResponse<byte[]>> sendRequestAsync(HttpRequest request) {
+    var prepared = prepare(request);
+    var timer = Timer.start(Metrics.globalRegistry);
+    var endpoint = prepared.uri().getPath();
+    return client
+        .sendAsync(prepared, info -> decodeBody(info, endpoint))
+        .handle(
+            (response, error) -> {
+              if (error != null) {
+                stopTimer(timer, prepared, EXCEPTION);
+                var cause = error instanceof CompletionException ? error.getCause() : error;
+                throw new BadServerResponseException(cause);
+              }
+              return checkResponse(prepared, response, timer);
+            });
+  }
+
+  /**
+   * Adds the headers announcing the accepted formats and encodings and the configured timeout of
+   * the endpoint to the given request.
+   */
+  private HttpRequest prepare(HttpRequest request) {
+    var builder =
+        HttpRequest.newBuilder(request, (name, value) -> true)
+            .header(Header.ACCEPT, mapper.getAcceptedFormats());
+    if (compression.enabled()) {
+      builder.header(Header.ACCEPT_ENCODING, CompressionUtil.ACCEPTED_ENCODINGS);
+    }
+    var timeout = httpSettings.timeoutFor(request.uri().getPath());
+    if (timeout != null) {
+      builder.timeout(timeout);
+    }
+    return builder.build();
+  }
+
+  private HttpResponse<byte[]> checkResponse(
+      HttpRequest request, HttpResponse<byte[]> response, Timer.Sample timer) {
+    learnRequestEncoding(response);
+    if (response.statusCode() < HttpURLConnection.HTTP_OK
+        || response.statusCode() >= HttpURLConnection.HTTP_MULT_CHOICE) {
+      stopTimer(timer, request, "" + response.statusCode());
+      throw new BadServerResponseException(bodyAsString(response), response.statusCode());
+    }
+    stopTimer(timer, request, SUCCESS);
+    return response;
+  }
+
+  /**
+   * Remembers the encoding for request bodies announced in the Accept-Encoding header of the given
+   * response, as servers which do not announce one may not decode compressed requests.
+   */
+  private void learnRequestEncoding(HttpResponse<byte[]> response) {
+    if (serverRequestEncoding == null) {
+      var accepted = response.headers().firstValue(Header.ACCEPT_ENCODING).orElse(null);
+      serverRequestEncoding = CompressionUtil.negotiate(accepted);
+    }
+  }
+
+  private static void stopTimer(Timer.Sample timer, HttpRequest request, String result) {
+    timer.stop(
+        Metrics.timer(
+            METRIC_CLIENT_NAME,
+            ENDPOINT,
+            request.uri().getPath(),
+            METHOD,
+            request.method(),
+            RESULT,
+            result));
+  }
+
+  /**
+   * Reads the response body after decompressing it according to its Content-Encoding header. The
+   * sizes of the body as transferred and after decompression are recorded.
+   */
+  private BodySubscriber<byte[]> decodeBody(ResponseInfo info, String endpoint) {
+    var encoding = info.headers().firstValue(Header.CONTENT_ENCODING).orElse(null);
+    if (encoding == null) {
+      return BodySubscribers.ofByteArray();
+    }
+    return BodySubscribers.mapping(
+        BodySubscribers.ofByteArray(),
+        transferred -> {
+          try (var in = CompressionUtil.decode(encoding, new ByteArrayInputStream(transferred))) {
+            var raw = in.readAllBytes();
+            Metrics.summary(
+                    METRIC_PAYLOAD_NAME, ENDPOINT, endpoint, "encoding", encoding, "form", "raw")
+                .record(raw.length);
+            Metrics.summary(
+                    METRIC_PAYLOAD_NAME,
+                    ENDPOINT,
+                    endpoint,
+                    "encoding",
+                    encoding,
+                    "form",
+                    "transferred")
+                .record(transferred.length);
+            return raw;
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+  }
+
   private URI createURIFrom(String path) {
     return URI.create(String.format("%s://%s:%d%s", protocol, hostOrIp, port, path));
   }
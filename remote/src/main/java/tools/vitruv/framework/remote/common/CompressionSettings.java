@@ -0,0 +1,54 @@
+package tools.vitruv.framework.remote.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Determines whether HTTP bodies exchanged between a Vitruvius server and client are compressed.
+ * Compression is only applied if the receiver supports it, i.e., the server compresses responses
+ * for clients which advertise an encoding in their Accept-Encoding header, and the client
+ * compresses request bodies only after the server announced an accepted encoding in the
+ * Accept-Encoding header of a response.
+ *
+ * @param enabled Whether bodies are compressed.
+ * @param minimumSize The minimum size of a body in bytes to be compressed. Smaller bodies are sent
+ *     uncompressed, since compressing them saves little and costs CPU time.
+ */
+public record CompressionSettings(boolean enabled, int minimumSize) {
+
+  /** The default minimum size of a body to be compressed. */
+  public static final int DEFAULT_MINIMUM_SIZE = 1024;
+
+  /** Validates the settings. */
+  public CompressionSettings {
+    checkArgument(minimumSize >= 0, "minimum size must not be negative");
+  }
+
+  /**
+   * Returns the default settings, which compress bodies of at least {@value
+   * #DEFAULT_MINIMUM_SIZE} bytes.
+   *
+   * @return The default {@link CompressionSettings}.
+   */
+  public static CompressionSettings defaults() {
+    return new CompressionSettings(true, DEFAULT_MINIMUM_SIZE);
+  }
+
+  /**
+   * Returns settings which disable compression.
+   *
+   * @return The {@link CompressionSettings} disabling compression.
+   */
+  public static CompressionSettings disabled() {
+    return new CompressionSettings(false, DEFAULT_MINIMUM_SIZE);
+  }
+
+  /**
+   * Checks whether a body of the given size is compressed.
+   *
+   * @param size The size of the body in bytes.
+   * @return {@code true} if the body is compressed, {@code false} otherwise.
+   */
+  public boolean appliesTo(long size) {
+    return enabled && size >= minimumSize;
+  }
+}
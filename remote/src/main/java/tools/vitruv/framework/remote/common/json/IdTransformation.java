@@ -1,5 +1,7 @@
 package tools.vitruv.framework.remote.common.json;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.nio.file.Path;
 import java.util.List;
 import org.eclipse.emf.common.util.URI;
@@ -11,9 +13,21 @@ import tools.vitruv.change.utils.ProjectMarker;
 /**
  * Contains functions to transform IDs used by the Vitruvius framework to identify {@link
  * org.eclipse.emf.ecore.EObject EObjects}.
+ *
+ * <p>Global IDs are file URIs below the project root, local IDs are the remainder after the root
+ * prefix. The transformation only compares and cuts prefixes, so each ID costs at most one new
+ * string. IDs passed as {@link URI} are mostly resource URIs, of which there are few, so their
+ * transformations are memoized in bounded tables.
  */
 public class IdTransformation {
-  private URI root;
+  private static final String EXCLUDED_MARKER = "cache";
+  private static final long MAXIMUM_MEMOIZED_URIS = 1024;
+
+  private final String root;
+  private final Cache<URI, URI> localByGlobal =
+      CacheBuilder.newBuilder().maximumSize(MAXIMUM_MEMOIZED_URIS).build();
+  private final Cache<URI, URI> globalByLocal =
+      CacheBuilder.newBuilder().maximumSize(MAXIMUM_MEMOIZED_URIS).build();
 
   /**
    * Creates a new IdTransformation.
@@ -21,16 +35,17 @@ public class IdTransformation {
    * @param vsumPath the path to the .vsum file of the project
    */
   public IdTransformation(Path vsumPath) {
-    root = URI.createFileURI(ProjectMarker.getProjectRootFolder(vsumPath).toString());
+    var rootUri = URI.createFileURI(ProjectMarker.getProjectRootFolder(vsumPath).toString());
 
     var nextToCheck = vsumPath;
     while ((nextToCheck = nextToCheck.getParent()) != null) {
       try {
-        root = URI.createFileURI(ProjectMarker.getProjectRootFolder(nextToCheck).toString());
+        rootUri = URI.createFileURI(ProjectMarker.getProjectRootFolder(nextToCheck).toString());
       } catch (IllegalStateException e) {
         break;
       }
     }
+    root = rootUri.toString();
   }
 
   /**
@@ -40,14 +55,30 @@ public class IdTransformation {
    * @return The local ID.
    */
   public URI toLocal(URI global) {
-    if (global == null
-        || global.toString().contains("cache")
-        || global.toString().equals(JsonFieldName.TEMP_VALUE)
-        || !global.isFile()) {
+    if (global == null || !global.isFile()) {
       return global;
     }
+    var local = localByGlobal.getIfPresent(global);
+    if (local == null) {
+      var id = global.toString();
+      var localId = toLocal(id);
+      local = localId == id ? global : URI.createURI(localId);
+      localByGlobal.put(global, local);
+    }
+    return local;
+  }
 
-    return URI.createURI(global.toString().replace(root.toString(), ""));
+  /**
+   * Transforms the given global (absolute path) ID to a local ID (relative path).
+   *
+   * @param global The ID to transform.
+   * @return The local ID, which is the given instance if it is not below the project root.
+   */
+  public String toLocal(String global) {
+    if (global == null || !global.startsWith(root) || global.contains(EXCLUDED_MARKER)) {
+      return global;
+    }
+    return global.substring(root.length());
   }
 
   /**
@@ -57,17 +88,50 @@ public class IdTransformation {
    * @return The global ID.
    */
   public URI toGlobal(URI local) {
-    if (local == null
-        || local.toString().contains("cache")
-        || local.toString().equals(JsonFieldName.TEMP_VALUE)) {
+    if (local == null || !local.isRelative()) {
       return local;
     }
+    var global = globalByLocal.getIfPresent(local);
+    if (global == null) {
+      var id = local.toString();
+      var globalId = toGlobal(id);
+      global = globalId == id ? local : URI.createURI(globalId);
+      globalByLocal.put(local, global);
+    }
+    return global;
+  }
 
-    if (!local.isRelative()) {
+  /**
+   * Transforms the given local ID (relative path) to a global ID (absolute path).
+   *
+   * @param local The ID to transform.
+   * @return The global ID, which is the given instance if it is not relative.
+   */
+  public String toGlobal(String local) {
+    if (local == null
+        || hasScheme(local)
+        || local.contains(EXCLUDED_MARKER)
+        || local.equals(JsonFieldName.TEMP_VALUE)) {
       return local;
     }
+    return root.concat(local);
+  }
 
-    return URI.createURI(root.toString() + local.toString());
+  /**
+   * Checks whether the given URI has a scheme, i.e., a colon before the first path, query or
+   * fragment delimiter, as determined by {@link URI#createURI(String)}.
+   */
+  private static boolean hasScheme(String uri) {
+    for (int i = 0; i < uri.length(); i++) {
+      var c = uri.charAt(i);
+      if (c == ':') {
+        return true;
+      }
+      if (c == '/' || c == '?' || c == '#') {
+        return false;
+      }
+    }
+    return false;
   }
 
   /**
@@ -78,7 +142,7 @@ public class IdTransformation {
   public void allToGlobal(List<? extends EChange<HierarchicalId>> eChanges) {
     for (var eChange : eChanges) {
       if (eChange instanceof RootEChange<?> change) {
-        change.setUri(toGlobal(URI.createURI(change.getUri())).toString());
+        change.setUri(toGlobal(change.getUri()));
       }
     }
   }
@@ -91,7 +155,7 @@ public class IdTransformation {
   public void allToLocal(List<? extends EChange<HierarchicalId>> eChanges) {
     for (var eChange : eChanges) {
       if (eChange instanceof RootEChange<?> change) {
-        change.setUri(toLocal(URI.createURI(change.getUri())).toString());
+        change.setUri(toLocal(change.getUri()));
       }
     }
   }
@@ -1,11 +1,18 @@
 package tools.vitruv.framework.remote.common.json;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.Resource;
@@ -15,38 +22,65 @@ import org.eclipse.emfcloud.jackson.databind.EMFContext;
 import org.eclipse.emfcloud.jackson.module.EMFModule;
 import org.eclipse.emfcloud.jackson.module.EMFModule.Feature;
 import tools.vitruv.change.composite.description.VitruviusChange;
+import tools.vitruv.framework.remote.common.json.deserializer.BatchResultDeserializer;
 import tools.vitruv.framework.remote.common.json.deserializer.ReferenceDeserializerModifier;
 import tools.vitruv.framework.remote.common.json.deserializer.ResourceSetDeserializer;
 import tools.vitruv.framework.remote.common.json.deserializer.VitruviusChangeDeserializer;
+import tools.vitruv.framework.remote.common.json.serializer.BatchResultSerializer;
 import tools.vitruv.framework.remote.common.json.serializer.ReferenceSerializerModifier;
 import tools.vitruv.framework.remote.common.json.serializer.ResourceSetSerializer;
 import tools.vitruv.framework.remote.common.json.serializer.VitruviusChangeSerializer;
+import tools.vitruv.framework.remote.common.rest.BatchResult;
+import tools.vitruv.framework.remote.common.util.ResourceHashes;
 
 /**
  * This mapper can be used to serialize objects and deserialize JSON in the context of Vitruvius. It
  * has custom De-/Serializers for {@link ResourceSet}s, {@link Resource}s and {@link
- * VitruviusChange}s.
+ * VitruviusChange}s. Besides JSON, the binary {@link WireFormat#SMILE Smile} format is supported
+ * using the same De-/Serializers.
  */
-public class JsonMapper {
+public class JsonMapper implements AutoCloseable {
   private final ObjectMapper mapper = new ObjectMapper();
+  private final ObjectMapper smileMapper;
+  private final ObjectMapper hashingMapper;
+  private final boolean binaryFormat;
+  private final ResourcePersister persister;
+  private final IdTransformation transformation;
+  private final ResourceSetSerializer resourceSetSerializer;
 
   /**
-   * Creates a new JsonMapper.
+   * Creates a new JsonMapper producing compact JSON.
    *
    * @param vsumPath the path to the .vsum file of the project
    */
   public JsonMapper(Path vsumPath) {
-    final var transformation = new IdTransformation(vsumPath);
+    this(vsumPath, JsonMapperSettings.defaults());
+  }
 
-    mapper.configure(SerializationFeature.INDENT_OUTPUT, true);
+  /**
+   * Creates a new JsonMapper.
+   *
+   * @param vsumPath the path to the .vsum file of the project
+   * @param settings the settings determining the encoding of the produced data
+   */
+  public JsonMapper(Path vsumPath, JsonMapperSettings settings) {
+    this.transformation = new IdTransformation(vsumPath);
+    this.resourceSetSerializer = new ResourceSetSerializer(transformation);
+    this.binaryFormat = settings.binaryFormat();
+    this.persister = new ResourcePersister(settings.persistence());
+
+    mapper.configure(SerializationFeature.INDENT_OUTPUT, settings.prettyPrint());
     var module = new EMFModule();
 
     // Register serializer
-    module.addSerializer(ResourceSet.class, new ResourceSetSerializer(transformation));
+    module.addSerializer(ResourceSet.class, resourceSetSerializer);
     module.addSerializer(VitruviusChange.class, new VitruviusChangeSerializer());
+    module.addSerializer(BatchResult.class, new BatchResultSerializer());
 
     // Register deserializer
-    module.addDeserializer(ResourceSet.class, new ResourceSetDeserializer(this, transformation));
+    module.addDeserializer(BatchResult.class, new BatchResultDeserializer());
+    module.addDeserializer(
+        ResourceSet.class, new ResourceSetDeserializer(this, transformation, persister));
     module.addDeserializer(
         VitruviusChange.class, new VitruviusChangeDeserializer(this, transformation));
 
@@ -59,6 +93,66 @@ public class JsonMapper {
     module.setIdentityInfo(new EcoreIdentityInfo("_id"));
 
     mapper.registerModule(module);
+    smileMapper = mapper.copyWith(new SmileFactory());
+    hashingMapper = mapper.copy().disable(SerializationFeature.INDENT_OUTPUT);
+  }
+
+  /**
+   * Selects the format of a response from the value of an Accept header. If the binary format is
+   * disabled in the settings of this mapper, JSON is always selected.
+   *
+   * @param accept The value of the Accept header, or {@code null} if there is none.
+   * @return The selected format.
+   */
+  public WireFormat negotiateFormat(String accept) {
+    return binaryFormat ? WireFormat.negotiate(accept) : WireFormat.JSON;
+  }
+
+  /**
+   * Returns the value of the Accept header to request data in the formats supported by this
+   * mapper.
+   *
+   * @return The value of the Accept header.
+   */
+  public String getAcceptedFormats() {
+    return binaryFormat ? WireFormat.ACCEPT_BINARY : WireFormat.JSON.contentType();
+  }
+
+  /**
+   * Checks whether the binary format is offered to the other side.
+   *
+   * @return {@code true} if the binary format is enabled, {@code false} otherwise.
+   */
+  public boolean isBinaryFormatEnabled() {
+    return binaryFormat;
+  }
+
+  /**
+   * Waits until the resources of deserialized resource sets are saved, if they are saved in the
+   * background according to the {@link PersistencePolicy} of this mapper.
+   *
+   * @throws InterruptedException If the waiting thread was interrupted.
+   */
+  public void flushPersistence() throws InterruptedException {
+    persister.flush();
+  }
+
+  /**
+   * Waits until the resources of deserialized resource sets are saved and stops saving them in the
+   * background. The mapper must not deserialize resource sets afterwards.
+   */
+  @Override
+  public void close() {
+    persister.close();
+  }
+
+  /**
+   * Returns the transformation between the global IDs used by this mapper and the local IDs sent.
+   *
+   * @return The ID transformation.
+   */
+  public IdTransformation getIdTransformation() {
+    return transformation;
   }
 
   /**
@@ -71,6 +165,98 @@ public class JsonMapper {
     return mapper.writeValueAsString(obj);
   }
 
+  /**
+   * Serializes the given object directly to the given stream through a {@link JsonGenerator}, so
+   * that the JSON is never held in memory as a whole. The stream is flushed but not closed. If the
+   * serialization fails, the JSON written so far is left incomplete instead of being terminated.
+   *
+   * @param obj The object to serialize.
+   * @param out The stream to write the JSON to.
+   * @throws IOException If the object cannot be serialized or the stream cannot be written.
+   */
+  public void serialize(Object obj, OutputStream out) throws IOException {
+    serialize(obj, out, WireFormat.JSON);
+  }
+
+  /**
+   * Serializes the given object in the given format directly to the given stream through a {@link
+   * JsonGenerator}, so that the data is never held in memory as a whole. The stream is flushed but
+   * not closed. If the serialization fails, the data written so far is left incomplete instead of
+   * being terminated.
+   *
+   * @param obj The object to serialize.
+   * @param out The stream to write the data to.
+   * @param format The format to write.
+   * @throws IOException If the object cannot be serialized or the stream cannot be written.
+   */
+  public void serialize(Object obj, OutputStream out, WireFormat format) throws IOException {
+    var formatMapper = mapperFor(format);
+    JsonGenerator generator =
+        formatMapper.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    formatMapper.writeValue(generator, obj);
+    generator.close();
+  }
+
+  /**
+   * Creates a generator writing the given format to the given stream, e.g., to compose data from
+   * parts which are serialized separately. Closing the generator does not close the stream.
+   *
+   * @param out The stream to write to.
+   * @param format The format to write.
+   * @return The generator.
+   * @throws IOException If the generator cannot be created.
+   */
+  public JsonGenerator createGenerator(OutputStream out, WireFormat format) throws IOException {
+    return mapperFor(format).createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+  }
+
+  /**
+   * Serializes the given object in the given format.
+   *
+   * @param obj The object to serialize.
+   * @param format The format to write.
+   * @return The serialized object.
+   * @throws JsonProcessingException If the object cannot be serialized.
+   */
+  public byte[] serializeToBytes(Object obj, WireFormat format) throws JsonProcessingException {
+    return mapperFor(format).writeValueAsBytes(obj);
+  }
+
+  /**
+   * Serializes the given resources in the given format as if they were the resources of a {@link
+   * ResourceSet}, so that they are deserialized as such. The resources remain in their set.
+   *
+   * @param resources The resources to serialize.
+   * @param format The format to write.
+   * @return The serialized resources.
+   * @throws IOException If the resources cannot be serialized.
+   */
+  public byte[] serializeResourcesToBytes(
+      Collection<? extends Resource> resources, WireFormat format) throws IOException {
+    var out = new ByteArrayOutputStream();
+    try (var generator = mapperFor(format).createGenerator(out)) {
+      resourceSetSerializer.serializeResources(resources, generator);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Hashes the given resource as it is sent, i.e., its compact JSON with local IDs. The hash does
+   * not depend on the settings of this mapper, so that client and server compute the same hash for
+   * the same state of a resource.
+   *
+   * @param resource The resource to hash.
+   * @return The hash as hexadecimal string.
+   * @throws IOException If the resource cannot be serialized.
+   */
+  public String hashResource(Resource resource) throws IOException {
+    var out = new ByteArrayOutputStream();
+    try (var generator = hashingMapper.createGenerator(out)) {
+      resourceSetSerializer.serializeResources(List.of(resource), generator);
+    }
+    return ResourceHashes.hash(out.toByteArray());
+  }
+
   /**
    * Deserializes the given JSON string.
    *
@@ -83,6 +269,53 @@ public class JsonMapper {
     return mapper.reader().forType(clazz).readValue(json);
   }
 
+  /**
+   * Deserializes the JSON read from the given stream without buffering it as a whole. The stream is
+   * closed afterwards.
+   *
+   * @param <T> The type of the returned object.
+   * @param json The stream providing the JSON to deserialize.
+   * @param clazz The class of the JSON type.
+   * @return The object.
+   * @throws JsonProcessingException If the JSON cannot be processed.
+   * @throws IOException If the stream cannot be read.
+   */
+  public <T> T deserialize(InputStream json, Class<T> clazz) throws IOException {
+    return deserialize(json, clazz, WireFormat.JSON);
+  }
+
+  /**
+   * Deserializes the data in the given format read from the given stream without buffering it as a
+   * whole. The stream is closed afterwards.
+   *
+   * @param <T> The type of the returned object.
+   * @param data The stream providing the data to deserialize.
+   * @param clazz The class of the data type.
+   * @param format The format of the data.
+   * @return The object.
+   * @throws JsonProcessingException If the data cannot be processed.
+   * @throws IOException If the stream cannot be read.
+   */
+  public <T> T deserialize(InputStream data, Class<T> clazz, WireFormat format)
+      throws IOException {
+    return mapperFor(format).reader().forType(clazz).readValue(data);
+  }
+
+  /**
+   * Deserializes the JSON value the given parser is positioned at. If the parser has no current
+   * token, the next value is read. Afterwards, the parser points to the last token of the value.
+   *
+   * @param <T> The type of the returned object.
+   * @param parser The parser to read the JSON from.
+   * @param clazz The class of the JSON type.
+   * @return The object.
+   * @throws JsonProcessingException If the JSON cannot be processed.
+   * @throws IOException If the underlying input cannot be read.
+   */
+  public <T> T deserialize(JsonParser parser, Class<T> clazz) throws IOException {
+    return mapper.reader().forType(clazz).readValue(parser);
+  }
+
   /**
    * Deserializes the given JSON node.
    *
@@ -117,6 +350,50 @@ public class JsonMapper {
         .readValue(json);
   }
 
+  /**
+   * Deserializes the data in the given format read from the given stream to a Resource. The stream
+   * is closed afterwards.
+   *
+   * @param data The stream providing the data representing the Resource.
+   * @param uri The URI of the Resource.
+   * @param parentSet The parent ResourceSet of the Resource.
+   * @param format The format of the data.
+   * @return The deserialized Resource.
+   * @throws JsonProcessingException If the data cannot be processed.
+   * @throws IOException If the stream cannot be read.
+   */
+  public Resource deserializeResource(
+      InputStream data, String uri, ResourceSet parentSet, WireFormat format) throws IOException {
+    return mapperFor(format)
+        .reader()
+        .withAttribute(EMFContext.Attributes.RESOURCE_SET, parentSet)
+        .withAttribute(EMFContext.Attributes.RESOURCE_URI, URI.createURI(uri))
+        .forType(Resource.class)
+        .readValue(data);
+  }
+
+  /**
+   * Deserializes the JSON value the given parser is positioned at to a Resource. If the parser has
+   * no current token, the next value is read. Afterwards, the parser points to the last token of
+   * the value.
+   *
+   * @param parser The parser to read the JSON representing the Resource from.
+   * @param uri The URI of the Resource.
+   * @param parentSet The parent ResourceSet of the Resource.
+   * @return The deserialized Resource.
+   * @throws JsonProcessingException If the JSON cannot be processed.
+   * @throws IOException If the underlying input cannot be read.
+   */
+  public Resource deserializeResource(JsonParser parser, String uri, ResourceSet parentSet)
+      throws IOException {
+    return mapper
+        .reader()
+        .withAttribute(EMFContext.Attributes.RESOURCE_SET, parentSet)
+        .withAttribute(EMFContext.Attributes.RESOURCE_URI, URI.createURI(uri))
+        .forType(Resource.class)
+        .readValue(parser);
+  }
+
   /**
    * Deserializes the given JSON array to a list.
    *
@@ -129,4 +406,55 @@ public class JsonMapper {
     var javaType = mapper.getTypeFactory().constructCollectionType(List.class, clazz);
     return mapper.readValue(json, javaType);
   }
+
+  /**
+   * Deserializes the JSON array read from the given stream to a list. The stream is closed
+   * afterwards.
+   *
+   * @param json The stream providing the JSON array to deserialize.
+   * @param clazz The class representing the JSON type of the objects in the JSON array.
+   * @return The list of objects.
+   * @throws JsonProcessingException If the JSON cannot be processed.
+   * @throws IOException If the stream cannot be read.
+   */
+  public <T> List<T> deserializeArrayOf(InputStream json, Class<T> clazz) throws IOException {
+    return deserializeArrayOf(json, clazz, WireFormat.JSON);
+  }
+
+  /**
+   * Deserializes the array in the given format read from the given stream to a list. The stream is
+   * closed afterwards.
+   *
+   * @param data The stream providing the array to deserialize.
+   * @param clazz The class representing the type of the objects in the array.
+   * @param format The format of the data.
+   * @return The list of objects.
+   * @throws JsonProcessingException If the data cannot be processed.
+   * @throws IOException If the stream cannot be read.
+   */
+  public <T> List<T> deserializeArrayOf(InputStream data, Class<T> clazz, WireFormat format)
+      throws IOException {
+    var formatMapper = mapperFor(format);
+    var javaType = formatMapper.getTypeFactory().constructCollectionType(List.class, clazz);
+    return formatMapper.readValue(data, javaType);
+  }
+
+  /**
+   * Deserializes the JSON array the given parser is positioned at to a list. If the parser has no
+   * current token, the next value is read. Afterwards, the parser points to the end of the array.
+   *
+   * @param parser The parser to read the JSON array from.
+   * @param clazz The class representing the JSON type of the objects in the JSON array.
+   * @return The list of objects.
+   * @throws JsonProcessingException If the JSON cannot be processed.
+   * @throws IOException If the underlying input cannot be read.
+   */
+  public <T> List<T> deserializeArrayOf(JsonParser parser, Class<T> clazz) throws IOException {
+    var javaType = mapper.getTypeFactory().constructCollectionType(List.class, clazz);
+    return mapper.reader().forType(javaType).readValue(parser);
+  }
+
+  private ObjectMapper mapperFor(WireFormat format) {
+    return format == WireFormat.SMILE ? smileMapper : mapper;
+  }
 }
@@ -0,0 +1,51 @@
+package tools.vitruv.framework.remote.common.json;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Options applied when building a {@link JsonMapper}. Server and client can use different settings,
+ * as the options only affect the encoding of the produced data and not its content.
+ *
+ * @param prettyPrint Whether the produced JSON is indented. This considerably increases the size
+ *     of serialized models and is only intended for debugging.
+ * @param binaryFormat Whether the binary {@link WireFormat#SMILE Smile} format is offered to the
+ *     other side. JSON is always understood and used if the other side does not support Smile.
+ * @param persistence Whether and how deserialized resource sets are saved to their files.
+ */
+public record JsonMapperSettings(
+    boolean prettyPrint, boolean binaryFormat, PersistencePolicy persistence) {
+
+  /** Validates the settings. */
+  public JsonMapperSettings {
+    checkArgument(persistence != null, "persistence policy must not be null");
+  }
+
+  /**
+   * Returns the default settings, which produce compact JSON, prefer the binary format and save
+   * deserialized resources synchronously.
+   *
+   * @return The default {@link JsonMapperSettings}.
+   */
+  public static JsonMapperSettings defaults() {
+    return new JsonMapperSettings(false, true, PersistencePolicy.SYNC);
+  }
+
+  /**
+   * Returns settings producing indented JSON only, which is easier to read when debugging.
+   *
+   * @return The {@link JsonMapperSettings} for debugging.
+   */
+  public static JsonMapperSettings debug() {
+    return new JsonMapperSettings(true, false, PersistencePolicy.SYNC);
+  }
+
+  /**
+   * Returns a copy of these settings with the given persistence policy.
+   *
+   * @param persistence Whether and how deserialized resource sets are saved to their files.
+   * @return The new {@link JsonMapperSettings}.
+   */
+  public JsonMapperSettings withPersistence(PersistencePolicy persistence) {
+    return new JsonMapperSettings(prettyPrint, binaryFormat, persistence);
+  }
+}
@@ -0,0 +1,20 @@
+package tools.vitruv.framework.remote.common.json;
+
+/**
+ * Determines whether and how the resources of a deserialized {@link
+ * org.eclipse.emf.ecore.resource.ResourceSet ResourceSet} are saved to the files their URIs point
+ * to. In any case, resources whose content did not change since they were last saved are skipped.
+ */
+public enum PersistencePolicy {
+  /** Resources are not saved. */
+  NONE,
+
+  /** Resources are saved before the deserialization completes. */
+  SYNC,
+
+  /**
+   * Resources are saved in the background after the deserialization completed. The files thus may
+   * lag behind the deserialized resources, and pending saves are lost if the JVM exits.
+   */
+  WRITE_BEHIND
+}
@@ -0,0 +1,189 @@
+package tools.vitruv.framework.remote.common.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Saves deserialized {@link Resource}s according to a {@link PersistencePolicy}. If the hash of the
+ * content equals the one last saved for the URI, the resource is skipped. For resources
+ * deserialized from JSON, the received content is hashed, so that unchanged resources are skipped
+ * without serializing them. Resources to write are serialized on the calling thread, so that later
+ * modifications do not affect the saved content, and saved on the calling thread or, for {@link
+ * PersistencePolicy#WRITE_BEHIND}, in order by a single background thread.
+ *
+ * <p>The latency of the writes is published as Micrometer timer named {@value #METRIC_NAME}, tagged
+ * with the policy and whether the write succeeded. Skipped resources are counted in {@value
+ * #METRIC_NAME}{@code .skipped}.
+ */
+public class ResourcePersister implements AutoCloseable {
+  private static final String METRIC_NAME = "vitruv.json.persistence";
+  private static final long MAXIMUM_TRACKED_RESOURCES = 10_000;
+  private static final HashFunction HASHING = Hashing.murmur3_128();
+  private static final JsonFactory HASHING_FACTORY = new JsonFactory();
+  private static final Logger LOGGER = LoggerFactory.getLogger(ResourcePersister.class);
+
+  private final PersistencePolicy policy;
+  private final Cache<URI, HashCode> savedHashes =
+      CacheBuilder.newBuilder().maximumSize(MAXIMUM_TRACKED_RESOURCES).build();
+  private final ExecutorService writer;
+
+  /**
+   * Creates a new {@link ResourcePersister}.
+   *
+   * @param policy Whether and how resources are saved.
+   */
+  public ResourcePersister(PersistencePolicy policy) {
+    this.policy = policy;
+    this.writer =
+        policy == PersistencePolicy.WRITE_BEHIND
+            ? Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("vitruv-resource-writer").daemon().factory())
+            : null;
+  }
+
+  /**
+   * Checks whether resources are saved at all. If not, callers need not provide their content.
+   *
+   * @return {@code false} for {@link PersistencePolicy#NONE}, {@code true} otherwise.
+   */
+  public boolean isEnabled() {
+    return policy != PersistencePolicy.NONE;
+  }
+
+  /**
+   * Saves the given resource to the file its URI points to, unless its content is unchanged since
+   * it was last saved.
+   *
+   * @param resource The resource to save.
+   * @throws IOException If the resource cannot be serialized or, when saving synchronously,
+   *     written.
+   */
+  public void persist(Resource resource) throws IOException {
+    if (!isEnabled()) {
+      return;
+    }
+    var bytes = serialize(resource);
+    if (isUnchanged(resource.getURI(), HASHING.hashBytes(bytes))) {
+      return;
+    }
+    save(resource, bytes);
+  }
+
+  /**
+   * Saves the given resource deserialized from the given JSON content to the file its URI points
+   * to, unless the content is unchanged since it was last saved. The resource is only serialized if
+   * it is saved.
+   *
+   * @param resource The resource to save.
+   * @param content The JSON content the resource was deserialized from.
+   * @throws IOException If the resource cannot be serialized or, when saving synchronously,
+   *     written.
+   */
+  public void persist(Resource resource, TokenBuffer content) throws IOException {
+    if (!isEnabled()) {
+      return;
+    }
+    var hasher = HASHING.newHasher();
+    try (var generator = HASHING_FACTORY.createGenerator(Funnels.asOutputStream(hasher))) {
+      content.serialize(generator);
+    }
+    if (isUnchanged(resource.getURI(), hasher.hash())) {
+      return;
+    }
+    save(resource, serialize(resource));
+  }
+
+  private boolean isUnchanged(URI uri, HashCode hash) {
+    if (hash.equals(savedHashes.getIfPresent(uri))) {
+      Metrics.counter(METRIC_NAME + ".skipped", "policy", policy.name()).increment();
+      return true;
+    }
+    savedHashes.put(uri, hash);
+    return false;
+  }
+
+  private static byte[] serialize(Resource resource) throws IOException {
+    var content = new ByteArrayOutputStream();
+    resource.save(content, Map.of());
+    return content.toByteArray();
+  }
+
+  private void save(Resource resource, byte[] bytes) throws IOException {
+    var uri = resource.getURI();
+    var converter =
+        resource.getResourceSet() != null
+            ? resource.getResourceSet().getURIConverter()
+            : URIConverter.INSTANCE;
+    if (writer == null) {
+      write(converter, uri, bytes);
+      return;
+    }
+    writer.execute(
+        () -> {
+          try {
+            write(converter, uri, bytes);
+          } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Saving resource {} failed: {}", uri, e.getMessage());
+          }
+        });
+  }
+
+  private void write(URIConverter converter, URI uri, byte[] bytes) throws IOException {
+    var timer = Timer.start(Metrics.globalRegistry);
+    try (var output = converter.createOutputStream(uri)) {
+      output.write(bytes);
+    } catch (IOException | RuntimeException e) {
+      // The file may be outdated, so the next save of the resource must not be skipped.
+      savedHashes.invalidate(uri);
+      timer.stop(Metrics.timer(METRIC_NAME, "policy", policy.name(), "result", "failure"));
+      throw e;
+    }
+    timer.stop(Metrics.timer(METRIC_NAME, "policy", policy.name(), "result", "success"));
+  }
+
+  /**
+   * Waits until the resources saved in the background so far are written.
+   *
+   * @throws InterruptedException If the waiting thread was interrupted.
+   */
+  public void flush() throws InterruptedException {
+    if (writer == null) {
+      return;
+    }
+    try {
+      writer.submit(() -> {}).get();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Waits until the resources saved in the background so far are written and stops the background
+   * thread. Resources saved in the background afterwards are rejected.
+   */
+  @Override
+  public void close() {
+    if (writer != null) {
+      writer.close();
+    }
+  }
+}
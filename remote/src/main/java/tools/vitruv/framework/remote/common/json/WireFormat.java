@@ -0,0 +1,117 @@
+package tools.vitruv.framework.remote.common.json;
+
+import java.util.Locale;
+import tools.vitruv.framework.remote.common.rest.constants.ContentType;
+
+/**
+ * The formats in which the {@link JsonMapper} exchanges data. All formats share the same
+ * serializers, so they carry the same content and only differ in its encoding.
+ */
+public enum WireFormat {
+  /** Textual JSON, understood by every server and client. */
+  JSON(ContentType.APPLICATION_JSON),
+
+  /**
+   * The binary Smile format. It back-references repeated field names and short strings, which
+   * makes it considerably more compact for models with many elements of the same types.
+   */
+  SMILE(ContentType.APPLICATION_SMILE);
+
+  /** The value of the Accept header preferring Smile over JSON. */
+  public static final String ACCEPT_BINARY =
+      ContentType.APPLICATION_SMILE + ", " + ContentType.APPLICATION_JSON + ";q=0.9";
+
+  private final String contentType;
+
+  WireFormat(String contentType) {
+    this.contentType = contentType;
+  }
+
+  /**
+   * Returns the content type identifying this format.
+   *
+   * @return The content type.
+   */
+  public String contentType() {
+    return contentType;
+  }
+
+  /**
+   * Returns the format of data with the given content type. Data without a content type or of an
+   * unknown one is treated as JSON.
+   *
+   * @param contentType The value of a Content-Type header, or {@code null} if there is none.
+   * @return The format.
+   */
+  public static WireFormat fromContentType(String contentType) {
+    if (contentType != null && mediaType(contentType).equals(ContentType.APPLICATION_SMILE)) {
+      return SMILE;
+    }
+    return JSON;
+  }
+
+  /**
+   * Returns the format of data with the given content type, without treating other content types
+   * as JSON.
+   *
+   * @param contentType The value of a Content-Type header, or {@code null} if there is none.
+   * @return The format, or {@code null} if the content type is neither JSON nor Smile.
+   */
+  public static WireFormat ofContentType(String contentType) {
+    if (contentType == null) {
+      return null;
+    }
+    return switch (mediaType(contentType)) {
+      case ContentType.APPLICATION_JSON -> JSON;
+      case ContentType.APPLICATION_SMILE -> SMILE;
+      default -> null;
+    };
+  }
+
+  /**
+   * Selects the format of a response from the value of an Accept header. Smile is only selected if
+   * it is accepted at least as much as JSON.
+   *
+   * @param accept The value of the Accept header, or {@code null} if there is none.
+   * @return The selected format.
+   */
+  public static WireFormat negotiate(String accept) {
+    if (accept == null) {
+      return JSON;
+    }
+    double smileQuality = 0;
+    double jsonQuality = 0;
+    for (var entry : accept.split(",")) {
+      var parts = entry.split(";");
+      var quality = parseQuality(parts);
+      switch (mediaType(parts[0])) {
+        case ContentType.APPLICATION_SMILE -> smileQuality = Math.max(smileQuality, quality);
+        case ContentType.APPLICATION_JSON, "application/*", "*/*" ->
+            jsonQuality = Math.max(jsonQuality, quality);
+        default -> {
+          // Other media types are not relevant.
+        }
+      }
+    }
+    return smileQuality > 0 && smileQuality >= jsonQuality ? SMILE : JSON;
+  }
+
+  private static String mediaType(String value) {
+    var end = value.indexOf(';');
+    return (end < 0 ? value : value.substring(0, end)).trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static double parseQuality(String[] parts) {
+    for (int i = 1; i < parts.length; i++) {
+      var parameter = parts[i].trim();
+      if (parameter.startsWith("q=")) {
+        try {
+          return Double.parseDouble(parameter.substring(2));
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+}
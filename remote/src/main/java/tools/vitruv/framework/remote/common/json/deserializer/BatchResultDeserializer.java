@@ -0,0 +1,74 @@
+package tools.vitruv.framework.remote.common.json.deserializer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import tools.vitruv.framework.remote.common.json.WireFormat;
+import tools.vitruv.framework.remote.common.json.serializer.BatchResultSerializer;
+import tools.vitruv.framework.remote.common.rest.BatchResult;
+import tools.vitruv.framework.remote.common.rest.constants.Header;
+
+/**
+ * A deserializer for {@link BatchResult}. The body of a result is embedded as a JSON value in JSON
+ * batches and as binary data in Smile batches, or as a string if it is plain text. It is restored
+ * to the bytes of its own format, so that it can be deserialized like the body of a single
+ * response. The headers must precede the body, since its content type is needed to restore it.
+ */
+public class BatchResultDeserializer extends JsonDeserializer<BatchResult> {
+  private static final JavaType HEADER_MAP =
+      TypeFactory.defaultInstance().constructMapType(Map.class, String.class, String.class);
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  @Override
+  public BatchResult deserialize(JsonParser parser, DeserializationContext context)
+      throws IOException {
+    if (!parser.isExpectedStartObjectToken()) {
+      return (BatchResult) context.handleUnexpectedToken(BatchResult.class, parser);
+    }
+
+    int status = 0;
+    Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    byte[] body = null;
+    for (var field = parser.nextFieldName(); field != null; field = parser.nextFieldName()) {
+      parser.nextToken();
+      switch (field) {
+        case BatchResultSerializer.STATUS -> status = parser.getIntValue();
+        case BatchResultSerializer.HEADERS ->
+            headers.putAll(context.<Map<String, String>>readValue(parser, HEADER_MAP));
+        case BatchResultSerializer.BODY ->
+            body = readBody(parser, headers.get(Header.CONTENT_TYPE));
+        default -> parser.skipChildren();
+      }
+    }
+    return new BatchResult(status, headers, body);
+  }
+
+  private static byte[] readBody(JsonParser parser, String contentType) throws IOException {
+    var token = parser.currentToken();
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (token == JsonToken.VALUE_EMBEDDED_OBJECT) {
+      return parser.getBinaryValue();
+    }
+    if (token == JsonToken.VALUE_STRING && WireFormat.ofContentType(contentType) == null) {
+      return parser.getText().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // The body is a JSON value embedded as is.
+    var out = new ByteArrayOutputStream();
+    try (var generator = JSON_FACTORY.createGenerator(out)) {
+      generator.copyCurrentStructure(parser);
+    }
+    return out.toByteArray();
+  }
+}
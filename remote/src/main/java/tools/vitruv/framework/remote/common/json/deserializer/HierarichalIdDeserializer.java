@@ -5,7 +5,6 @@ import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import java.io.IOException;
-import org.eclipse.emf.common.util.URI;
 import org.eclipse.emfcloud.jackson.databind.EMFContext;
 import org.eclipse.emfcloud.jackson.databind.deser.EcoreReferenceDeserializer;
 import org.eclipse.emfcloud.jackson.databind.deser.ReferenceEntry;
@@ -25,7 +24,7 @@ public class HierarichalIdDeserializer extends JsonDeserializer<ReferenceEntry>
 		if (parser.currentToken() == JsonToken.VALUE_STRING) {
 			var node = context.readTree(parser);
 			return new HidReferenceEntry(EMFContext.getParent(context), EMFContext.getReference(context),
-					transformation.toGlobal(URI.createURI(node.asText())).toString());
+					transformation.toGlobal(node.asText()));
 		}
 		return standardDeserializer.deserialize(parser, context);
 	}
@@ -1,49 +1,97 @@
 package tools.vitruv.framework.remote.common.json.deserializer;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import java.io.IOException;
-import java.util.Map;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import tools.vitruv.framework.remote.common.json.IdTransformation;
 import tools.vitruv.framework.remote.common.json.JsonFieldName;
 import tools.vitruv.framework.remote.common.json.JsonMapper;
+import tools.vitruv.framework.remote.common.json.PersistencePolicy;
+import tools.vitruv.framework.remote.common.json.ResourcePersister;
 import tools.vitruv.framework.remote.common.util.ResourceUtil;
 
 /** A deserializer for {@link ResourceSet}. */
 public class ResourceSetDeserializer extends JsonDeserializer<ResourceSet> {
   private final IdTransformation transformation;
   private final JsonMapper mapper;
+  private final ResourcePersister persister;
 
   /**
-   * Creates a new ResourceSetDeserializer.
+   * Creates a new ResourceSetDeserializer saving the deserialized resources synchronously.
    *
    * @param mapper The json mapper to be used.
    * @param transformation the id transformation to be used
    */
   public ResourceSetDeserializer(JsonMapper mapper, IdTransformation transformation) {
+    this(mapper, transformation, new ResourcePersister(PersistencePolicy.SYNC));
+  }
+
+  /**
+   * Creates a new ResourceSetDeserializer.
+   *
+   * @param mapper The json mapper to be used.
+   * @param transformation the id transformation to be used
+   * @param persister the persister saving the deserialized resources
+   */
+  public ResourceSetDeserializer(
+      JsonMapper mapper, IdTransformation transformation, ResourcePersister persister) {
     this.transformation = transformation;
     this.mapper = mapper;
+    this.persister = persister;
   }
 
   @Override
   public ResourceSet deserialize(JsonParser parser, DeserializationContext context)
       throws IOException {
-    var rootNode = (ArrayNode) parser.getCodec().readTree(parser);
+    if (!parser.isExpectedStartArrayToken()) {
+      return (ResourceSet) context.handleUnexpectedToken(ResourceSet.class, parser);
+    }
 
     var resourceSet = ResourceUtil.createJsonResourceSet();
-    for (var e : rootNode) {
-      var resource =
-          mapper.deserializeResource(
-              e.get(JsonFieldName.CONTENT).toString(),
-              transformation.toGlobal(URI.createURI(e.get(JsonFieldName.URI).asText())).toString(),
-              resourceSet);
-      if (!resource.getURI().toString().equals(JsonFieldName.TEMP_VALUE)) {
-        resource.save(Map.of());
+    while (parser.nextToken() == JsonToken.START_OBJECT) {
+      String uri = null;
+      TokenBuffer bufferedContent = null;
+      Resource resource = null;
+      for (var field = parser.nextFieldName(); field != null; field = parser.nextFieldName()) {
+        parser.nextToken();
+        if (JsonFieldName.URI.equals(field)) {
+          uri = transformation.toGlobal(URI.createURI(parser.getText())).toString();
+        } else if (JsonFieldName.CONTENT.equals(field) && uri != null && !persister.isEnabled()) {
+          // The content is read directly from the request if its URI is already known and it need
+          // not be hashed for saving the resource.
+          resource = mapper.deserializeResource(parser, uri, resourceSet);
+        } else if (JsonFieldName.CONTENT.equals(field)) {
+          bufferedContent = TokenBuffer.asCopyOfValue(parser);
+        } else {
+          parser.skipChildren();
+        }
+      }
+      if (uri == null) {
+        return context.reportInputMismatch(this, "Resource without field %s", JsonFieldName.URI);
+      }
+      if (bufferedContent != null) {
+        try (var contentParser = bufferedContent.asParser(parser.getCodec())) {
+          resource = mapper.deserializeResource(contentParser, uri, resourceSet);
+        }
       }
+      if (resource == null) {
+        return context.reportInputMismatch(
+            this, "Resource without field %s", JsonFieldName.CONTENT);
+      }
+      // Resources are only read directly if they are not saved.
+      if (bufferedContent != null
+          && !resource.getURI().toString().equals(JsonFieldName.TEMP_VALUE)) {
+        persister.persist(resource, bufferedContent);
+      }
+    }
+    if (!parser.hasToken(JsonToken.END_ARRAY)) {
+      return (ResourceSet) context.handleUnexpectedToken(ResourceSet.class, parser);
     }
     return resourceSet;
   }
@@ -1,10 +1,9 @@
 package tools.vitruv.framework.remote.common.json.deserializer;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.TextNode;
 import java.io.IOException;
 import java.util.LinkedList;
 import java.util.List;
@@ -39,37 +38,70 @@ public class VitruviusChangeDeserializer extends JsonDeserializer<VitruviusChang
   @Override
   public VitruviusChange<?> deserialize(JsonParser parser, DeserializationContext context)
       throws IOException {
-    var rootNode = parser.getCodec().readTree(parser);
-    var type = ChangeType.valueOf(((TextNode) rootNode.get(JsonFieldName.CHANGE_TYPE)).asText());
+    if (!parser.isExpectedStartObjectToken()) {
+      return (VitruviusChange<?>) context.handleUnexpectedToken(VitruviusChange.class, parser);
+    }
+
+    // The fields are read as they arrive, so that nested changes are not buffered as JSON trees.
+    ChangeType type = null;
+    List<EChange<HierarchicalId>> eChanges = null;
+    List<UserInteractionBase> interactions = List.of();
+    List<VitruviusChange<HierarchicalId>> vChanges = null;
+    for (var field = parser.nextFieldName(); field != null; field = parser.nextFieldName()) {
+      parser.nextToken();
+      switch (field) {
+        case JsonFieldName.CHANGE_TYPE -> type = ChangeType.valueOf(parser.getText());
+        case JsonFieldName.E_CHANGES -> {
+          var changesResource =
+              mapper.deserializeResource(
+                  parser, JsonFieldName.TEMP_VALUE, ResourceUtil.createJsonResourceSet());
+          @SuppressWarnings("unchecked")
+          List<EChange<HierarchicalId>> changes =
+              changesResource.getContents().stream()
+                  .map(e -> (EChange<HierarchicalId>) e)
+                  .toList();
+          eChanges = changes;
+        }
+        case JsonFieldName.U_INTERACTIONS ->
+            interactions = mapper.deserializeArrayOf(parser, UserInteractionBase.class);
+        case JsonFieldName.V_CHANGES -> vChanges = deserializeChanges(parser, context);
+        default -> parser.skipChildren();
+      }
+    }
 
     VitruviusChange<?> change;
     if (type == ChangeType.TRANSACTIONAL) {
-      var resourceNode = rootNode.get(JsonFieldName.E_CHANGES);
-      var changesResource =
-          mapper.deserializeResource(
-              resourceNode.toString(),
-              JsonFieldName.TEMP_VALUE,
-              ResourceUtil.createJsonResourceSet());
-      @SuppressWarnings("unchecked")
-      List<EChange<HierarchicalId>> changes =
-          changesResource.getContents().stream().map(e -> (EChange<HierarchicalId>) e).toList();
-      transformation.allToGlobal(changes);
-      change = VitruviusChangeFactory.getInstance().createTransactionalChange(changes);
-      var interactions =
-          mapper.deserializeArrayOf(
-              rootNode.get(JsonFieldName.U_INTERACTIONS).toString(), UserInteractionBase.class);
+      if (eChanges == null) {
+        return context.reportInputMismatch(
+            this, "Transactional change without field %s", JsonFieldName.E_CHANGES);
+      }
+      transformation.allToGlobal(eChanges);
+      change = VitruviusChangeFactory.getInstance().createTransactionalChange(eChanges);
       ((TransactionalChange<?>) change).setUserInteractions(interactions);
     } else if (type == ChangeType.COMPOSITE) {
-      var changesNode = (ArrayNode) rootNode.get(JsonFieldName.V_CHANGES);
-      var changes = new LinkedList<VitruviusChange<HierarchicalId>>();
-      for (var e : changesNode) {
-        changes.add(mapper.deserialize(e, VitruviusChange.class));
+      if (vChanges == null) {
+        return context.reportInputMismatch(
+            this, "Composite change without field %s", JsonFieldName.V_CHANGES);
       }
-      change = VitruviusChangeFactory.getInstance().createCompositeChange(changes);
+      change = VitruviusChangeFactory.getInstance().createCompositeChange(vChanges);
     } else {
       throw new UnsupportedOperationException(
           "Change deserialization for type" + type + " not implemented!");
     }
     return change;
   }
+
+  private List<VitruviusChange<HierarchicalId>> deserializeChanges(
+      JsonParser parser, DeserializationContext context) throws IOException {
+    if (!parser.isExpectedStartArrayToken()) {
+      context.handleUnexpectedToken(List.class, parser);
+    }
+    var changes = new LinkedList<VitruviusChange<HierarchicalId>>();
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      @SuppressWarnings("unchecked")
+      VitruviusChange<HierarchicalId> change = mapper.deserialize(parser, VitruviusChange.class);
+      changes.add(change);
+    }
+    return changes;
+  }
 }
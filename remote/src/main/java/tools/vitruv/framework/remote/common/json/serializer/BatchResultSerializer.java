@@ -0,0 +1,72 @@
+package tools.vitruv.framework.remote.common.json.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import tools.vitruv.framework.remote.common.json.WireFormat;
+import tools.vitruv.framework.remote.common.rest.BatchResult;
+import tools.vitruv.framework.remote.common.rest.constants.Header;
+
+/**
+ * A serializer for {@link BatchResult}. The body is embedded as is instead of as an escaped string:
+ * JSON bodies as JSON values into JSON, any other data as binary into formats supporting binary
+ * data natively, and plain text as a string.
+ */
+public class BatchResultSerializer extends JsonSerializer<BatchResult> {
+  /** The name of the field holding the status code. */
+  public static final String STATUS = "status";
+
+  /** The name of the field holding the response headers. */
+  public static final String HEADERS = "headers";
+
+  /** The name of the field holding the response body. */
+  public static final String BODY = "body";
+
+  @Override
+  public void serialize(BatchResult result, JsonGenerator generator, SerializerProvider provider)
+      throws IOException {
+    generator.writeStartObject();
+    generator.writeNumberField(STATUS, result.status());
+    generator.writeObjectField(HEADERS, result.headers());
+    generator.writeFieldName(BODY);
+    writeBody(generator, result.header(Header.CONTENT_TYPE), result.body());
+    generator.writeEndObject();
+  }
+
+  /**
+   * Writes the given body of a result as the value of the current field.
+   *
+   * @param generator The generator to write to.
+   * @param contentType The content type of the body, or {@code null} if it has none.
+   * @param body The body, or {@code null} if there is none.
+   * @throws IOException If the body cannot be written.
+   */
+  public static void writeBody(JsonGenerator generator, String contentType, byte[] body)
+      throws IOException {
+    var format = WireFormat.ofContentType(contentType);
+    if (body == null) {
+      generator.writeNull();
+    } else if (format == null) {
+      generator.writeString(new String(body, StandardCharsets.UTF_8));
+    } else if (embedsRawJson(generator, format)) {
+      generator.writeRawValue(new String(body, StandardCharsets.UTF_8));
+    } else {
+      generator.writeBinary(body);
+    }
+  }
+
+  /**
+   * Checks whether a body in the given format is embedded as a JSON value, which is the case for
+   * JSON bodies written by generators without native support of binary data.
+   *
+   * @param generator The generator writing the result.
+   * @param format The format of the body.
+   * @return {@code true} if the body is embedded as a JSON value, {@code false} if it is embedded
+   *     as binary data.
+   */
+  public static boolean embedsRawJson(JsonGenerator generator, WireFormat format) {
+    return format == WireFormat.JSON && !generator.canWriteBinaryNatively();
+  }
+}
@@ -4,7 +4,6 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import java.io.IOException;
-import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emfcloud.jackson.databind.ser.EcoreReferenceSerializer;
 import tools.vitruv.change.atomic.hid.HierarchicalId;
@@ -31,7 +30,7 @@ public class HierarichalIdSerializer extends JsonSerializer<EObject> {
   public void serialize(EObject value, JsonGenerator gen, SerializerProvider serializers)
       throws IOException {
     if (value instanceof HierarchicalId hid) {
-      gen.writeString(transformation.toLocal(URI.createURI(hid.getId())).toString());
+      gen.writeString(transformation.toLocal(hid.getId()));
     } else {
       standardSerializer.serialize(value, gen, serializers);
     }
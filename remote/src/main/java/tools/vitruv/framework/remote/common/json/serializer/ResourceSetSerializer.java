@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import java.io.IOException;
+import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import tools.vitruv.framework.remote.common.json.IdTransformation;
 import tools.vitruv.framework.remote.common.json.JsonFieldName;
@@ -25,8 +26,20 @@ public class ResourceSetSerializer extends JsonSerializer<ResourceSet> {
   public void serialize(
       ResourceSet resourceSet, JsonGenerator generator, SerializerProvider provider)
       throws IOException {
+    serializeResources(resourceSet.getResources(), generator);
+  }
+
+  /**
+   * Serializes the given resources in the same way as a {@link ResourceSet} holding them, e.g., to
+   * send a part of the resources of a set.
+   *
+   * @param resources The resources to serialize.
+   * @param generator The generator to write to.
+   * @throws IOException If a resource cannot be serialized.
+   */
+  public void serializeResources(Iterable<? extends Resource> resources, JsonGenerator generator)
+      throws IOException {
     generator.writeStartArray();
-    var resources = resourceSet.getResources();
     for (var r : resources) {
       generator.writeStartObject();
       generator.writeObjectField(JsonFieldName.URI, transformation.toLocal(r.getURI()).toString());
@@ -0,0 +1,39 @@
+package tools.vitruv.framework.remote.common.rest;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Map;
+
+/**
+ * A single request within a batch sent to the {@link
+ * tools.vitruv.framework.remote.common.rest.constants.EndpointPath#BATCH batch endpoint}. It is
+ * processed by the endpoint registered for its path and method, as if it were sent on its own.
+ * Bodies are exchanged as JSON text.
+ *
+ * @param method The HTTP method of the request.
+ * @param path The path of the endpoint, see {@link
+ *     tools.vitruv.framework.remote.common.rest.constants.EndpointPath}.
+ * @param headers The headers of the request.
+ * @param body The body of the request, or {@code null} if it has none.
+ */
+public record BatchOperation(String method, String path, Map<String, String> headers, String body) {
+
+  /** Validates the operation. */
+  public BatchOperation {
+    checkArgument(method != null, "method must not be null");
+    checkArgument(path != null, "path must not be null");
+    headers = headers == null ? Map.of() : Map.copyOf(headers);
+  }
+
+  /**
+   * Creates an operation without body.
+   *
+   * @param method The HTTP method of the request.
+   * @param path The path of the endpoint.
+   * @param headers The headers of the request.
+   * @return The created {@link BatchOperation}.
+   */
+  public static BatchOperation of(String method, String path, Map<String, String> headers) {
+    return new BatchOperation(method, path, headers, null);
+  }
+}
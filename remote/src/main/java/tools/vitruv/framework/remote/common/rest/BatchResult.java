@@ -0,0 +1,70 @@
+package tools.vitruv.framework.remote.common.rest;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import tools.vitruv.framework.remote.common.json.WireFormat;
+import tools.vitruv.framework.remote.common.rest.constants.Header;
+
+/**
+ * The response to a {@link BatchOperation}. Its body is embedded into the batch response as is,
+ * i.e., as a JSON value in a JSON batch and as binary data in a Smile batch, and is provided in the
+ * format given by its Content-Type header.
+ *
+ * @param status The HTTP status code the operation resulted in.
+ * @param headers The response headers of the operation. Headers with several values are joined
+ *     with commas.
+ * @param body The response body as JSON, Smile or plain text, or {@code null} if there is none.
+ */
+public record BatchResult(int status, Map<String, String> headers, byte[] body) {
+
+  /** Validates the result. */
+  public BatchResult {
+    headers = headers == null ? Map.of() : Map.copyOf(headers);
+  }
+
+  /**
+   * Checks whether the operation succeeded.
+   *
+   * @return {@code true} if the status code is in the 2xx range, {@code false} otherwise.
+   */
+  @JsonIgnore
+  public boolean isSuccessful() {
+    return status >= HttpURLConnection.HTTP_OK && status < HttpURLConnection.HTTP_MULT_CHOICE;
+  }
+
+  /**
+   * Returns the value of a response header.
+   *
+   * @param name The name of the header, which is matched case-insensitively.
+   * @return The value of the header, or {@code null} if it is not present.
+   */
+  public String header(String name) {
+    return headers.entrySet().stream()
+        .filter(it -> it.getKey().equalsIgnoreCase(name))
+        .map(Map.Entry::getValue)
+        .findFirst()
+        .orElse(null);
+  }
+
+  /**
+   * Returns the format of the response body according to its Content-Type header.
+   *
+   * @return The format of the body. Bodies without a content type are treated as JSON.
+   */
+  @JsonIgnore
+  public WireFormat format() {
+    return WireFormat.fromContentType(header(Header.CONTENT_TYPE));
+  }
+
+  /**
+   * Returns the response body as text, e.g., the message of a failed operation.
+   *
+   * @return The body decoded as UTF-8, or {@code null} if there is none.
+   */
+  @JsonIgnore
+  public String bodyAsString() {
+    return body == null ? null : new String(body, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,37 @@
+package tools.vitruv.framework.remote.common.rest;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import tools.vitruv.framework.remote.common.rest.constants.JobStatus;
+
+/**
+ * The state of an asynchronous change propagation.
+ *
+ * @param id The id of the job.
+ * @param status The status of the job as defined in {@link JobStatus}.
+ * @param viewStatus The status of the view after the propagation as defined in {@link
+ *     tools.vitruv.framework.remote.common.rest.constants.ViewStatus ViewStatus}, or {@code null}
+ *     if the job did not succeed.
+ * @param message The reason why the changes were rejected, or {@code null} if the job did not fail.
+ */
+public record PropagationJob(String id, String status, String viewStatus, String message) {
+
+  /**
+   * Checks whether the propagation finished.
+   *
+   * @return {@code true} if the job succeeded or failed, {@code false} if it is still running.
+   */
+  @JsonIgnore
+  public boolean isFinished() {
+    return !JobStatus.RUNNING.equals(status);
+  }
+
+  /**
+   * Checks whether the changes were rejected.
+   *
+   * @return {@code true} if the job failed.
+   */
+  @JsonIgnore
+  public boolean isFailed() {
+    return JobStatus.FAILED.equals(status);
+  }
+}
@@ -0,0 +1,17 @@
+package tools.vitruv.framework.remote.common.rest.constants;
+
+/** A class holding constants for content encodings used in REST communication. */
+public final class ContentEncoding {
+  /** The content encoding for gzip compressed data. */
+  public static final String GZIP = "gzip";
+
+  /** The content encoding for zlib compressed data. */
+  public static final String DEFLATE = "deflate";
+
+  /** The content encoding for uncompressed data. */
+  public static final String IDENTITY = "identity";
+
+  private ContentEncoding() throws InstantiationException {
+    throw new InstantiationException("Cannot be instantiated");
+  }
+}
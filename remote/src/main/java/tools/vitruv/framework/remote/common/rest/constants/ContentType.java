@@ -5,9 +5,15 @@ public final class ContentType {
   /** The content type for JSON data. */
   public static final String APPLICATION_JSON = "application/json";
 
+  /** The content type for data in the binary Smile format. */
+  public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+
   /** The content type for plain text data. */
   public static final String TEXT_PLAIN = "text/plain";
 
+  /** The content type for a stream of server-sent events. */
+  public static final String TEXT_EVENT_STREAM = "text/event-stream";
+
   private ContentType() throws InstantiationException {
     throw new InstantiationException("Cannot be instantiated");
   }
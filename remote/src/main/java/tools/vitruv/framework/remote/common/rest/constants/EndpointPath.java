@@ -20,6 +20,18 @@ public final class EndpointPath {
   /** The endpoint path to check if a view is outdated. */
   public static final String IS_VIEW_OUTDATED = "/vsum/view/outdated";
 
+  /** The endpoint path for the combined status of a view. */
+  public static final String VIEW_STATUS = "/vsum/view/status";
+
+  /** The endpoint path for the stream of events about a view. */
+  public static final String VIEW_EVENTS = "/vsum/view/events";
+
+  /** The endpoint path for processing several requests in one round trip. */
+  public static final String BATCH = "/vsum/batch";
+
+  /** The endpoint path for the status of an asynchronous change propagation. */
+  public static final String JOB = "/vsum/job";
+
   /** The endpoint path for deriving changes. */
   public static final String CHANGE_DERIVING = "/vsum/view/derive-changes";
 
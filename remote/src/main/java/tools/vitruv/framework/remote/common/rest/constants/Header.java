@@ -5,6 +5,21 @@ public final class Header {
   /** The Content-Type header key. */
   public static final String CONTENT_TYPE = "Content-Type";
 
+  /** The Accept header key. */
+  public static final String ACCEPT = "Accept";
+
+  /** The Accept-Encoding header key. */
+  public static final String ACCEPT_ENCODING = "Accept-Encoding";
+
+  /** The Content-Encoding header key. */
+  public static final String CONTENT_ENCODING = "Content-Encoding";
+
+  /** The Cache-Control header key. */
+  public static final String CACHE_CONTROL = "Cache-Control";
+
+  /** The Vary header key. */
+  public static final String VARY = "Vary";
+
   /** The View-UUID header key. */
   public static final String VIEW_UUID = "View-UUID";
 
@@ -14,6 +29,38 @@ public final class Header {
   /** The View-Type header key. */
   public static final String VIEW_TYPE = "View-Type";
 
+  /** The View-Version header key, identifying the state of a view held by the client. */
+  public static final String VIEW_VERSION = "View-Version";
+
+  /**
+   * The Delta-Base header key. It is present if a view update only contains the changes since the
+   * given version instead of the complete view.
+   */
+  public static final String DELTA_BASE = "Delta-Base";
+
+  /** The View-Status header key, reporting the state of a view as defined in {@link ViewStatus}. */
+  public static final String VIEW_STATUS = "View-Status";
+
+  /**
+   * The Prefer header key. A change propagation requested with the {@link #RESPOND_ASYNC}
+   * preference is answered before the changes are propagated.
+   */
+  public static final String PREFER = "Prefer";
+
+  /** The preference requesting an asynchronous response, as defined by RFC 7240. */
+  public static final String RESPOND_ASYNC = "respond-async";
+
+  /** The Job-Id header key, identifying an asynchronous change propagation. */
+  public static final String JOB_ID = "Job-Id";
+
+  /**
+   * The Resource-Hashes header key. If it is present in a request deriving changes, it lists the
+   * hashes of all resources of the client's view, and the body only contains the resources
+   * modified since they were last uploaded. See {@link
+   * tools.vitruv.framework.remote.common.util.ResourceHashes ResourceHashes} for the encoding.
+   */
+  public static final String RESOURCE_HASHES = "Resource-Hashes";
+
   private Header() throws InstantiationException {
     throw new InstantiationException("Cannot be instantiated");
   }
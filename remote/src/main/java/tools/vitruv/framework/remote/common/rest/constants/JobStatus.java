@@ -0,0 +1,17 @@
+package tools.vitruv.framework.remote.common.rest.constants;
+
+/** Constants for the status of an asynchronous change propagation. */
+public final class JobStatus {
+  /** The changes are still being propagated. */
+  public static final String RUNNING = "running";
+
+  /** The changes were propagated to the virtual model. */
+  public static final String SUCCEEDED = "succeeded";
+
+  /** The changes were rejected. */
+  public static final String FAILED = "failed";
+
+  private JobStatus() throws InstantiationException {
+    throw new InstantiationException("Cannot be instantiated");
+  }
+}
@@ -0,0 +1,26 @@
+package tools.vitruv.framework.remote.common.rest.constants;
+
+/**
+ * Constants for the names of the server-sent events about a view. The data of every event is
+ * either {@code true} or {@code false}.
+ */
+public final class ViewEvent {
+  /**
+   * Reports whether the view is outdated. It is sent once when subscribing and whenever a change
+   * propagation made the view outdated.
+   */
+  public static final String OUTDATED = "outdated";
+
+  /**
+   * Reports that an asynchronous change propagation of the view finished and whether it
+   * succeeded. The outcome can then be retrieved from the {@link EndpointPath#JOB job endpoint}.
+   */
+  public static final String PROPAGATED = "propagated";
+
+  /** Reports that the view was closed. It is the last event of the stream. */
+  public static final String CLOSED = "closed";
+
+  private ViewEvent() throws InstantiationException {
+    throw new InstantiationException("Cannot be instantiated");
+  }
+}
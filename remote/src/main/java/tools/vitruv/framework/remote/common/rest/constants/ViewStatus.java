@@ -0,0 +1,20 @@
+package tools.vitruv.framework.remote.common.rest.constants;
+
+/**
+ * Constants for the status of a view as reported by the server in the {@link Header#VIEW_STATUS}
+ * header.
+ */
+public final class ViewStatus {
+  /** The view is open and up to date. */
+  public static final String OPEN = "open";
+
+  /** The view is open, but the underlying view sources have changed. */
+  public static final String OUTDATED = "outdated";
+
+  /** The view was closed or is no longer known to the server. */
+  public static final String CLOSED = "closed";
+
+  private ViewStatus() throws InstantiationException {
+    throw new InstantiationException("Cannot be instantiated");
+  }
+}
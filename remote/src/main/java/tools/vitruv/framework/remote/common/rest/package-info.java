@@ -0,0 +1,5 @@
+/**
+ * This package contains the data exchanged between Vitruvius server and client when several
+ * requests are combined into a batch.
+ */
+package tools.vitruv.framework.remote.common.rest;
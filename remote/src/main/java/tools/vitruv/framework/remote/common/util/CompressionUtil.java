@@ -0,0 +1,148 @@
+package tools.vitruv.framework.remote.common.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+import tools.vitruv.framework.remote.common.rest.constants.ContentEncoding;
+
+/**
+ * Contains utility functions to compress and decompress HTTP bodies according to their content
+ * encoding.
+ */
+public final class CompressionUtil {
+  /** The value of the Accept-Encoding header listing all supported encodings. */
+  public static final String ACCEPTED_ENCODINGS =
+      ContentEncoding.GZIP + ", " + ContentEncoding.DEFLATE;
+
+  private CompressionUtil() throws InstantiationException {
+    throw new InstantiationException("Cannot be instantiated");
+  }
+
+  /**
+   * Checks whether the given content encoding can be decoded.
+   *
+   * @param encoding The content encoding, or {@code null} if there is none.
+   * @return {@code true} if the encoding is supported, {@code false} otherwise.
+   */
+  public static boolean isSupported(String encoding) {
+    return encoding == null
+        || switch (normalize(encoding)) {
+          case ContentEncoding.IDENTITY, ContentEncoding.GZIP, ContentEncoding.DEFLATE -> true;
+          default -> false;
+        };
+  }
+
+  /**
+   * Selects the compressing encoding to use for a response from the value of an Accept-Encoding
+   * header. Encodings with a higher quality value are preferred, gzip is preferred over deflate.
+   *
+   * @param acceptEncoding The value of the Accept-Encoding header, or {@code null} if there is
+   *     none.
+   * @return The selected encoding, or {@code null} if the response must not be compressed.
+   */
+  public static String negotiate(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return null;
+    }
+    String selected = null;
+    double selectedQuality = 0;
+    for (var entry : acceptEncoding.split(",")) {
+      var parts = entry.split(";");
+      var coding = normalize(parts[0]);
+      var quality = parseQuality(parts);
+      if (coding.equals("*")) {
+        coding = ContentEncoding.GZIP;
+      } else if (!coding.equals(ContentEncoding.GZIP) && !coding.equals(ContentEncoding.DEFLATE)
+          || quality <= 0) {
+        continue;
+      }
+      if (quality > selectedQuality
+          || (quality == selectedQuality && coding.equals(ContentEncoding.GZIP))) {
+        selected = coding;
+        selectedQuality = quality;
+      }
+    }
+    return selected;
+  }
+
+  /**
+   * Wraps the given stream so that the data written to it is compressed with the given encoding.
+   *
+   * @param encoding The content encoding to apply.
+   * @param out The stream receiving the compressed data.
+   * @return The stream to write the uncompressed data to.
+   * @throws IOException If the compressed stream cannot be created.
+   * @throws IllegalArgumentException If the encoding is not supported.
+   */
+  public static OutputStream encode(String encoding, OutputStream out) throws IOException {
+    return switch (normalize(encoding)) {
+      case ContentEncoding.IDENTITY -> out;
+      case ContentEncoding.GZIP -> new GZIPOutputStream(out);
+      case ContentEncoding.DEFLATE -> new DeflaterOutputStream(out);
+      default -> throw new IllegalArgumentException("Unsupported content encoding: " + encoding);
+    };
+  }
+
+  /**
+   * Compresses the given data with the given encoding.
+   *
+   * @param encoding The content encoding to apply.
+   * @param data The uncompressed data.
+   * @return The compressed data.
+   * @throws IOException If the data cannot be compressed.
+   * @throws IllegalArgumentException If the encoding is not supported.
+   */
+  public static byte[] encode(String encoding, byte[] data) throws IOException {
+    var compressed = new ByteArrayOutputStream(data.length / 4);
+    try (var out = encode(encoding, compressed)) {
+      out.write(data);
+    }
+    return compressed.toByteArray();
+  }
+
+  /**
+   * Wraps the given stream so that the data read from it is decompressed according to the given
+   * encoding.
+   *
+   * @param encoding The content encoding of the data, or {@code null} if there is none.
+   * @param in The stream providing the compressed data.
+   * @return The stream providing the uncompressed data.
+   * @throws IOException If the compressed stream cannot be read.
+   * @throws IllegalArgumentException If the encoding is not supported.
+   */
+  public static InputStream decode(String encoding, InputStream in) throws IOException {
+    if (encoding == null) {
+      return in;
+    }
+    return switch (normalize(encoding)) {
+      case ContentEncoding.IDENTITY -> in;
+      case ContentEncoding.GZIP -> new GZIPInputStream(in);
+      case ContentEncoding.DEFLATE -> new InflaterInputStream(in);
+      default -> throw new IllegalArgumentException("Unsupported content encoding: " + encoding);
+    };
+  }
+
+  private static String normalize(String encoding) {
+    return encoding.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static double parseQuality(String[] parts) {
+    for (int i = 1; i < parts.length; i++) {
+      var parameter = parts[i].trim();
+      if (parameter.startsWith("q=")) {
+        try {
+          return Double.parseDouble(parameter.substring(2));
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+}
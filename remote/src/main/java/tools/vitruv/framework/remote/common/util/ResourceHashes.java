@@ -0,0 +1,76 @@
+package tools.vitruv.framework.remote.common.util;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Hashes the serialized content of resources and encodes the hashes of several resources by their
+ * URI as the value of a {@link
+ * tools.vitruv.framework.remote.common.rest.constants.Header#RESOURCE_HASHES Resource-Hashes}
+ * header, e.g., {@code models%2Fa.json=3f2a...,models%2Fb.json=9c41...}. The URIs are URL-encoded,
+ * so that they cannot contain the separators.
+ */
+public final class ResourceHashes {
+  private static final HashFunction HASHING = Hashing.murmur3_128();
+  private static final String ENTRY_SEPARATOR = ",";
+  private static final char HASH_SEPARATOR = '=';
+
+  private ResourceHashes() throws InstantiationException {
+    throw new InstantiationException("Cannot be instantiated");
+  }
+
+  /**
+   * Hashes the given serialized content of a resource.
+   *
+   * @param content The serialized content.
+   * @return The hash as hexadecimal string.
+   */
+  public static String hash(byte[] content) {
+    return HASHING.hashBytes(content).toString();
+  }
+
+  /**
+   * Encodes the given hashes.
+   *
+   * @param hashes The hashes by the URIs of their resources.
+   * @return The encoded hashes.
+   */
+  public static String encode(Map<String, String> hashes) {
+    var encoded = new StringJoiner(ENTRY_SEPARATOR);
+    hashes.forEach(
+        (uri, hash) ->
+            encoded.add(URLEncoder.encode(uri, StandardCharsets.UTF_8) + HASH_SEPARATOR + hash));
+    return encoded.toString();
+  }
+
+  /**
+   * Decodes the given hashes.
+   *
+   * @param encoded The encoded hashes.
+   * @return The hashes by the URIs of their resources, in the encoded order.
+   * @throws IllegalArgumentException If the hashes are malformed.
+   */
+  public static Map<String, String> decode(String encoded) {
+    var hashes = new LinkedHashMap<String, String>();
+    if (encoded.isBlank()) {
+      return hashes;
+    }
+    for (var entry : encoded.split(ENTRY_SEPARATOR)) {
+      var separator = entry.lastIndexOf(HASH_SEPARATOR);
+      if (separator <= 0 || separator == entry.length() - 1) {
+        throw new IllegalArgumentException("Invalid resource hash " + entry.strip());
+      }
+      var uri = URLDecoder.decode(entry.substring(0, separator).strip(), StandardCharsets.UTF_8);
+      if (hashes.put(uri, entry.substring(separator + 1).strip()) != null) {
+        throw new IllegalArgumentException("Duplicate resource hash for " + uri);
+      }
+    }
+    return hashes;
+  }
+}
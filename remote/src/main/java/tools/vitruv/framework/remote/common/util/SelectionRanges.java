@@ -0,0 +1,66 @@
+package tools.vitruv.framework.remote.common.util;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Encodes the selected elements of a view selector, identified by their indices, as run-length
+ * ranges. The encoding is a flat array of alternating start indices and lengths of consecutive
+ * selected elements, e.g., {@code [0, 3, 10, 1]} selects the elements 0, 1, 2 and 10. Selecting
+ * all elements thus costs two numbers regardless of how many elements are selectable.
+ */
+public final class SelectionRanges {
+  private SelectionRanges() throws InstantiationException {
+    throw new InstantiationException("Cannot be instantiated");
+  }
+
+  /**
+   * Encodes the given selection.
+   *
+   * @param selected The indices of the selected elements.
+   * @return The ranges of the selected elements.
+   */
+  public static int[] encode(BitSet selected) {
+    var ranges = new int[16];
+    var size = 0;
+    var start = selected.nextSetBit(0);
+    while (start >= 0) {
+      var end = selected.nextClearBit(start);
+      if (size + 2 > ranges.length) {
+        ranges = Arrays.copyOf(ranges, ranges.length * 2);
+      }
+      ranges[size++] = start;
+      ranges[size++] = end - start;
+      start = end < Integer.MAX_VALUE ? selected.nextSetBit(end) : -1;
+    }
+    return Arrays.copyOf(ranges, size);
+  }
+
+  /**
+   * Decodes the given ranges. The ranges are checked against the number of selectable elements
+   * before any of them is decoded, so that the size of the decoded selection is bounded by it.
+   *
+   * @param ranges The ranges of the selected elements.
+   * @param size The number of selectable elements. No range must end after it.
+   * @return The indices of the selected elements.
+   * @throws IllegalArgumentException If the ranges are malformed or exceed the selectable elements.
+   */
+  public static BitSet decode(int[] ranges, int size) {
+    if (ranges.length % 2 != 0) {
+      throw new IllegalArgumentException("Ranges must consist of pairs of start and length");
+    }
+    for (int i = 0; i < ranges.length; i += 2) {
+      var start = ranges[i];
+      var length = ranges[i + 1];
+      if (start < 0 || length < 0 || (long) start + length > size) {
+        throw new IllegalArgumentException(
+            "Invalid range " + start + "+" + length + " for " + size + " elements");
+      }
+    }
+    var selected = new BitSet(size);
+    for (int i = 0; i < ranges.length; i += 2) {
+      selected.set(ranges[i], ranges[i] + ranges[i + 1]);
+    }
+    return selected;
+  }
+}
@@ -0,0 +1,152 @@
+package tools.vitruv.framework.remote.server;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.function.Supplier;
+import tools.vitruv.framework.remote.common.CompressionSettings;
+import tools.vitruv.framework.remote.common.json.JsonMapperSettings;
+import tools.vitruv.framework.remote.server.cache.BoundedServerCache;
+import tools.vitruv.framework.remote.server.cache.CacheSettings;
+import tools.vitruv.framework.remote.server.cache.ServerCache;
+import tools.vitruv.framework.remote.server.concurrency.GroupCommitSettings;
+import tools.vitruv.framework.remote.server.http.java.RequestExecutor;
+
+/**
+ * Configures a {@link VitruvServer}. Starting from {@link #defaults()}, the settings are adjusted
+ * with the {@code with} methods, e.g.:
+ *
+ * <pre>{@code
+ * ServerSettings.defaults()
+ *     .withExecutor(RequestExecutor.virtualThreadPerRequest())
+ *     .withGroupCommit(GroupCommitSettings.defaults());
+ * }</pre>
+ *
+ * @param cache Provides the cache holding the views and selectors handed out to clients. It is
+ *     called once when the server is created.
+ * @param executor Determines the threads on which requests are processed.
+ * @param json The settings of the JSON mapper, e.g., to enable pretty printing.
+ * @param compression Determines which responses are compressed for clients accepting it.
+ * @param groupCommit Determines whether and how concurrent change propagations are grouped.
+ * @param derivationParallelism The number of threads deriving the changes of uploaded resources in
+ *     parallel.
+ */
+public record ServerSettings(
+    Supplier<ServerCache> cache,
+    RequestExecutor executor,
+    JsonMapperSettings json,
+    CompressionSettings compression,
+    GroupCommitSettings groupCommit,
+    int derivationParallelism) {
+
+  /** Validates the settings. */
+  public ServerSettings {
+    checkArgument(cache != null, "cache must not be null");
+    checkArgument(executor != null, "executor must not be null");
+    checkArgument(json != null, "JSON settings must not be null");
+    checkArgument(compression != null, "compression settings must not be null");
+    checkArgument(groupCommit != null, "group commit settings must not be null");
+    checkArgument(derivationParallelism > 0, "derivation parallelism must be positive");
+  }
+
+  /**
+   * Returns the default settings, which cache views in a {@link BoundedServerCache} with the
+   * default limits, process requests on the dispatcher thread, compress large responses, commit
+   * each change propagation on its own, and derive changes on one thread per processor.
+   *
+   * @return The default {@link ServerSettings}.
+   */
+  public static ServerSettings defaults() {
+    return new ServerSettings(
+        () -> new BoundedServerCache(CacheSettings.defaults()),
+        RequestExecutor.dispatcherThread(),
+        JsonMapperSettings.defaults(),
+        CompressionSettings.defaults(),
+        GroupCommitSettings.disabled(),
+        Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Returns a copy of these settings caching views in a {@link BoundedServerCache} with the given
+   * limits.
+   *
+   * @param cache The limits of the cache holding the views and selectors.
+   * @return The adjusted {@link ServerSettings}.
+   */
+  public ServerSettings withCache(CacheSettings cache) {
+    checkArgument(cache != null, "cache settings must not be null");
+    return withCache(() -> new BoundedServerCache(cache));
+  }
+
+  /**
+   * Returns a copy of these settings caching views in the given cache, e.g., an implementation
+   * based on another caching library. The cache must only be used by a single server.
+   *
+   * @param cache The cache holding the views and selectors.
+   * @return The adjusted {@link ServerSettings}.
+   */
+  public ServerSettings withCache(ServerCache cache) {
+    checkArgument(cache != null, "cache must not be null");
+    return withCache(() -> cache);
+  }
+
+  private ServerSettings withCache(Supplier<ServerCache> cache) {
+    return new ServerSettings(
+        cache, executor, json, compression, groupCommit, derivationParallelism);
+  }
+
+  /**
+   * Returns a copy of these settings with the given request executor.
+   *
+   * @param executor Determines the threads on which requests are processed.
+   * @return The adjusted {@link ServerSettings}.
+   */
+  public ServerSettings withExecutor(RequestExecutor executor) {
+    return new ServerSettings(
+        cache, executor, json, compression, groupCommit, derivationParallelism);
+  }
+
+  /**
+   * Returns a copy of these settings with the given JSON mapper settings.
+   *
+   * @param json The settings of the JSON mapper.
+   * @return The adjusted {@link ServerSettings}.
+   */
+  public ServerSettings withJson(JsonMapperSettings json) {
+    return new ServerSettings(
+        cache, executor, json, compression, groupCommit, derivationParallelism);
+  }
+
+  /**
+   * Returns a copy of these settings with the given compression settings.
+   *
+   * @param compression Determines which responses are compressed.
+   * @return The adjusted {@link ServerSettings}.
+   */
+  public ServerSettings withCompression(CompressionSettings compression) {
+    return new ServerSettings(
+        cache, executor, json, compression, groupCommit, derivationParallelism);
+  }
+
+  /**
+   * Returns a copy of these settings with the given group commit settings.
+   *
+   * @param groupCommit Determines whether and how concurrent change propagations are grouped.
+   * @return The adjusted {@link ServerSettings}.
+   */
+  public ServerSettings withGroupCommit(GroupCommitSettings groupCommit) {
+    return new ServerSettings(
+        cache, executor, json, compression, groupCommit, derivationParallelism);
+  }
+
+  /**
+   * Returns a copy of these settings with the given number of threads deriving changes.
+   *
+   * @param derivationParallelism The number of threads deriving the changes of uploaded resources
+   *     in parallel.
+   * @return The adjusted {@link ServerSettings}.
+   */
+  public ServerSettings withDerivationParallelism(int derivationParallelism) {
+    return new ServerSettings(
+        cache, executor, json, compression, groupCommit, derivationParallelism);
+  }
+}
@@ -2,11 +2,20 @@ package tools.vitruv.framework.remote.server;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import tools.vitruv.framework.remote.common.DefaultConnectionSettings;
 import tools.vitruv.framework.remote.common.json.JsonMapper;
+import tools.vitruv.framework.remote.server.cache.ServerCache;
+import tools.vitruv.framework.remote.server.concurrency.GroupCommitter;
+import tools.vitruv.framework.remote.server.concurrency.ModelAccessController;
+import tools.vitruv.framework.remote.server.concurrency.PropagationJobs;
 import tools.vitruv.framework.remote.server.http.java.VitruvJavaHttpServer;
+import tools.vitruv.framework.remote.server.notification.ViewEventPublisher;
 import tools.vitruv.framework.remote.server.rest.PathEndointCollector;
 import tools.vitruv.framework.remote.server.rest.endpoints.EndpointsProvider;
+import tools.vitruv.framework.views.View;
 import tools.vitruv.framework.vsum.VirtualModel;
 
 /**
@@ -16,7 +25,15 @@ import tools.vitruv.framework.vsum.VirtualModel;
  * client to perform remote actions on the VSUM.
  */
 public class VitruvServer {
+  private static final Logger LOGGER = LoggerFactory.getLogger(VitruvServer.class);
+
   private final VitruvJavaHttpServer server;
+  private final ModelAccessController modelAccess;
+  private final GroupCommitter committer;
+  private final PropagationJobs jobs;
+  private final ViewEventPublisher eventPublisher;
+  private final ForkJoinPool derivationPool;
+  private final JsonMapper mapper;
 
   /**
    * Creates a new {@link VitruvServer} using the given {@link VirtualModelInitializer}. Sets host
@@ -28,11 +45,54 @@ public class VitruvServer {
    */
   public VitruvServer(VirtualModelInitializer modelInitializer, int port, String hostOrIp)
       throws IOException {
+    this(modelInitializer, port, hostOrIp, ServerSettings.defaults());
+  }
+
+  /**
+   * Creates a new {@link VitruvServer} using the given {@link VirtualModelInitializer}. Sets host
+   * name or IP address and port which are used to open the server, and the cache which holds the
+   * views and selectors handed out to clients.
+   *
+   * @param modelInitializer The initializer which creates an {@link VirtualModel}.
+   * @param port The port to open to server on.
+   * @param hostOrIp The host name or IP address to which the server is bound.
+   * @param cache The cache holding the views and selectors.
+   */
+  public VitruvServer(
+      VirtualModelInitializer modelInitializer, int port, String hostOrIp, ServerCache cache)
+      throws IOException {
+    this(modelInitializer, port, hostOrIp, ServerSettings.defaults().withCache(cache));
+  }
+
+  /**
+   * Creates a new {@link VitruvServer} using the given {@link VirtualModelInitializer}. Sets host
+   * name or IP address and port which are used to open the server, and the settings of the server,
+   * e.g., the threads on which requests are processed.
+   *
+   * @param modelInitializer The initializer which creates an {@link VirtualModel}.
+   * @param port The port to open to server on.
+   * @param hostOrIp The host name or IP address to which the server is bound.
+   * @param settings The settings of the server.
+   */
+  public VitruvServer(
+      VirtualModelInitializer modelInitializer, int port, String hostOrIp, ServerSettings settings)
+      throws IOException {
     VirtualModel model = modelInitializer.init();
-    JsonMapper mapper = new JsonMapper(model.getFolder());
-    List<PathEndointCollector> endpoints = EndpointsProvider.getAllEndpoints(model, mapper);
+    this.mapper = new JsonMapper(model.getFolder(), settings.json());
+    this.modelAccess = new ModelAccessController();
+    this.committer = new GroupCommitter(modelAccess, settings.groupCommit());
+    this.jobs = new PropagationJobs();
+    this.eventPublisher = new ViewEventPublisher(modelAccess);
+    this.derivationPool = new ForkJoinPool(settings.derivationParallelism());
+    ServerCache cache = settings.cache().get();
+    cache.setEvictedViewCloser(this::closeEvictedView);
+    List<PathEndointCollector> endpoints =
+        EndpointsProvider.getAllEndpoints(
+            model, mapper, cache, modelAccess, committer, jobs, eventPublisher, derivationPool);
 
-    this.server = new VitruvJavaHttpServer(hostOrIp, port, endpoints);
+    this.server =
+        new VitruvJavaHttpServer(
+            hostOrIp, port, endpoints, settings.executor(), settings.compression());
   }
 
   /**
@@ -57,6 +117,22 @@ public class VitruvServer {
     this(modelInitializer, DefaultConnectionSettings.STD_PORT);
   }
 
+  /**
+   * Closes a view evicted from the cache under the locks of the model and the view, and notifies
+   * its subscribers once it is closed.
+   */
+  private void closeEvictedView(View view) {
+    modelAccess
+        .submitCloseView(view)
+        .whenComplete(
+            (result, error) -> {
+              if (error != null) {
+                LOGGER.warn("Closing evicted view failed: {}", error.getMessage());
+              }
+              eventPublisher.publishClosed(view);
+            });
+  }
+
   /** Starts the Vitruvius server. */
   public void start() {
     server.start();
@@ -64,6 +140,13 @@ public class VitruvServer {
 
   /** Stops the Vitruvius server. */
   public void stop() {
+    // End the open event streams first, as stopping waits for running exchanges.
+    eventPublisher.close();
     server.stop();
+    committer.close();
+    jobs.close();
+    derivationPool.close();
+    modelAccess.close();
+    mapper.close();
   }
 }
@@ -0,0 +1,329 @@
+package tools.vitruv.framework.remote.server.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.Iterators;
+import com.google.common.primitives.Ints;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.vitruv.framework.remote.common.json.WireFormat;
+import tools.vitruv.framework.views.View;
+import tools.vitruv.framework.views.ViewType;
+
+/**
+ * A thread-safe {@link ServerCache} bounded by the limits of its {@link CacheSettings}. Views which
+ * are evicted because of the size limit or their idle timeout are closed by the {@linkplain
+ * #setEvictedViewCloser(Consumer) evicted view closer}, or directly if none is set. The snapshot of
+ * a view is dropped whenever the view leaves the cache. One {@link SelectorSnapshot} is kept per
+ * view type and replaced once the model version changes. It is created outside of any lock of the
+ * cache, so that creating the snapshot of one view type does not block the others, while concurrent
+ * requests for the same view type wait for a single creation. {@link ViewPayload}s are evicted in
+ * least-recently-used order once their serialized size exceeds the byte budget, which bounds their
+ * heap usage since a payload only retains its serialized resources. Likewise, {@link
+ * ViewSnapshot}s are evicted once the number of model elements they hold exceeds the snapshot
+ * budget. Hits, misses and evictions are published as Micrometer metrics named {@value
+ * #VIEW_CACHE_NAME}, {@value #SELECTOR_CACHE_NAME}, {@value #PAYLOAD_CACHE_NAME} and {@value
+ * #SNAPSHOT_CACHE_NAME}, the size of the cached payloads as {@value
+ * #PAYLOAD_CACHE_NAME}{@code .bytes}.
+ */
+public class BoundedServerCache implements ServerCache {
+  /** The name under which the view cache metrics are published. */
+  public static final String VIEW_CACHE_NAME = "vitruv.server.cache.views";
+
+  /** The name under which the selector cache metrics are published. */
+  public static final String SELECTOR_CACHE_NAME = "vitruv.server.cache.selectors";
+
+  /** The name under which the view payload cache metrics are published. */
+  public static final String PAYLOAD_CACHE_NAME = "vitruv.server.cache.payloads";
+
+  /** The name under which the view snapshot cache metrics are published. */
+  public static final String SNAPSHOT_CACHE_NAME = "vitruv.server.cache.snapshots";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BoundedServerCache.class);
+
+  private final Cache<String, View> viewCache;
+  private final Cache<String, SelectorEntry> selectorCache;
+  private final Cache<PayloadKey, ViewPayload> payloadCache;
+  private final Cache<String, ViewSnapshot> snapshotCache;
+  private final Map<String, SelectionFingerprint> viewSelections = new ConcurrentHashMap<>();
+  private final Map<String, PendingSnapshot> selectorSnapshots = new ConcurrentHashMap<>();
+  private final AtomicLong viewVersions = new AtomicLong();
+  private final long maximumPayloadEntryBytes;
+  private volatile Consumer<View> evictedViewCloser = BoundedServerCache::closeView;
+
+  private record SelectorEntry(ViewType<?> viewType, SelectorMapping mapping) {}
+
+  private record PendingSnapshot(long modelVersion, CompletableFuture<SelectorSnapshot> future) {}
+
+  private record PayloadKey(SelectionFingerprint selection, long modelVersion, WireFormat format) {}
+
+  /** Creates a new {@link BoundedServerCache} with the default settings. */
+  public BoundedServerCache() {
+    this(CacheSettings.defaults());
+  }
+
+  /**
+   * Creates a new {@link BoundedServerCache} publishing its metrics to the global registry.
+   *
+   * @param settings The limits of the cache.
+   */
+  public BoundedServerCache(CacheSettings settings) {
+    this(settings, Metrics.globalRegistry);
+  }
+
+  /**
+   * Creates a new {@link BoundedServerCache}.
+   *
+   * @param settings The limits of the cache.
+   * @param registry The registry to publish the cache metrics to.
+   */
+  public BoundedServerCache(CacheSettings settings, MeterRegistry registry) {
+    this.maximumPayloadEntryBytes = settings.maximumPayloadEntryBytes();
+    this.viewCache =
+        CacheBuilder.newBuilder()
+            .maximumSize(settings.maximumViews())
+            .expireAfterAccess(settings.viewIdleTimeout())
+            .removalListener(this::onViewRemoval)
+            .recordStats()
+            .build();
+    this.selectorCache =
+        CacheBuilder.newBuilder()
+            .maximumSize(settings.maximumSelectors())
+            .expireAfterAccess(settings.selectorIdleTimeout())
+            .recordStats()
+            .build();
+    this.payloadCache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(settings.maximumPayloadBytes())
+            .<PayloadKey, ViewPayload>weigher((key, payload) -> payload.serialized().length)
+            .recordStats()
+            .build();
+    this.snapshotCache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(settings.maximumSnapshotObjects())
+            .<String, ViewSnapshot>weigher((uuid, snapshot) -> objectCount(snapshot))
+            .recordStats()
+            .build();
+    GuavaCacheMetrics.monitor(registry, viewCache, VIEW_CACHE_NAME);
+    GuavaCacheMetrics.monitor(registry, selectorCache, SELECTOR_CACHE_NAME);
+    GuavaCacheMetrics.monitor(registry, payloadCache, PAYLOAD_CACHE_NAME);
+    GuavaCacheMetrics.monitor(registry, snapshotCache, SNAPSHOT_CACHE_NAME);
+    Gauge.builder(PAYLOAD_CACHE_NAME + ".bytes", payloadCache, BoundedServerCache::payloadBytes)
+        .baseUnit("bytes")
+        .register(registry);
+  }
+
+  private void onViewRemoval(RemovalNotification<String, View> notification) {
+    snapshotCache.invalidate(notification.getKey());
+    viewSelections.remove(notification.getKey());
+    if (!notification.wasEvicted()) {
+      return;
+    }
+    try {
+      evictedViewCloser.accept(notification.getValue());
+    } catch (RuntimeException e) {
+      LOGGER.warn("Closing evicted view {} failed: {}", notification.getKey(), e.getMessage());
+    }
+  }
+
+  private static void closeView(View view) {
+    try {
+      view.close();
+    } catch (Exception e) {
+      throw new IllegalStateException(e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public void setEvictedViewCloser(Consumer<View> closer) {
+    this.evictedViewCloser = closer;
+  }
+
+  @Override
+  public void addView(String uuid, View view) {
+    viewCache.put(uuid, view);
+  }
+
+  @Override
+  public View getView(String uuid) {
+    return uuid == null ? null : viewCache.getIfPresent(uuid);
+  }
+
+  @Override
+  public View removeView(String uuid) {
+    return uuid == null ? null : viewCache.asMap().remove(uuid);
+  }
+
+  @Override
+  public long storeViewSnapshot(String uuid, ResourceSet resources) {
+    var version = viewVersions.incrementAndGet();
+    if (uuid != null && viewCache.asMap().containsKey(uuid)) {
+      snapshotCache.put(uuid, new ViewSnapshot(version, resources));
+    }
+    return version;
+  }
+
+  @Override
+  public long replaceViewSnapshot(String uuid, ViewSnapshot expected, ResourceSet resources) {
+    var snapshot = new ViewSnapshot(viewVersions.incrementAndGet(), resources);
+    if (uuid == null || !viewCache.asMap().containsKey(uuid)) {
+      return snapshot.version();
+    }
+    boolean replaced =
+        expected == null
+            ? snapshotCache.asMap().putIfAbsent(uuid, snapshot) == null
+            : snapshotCache.asMap().replace(uuid, expected, snapshot);
+    return replaced ? snapshot.version() : -1;
+  }
+
+  @Override
+  public ViewSnapshot getViewSnapshot(String uuid) {
+    return uuid == null ? null : snapshotCache.getIfPresent(uuid);
+  }
+
+  @Override
+  public void invalidateViewSnapshot(String uuid) {
+    if (uuid != null) {
+      snapshotCache.invalidate(uuid);
+    }
+  }
+
+  @Override
+  public void setViewSelection(String uuid, SelectionFingerprint selection) {
+    if (uuid != null && viewCache.asMap().containsKey(uuid)) {
+      viewSelections.put(uuid, selection);
+    }
+  }
+
+  @Override
+  public SelectionFingerprint getViewSelection(String uuid) {
+    return uuid == null ? null : viewSelections.get(uuid);
+  }
+
+  @Override
+  public ViewPayload getViewPayload(
+      SelectionFingerprint selection, long modelVersion, WireFormat format) {
+    return payloadCache.getIfPresent(new PayloadKey(selection, modelVersion, format));
+  }
+
+  @Override
+  public void putViewPayload(
+      SelectionFingerprint selection, long modelVersion, WireFormat format, ViewPayload payload) {
+    if (payload.serialized().length <= maximumPayloadEntryBytes) {
+      payloadCache.put(new PayloadKey(selection, modelVersion, format), payload);
+    }
+  }
+
+  @Override
+  public long getMaximumViewPayloadBytes() {
+    return maximumPayloadEntryBytes;
+  }
+
+  @Override
+  public void invalidateViewPayloads() {
+    payloadCache.invalidateAll();
+  }
+
+  @Override
+  public SelectorSnapshot getSelectorSnapshot(
+      String viewTypeName, long modelVersion, Supplier<SelectorSnapshot> factory) {
+    var created = new PendingSnapshot(modelVersion, new CompletableFuture<>());
+    var pending =
+        selectorSnapshots.compute(
+            viewTypeName,
+            (name, previous) ->
+                previous != null && previous.modelVersion() == modelVersion ? previous : created);
+    if (pending == created) {
+      // Create the snapshot outside of the map, concurrent requests wait for its future.
+      try {
+        created.future().complete(factory.get());
+      } catch (RuntimeException | Error e) {
+        selectorSnapshots.remove(viewTypeName, created);
+        created.future().completeExceptionally(e);
+        throw e;
+      }
+    }
+    try {
+      return pending.future().join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException cause ? cause : e;
+    }
+  }
+
+  @Override
+  public void addSelectorWithMapping(
+      String selectorUuid, ViewType<?> viewType, SelectorMapping mapping) {
+    selectorCache.put(selectorUuid, new SelectorEntry(viewType, mapping));
+  }
+
+  @Override
+  public ViewType<?> getSelectorViewType(String selectorUuid) {
+    var entry = getSelectorEntry(selectorUuid);
+    return entry == null ? null : entry.viewType();
+  }
+
+  @Override
+  public SelectorMapping getSelectorMapping(String selectorUuid) {
+    var entry = getSelectorEntry(selectorUuid);
+    return entry == null ? null : entry.mapping();
+  }
+
+  @Override
+  public EObject getEObjectFromMapping(String selectorUuid, int index) {
+    var entry = getSelectorEntry(selectorUuid);
+    return entry == null ? null : entry.mapping().get(index);
+  }
+
+  @Override
+  public int getIndexFromMapping(String selectorUuid, EObject eObject) {
+    var entry = getSelectorEntry(selectorUuid);
+    return entry == null ? -1 : entry.mapping().indexOf(eObject);
+  }
+
+  @Override
+  public void removeSelectorAndMapping(String selectorUuid) {
+    if (selectorUuid != null) {
+      selectorCache.invalidate(selectorUuid);
+    }
+  }
+
+  /** Performs pending maintenance such as evicting idle entries. */
+  public void cleanUp() {
+    viewCache.cleanUp();
+    selectorCache.cleanUp();
+    payloadCache.cleanUp();
+    snapshotCache.cleanUp();
+  }
+
+  private static double payloadBytes(Cache<PayloadKey, ViewPayload> cache) {
+    return cache.asMap().values().stream().mapToLong(it -> it.serialized().length).sum();
+  }
+
+  /** Returns the number of model elements in the resources of the given snapshot. */
+  private static int objectCount(ViewSnapshot snapshot) {
+    long count = 0;
+    for (Resource resource : snapshot.resources().getResources()) {
+      count += Iterators.size(resource.getAllContents());
+    }
+    return Ints.saturatedCast(count);
+  }
+
+  private SelectorEntry getSelectorEntry(String selectorUuid) {
+    return selectorUuid == null ? null : selectorCache.getIfPresent(selectorUuid);
+  }
+}
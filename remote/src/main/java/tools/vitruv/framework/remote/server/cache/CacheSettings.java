@@ -0,0 +1,106 @@
+package tools.vitruv.framework.remote.server.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.time.Duration;
+
+/**
+ * Limits applied by a {@link BoundedServerCache}. Entries exceeding the maximum size are evicted in
+ * least-recently-used order; entries not accessed for the idle timeout expire.
+ *
+ * @param maximumViews The maximum number of cached views.
+ * @param viewIdleTimeout The time after which a view that was not accessed is evicted.
+ * @param maximumSelectors The maximum number of cached selectors.
+ * @param selectorIdleTimeout The time after which a selector that was not accessed is evicted.
+ * @param maximumPayloadBytes The maximum total size in bytes of the cached serialized views.
+ * @param maximumPayloadEntryBytes The maximum size in bytes of a single cached serialized view.
+ *     Larger views are streamed to the client without being cached.
+ * @param maximumSnapshotObjects The maximum total number of model elements in the {@link
+ *     ViewSnapshot}s kept to derive view updates from. Views whose snapshot was evicted receive
+ *     their next update completely.
+ */
+public record CacheSettings(
+    long maximumViews,
+    Duration viewIdleTimeout,
+    long maximumSelectors,
+    Duration selectorIdleTimeout,
+    long maximumPayloadBytes,
+    long maximumPayloadEntryBytes,
+    long maximumSnapshotObjects) {
+
+  /** The default maximum number of cached views. */
+  public static final long DEFAULT_MAXIMUM_VIEWS = 1000;
+
+  /** The default idle timeout of cached views. */
+  public static final Duration DEFAULT_VIEW_IDLE_TIMEOUT = Duration.ofHours(1);
+
+  /** The default maximum number of cached selectors. */
+  public static final long DEFAULT_MAXIMUM_SELECTORS = 1000;
+
+  /** The default idle timeout of cached selectors. */
+  public static final Duration DEFAULT_SELECTOR_IDLE_TIMEOUT = Duration.ofMinutes(10);
+
+  /** The default maximum total size of the cached serialized views, 64 MiB. */
+  public static final long DEFAULT_MAXIMUM_PAYLOAD_BYTES = 64L * 1024 * 1024;
+
+  /** The default maximum size of a single cached serialized view, 8 MiB. */
+  public static final long DEFAULT_MAXIMUM_PAYLOAD_ENTRY_BYTES = 8L * 1024 * 1024;
+
+  /** The default maximum total number of model elements in the view snapshots. */
+  public static final long DEFAULT_MAXIMUM_SNAPSHOT_OBJECTS = 1_000_000;
+
+  /** Validates the settings. */
+  public CacheSettings {
+    checkArgument(maximumViews > 0, "maximum number of views must be positive");
+    checkArgument(maximumSelectors > 0, "maximum number of selectors must be positive");
+    checkArgument(
+        viewIdleTimeout != null && viewIdleTimeout.isPositive(),
+        "view idle timeout must be positive");
+    checkArgument(
+        selectorIdleTimeout != null && selectorIdleTimeout.isPositive(),
+        "selector idle timeout must be positive");
+    checkArgument(maximumPayloadBytes > 0, "maximum size of payloads must be positive");
+    checkArgument(
+        maximumPayloadEntryBytes > 0 && maximumPayloadEntryBytes <= maximumPayloadBytes,
+        "maximum size of a payload must be positive and not exceed the maximum size of payloads");
+    checkArgument(maximumSnapshotObjects > 0, "maximum size of snapshots must be positive");
+  }
+
+  /**
+   * Creates settings with the default limit of the view snapshots.
+   *
+   * @see #CacheSettings(long, Duration, long, Duration, long, long, long)
+   */
+  public CacheSettings(
+      long maximumViews,
+      Duration viewIdleTimeout,
+      long maximumSelectors,
+      Duration selectorIdleTimeout,
+      long maximumPayloadBytes,
+      long maximumPayloadEntryBytes) {
+    this(
+        maximumViews,
+        viewIdleTimeout,
+        maximumSelectors,
+        selectorIdleTimeout,
+        maximumPayloadBytes,
+        maximumPayloadEntryBytes,
+        DEFAULT_MAXIMUM_SNAPSHOT_OBJECTS);
+  }
+
+  /**
+   * Returns the default settings.
+   *
+   * @return The default {@link CacheSettings}.
+   */
+  public static CacheSettings defaults() {
+    return new CacheSettings(
+        DEFAULT_MAXIMUM_VIEWS,
+        DEFAULT_VIEW_IDLE_TIMEOUT,
+        DEFAULT_MAXIMUM_SELECTORS,
+        DEFAULT_SELECTOR_IDLE_TIMEOUT,
+        DEFAULT_MAXIMUM_PAYLOAD_BYTES,
+        DEFAULT_MAXIMUM_PAYLOAD_ENTRY_BYTES,
+        DEFAULT_MAXIMUM_SNAPSHOT_OBJECTS);
+  }
+}
@@ -0,0 +1,30 @@
+package tools.vitruv.framework.remote.server.cache;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * Identifies the selection a view was created from. Two views have the same fingerprint if their
+ * selectors share the same {@link SelectorMapping} and they selected the same elements of it, in
+ * which case they represent the same elements at any model version.
+ *
+ * @param mapping The mapping the selected indices refer to. Mappings are compared by identity.
+ * @param ranges A hash of the canonical ranges of the selected indices.
+ */
+public record SelectionFingerprint(SelectorMapping mapping, String ranges) {
+
+  /**
+   * Creates the fingerprint of the given selection.
+   *
+   * @param mapping The mapping the selected indices refer to.
+   * @param ranges The canonical ranges of the selected indices, as encoded by {@link
+   *     tools.vitruv.framework.remote.common.util.SelectionRanges#encode(java.util.BitSet)}.
+   * @return The fingerprint.
+   */
+  public static SelectionFingerprint of(SelectorMapping mapping, int[] ranges) {
+    var hasher = Hashing.sha256().newHasher(ranges.length * Integer.BYTES);
+    for (int value : ranges) {
+      hasher.putInt(value);
+    }
+    return new SelectionFingerprint(mapping, hasher.hash().toString());
+  }
+}
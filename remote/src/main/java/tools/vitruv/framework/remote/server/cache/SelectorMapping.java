@@ -0,0 +1,56 @@
+package tools.vitruv.framework.remote.server.cache;
+
+import java.util.List;
+import org.eclipse.emf.ecore.EObject;
+
+/**
+ * Maps the dense indices with which the selectable elements of a selector are identified towards
+ * the client to the elements themselves. The index of an element is its position in the list the
+ * mapping was created from, so the mapping is a plain array.
+ */
+public final class SelectorMapping {
+  private final EObject[] elements;
+
+  /**
+   * Creates a new {@link SelectorMapping}.
+   *
+   * @param elements The selectable elements in the order of their indices.
+   */
+  public SelectorMapping(List<EObject> elements) {
+    this.elements = elements.toArray(EObject[]::new);
+  }
+
+  /**
+   * Returns the number of mapped elements.
+   *
+   * @return The number of elements.
+   */
+  public int size() {
+    return elements.length;
+  }
+
+  /**
+   * Returns the element with the given index.
+   *
+   * @param index The index of the element.
+   * @return The element or {@code null} if the index is out of range.
+   */
+  public EObject get(int index) {
+    return index >= 0 && index < elements.length ? elements[index] : null;
+  }
+
+  /**
+   * Returns the index of the given element. The elements are searched linearly.
+   *
+   * @param element The element.
+   * @return The index of the element or {@code -1} if it is not mapped.
+   */
+  public int indexOf(EObject element) {
+    for (int i = 0; i < elements.length; i++) {
+      if (elements[i] == element) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
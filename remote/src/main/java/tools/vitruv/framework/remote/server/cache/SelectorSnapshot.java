@@ -0,0 +1,70 @@
+package tools.vitruv.framework.remote.server.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.util.EnumMap;
+import java.util.Map;
+import org.eclipse.emf.ecore.resource.Resource;
+import tools.vitruv.framework.remote.common.json.JsonMapper;
+import tools.vitruv.framework.remote.common.json.WireFormat;
+
+/**
+ * The selectable elements of a {@link tools.vitruv.framework.views.ViewType ViewType} at a model
+ * version, shared by all selectors created for the view type while the model is unchanged. It holds
+ * the mapping of the element indices to the selectable elements and the copied selection sent to
+ * the clients, which is serialized once per {@link WireFormat}.
+ */
+public final class SelectorSnapshot {
+  private final long modelVersion;
+  private final SelectorMapping mapping;
+  private final Resource selection;
+  private final Map<WireFormat, byte[]> serialized = new EnumMap<>(WireFormat.class);
+
+  /**
+   * Creates a new {@link SelectorSnapshot}.
+   *
+   * @param modelVersion The model version at which the selectable elements were collected.
+   * @param mapping The mapping of the element indices to the selectable elements.
+   * @param selection The resource holding the copied selectable elements identified by their index.
+   */
+  public SelectorSnapshot(long modelVersion, SelectorMapping mapping, Resource selection) {
+    this.modelVersion = modelVersion;
+    this.mapping = mapping;
+    this.selection = selection;
+  }
+
+  /**
+   * Returns the model version at which the selectable elements were collected.
+   *
+   * @return The model version.
+   */
+  public long modelVersion() {
+    return modelVersion;
+  }
+
+  /**
+   * Returns the mapping of the element indices to the selectable elements.
+   *
+   * @return The mapping.
+   */
+  public SelectorMapping mapping() {
+    return mapping;
+  }
+
+  /**
+   * Returns the copied selection in the given format, serializing it on first use.
+   *
+   * @param format The format to serialize to.
+   * @param mapper The mapper serializing the selection.
+   * @return The serialized selection.
+   * @throws JsonProcessingException If the selection cannot be serialized.
+   */
+  public synchronized byte[] serialized(WireFormat format, JsonMapper mapper)
+      throws JsonProcessingException {
+    var bytes = serialized.get(format);
+    if (bytes == null) {
+      bytes = mapper.serializeToBytes(selection, format);
+      serialized.put(format, bytes);
+    }
+    return bytes;
+  }
+}
@@ -0,0 +1,204 @@
+package tools.vitruv.framework.remote.server.cache;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import tools.vitruv.framework.remote.common.json.WireFormat;
+import tools.vitruv.framework.views.View;
+import tools.vitruv.framework.views.ViewSelector;
+import tools.vitruv.framework.views.ViewType;
+
+/**
+ * A cache holding the {@link View}s and view selectors handed out to clients, together with the
+ * per-selector mappings of element indices to {@link EObject}s and the {@link ViewSnapshot}s from
+ * which view updates are derived. Implementations must be safe for concurrent use by several
+ * request handling threads.
+ */
+public interface ServerCache {
+  /**
+   * Adds a view to the cache with the given uuid.
+   *
+   * @param uuid The uuid of the view.
+   * @param view The view to add.
+   */
+  void addView(String uuid, View view);
+
+  /**
+   * Retrieves a view from the cache with the given uuid.
+   *
+   * @param uuid The uuid of the view.
+   * @return The view with the given uuid or {@code null} if there is none.
+   */
+  View getView(String uuid);
+
+  /**
+   * Removes a view from the cache with the given uuid. The view is not closed.
+   *
+   * @param uuid The uuid of the view.
+   * @return The removed view or {@code null} if there is none.
+   */
+  View removeView(String uuid);
+
+  /**
+   * Sets the operation closing the views the cache evicts, e.g., because of its size limit. The
+   * operation is called on the thread evicting the view and must not block.
+   *
+   * @param closer The operation closing an evicted view.
+   */
+  void setEvictedViewCloser(Consumer<View> closer);
+
+  /**
+   * Stores the state of the view with the given uuid as sent to its client, replacing the previous
+   * one. The snapshot is dropped together with the view, or earlier if the cache limits the memory
+   * held by snapshots.
+   *
+   * @param uuid The uuid of the view.
+   * @param resources A copy of the resources of the view as sent to the client.
+   * @return The version assigned to the stored state.
+   */
+  long storeViewSnapshot(String uuid, ResourceSet resources);
+
+  /**
+   * Stores the state of the view with the given uuid as sent to its client if the stored state is
+   * still the expected one, so that concurrent updates of the view cannot replace each other's
+   * state unnoticed.
+   *
+   * @param uuid The uuid of the view.
+   * @param expected The state to replace, or {@code null} if no state is expected to be stored.
+   * @param resources A copy of the resources of the view as sent to the client.
+   * @return The version assigned to the stored state, or {@code -1} if the stored state was not
+   *     the expected one and nothing was stored.
+   */
+  long replaceViewSnapshot(String uuid, ViewSnapshot expected, ResourceSet resources);
+
+  /**
+   * Retrieves the state of the view with the given uuid as last sent to its client.
+   *
+   * @param uuid The uuid of the view.
+   * @return The snapshot of the view or {@code null} if there is none.
+   */
+  ViewSnapshot getViewSnapshot(String uuid);
+
+  /**
+   * Drops the stored state of the view with the given uuid, e.g., because the client changed its
+   * copy of the view, so that the next update must send the view completely.
+   *
+   * @param uuid The uuid of the view.
+   */
+  void invalidateViewSnapshot(String uuid);
+
+  /**
+   * Stores the fingerprint of the selection the view with the given uuid was created from. The
+   * fingerprint is dropped together with the view.
+   *
+   * @param uuid The uuid of the view.
+   * @param selection The fingerprint of the selection of the view.
+   */
+  void setViewSelection(String uuid, SelectionFingerprint selection);
+
+  /**
+   * Retrieves the fingerprint of the selection the view with the given uuid was created from.
+   *
+   * @param uuid The uuid of the view.
+   * @return The fingerprint or {@code null} if there is none.
+   */
+  SelectionFingerprint getViewSelection(String uuid);
+
+  /**
+   * Retrieves the serialized resources of views with the given selection at the given model
+   * version.
+   *
+   * @param selection The fingerprint of the selection of the views.
+   * @param modelVersion The model version.
+   * @param format The format of the serialized resources.
+   * @return The payload or {@code null} if there is none.
+   */
+  ViewPayload getViewPayload(SelectionFingerprint selection, long modelVersion, WireFormat format);
+
+  /**
+   * Stores the serialized resources of views with the given selection at the given model version.
+   *
+   * @param selection The fingerprint of the selection of the views.
+   * @param modelVersion The model version the resources were copied at.
+   * @param format The format of the serialized resources.
+   * @param payload The payload to store.
+   */
+  void putViewPayload(
+      SelectionFingerprint selection, long modelVersion, WireFormat format, ViewPayload payload);
+
+  /**
+   * Returns the maximum size of a single view payload. Larger payloads are not stored.
+   *
+   * @return The maximum size in bytes.
+   */
+  long getMaximumViewPayloadBytes();
+
+  /** Drops all stored view payloads, e.g., because the model has changed. */
+  void invalidateViewPayloads();
+
+  /**
+   * Returns the {@link SelectorSnapshot} of the view type with the given name at the given model
+   * version. If there is none or it belongs to another model version, a new one is created with the
+   * given factory and replaces the previous one. Concurrent requests for the same view type wait
+   * for a single creation, which must not block requests for other view types.
+   *
+   * @param viewTypeName The name of the view type.
+   * @param modelVersion The current model version.
+   * @param factory The factory creating a snapshot of the current model version.
+   * @return The snapshot of the given model version.
+   */
+  SelectorSnapshot getSelectorSnapshot(
+      String viewTypeName, long modelVersion, Supplier<SelectorSnapshot> factory);
+
+  /**
+   * Adds a selector and its corresponding EObject mapping to the cache. The {@link ViewSelector}
+   * itself is only created once the client requests the view.
+   *
+   * @param selectorUuid The uuid of the selector.
+   * @param viewType The view type the selector belongs to.
+   * @param mapping The mapping of the element indices to the selectable elements.
+   */
+  void addSelectorWithMapping(String selectorUuid, ViewType<?> viewType, SelectorMapping mapping);
+
+  /**
+   * Retrieves the view type of the selector with the given uuid.
+   *
+   * @param selectorUuid The uuid of the selector.
+   * @return The view type or {@code null} if there is no selector with the given uuid.
+   */
+  ViewType<?> getSelectorViewType(String selectorUuid);
+
+  /**
+   * Retrieves the mapping of the element indices of the selector with the given uuid.
+   *
+   * @param selectorUuid The uuid of the selector.
+   * @return The mapping or {@code null} if there is none.
+   */
+  SelectorMapping getSelectorMapping(String selectorUuid);
+
+  /**
+   * Retrieves an EObject from the mapping for the given selector uuid and element index.
+   *
+   * @param selectorUuid The uuid of the selector.
+   * @param index The index of the object.
+   * @return The EObject with the given index or {@code null} if there is none.
+   */
+  EObject getEObjectFromMapping(String selectorUuid, int index);
+
+  /**
+   * Retrieves an element index from the mapping for the given selector uuid and EObject.
+   *
+   * @param selectorUuid The uuid of the selector.
+   * @param eObject The EObject to get the index for.
+   * @return The index of the given EObject or {@code -1} if there is none.
+   */
+  int getIndexFromMapping(String selectorUuid, EObject eObject);
+
+  /**
+   * Removes a selector and its corresponding EObject mapping from the cache.
+   *
+   * @param selectorUuid The uuid of the selector.
+   */
+  void removeSelectorAndMapping(String selectorUuid);
+}
@@ -0,0 +1,46 @@
+package tools.vitruv.framework.remote.server.cache;
+
+import java.lang.ref.WeakReference;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+
+/**
+ * The resources of a view as sent to a client, shared by all views with the same {@link
+ * SelectionFingerprint} at the same model version.
+ *
+ * <p>Only the serialized resources are retained by the payload, so that the size of a cached
+ * payload is the size of its serialized resources. The copy of the resources is only shared as
+ * long as it is retained elsewhere, i.e., as the {@link ViewSnapshot} of a view.
+ */
+public final class ViewPayload {
+  private final WeakReference<ResourceSet> resources;
+  private final byte[] serialized;
+
+  /**
+   * Creates a new ViewPayload.
+   *
+   * @param resources A copy of the resources of the view. It is shared and must not be modified.
+   * @param serialized The serialized resources.
+   */
+  public ViewPayload(ResourceSet resources, byte[] serialized) {
+    this.resources = new WeakReference<>(resources);
+    this.serialized = serialized;
+  }
+
+  /**
+   * Returns the copy of the resources of the view, if it is still retained elsewhere.
+   *
+   * @return The shared copy of the resources, or {@code null} if it is no longer retained.
+   */
+  public ResourceSet resources() {
+    return resources.get();
+  }
+
+  /**
+   * Returns the serialized resources.
+   *
+   * @return The serialized resources.
+   */
+  public byte[] serialized() {
+    return serialized;
+  }
+}
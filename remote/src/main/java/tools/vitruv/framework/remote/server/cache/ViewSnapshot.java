@@ -0,0 +1,12 @@
+package tools.vitruv.framework.remote.server.cache;
+
+import org.eclipse.emf.ecore.resource.ResourceSet;
+
+/**
+ * The state of a {@link tools.vitruv.framework.views.View View} as last sent to its client. It is
+ * the base from which the changes of the next view update are derived.
+ *
+ * @param version The version identifying the state. Versions are unique across all views.
+ * @param resources A copy of the resources of the view as sent to the client.
+ */
+public record ViewSnapshot(long version, ResourceSet resources) {}
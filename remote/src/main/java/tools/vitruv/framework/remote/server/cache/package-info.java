@@ -0,0 +1,5 @@
+/**
+ * This package provides the server-side store for {@link tools.vitruv.framework.views.View}s and
+ * {@link tools.vitruv.framework.views.ViewSelector}s handed out to clients.
+ */
+package tools.vitruv.framework.remote.server.cache;
@@ -0,0 +1,47 @@
+package tools.vitruv.framework.remote.server.concurrency;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.time.Duration;
+
+/**
+ * Determines whether a {@link GroupCommitter} collects concurrently submitted view changes into
+ * groups which are committed together.
+ *
+ * @param enabled Whether changes are grouped. Otherwise, each change is committed on its own.
+ * @param window The maximum time the first change of a group waits for further changes.
+ * @param maximumGroupSize The maximum number of changes committed together.
+ */
+public record GroupCommitSettings(boolean enabled, Duration window, int maximumGroupSize) {
+
+  /** The default time the first change of a group waits for further changes. */
+  public static final Duration DEFAULT_WINDOW = Duration.ofMillis(5);
+
+  /** The default maximum number of changes committed together. */
+  public static final int DEFAULT_MAXIMUM_GROUP_SIZE = 32;
+
+  /** Validates the settings. */
+  public GroupCommitSettings {
+    checkArgument(window != null && !window.isNegative(), "window must not be null or negative");
+    checkArgument(maximumGroupSize > 0, "maximum group size must be positive");
+  }
+
+  /**
+   * Returns the default settings, which enable group commits with a window of 5 milliseconds and
+   * at most {@value #DEFAULT_MAXIMUM_GROUP_SIZE} changes per group.
+   *
+   * @return The default {@link GroupCommitSettings}.
+   */
+  public static GroupCommitSettings defaults() {
+    return new GroupCommitSettings(true, DEFAULT_WINDOW, DEFAULT_MAXIMUM_GROUP_SIZE);
+  }
+
+  /**
+   * Returns settings which disable group commits, so that each change is committed on its own.
+   *
+   * @return The {@link GroupCommitSettings} disabling group commits.
+   */
+  public static GroupCommitSettings disabled() {
+    return new GroupCommitSettings(false, DEFAULT_WINDOW, DEFAULT_MAXIMUM_GROUP_SIZE);
+  }
+}
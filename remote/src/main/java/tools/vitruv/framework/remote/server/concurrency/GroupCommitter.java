@@ -0,0 +1,227 @@
+package tools.vitruv.framework.remote.server.concurrency;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import tools.vitruv.change.composite.description.VitruviusChange;
+import tools.vitruv.change.composite.description.VitruviusChangeFactory;
+import tools.vitruv.framework.views.View;
+import tools.vitruv.framework.views.impl.ModifiableView;
+import tools.vitruv.framework.views.impl.ViewCreatingViewType;
+
+/**
+ * Commits the changes of views to the VSUM as writing operations of a {@link
+ * ModelAccessController}. If group commits are enabled, changes submitted concurrently are
+ * collected until the window of the {@link GroupCommitSettings} has passed or the maximum group
+ * size is reached, and are then committed in a single writing operation. Consecutive changes of the
+ * same view are merged into one composite change, so that they are propagated and persisted in a
+ * single pass. If a merged change is rejected, all changes it consists of fail. Every submitter
+ * receives the result of its own change.
+ *
+ * <p>The size of the committed groups and the time changes wait for their group to be committed
+ * are published as Micrometer metrics named {@value #METRIC_NAME}{@code .group.size} and {@value
+ * #METRIC_NAME}{@code .wait}.
+ */
+public class GroupCommitter implements AutoCloseable {
+  private static final String METRIC_NAME = "vitruv.server.model.commit";
+
+  private final ModelAccessController modelAccess;
+  private final GroupCommitSettings settings;
+  private final BlockingQueue<PendingCommit> queue = new LinkedBlockingQueue<>();
+  private final DistributionSummary groupSize;
+  private final Timer queueWait;
+  private final Thread collector;
+  private volatile boolean closed;
+
+  private record PendingCommit(
+      View view, VitruviusChange<?> change, CompletableFuture<Void> result, long submitted) {}
+
+  /**
+   * Creates a new {@link GroupCommitter} publishing to the global registry.
+   *
+   * @param modelAccess The controller executing the commits as writing operations.
+   * @param settings Determines whether and how changes are grouped.
+   */
+  public GroupCommitter(ModelAccessController modelAccess, GroupCommitSettings settings) {
+    this(modelAccess, settings, Metrics.globalRegistry);
+  }
+
+  /**
+   * Creates a new {@link GroupCommitter}.
+   *
+   * @param modelAccess The controller executing the commits as writing operations.
+   * @param settings Determines whether and how changes are grouped.
+   * @param registry The registry to publish the group sizes and wait times to.
+   */
+  public GroupCommitter(
+      ModelAccessController modelAccess, GroupCommitSettings settings, MeterRegistry registry) {
+    this.modelAccess = modelAccess;
+    this.settings = settings;
+    this.groupSize = DistributionSummary.builder(METRIC_NAME + ".group.size").register(registry);
+    this.queueWait = Timer.builder(METRIC_NAME + ".wait").register(registry);
+    this.collector =
+        settings.enabled()
+            ? Thread.ofPlatform().name("vitruv-group-commit").daemon().start(this::collect)
+            : null;
+  }
+
+  /**
+   * Submits the given change of the given view to be committed.
+   *
+   * @param view The view the change was made in. It must be a {@link ModifiableView} created by a
+   *     {@link ViewCreatingViewType}.
+   * @param change The change to commit.
+   * @return A future completed once the change has been committed, or completed exceptionally with
+   *     the exception thrown while committing it.
+   * @throws RejectedExecutionException If the committer has been closed.
+   */
+  public CompletableFuture<Void> submit(View view, VitruviusChange<?> change) {
+    if (!settings.enabled()) {
+      return modelAccess.submitWrite(
+          () -> {
+            propagate(view, change);
+            return null;
+          });
+    }
+    if (closed) {
+      throw new RejectedExecutionException("Group committer has been closed");
+    }
+    var pending = new PendingCommit(view, change, new CompletableFuture<>(), System.nanoTime());
+    queue.add(pending);
+    return pending.result();
+  }
+
+  /**
+   * Submits the given change of the given view and waits until it has been committed.
+   *
+   * @param view The view the change was made in.
+   * @param change The change to commit.
+   * @throws RuntimeException The exception thrown while committing the change, if any.
+   * @see #submit(View, VitruviusChange)
+   */
+  public void commit(View view, VitruviusChange<?> change) {
+    ModelAccessController.join(submit(view, change));
+  }
+
+  private void collect() {
+    var group = new ArrayList<PendingCommit>();
+    while (true) {
+      try {
+        group.add(queue.take());
+        long deadline = group.get(0).submitted() + settings.window().toNanos();
+        while (group.size() < settings.maximumGroupSize()) {
+          var next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+          if (next == null) {
+            break;
+          }
+          group.add(next);
+        }
+      } catch (InterruptedException e) {
+        // Closed, so commit what has been submitted so far.
+        queue.drainTo(group);
+        commitGroup(group);
+        return;
+      }
+      commitGroup(group);
+      group.clear();
+    }
+  }
+
+  private void commitGroup(List<PendingCommit> group) {
+    if (group.isEmpty()) {
+      return;
+    }
+    long start = System.nanoTime();
+    group.forEach(it -> queueWait.record(start - it.submitted(), TimeUnit.NANOSECONDS));
+    groupSize.record(group.size());
+
+    List<List<PendingCommit>> runs = runsOfSameView(group);
+    List<RuntimeException> failures;
+    try {
+      failures = modelAccess.write(() -> runs.stream().map(this::commitRun).toList());
+    } catch (RuntimeException e) {
+      group.forEach(it -> it.result().completeExceptionally(e));
+      return;
+    }
+    for (int i = 0; i < runs.size(); i++) {
+      var failure = failures.get(i);
+      for (var pending : runs.get(i)) {
+        if (failure == null) {
+          pending.result().complete(null);
+        } else {
+          pending.result().completeExceptionally(failure);
+        }
+      }
+    }
+  }
+
+  private static List<List<PendingCommit>> runsOfSameView(List<PendingCommit> group) {
+    var runs = new ArrayList<List<PendingCommit>>();
+    List<PendingCommit> run = null;
+    for (var pending : group) {
+      if (run == null || run.get(0).view() != pending.view()) {
+        run = new ArrayList<>();
+        runs.add(run);
+      }
+      run.add(pending);
+    }
+    return runs;
+  }
+
+  @SuppressWarnings("unchecked")
+  private RuntimeException commitRun(List<PendingCommit> run) {
+    try {
+      if (run.size() == 1) {
+        propagate(run.get(0).view(), run.get(0).change());
+      } else {
+        List<VitruviusChange<Object>> changes =
+            run.stream().map(it -> (VitruviusChange<Object>) it.change()).toList();
+        propagate(
+            run.get(0).view(), VitruviusChangeFactory.getInstance().createCompositeChange(changes));
+      }
+      return null;
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static void propagate(View view, VitruviusChange change) {
+    var type = (ViewCreatingViewType) view.getViewType();
+    type.commitViewChanges((ModifiableView) view, change);
+  }
+
+  /**
+   * Stops collecting changes after the submitted ones have been committed. Changes submitted
+   * afterwards are rejected.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    if (collector == null) {
+      return;
+    }
+    collector.interrupt();
+    try {
+      collector.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    // Changes submitted while closing missed the last group.
+    var rejected = new ArrayList<PendingCommit>();
+    queue.drainTo(rejected);
+    rejected.forEach(
+        it ->
+            it.result()
+                .completeExceptionally(
+                    new RejectedExecutionException("Group committer has been closed")));
+  }
+}
@@ -0,0 +1,289 @@
+package tools.vitruv.framework.remote.server.concurrency;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import tools.vitruv.framework.views.View;
+
+/**
+ * Coordinates the access of concurrent requests to the {@link
+ * tools.vitruv.framework.vsum.VirtualModel VSUM}. Reading operations, such as creating or updating
+ * views, run in parallel under a shared lock. Writing operations, such as change propagations, are
+ * queued and executed one after another by a single writer thread holding the exclusive lock.
+ *
+ * <p>Each writing operation increments the {@linkplain #getModelVersion() model version}, so that
+ * data derived from the VSUM can be reused as long as the version is unchanged.
+ *
+ * <p>Reading operations which change a single view, such as updating it, exclude the other
+ * operations on the same view with a per-view lock, see {@link #updateView(View, Supplier)} and
+ * {@link #readView(View, Supplier)}. Each operation changing a view increments its {@linkplain
+ * #getViewVersion(View) version}.
+ *
+ * <p>Reading operations must not submit writing operations, since the writer waits for all readers
+ * to release the shared lock.
+ */
+public class ModelAccessController implements AutoCloseable {
+  private static final String METRIC_NAME = "vitruv.server.model.access";
+  private static final String ACCESS = "access";
+
+  private final ReentrantReadWriteLock lock;
+  private final ExecutorService writer;
+  private final AtomicInteger queuedWrites = new AtomicInteger();
+  private final AtomicLong modelVersion = new AtomicLong();
+  private final Timer readWaitTimer;
+  private final Timer writeWaitTimer;
+  private final MeterRegistry registry;
+  private final LoadingCache<View, ReadWriteLock> viewLocks =
+      CacheBuilder.newBuilder()
+          .weakKeys()
+          .build(CacheLoader.from(view -> new ReentrantReadWriteLock()));
+  private final LoadingCache<View, AtomicLong> viewVersions =
+      CacheBuilder.newBuilder().weakKeys().build(CacheLoader.from(view -> new AtomicLong()));
+
+  /** Creates a new fair {@link ModelAccessController} publishing to the global registry. */
+  public ModelAccessController() {
+    this(true, Metrics.globalRegistry);
+  }
+
+  /**
+   * Creates a new {@link ModelAccessController}.
+   *
+   * @param fair Whether the lock is granted in arrival order. A fair lock prevents a steady stream
+   *     of readers from starving queued propagations, at the cost of some read throughput.
+   * @param registry The registry to publish the wait times and the queue depth to.
+   */
+  public ModelAccessController(boolean fair, MeterRegistry registry) {
+    this.lock = new ReentrantReadWriteLock(fair);
+    this.writer =
+        Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("vitruv-model-writer").factory());
+    this.registry = registry;
+    this.readWaitTimer =
+        Timer.builder(METRIC_NAME + ".wait").tag(ACCESS, "read").register(registry);
+    this.writeWaitTimer =
+        Timer.builder(METRIC_NAME + ".wait").tag(ACCESS, "write").register(registry);
+    Gauge.builder(METRIC_NAME + ".queued", queuedWrites, AtomicInteger::get)
+        .tag(ACCESS, "write")
+        .register(registry);
+    Gauge.builder(METRIC_NAME + ".active", lock, ReentrantReadWriteLock::getReadLockCount)
+        .tag(ACCESS, "read")
+        .register(registry);
+  }
+
+  /**
+   * Executes the given reading operation under the shared lock on the calling thread.
+   *
+   * @param <T> The type of the result.
+   * @param operation The operation to execute.
+   * @return The result of the operation.
+   */
+  public <T> T read(Supplier<T> operation) {
+    var sample = Timer.start(registry);
+    lock.readLock().lock();
+    sample.stop(readWaitTimer);
+    try {
+      return operation.get();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Executes the given reading operation on the given view under the shared lock and a shared lock
+   * of the view on the calling thread, so that the view is not updated meanwhile.
+   *
+   * @param <T> The type of the result.
+   * @param view The view the operation reads.
+   * @param operation The operation to execute.
+   * @return The result of the operation.
+   */
+  public <T> T readView(View view, Supplier<T> operation) {
+    return read(() -> withLock(viewLocks.getUnchecked(view).readLock(), operation));
+  }
+
+  /**
+   * Executes the given operation changing the given view, but not the VSUM, under the shared lock
+   * and the exclusive lock of the view on the calling thread. Other operations on the view, such as
+   * concurrent updates, are excluded, while operations on other views proceed.
+   *
+   * @param <T> The type of the result.
+   * @param view The view the operation changes.
+   * @param operation The operation to execute.
+   * @return The result of the operation.
+   */
+  public <T> T updateView(View view, Supplier<T> operation) {
+    return read(
+        () ->
+            withLock(
+                viewLocks.getUnchecked(view).writeLock(),
+                () -> {
+                  try {
+                    return operation.get();
+                  } finally {
+                    viewVersions.getUnchecked(view).incrementAndGet();
+                  }
+                }));
+  }
+
+  /**
+   * Returns the version of the given view, which is incremented by each operation changing it, see
+   * {@link #updateView(View, Supplier)}. Queried within an operation on the view, it identifies the
+   * state of the view the operation observes.
+   *
+   * @param view The view to get the version of.
+   * @return The version of the view.
+   */
+  public long getViewVersion(View view) {
+    return viewVersions.getUnchecked(view).get();
+  }
+
+  private static <T> T withLock(Lock lock, Supplier<T> operation) {
+    lock.lock();
+    try {
+      return operation.get();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Queues the given writing operation. It is executed by the writer thread under the exclusive
+   * lock once all previously queued writing operations have completed.
+   *
+   * @param <T> The type of the result.
+   * @param operation The operation to execute.
+   * @return A future completed with the result of the operation.
+   * @throws RejectedExecutionException If the controller has been closed.
+   */
+  public <T> CompletableFuture<T> submitWrite(Supplier<T> operation) {
+    var sample = Timer.start(registry);
+    queuedWrites.incrementAndGet();
+    try {
+      return CompletableFuture.supplyAsync(
+          () -> {
+            lock.writeLock().lock();
+            queuedWrites.decrementAndGet();
+            sample.stop(writeWaitTimer);
+            try {
+              return operation.get();
+            } finally {
+              modelVersion.incrementAndGet();
+              lock.writeLock().unlock();
+            }
+          },
+          writer);
+    } catch (RejectedExecutionException e) {
+      queuedWrites.decrementAndGet();
+      throw e;
+    }
+  }
+
+  /**
+   * Queues closing the given view. It is closed by the writer thread under the exclusive lock and
+   * the exclusive lock of the view, so that it is neither closed while an operation uses it nor
+   * while other operations iterate the views of the VSUM.
+   *
+   * @param view The view to close.
+   * @return A future completed once the view is closed.
+   * @throws RejectedExecutionException If the controller has been closed.
+   */
+  public CompletableFuture<Void> submitCloseView(View view) {
+    return submitWrite(
+        () ->
+            withLock(
+                viewLocks.getUnchecked(view).writeLock(),
+                () -> {
+                  try {
+                    view.close();
+                  } catch (Exception e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                  }
+                  return null;
+                }));
+  }
+
+  /**
+   * Closes the given view and waits for its completion.
+   *
+   * @param view The view to close.
+   * @throws RuntimeException The exception thrown while closing the view, if any.
+   * @see #submitCloseView(View)
+   */
+  public void closeView(View view) {
+    join(submitCloseView(view));
+  }
+
+  /**
+   * Queues the given writing operation and waits for its completion.
+   *
+   * @param <T> The type of the result.
+   * @param operation The operation to execute.
+   * @return The result of the operation.
+   * @throws RuntimeException The exception thrown by the operation, if any.
+   * @see #submitWrite(Supplier)
+   */
+  public <T> T write(Supplier<T> operation) {
+    return join(submitWrite(operation));
+  }
+
+  /**
+   * Waits for the given future and rethrows the unchecked exception it completed with, if any.
+   *
+   * @param <T> The type of the result.
+   * @param future The future to wait for.
+   * @return The result of the future.
+   */
+  static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the number of writing operations which have not yet acquired the exclusive lock.
+   *
+   * @return The number of queued writing operations.
+   */
+  public int getQueuedWrites() {
+    return queuedWrites.get();
+  }
+
+  /**
+   * Returns the version of the VSUM, which is incremented by each writing operation. Queried within
+   * a reading operation, it identifies the state of the VSUM the operation observes.
+   *
+   * @return The model version.
+   */
+  public long getModelVersion() {
+    return modelVersion.get();
+  }
+
+  /** Stops the writer thread after all queued writing operations have been executed. */
+  @Override
+  public void close() {
+    writer.shutdown();
+  }
+}
@@ -0,0 +1,119 @@
+package tools.vitruv.framework.remote.server.concurrency;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import tools.vitruv.framework.remote.common.rest.PropagationJob;
+import tools.vitruv.framework.remote.common.rest.constants.JobStatus;
+
+/**
+ * Keeps track of asynchronous change propagations. Each propagation is identified by a job, whose
+ * state can be queried until the retention time has passed since it last changed. The work
+ * following a propagation, such as notifying clients, runs on the {@link #executor() executor} of
+ * the jobs, so that it neither blocks the thread handling the request nor the committing thread.
+ */
+public class PropagationJobs implements AutoCloseable {
+  /** The default time a job is kept after it last changed. */
+  public static final Duration DEFAULT_RETENTION = Duration.ofMinutes(10);
+
+  private static final long MAXIMUM_JOBS = 10_000;
+
+  private final Cache<String, PropagationJob> jobs;
+  private final ExecutorService executor =
+      Executors.newThreadPerTaskExecutor(
+          Thread.ofVirtual().name("vitruv-propagation-job-", 0).factory());
+
+  /** Creates a new {@link PropagationJobs} keeping jobs for the default retention time. */
+  public PropagationJobs() {
+    this(DEFAULT_RETENTION);
+  }
+
+  /**
+   * Creates a new {@link PropagationJobs}.
+   *
+   * @param retention The time a job is kept after it last changed.
+   */
+  public PropagationJobs(Duration retention) {
+    this(retention, Ticker.systemTicker());
+  }
+
+  /**
+   * Creates a new {@link PropagationJobs} measuring the retention time with the given ticker.
+   *
+   * @param retention The time a job is kept after it last changed.
+   * @param ticker The source of the time.
+   */
+  PropagationJobs(Duration retention, Ticker ticker) {
+    checkArgument(
+        retention != null && retention.isPositive(), "retention must not be null or negative");
+    this.jobs =
+        CacheBuilder.newBuilder()
+            .expireAfterWrite(retention)
+            .maximumSize(MAXIMUM_JOBS)
+            .ticker(ticker)
+            .build();
+  }
+
+  /**
+   * Creates a new running job.
+   *
+   * @return The id of the job.
+   */
+  public String start() {
+    var id = UUID.randomUUID().toString();
+    jobs.put(id, new PropagationJob(id, JobStatus.RUNNING, null, null));
+    return id;
+  }
+
+  /**
+   * Marks the given job as succeeded.
+   *
+   * @param id The id of the job.
+   * @param viewStatus The status of the view after the propagation.
+   */
+  public void succeed(String id, String viewStatus) {
+    jobs.put(id, new PropagationJob(id, JobStatus.SUCCEEDED, viewStatus, null));
+  }
+
+  /**
+   * Marks the given job as failed.
+   *
+   * @param id The id of the job.
+   * @param message The reason why the changes were rejected.
+   */
+  public void fail(String id, String message) {
+    jobs.put(id, new PropagationJob(id, JobStatus.FAILED, null, message));
+  }
+
+  /**
+   * Returns the state of the given job.
+   *
+   * @param id The id of the job.
+   * @return The job, or {@code null} if it is unknown or its retention time has passed.
+   */
+  public PropagationJob get(String id) {
+    return id == null ? null : jobs.getIfPresent(id);
+  }
+
+  /**
+   * Returns the executor running the work following a propagation.
+   *
+   * @return The executor.
+   */
+  public Executor executor() {
+    return executor;
+  }
+
+  /** Stops the executor after the work following the finished propagations is done. */
+  @Override
+  public void close() {
+    executor.close();
+  }
+}
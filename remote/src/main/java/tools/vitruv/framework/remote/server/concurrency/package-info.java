@@ -0,0 +1,5 @@
+/**
+ * This package coordinates concurrent access of request handling threads to the {@link
+ * tools.vitruv.framework.vsum.VirtualModel VSUM}.
+ */
+package tools.vitruv.framework.remote.server.concurrency;
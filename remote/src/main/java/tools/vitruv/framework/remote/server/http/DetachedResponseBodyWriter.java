@@ -0,0 +1,22 @@
+package tools.vitruv.framework.remote.server.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link ResponseBodyWriter} whose body is written on the given executor instead of the thread
+ * processing the request. Long-lived streams, such as server-sent events, thus do not occupy the
+ * threads of the server, which may be a single dispatcher thread.
+ *
+ * @param executor The executor writing the body.
+ * @param writer The writer producing the body.
+ */
+public record DetachedResponseBodyWriter(Executor executor, ResponseBodyWriter writer)
+    implements ResponseBodyWriter {
+
+  @Override
+  public void writeTo(OutputStream body) throws IOException {
+    writer.writeTo(body);
+  }
+}
@@ -1,6 +1,8 @@
 package tools.vitruv.framework.remote.server.http;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 /** This interface wraps an HTTP request/response from the underlying HTTP server implementation. */
 public interface HttpWrapper {
@@ -13,12 +15,26 @@ public interface HttpWrapper {
   String getRequestHeader(String header);
 
   /**
-   * Returns the request body converted to a String.
+   * Returns the request body as stream, so that it can be processed without buffering it as a
+   * whole. The stream can only be consumed once.
+   *
+   * @return The request body as stream.
+   * @throws IOException If the body cannot be accessed.
+   */
+  InputStream getRequestBody() throws IOException;
+
+  /**
+   * Returns the request body converted to a String. Consumes the {@link #getRequestBody() request
+   * body stream}.
    *
    * @return The request body as String.
    * @throws IOException If the body cannot be read or if the conversion fails.
    */
-  String getRequestBodyAsString() throws IOException;
+  default String getRequestBodyAsString() throws IOException {
+    try (var body = getRequestBody()) {
+      return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
 
   /**
    * Adds a value to the response header.
@@ -35,6 +51,21 @@ public interface HttpWrapper {
    */
   void setContentType(String type);
 
+  /**
+   * Sets the status code of the response if the request is processed successfully. It defaults to
+   * {@code 200 OK}, endpoints can set another one, e.g., {@code 202 Accepted}.
+   *
+   * @param statusCode The status code of a successful response.
+   */
+  void setSuccessStatusCode(int statusCode);
+
+  /**
+   * Returns the status code of the response if the request is processed successfully.
+   *
+   * @return The status code of a successful response.
+   */
+  int getSuccessStatusCode();
+
   /**
    * Sends an HTTP response without a body.
    *
@@ -51,4 +82,15 @@ public interface HttpWrapper {
    * @throws IOException If the response cannot be sent.
    */
   void sendResponse(int responseCode, byte[] body) throws IOException;
+
+  /**
+   * Sends an HTTP response whose body is written by the given writer. The body is sent with
+   * chunked transfer encoding, so its length does not need to be known in advance. If writing the
+   * body fails, the status code has already been sent and the client receives an incomplete body.
+   *
+   * @param responseCode The status code of the response.
+   * @param writer The writer producing the body of the response.
+   * @throws IOException If the response cannot be sent.
+   */
+  void sendResponse(int responseCode, ResponseBodyWriter writer) throws IOException;
 }
@@ -0,0 +1,16 @@
+package tools.vitruv.framework.remote.server.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/** Writes the body of an HTTP response directly to the response stream. */
+@FunctionalInterface
+public interface ResponseBodyWriter {
+  /**
+   * Writes the response body.
+   *
+   * @param body The stream of the response body. It is closed by the caller.
+   * @throws IOException If the body cannot be written.
+   */
+  void writeTo(OutputStream body) throws IOException;
+}
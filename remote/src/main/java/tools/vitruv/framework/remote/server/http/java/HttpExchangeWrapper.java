@@ -1,23 +1,68 @@
 package tools.vitruv.framework.remote.server.http.java;
 
+import static java.net.HttpURLConnection.HTTP_OK;
+import static java.net.HttpURLConnection.HTTP_UNSUPPORTED_TYPE;
+
+import com.google.common.io.CountingInputStream;
+import com.google.common.io.CountingOutputStream;
 import com.sun.net.httpserver.HttpExchange;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.List;
+import java.io.InputStream;
+import java.io.OutputStream;
+import tools.vitruv.framework.remote.common.CompressionSettings;
+import tools.vitruv.framework.remote.common.rest.constants.ContentEncoding;
+import tools.vitruv.framework.remote.common.rest.constants.ContentType;
 import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.common.util.CompressionUtil;
+import tools.vitruv.framework.remote.server.exception.ServerHaltingException;
 import tools.vitruv.framework.remote.server.http.HttpWrapper;
+import tools.vitruv.framework.remote.server.http.ResponseBodyWriter;
 
-/** This is an implementation of the {@link HttpWrapper} for the Java built-in HTTP server. */
+/**
+ * This is an implementation of the {@link HttpWrapper} for the Java built-in HTTP server. Request
+ * bodies are decompressed according to their Content-Encoding header. Response bodies are
+ * compressed with the encoding negotiated from the Accept-Encoding header of the request if they
+ * exceed the size threshold of the {@link CompressionSettings}. Every response announces the
+ * encodings accepted for request bodies in its Accept-Encoding header (RFC 7694), so that clients
+ * only compress their requests for servers which can decode them.
+ */
 class HttpExchangeWrapper implements HttpWrapper {
+  /** The metric name for the size of bodies before compression. */
+  static final String RAW_BYTES_METRIC_NAME = "vitruv.server.rest.payload.raw";
+
+  /** The metric name for the size of bodies as transferred. */
+  static final String TRANSFERRED_BYTES_METRIC_NAME = "vitruv.server.rest.payload.transferred";
+
+  private static final String REQUEST = "request";
+  private static final String RESPONSE = "response";
+
   private final HttpExchange exchange;
+  private final CompressionSettings compression;
+  private int successStatusCode = HTTP_OK;
 
   /**
-   * Creates a new {@link HttpExchangeWrapper}.
+   * Creates a new {@link HttpExchangeWrapper} which does not compress responses.
    *
    * @param exchange The {@link HttpExchange} to wrap.
    */
   public HttpExchangeWrapper(HttpExchange exchange) {
+    this(exchange, CompressionSettings.disabled());
+  }
+
+  /**
+   * Creates a new {@link HttpExchangeWrapper}.
+   *
+   * @param exchange The {@link HttpExchange} to wrap.
+   * @param compression The settings determining whether responses are compressed.
+   */
+  public HttpExchangeWrapper(HttpExchange exchange, CompressionSettings compression) {
     this.exchange = exchange;
+    this.compression = compression;
+    exchange.getResponseHeaders().set(Header.ACCEPT_ENCODING, CompressionUtil.ACCEPTED_ENCODINGS);
   }
 
   @Override
@@ -27,7 +72,17 @@ class HttpExchangeWrapper implements HttpWrapper {
 
   @Override
   public void setContentType(String type) {
-    exchange.getResponseHeaders().replace(Header.CONTENT_TYPE, List.of(type));
+    exchange.getResponseHeaders().set(Header.CONTENT_TYPE, type);
+  }
+
+  @Override
+  public void setSuccessStatusCode(int statusCode) {
+    this.successStatusCode = statusCode;
+  }
+
+  @Override
+  public int getSuccessStatusCode() {
+    return successStatusCode;
   }
 
   @Override
@@ -36,8 +91,26 @@ class HttpExchangeWrapper implements HttpWrapper {
   }
 
   @Override
-  public String getRequestBodyAsString() throws IOException {
-    return new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+  public InputStream getRequestBody() throws IOException {
+    var encoding = getRequestHeader(Header.CONTENT_ENCODING);
+    if (!CompressionUtil.isSupported(encoding)) {
+      throw new ServerHaltingException(
+          HTTP_UNSUPPORTED_TYPE, "Content encoding " + encoding + " not supported!");
+    }
+    var transferred = new CountingInputStream(exchange.getRequestBody());
+    var raw = new CountingInputStream(CompressionUtil.decode(encoding, transferred));
+    return new FilterInputStream(raw) {
+      private boolean recorded;
+
+      @Override
+      public void close() throws IOException {
+        super.close();
+        if (!recorded) {
+          recorded = true;
+          recordPayload(REQUEST, encoding, raw.getCount(), transferred.getCount());
+        }
+      }
+    };
   }
 
   @Override
@@ -47,10 +120,146 @@ class HttpExchangeWrapper implements HttpWrapper {
 
   @Override
   public void sendResponse(int responseCode, byte[] body) throws IOException {
-    exchange.sendResponseHeaders(responseCode, body.length);
+    var encoding = negotiateEncoding(body.length);
+    var transferred = body;
+    if (encoding != null) {
+      transferred = CompressionUtil.encode(encoding, body);
+      exchange.getResponseHeaders().set(Header.CONTENT_ENCODING, encoding);
+    }
+    exchange.sendResponseHeaders(responseCode, transferred.length);
     var outputStream = exchange.getResponseBody();
-    outputStream.write(body);
+    outputStream.write(transferred);
     outputStream.flush();
     outputStream.close();
+    recordPayload(RESPONSE, encoding, body.length, transferred.length);
+  }
+
+  @Override
+  public void sendResponse(int responseCode, ResponseBodyWriter writer) throws IOException {
+    // Compressing event streams would hold back events until the compressor emits output.
+    if (isEventStream() || negotiateEncoding(Long.MAX_VALUE) == null) {
+      // A length of zero selects chunked transfer encoding.
+      exchange.sendResponseHeaders(responseCode, 0);
+      try (var outputStream = new CountingOutputStream(exchange.getResponseBody())) {
+        writer.writeTo(outputStream);
+        recordPayload(RESPONSE, null, outputStream.getCount(), outputStream.getCount());
+      }
+    } else {
+      var outputStream = new ThresholdOutputStream(responseCode);
+      try {
+        writer.writeTo(outputStream);
+      } catch (IOException | RuntimeException e) {
+        outputStream.abort();
+        throw e;
+      }
+      outputStream.close();
+    }
+  }
+
+  private boolean isEventStream() {
+    var contentType = exchange.getResponseHeaders().getFirst(Header.CONTENT_TYPE);
+    return ContentType.TEXT_EVENT_STREAM.equals(contentType);
+  }
+
+  private String negotiateEncoding(long size) {
+    if (!compression.appliesTo(size)) {
+      return null;
+    }
+    var encoding = CompressionUtil.negotiate(getRequestHeader(Header.ACCEPT_ENCODING));
+    if (encoding != null) {
+      exchange.getResponseHeaders().add(Header.VARY, Header.ACCEPT_ENCODING);
+    }
+    return encoding;
+  }
+
+  private void recordPayload(String direction, String encoding, long raw, long transferred) {
+    var endpoint = exchange.getHttpContext().getPath();
+    var usedEncoding = encoding == null ? ContentEncoding.IDENTITY : encoding;
+    DistributionSummary.builder(RAW_BYTES_METRIC_NAME)
+        .baseUnit("bytes")
+        .tags("endpoint", endpoint, "direction", direction, "encoding", usedEncoding)
+        .register(Metrics.globalRegistry)
+        .record(raw);
+    DistributionSummary.builder(TRANSFERRED_BYTES_METRIC_NAME)
+        .baseUnit("bytes")
+        .tags("endpoint", endpoint, "direction", direction, "encoding", usedEncoding)
+        .register(Metrics.globalRegistry)
+        .record(transferred);
+  }
+
+  /**
+   * Buffers a streamed response body until it reaches the size threshold for compression. Bodies
+   * below the threshold are sent uncompressed with a fixed length, larger ones are compressed and
+   * sent with chunked transfer encoding.
+   */
+  private class ThresholdOutputStream extends OutputStream {
+    private final int responseCode;
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private CountingOutputStream transferred;
+    private CountingOutputStream raw;
+    private String encoding;
+    private boolean closed;
+
+    ThresholdOutputStream(int responseCode) {
+      this.responseCode = responseCode;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      if (raw != null) {
+        raw.write(b, off, len);
+        return;
+      }
+      pending.write(b, off, len);
+      if (pending.size() >= compression.minimumSize()) {
+        startCompressing();
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      if (raw != null) {
+        raw.flush();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      if (raw == null) {
+        sendResponse(responseCode, pending.toByteArray());
+        return;
+      }
+      raw.close();
+      recordPayload(RESPONSE, encoding, raw.getCount(), transferred.getCount());
+    }
+
+    /**
+     * Discards the body after writing it failed. If the status code was not sent yet, an error
+     * response can still be sent instead. Otherwise, the client receives an incomplete body.
+     */
+    void abort() throws IOException {
+      if (transferred != null) {
+        transferred.close();
+      }
+    }
+
+    private void startCompressing() throws IOException {
+      encoding = negotiateEncoding(pending.size());
+      exchange.getResponseHeaders().set(Header.CONTENT_ENCODING, encoding);
+      exchange.sendResponseHeaders(responseCode, 0);
+      transferred = new CountingOutputStream(exchange.getResponseBody());
+      raw = new CountingOutputStream(CompressionUtil.encode(encoding, transferred));
+      pending.writeTo(raw);
+      pending = null;
+    }
   }
 }
@@ -0,0 +1,90 @@
+package tools.vitruv.framework.remote.server.http.java;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Determines the threads on which the {@link VitruvJavaHttpServer} processes requests. Executors
+ * created by the server are shut down when it stops, caller-supplied executors are left untouched.
+ */
+public final class RequestExecutor {
+  private static final String THREAD_NAME_PREFIX = "vitruv-server-";
+
+  private final Supplier<ExecutorService> factory;
+  private final Executor executor;
+
+  private RequestExecutor(Supplier<ExecutorService> factory, Executor executor) {
+    this.factory = factory;
+    this.executor = executor;
+  }
+
+  /**
+   * Processes all requests sequentially on the dispatcher thread of the HTTP server.
+   *
+   * @return The {@link RequestExecutor}.
+   */
+  public static RequestExecutor dispatcherThread() {
+    return new RequestExecutor(null, null);
+  }
+
+  /**
+   * Processes requests on a fixed pool of platform threads.
+   *
+   * @param threads The number of threads in the pool.
+   * @return The {@link RequestExecutor}.
+   */
+  public static RequestExecutor fixedThreadPool(int threads) {
+    checkArgument(threads > 0, "number of threads must be positive");
+    return new RequestExecutor(
+        () ->
+            Executors.newFixedThreadPool(
+                threads, Thread.ofPlatform().name(THREAD_NAME_PREFIX, 0).factory()),
+        null);
+  }
+
+  /**
+   * Processes every request on its own virtual thread.
+   *
+   * @return The {@link RequestExecutor}.
+   */
+  public static RequestExecutor virtualThreadPerRequest() {
+    return new RequestExecutor(
+        () ->
+            Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(THREAD_NAME_PREFIX + "virtual-", 0).factory()),
+        null);
+  }
+
+  /**
+   * Processes requests on the given executor. The caller remains responsible for shutting it down.
+   *
+   * @param executor The executor to use.
+   * @return The {@link RequestExecutor}.
+   */
+  public static RequestExecutor of(Executor executor) {
+    checkArgument(executor != null, "executor must not be null");
+    return new RequestExecutor(null, executor);
+  }
+
+  /**
+   * Creates a new executor owned by the server or {@code null} if the server does not own one.
+   *
+   * @return The owned executor or {@code null}.
+   */
+  ExecutorService createOwnedExecutor() {
+    return factory == null ? null : factory.get();
+  }
+
+  /**
+   * Returns the caller-supplied executor.
+   *
+   * @return The caller-supplied executor or {@code null} if there is none.
+   */
+  Executor getSuppliedExecutor() {
+    return executor;
+  }
+}
@@ -1,28 +1,41 @@
 package tools.vitruv.framework.remote.server.http.java;
 
 import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
-import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
-import static java.net.HttpURLConnection.HTTP_OK;
+import static java.net.HttpURLConnection.HTTP_UNAVAILABLE;
 
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.RejectedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.vitruv.framework.remote.common.CompressionSettings;
 import tools.vitruv.framework.remote.common.rest.constants.ContentType;
 import tools.vitruv.framework.remote.server.exception.ServerHaltingException;
+import tools.vitruv.framework.remote.server.http.DetachedResponseBodyWriter;
+import tools.vitruv.framework.remote.server.http.HttpWrapper;
+import tools.vitruv.framework.remote.server.http.ResponseBodyWriter;
 import tools.vitruv.framework.remote.server.rest.PathEndointCollector;
+import tools.vitruv.framework.remote.server.rest.RestEndpoint;
+import tools.vitruv.framework.remote.server.rest.StreamingEndpoint;
 
 /** Represents an {@link HttpHandler}. */
 class RequestHandler implements HttpHandler {
+  private static final Logger LOGGER = LoggerFactory.getLogger(RequestHandler.class);
+
   private PathEndointCollector endpoints;
+  private CompressionSettings compression;
 
   /**
    * Creates a new {@link RequestHandler}.
    *
    * @param endpoints The endpoint collector providing the endpoints to handle requests.
+   * @param compression The settings determining whether responses are compressed.
    */
-  RequestHandler(PathEndointCollector endpoints) {
+  RequestHandler(PathEndointCollector endpoints, CompressionSettings compression) {
     this.endpoints = endpoints;
+    this.compression = compression;
   }
 
   /**
@@ -33,28 +46,34 @@ class RequestHandler implements HttpHandler {
   @Override
   public void handle(HttpExchange exchange) {
     var method = exchange.getRequestMethod();
-    var wrapper = new HttpExchangeWrapper(exchange);
+    var wrapper = new HttpExchangeWrapper(exchange, compression);
     try {
-      var response =
-          switch (method) {
-            case "GET" -> endpoints.getEndpoint().process(wrapper);
-            case "PUT" -> endpoints.putEndpoint().process(wrapper);
-            case "POST" -> endpoints.postEndpoint().process(wrapper);
-            case "PATCH" -> endpoints.patchEndpoint().process(wrapper);
-            case "DELETE" -> endpoints.deleteEndpoint().process(wrapper);
-            default ->
-                throw new ServerHaltingException(HTTP_NOT_FOUND, "Request method not supported!");
-          };
-      if (response != null) {
-        wrapper.sendResponse(HTTP_OK, response.getBytes(StandardCharsets.UTF_8));
+      RestEndpoint endpoint = endpoints.endpointFor(method);
+      if (endpoint instanceof StreamingEndpoint streamingEndpoint) {
+        var writer = streamingEndpoint.processStreaming(wrapper);
+        if (writer instanceof DetachedResponseBodyWriter detached) {
+          try {
+            // The exchange is closed by the executor once the body is written.
+            detached.executor().execute(() -> sendDetachedResponse(exchange, wrapper, detached));
+            return;
+          } catch (RejectedExecutionException e) {
+            throw new ServerHaltingException(HTTP_UNAVAILABLE, "Server is stopping");
+          }
+        }
+        sendStreamingResponse(wrapper, writer);
       } else {
-        wrapper.sendResponse(HTTP_OK);
+        sendResponse(wrapper, endpoint.process(wrapper));
       }
     } catch (IOException | ServerHaltingException exception) {
       var statusCode = HTTP_INTERNAL_ERROR;
       if (exception instanceof ServerHaltingException haltingException) {
         statusCode = haltingException.getStatusCode();
       }
+      if (exchange.getResponseCode() != -1) {
+        // The status code was already sent, so the failure occurred while streaming the body.
+        LOGGER.warn("Sending the response body failed: {}", exception.getMessage());
+        return;
+      }
       wrapper.setContentType(ContentType.TEXT_PLAIN);
       try {
         wrapper.sendResponse(statusCode, exception.getMessage().getBytes(StandardCharsets.UTF_8));
@@ -64,4 +83,32 @@ class RequestHandler implements HttpHandler {
       }
     }
   }
+
+  private static void sendResponse(HttpWrapper wrapper, String response) throws IOException {
+    if (response != null) {
+      wrapper.sendResponse(
+          wrapper.getSuccessStatusCode(), response.getBytes(StandardCharsets.UTF_8));
+    } else {
+      wrapper.sendResponse(wrapper.getSuccessStatusCode());
+    }
+  }
+
+  private static void sendDetachedResponse(
+      HttpExchange exchange, HttpWrapper wrapper, ResponseBodyWriter writer) {
+    try {
+      sendStreamingResponse(wrapper, writer);
+    } catch (IOException | RuntimeException e) {
+      LOGGER.warn("Sending the response body failed: {}", e.getMessage());
+      exchange.close();
+    }
+  }
+
+  private static void sendStreamingResponse(HttpWrapper wrapper, ResponseBodyWriter writer)
+      throws IOException {
+    if (writer != null) {
+      wrapper.sendResponse(wrapper.getSuccessStatusCode(), writer);
+    } else {
+      wrapper.sendResponse(wrapper.getSuccessStatusCode());
+    }
+  }
 }
@@ -4,18 +4,57 @@ import com.sun.net.httpserver.HttpServer;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import tools.vitruv.framework.remote.common.CompressionSettings;
 import tools.vitruv.framework.remote.server.rest.PathEndointCollector;
 
+/** A Vitruvius HTTP server based on the HTTP server built into the JDK. */
 public class VitruvJavaHttpServer {
   private final HttpServer server;
+  private final ExecutorService ownedExecutor;
 
   /**
    * Creates a Vitruvius HTTP server on the given host and port, registering the given endpoints.
+   * Requests are processed on the dispatcher thread.
    */
   public VitruvJavaHttpServer(String host, int port, List<PathEndointCollector> endpoints)
       throws IOException {
+    this(host, port, endpoints, RequestExecutor.dispatcherThread());
+  }
+
+  /**
+   * Creates a Vitruvius HTTP server on the given host and port, registering the given endpoints.
+   * Requests are processed on the threads determined by the given {@link RequestExecutor}.
+   */
+  public VitruvJavaHttpServer(
+      String host, int port, List<PathEndointCollector> endpoints, RequestExecutor executor)
+      throws IOException {
+    this(host, port, endpoints, executor, CompressionSettings.defaults());
+  }
+
+  /**
+   * Creates a Vitruvius HTTP server on the given host and port, registering the given endpoints.
+   * Requests are processed on the threads determined by the given {@link RequestExecutor}.
+   * Responses are compressed according to the given {@link CompressionSettings} if the client
+   * accepts it.
+   */
+  public VitruvJavaHttpServer(
+      String host,
+      int port,
+      List<PathEndointCollector> endpoints,
+      RequestExecutor executor,
+      CompressionSettings compression)
+      throws IOException {
     this.server = HttpServer.create(new InetSocketAddress(host, port), 0);
-    endpoints.forEach(endp -> server.createContext(endp.path(), new RequestHandler(endp)));
+    endpoints.forEach(
+        endp -> server.createContext(endp.path(), new RequestHandler(endp, compression)));
+
+    this.ownedExecutor = executor.createOwnedExecutor();
+    if (ownedExecutor != null) {
+      server.setExecutor(ownedExecutor);
+    } else {
+      server.setExecutor(executor.getSuppliedExecutor());
+    }
   }
 
   /** Starts the Vitruvius server. */
@@ -23,8 +62,20 @@ public class VitruvJavaHttpServer {
     server.start();
   }
 
+  /**
+   * Returns the port the server is bound to.
+   *
+   * @return The port, which was chosen by the system if the server was created with port 0.
+   */
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
   /** Stops the Vitruvius server. */
   public void stop() {
     server.stop(0);
+    if (ownedExecutor != null) {
+      ownedExecutor.shutdown();
+    }
   }
 }
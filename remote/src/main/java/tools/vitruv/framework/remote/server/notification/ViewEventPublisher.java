@@ -0,0 +1,227 @@
+package tools.vitruv.framework.remote.server.notification;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import tools.vitruv.framework.remote.common.rest.constants.ViewEvent;
+import tools.vitruv.framework.remote.server.concurrency.ModelAccessController;
+import tools.vitruv.framework.views.View;
+
+/**
+ * Publishes events about the {@link View}s handed out to clients to the subscribed event streams.
+ * After changes were propagated to the virtual model, {@link #publishOutdatedViews()} notifies the
+ * subscribers of every view that became outdated, so that clients do not have to poll the server.
+ * The event streams are written on the {@link #executor() executor} of the publisher, so that they
+ * do not occupy the threads processing requests.
+ */
+public class ViewEventPublisher implements AutoCloseable {
+  private static final String METRIC_NAME = "vitruv.server.events.subscriptions";
+
+  private final ModelAccessController modelAccess;
+  private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+  private final ExecutorService executor =
+      Executors.newThreadPerTaskExecutor(
+          Thread.ofVirtual().name("vitruv-event-stream-", 0).factory());
+  private volatile boolean closed;
+
+  /**
+   * Creates a new {@link ViewEventPublisher} publishing its metrics to the global registry.
+   *
+   * @param modelAccess The controller coordinating the access to the virtual model.
+   */
+  public ViewEventPublisher(ModelAccessController modelAccess) {
+    this(modelAccess, Metrics.globalRegistry);
+  }
+
+  /**
+   * Creates a new {@link ViewEventPublisher}.
+   *
+   * @param modelAccess The controller coordinating the access to the virtual model.
+   * @param registry The registry to publish the number of open subscriptions to.
+   */
+  public ViewEventPublisher(ModelAccessController modelAccess, MeterRegistry registry) {
+    this.modelAccess = modelAccess;
+    Gauge.builder(METRIC_NAME, subscriptions, Set::size).register(registry);
+  }
+
+  /**
+   * Subscribes to the events of the given view. The first event reports whether the view is
+   * currently outdated.
+   *
+   * @param view The view to receive the events of.
+   * @return The subscription, which must be closed when it is no longer used.
+   */
+  public Subscription subscribe(View view) {
+    var subscription = new Subscription(view);
+    subscriptions.add(subscription);
+    if (closed) {
+      subscription.end();
+    } else {
+      subscription.offer(
+          new Event(ViewEvent.OUTDATED, modelAccess.read(subscription::becameOutdated)));
+    }
+    return subscription;
+  }
+
+  /**
+   * Notifies the subscribers of all views which became outdated since they were last notified or
+   * the view was updated. All views are checked under a single shared lock of the model. Must be
+   * called after changes were propagated to the virtual model, but not while holding the lock of
+   * the model.
+   */
+  public void publishOutdatedViews() {
+    var outdated =
+        modelAccess.read(
+            () -> subscriptions.stream().filter(Subscription::becameOutdated).toList());
+    outdated.forEach(subscription -> subscription.offer(new Event(ViewEvent.OUTDATED, true)));
+  }
+
+  /**
+   * Notifies the subscribers of the given view that an asynchronous change propagation of the view
+   * finished.
+   *
+   * @param view The view whose changes were propagated.
+   * @param succeeded Whether the changes were propagated or rejected.
+   */
+  public void publishPropagated(View view, boolean succeeded) {
+    for (var subscription : subscriptions) {
+      if (subscription.view == view) {
+        subscription.offer(new Event(ViewEvent.PROPAGATED, succeeded));
+      }
+    }
+  }
+
+  /**
+   * Notifies the subscribers of the given view that it was closed and ends their subscriptions.
+   *
+   * @param view The closed view.
+   */
+  public void publishClosed(View view) {
+    for (var subscription : subscriptions) {
+      if (subscription.view == view) {
+        subscription.offer(new Event(ViewEvent.CLOSED, true));
+        subscription.end();
+      }
+    }
+  }
+
+  /**
+   * Returns the executor writing the event streams.
+   *
+   * @return The executor.
+   */
+  public Executor executor() {
+    return executor;
+  }
+
+  /**
+   * Ends all subscriptions, e.g., because the server is stopped, and waits until the event streams
+   * are finished.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    subscriptions.forEach(Subscription::end);
+    executor.close();
+  }
+
+  /**
+   * An event about a view.
+   *
+   * @param name The name of the event as defined in {@link ViewEvent}.
+   * @param value The data of the event.
+   */
+  public record Event(String name, boolean value) {}
+
+  /** A subscription to the events of a single view. */
+  public final class Subscription implements AutoCloseable {
+    private static final Event END = new Event(null, false);
+    private static final long NOT_OUTDATED = -1;
+
+    private final View view;
+    private final BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+
+    /**
+     * The version of the view when it was last reported as outdated, or {@value #NOT_OUTDATED} if
+     * it was not. Updating the view changes its version, so that it is reported again afterwards.
+     */
+    private final AtomicLong outdatedVersion = new AtomicLong(NOT_OUTDATED);
+
+    private Subscription(View view) {
+      this.view = view;
+    }
+
+    /**
+     * Waits for the next event. If the view was closed without a notification, e.g., because it was
+     * evicted from the cache, a {@link ViewEvent#CLOSED} event is returned and the subscription
+     * ends.
+     *
+     * @param timeout The maximum time to wait.
+     * @return The next event, or {@code null} if no event occurred within the timeout or the
+     *     subscription ended.
+     * @throws InterruptedException If the waiting thread was interrupted.
+     */
+    public Event next(Duration timeout) throws InterruptedException {
+      var event = events.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+      if (event == END) {
+        // Keep the marker so that the end is also reported to subsequent calls.
+        events.offer(END);
+        return null;
+      }
+      if (event == null && modelAccess.read(view::isClosed)) {
+        end();
+        return new Event(ViewEvent.CLOSED, true);
+      }
+      return event;
+    }
+
+    /**
+     * Checks whether the subscription ended and all its events were taken.
+     *
+     * @return {@code true} if no further events will be delivered.
+     */
+    public boolean isEnded() {
+      return events.peek() == END;
+    }
+
+    @Override
+    public void close() {
+      subscriptions.remove(this);
+    }
+
+    /**
+     * Checks whether the view became outdated since it was last reported as outdated. Must be
+     * called under the lock of the model.
+     */
+    private boolean becameOutdated() {
+      if (!view.isOutdated()) {
+        outdatedVersion.set(NOT_OUTDATED);
+        return false;
+      }
+      var version = modelAccess.getViewVersion(view);
+      return outdatedVersion.getAndSet(version) != version;
+    }
+
+    private void offer(Event event) {
+      // Pending events of the same kind already notify the subscriber.
+      if (!events.contains(event)) {
+        events.offer(event);
+      }
+    }
+
+    private void end() {
+      subscriptions.remove(this);
+      events.offer(END);
+    }
+  }
+}
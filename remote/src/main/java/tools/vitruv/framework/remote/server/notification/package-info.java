@@ -0,0 +1,5 @@
+/**
+ * This package notifies clients about events of the {@link tools.vitruv.framework.views.View View}s
+ * handed out to them, so that they do not have to poll the server.
+ */
+package tools.vitruv.framework.remote.server.notification;
@@ -1,5 +1,9 @@
 package tools.vitruv.framework.remote.server.rest;
 
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+
+import tools.vitruv.framework.remote.server.exception.ServerHaltingException;
+
 /** Collects all REST endpoints for a specific path. */
 public record PathEndointCollector(
     String path,
@@ -7,4 +11,23 @@ public record PathEndointCollector(
     PostEndpoint postEndpoint,
     PutEndpoint putEndpoint,
     PatchEndpoint patchEndpoint,
-    DeleteEndpoint deleteEndpoint) {}
+    DeleteEndpoint deleteEndpoint) {
+
+  /**
+   * Returns the endpoint handling requests with the given HTTP method.
+   *
+   * @param method The HTTP method of the request.
+   * @return The endpoint, which is {@code null} if none was registered for the method.
+   * @throws ServerHaltingException If the method is not supported at all.
+   */
+  public RestEndpoint endpointFor(String method) throws ServerHaltingException {
+    return switch (method) {
+      case "GET" -> getEndpoint;
+      case "PUT" -> putEndpoint;
+      case "POST" -> postEndpoint;
+      case "PATCH" -> patchEndpoint;
+      case "DELETE" -> deleteEndpoint;
+      default -> throw new ServerHaltingException(HTTP_NOT_FOUND, "Request method not supported!");
+    };
+  }
+}
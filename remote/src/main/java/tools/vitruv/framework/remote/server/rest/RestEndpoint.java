@@ -3,6 +3,9 @@ package tools.vitruv.framework.remote.server.rest;
 import static java.net.HttpURLConnection.HTTP_BAD_METHOD;
 import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
 
+import tools.vitruv.framework.remote.common.json.JsonMapper;
+import tools.vitruv.framework.remote.common.json.WireFormat;
+import tools.vitruv.framework.remote.common.rest.constants.Header;
 import tools.vitruv.framework.remote.server.exception.ServerHaltingException;
 import tools.vitruv.framework.remote.server.http.HttpWrapper;
 
@@ -37,4 +40,29 @@ public interface RestEndpoint {
   default ServerHaltingException internalServerError(String msg) {
     return new ServerHaltingException(HTTP_INTERNAL_ERROR, msg);
   }
+
+  /**
+   * Returns the format of the request body according to its Content-Type header.
+   *
+   * @param wrapper An object wrapping an HTTP request/response.
+   * @return The format of the request body.
+   */
+  default WireFormat requestFormat(HttpWrapper wrapper) {
+    return WireFormat.fromContentType(wrapper.getRequestHeader(Header.CONTENT_TYPE));
+  }
+
+  /**
+   * Selects the format of the response body from the Accept header of the request and sets the
+   * Content-Type header of the response accordingly.
+   *
+   * @param wrapper An object wrapping an HTTP request/response.
+   * @param mapper The mapper which serializes the response body.
+   * @return The format in which the response body must be serialized.
+   */
+  default WireFormat negotiateResponseFormat(HttpWrapper wrapper, JsonMapper mapper) {
+    var format = mapper.negotiateFormat(wrapper.getRequestHeader(Header.ACCEPT));
+    wrapper.addResponseHeader(Header.VARY, Header.ACCEPT);
+    wrapper.setContentType(format.contentType());
+    return format;
+  }
 }
@@ -0,0 +1,45 @@
+package tools.vitruv.framework.remote.server.rest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import tools.vitruv.framework.remote.server.exception.ServerHaltingException;
+import tools.vitruv.framework.remote.server.http.HttpWrapper;
+import tools.vitruv.framework.remote.server.http.ResponseBodyWriter;
+
+/**
+ * Represents a REST endpoint which writes its response body directly to the response stream
+ * instead of returning it as a whole, so that large payloads are not held in memory completely.
+ */
+public interface StreamingEndpoint extends RestEndpoint {
+  /**
+   * Processes a given HTTP request. All checks which can fail the request must be done here, since
+   * the status code of the response is sent before the body is written.
+   *
+   * @param wrapper An object wrapping an HTTP request/response.
+   * @return The writer producing the response body, or {@code null} if there is no body.
+   * @throws ServerHaltingException If an internal error occurred.
+   */
+  ResponseBodyWriter processStreaming(HttpWrapper wrapper) throws ServerHaltingException;
+
+  /**
+   * Processes a given HTTP request and buffers the streamed response body as a String.
+   *
+   * @param wrapper An object wrapping an HTTP request/response.
+   * @throws ServerHaltingException If an internal error occurred.
+   */
+  @Override
+  default String process(HttpWrapper wrapper) throws ServerHaltingException {
+    var writer = processStreaming(wrapper);
+    if (writer == null) {
+      return null;
+    }
+    var body = new ByteArrayOutputStream();
+    try {
+      writer.writeTo(body);
+    } catch (IOException e) {
+      throw internalServerError(e.getMessage());
+    }
+    return body.toString(StandardCharsets.UTF_8);
+  }
+}
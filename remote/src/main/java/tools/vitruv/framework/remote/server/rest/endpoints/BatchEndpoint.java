@@ -0,0 +1,235 @@
+package tools.vitruv.framework.remote.server.rest.endpoints;
+
+import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+import static java.net.HttpURLConnection.HTTP_OK;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.io.CountingOutputStream;
+import io.micrometer.core.instrument.Metrics;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import tools.vitruv.framework.remote.common.json.JsonMapper;
+import tools.vitruv.framework.remote.common.json.WireFormat;
+import tools.vitruv.framework.remote.common.json.serializer.BatchResultSerializer;
+import tools.vitruv.framework.remote.common.rest.BatchOperation;
+import tools.vitruv.framework.remote.common.rest.BatchResult;
+import tools.vitruv.framework.remote.common.rest.constants.ContentType;
+import tools.vitruv.framework.remote.common.rest.constants.EndpointPath;
+import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.server.exception.ServerHaltingException;
+import tools.vitruv.framework.remote.server.http.HttpWrapper;
+import tools.vitruv.framework.remote.server.http.ResponseBodyWriter;
+import tools.vitruv.framework.remote.server.rest.PathEndointCollector;
+import tools.vitruv.framework.remote.server.rest.PostEndpoint;
+import tools.vitruv.framework.remote.server.rest.StreamingEndpoint;
+
+/**
+ * This endpoint processes an ordered list of {@link BatchOperation}s in one request, so that a
+ * client needs a single round trip for several operations. Each operation is processed by the
+ * endpoint registered for its path and method, one after another, and results in a {@link
+ * BatchResult} with its own status code. A failing operation does not prevent the subsequent ones.
+ * The request bodies of the operations are sent as JSON text. Their response bodies are produced in
+ * the negotiated format of the batch and embedded as is once the batch response is written, so
+ * that streaming endpoints stream their bodies into the batch.
+ */
+public class BatchEndpoint implements PostEndpoint, StreamingEndpoint {
+  private static final String METRIC_NAME = "vitruv.server.rest.batch.operations";
+
+  /** The paths of endpoints which cannot be part of a batch. */
+  private static final Set<String> EXCLUDED_PATHS =
+      Set.of(EndpointPath.BATCH, EndpointPath.VIEW_EVENTS);
+
+  private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+  private final JsonMapper mapper;
+  private final Map<String, PathEndointCollector> endpoints;
+
+  /**
+   * Creates a new BatchEndpoint.
+   *
+   * @param mapper The JSON mapper to use.
+   * @param endpoints The endpoints processing the single operations.
+   */
+  public BatchEndpoint(JsonMapper mapper, List<PathEndointCollector> endpoints) {
+    this.mapper = mapper;
+    this.endpoints =
+        endpoints.stream()
+            .collect(Collectors.toMap(PathEndointCollector::path, Function.identity()));
+  }
+
+  @Override
+  public ResponseBodyWriter processStreaming(HttpWrapper wrapper) {
+    List<BatchOperation> operations;
+    try {
+      operations =
+          mapper.deserializeArrayOf(
+              wrapper.getRequestBody(), BatchOperation.class, requestFormat(wrapper));
+    } catch (JsonProcessingException e) {
+      throw new ServerHaltingException(HTTP_BAD_REQUEST, e.getMessage());
+    } catch (IOException e) {
+      throw internalServerError(e.getMessage());
+    }
+    Metrics.summary(METRIC_NAME).record(operations.size());
+
+    var format = negotiateResponseFormat(wrapper, mapper);
+    var results = operations.stream().map(it -> execute(it, format)).toList();
+    return body -> {
+      try (var generator = mapper.createGenerator(body, format)) {
+        generator.writeStartArray();
+        for (var result : results) {
+          result.writeTo(generator, body);
+        }
+        generator.writeEndArray();
+      }
+    };
+  }
+
+  private PendingResult execute(BatchOperation operation, WireFormat format) {
+    var exchange = new BufferedExchange(operation, format);
+    try {
+      if (EXCLUDED_PATHS.contains(operation.path())) {
+        throw new ServerHaltingException(
+            HTTP_BAD_REQUEST, "Endpoint " + operation.path() + " cannot be part of a batch!");
+      }
+      var collector = endpoints.get(operation.path());
+      var endpoint = collector == null ? null : collector.endpointFor(operation.method());
+      if (endpoint == null) {
+        throw new ServerHaltingException(
+            HTTP_NOT_FOUND, "Endpoint " + operation.path() + " not found!");
+      }
+      // Streamed bodies are only written once the batch response is written.
+      if (endpoint instanceof StreamingEndpoint streamingEndpoint) {
+        return exchange.toResult(streamingEndpoint.processStreaming(exchange));
+      }
+      return exchange.toResult(toWriter(endpoint.process(exchange)));
+    } catch (ServerHaltingException e) {
+      exchange.setContentType(ContentType.TEXT_PLAIN);
+      return exchange.toResult(e.getStatusCode(), toWriter(e.getMessage()));
+    }
+  }
+
+  private static ResponseBodyWriter toWriter(String body) {
+    return body == null ? null : out -> out.write(body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * The outcome of a {@link BatchOperation} whose body is not written yet. Once the batch response
+   * is written, JSON bodies are streamed into a JSON batch directly, whereas other bodies are
+   * buffered to be embedded as binary data or text, see {@link BatchResultSerializer}.
+   */
+  private record PendingResult(int status, Map<String, String> headers, ResponseBodyWriter body) {
+    void writeTo(JsonGenerator generator, OutputStream out) throws IOException {
+      generator.writeStartObject();
+      generator.writeNumberField(BatchResultSerializer.STATUS, status);
+      generator.writeObjectField(BatchResultSerializer.HEADERS, headers);
+      generator.writeFieldName(BatchResultSerializer.BODY);
+      var contentType = headers.get(Header.CONTENT_TYPE);
+      var format = WireFormat.ofContentType(contentType);
+      boolean rawJson = format != null && BatchResultSerializer.embedsRawJson(generator, format);
+      if (body != null && rawJson) {
+        // Let the generator write the separator, then append the body to the stream.
+        generator.writeRawValue("");
+        generator.flush();
+        var counting = new CountingOutputStream(out);
+        body.writeTo(counting);
+        if (counting.getCount() == 0) {
+          out.write(NULL);
+        }
+      } else if (body == null) {
+        generator.writeNull();
+      } else {
+        var buffer = new ByteArrayOutputStream();
+        body.writeTo(buffer);
+        BatchResultSerializer.writeBody(generator, contentType, buffer.toByteArray());
+      }
+      generator.writeEndObject();
+    }
+  }
+
+  /**
+   * Provides the request of a {@link BatchOperation} to an endpoint and collects its response
+   * headers. Request bodies are always JSON text, and response bodies are requested in the format
+   * of the batch, so format and encoding headers of the operation are not passed on.
+   */
+  private static class BufferedExchange implements HttpWrapper {
+    private final Map<String, String> requestHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, String> responseHeaders =
+        new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final String body;
+    private int successStatusCode = HTTP_OK;
+
+    BufferedExchange(BatchOperation operation, WireFormat format) {
+      requestHeaders.putAll(operation.headers());
+      requestHeaders.put(Header.ACCEPT, format.contentType());
+      requestHeaders.put(Header.CONTENT_TYPE, ContentType.APPLICATION_JSON);
+      requestHeaders.remove(Header.CONTENT_ENCODING);
+      this.body = operation.body();
+    }
+
+    @Override
+    public String getRequestHeader(String header) {
+      return requestHeaders.get(header);
+    }
+
+    @Override
+    public InputStream getRequestBody() {
+      return new ByteArrayInputStream(
+          body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void addResponseHeader(String header, String value) {
+      responseHeaders.merge(header, value, (first, second) -> first + "," + second);
+    }
+
+    @Override
+    public void setContentType(String type) {
+      responseHeaders.put(Header.CONTENT_TYPE, type);
+    }
+
+    @Override
+    public void setSuccessStatusCode(int statusCode) {
+      this.successStatusCode = statusCode;
+    }
+
+    @Override
+    public int getSuccessStatusCode() {
+      return successStatusCode;
+    }
+
+    @Override
+    public void sendResponse(int responseCode) {
+      throw new UnsupportedOperationException("Responses are collected by the batch endpoint");
+    }
+
+    @Override
+    public void sendResponse(int responseCode, byte[] body) {
+      throw new UnsupportedOperationException("Responses are collected by the batch endpoint");
+    }
+
+    @Override
+    public void sendResponse(int responseCode, ResponseBodyWriter writer) {
+      throw new UnsupportedOperationException("Responses are collected by the batch endpoint");
+    }
+
+    PendingResult toResult(ResponseBodyWriter responseBody) {
+      return toResult(successStatusCode, responseBody);
+    }
+
+    PendingResult toResult(int status, ResponseBodyWriter responseBody) {
+      return new PendingResult(status, responseHeaders, responseBody);
+    }
+  }
+}
@@ -4,12 +4,21 @@ import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
 import static java.net.HttpURLConnection.HTTP_CONFLICT;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Timer;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
@@ -23,87 +32,197 @@ import tools.vitruv.change.composite.description.VitruviusChange;
 import tools.vitruv.change.composite.description.VitruviusChangeFactory;
 import tools.vitruv.framework.remote.common.json.JsonMapper;
 import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.common.util.ResourceHashes;
+import tools.vitruv.framework.remote.server.cache.ServerCache;
+import tools.vitruv.framework.remote.server.concurrency.GroupCommitter;
+import tools.vitruv.framework.remote.server.concurrency.ModelAccessController;
 import tools.vitruv.framework.remote.server.exception.ServerHaltingException;
 import tools.vitruv.framework.remote.server.http.HttpWrapper;
+import tools.vitruv.framework.remote.server.notification.ViewEventPublisher;
 import tools.vitruv.framework.remote.server.rest.PatchEndpoint;
+import tools.vitruv.framework.views.View;
 import tools.vitruv.framework.views.changederivation.DefaultStateBasedChangeResolutionStrategy;
 import tools.vitruv.framework.views.changederivation.StateBasedChangeResolutionStrategy;
-import tools.vitruv.framework.views.impl.ModifiableView;
-import tools.vitruv.framework.views.impl.ViewCreatingViewType;
 
 /**
  * This endpoint applies {@link VitruviusChange}s to the VSUM that are derived from the new state
  * given by the client.
+ *
+ * <p>If the request has a {@link Header#RESOURCE_HASHES} header, the body only contains the
+ * resources the client modified, and the header lists the hashes of all resources of the client's
+ * view. The state of the resources listed but not uploaded is taken from the server, and resources
+ * not listed are deleted. A resource listed but not uploaded is rejected as a conflict if its hash
+ * differs from the hash of the server's state of it, since the client then derived its state from
+ * a different one.
+ *
+ * <p>The changes are derived from the state of the view as committed by its client, i.e., from the
+ * resources of the view, replaced by the resources committed since the view was last updated. The
+ * view itself is only changed by updating it, so consecutive commits without an update would
+ * otherwise derive the changes of earlier commits again. The hashes of the committed state are
+ * computed once per state, so that the cost of a request depends on the uploaded resources.
  */
 public class ChangeDerivingEndpoint implements PatchEndpoint {
   private static final String ENDPOINT_METRIC_NAME = "vitruv.server.rest.deriving";
   private final JsonMapper mapper;
-  private final StateBasedChangeResolutionStrategy resolutionStrategy =
-      new DefaultStateBasedChangeResolutionStrategy();
+  private final ServerCache cache;
+  private final ModelAccessController modelAccess;
+  private final GroupCommitter committer;
+  private final ViewEventPublisher eventPublisher;
+  private final ForkJoinPool derivationPool;
+  private final Supplier<StateBasedChangeResolutionStrategy> resolutionStrategies;
+  private final LoadingCache<View, CommittedState> committedStates =
+      CacheBuilder.newBuilder().weakKeys().build(CacheLoader.from(view -> new CommittedState()));
   private final Logger logger = LoggerFactory.getLogger(ChangeDerivingEndpoint.class);
 
   /**
    * Creates a new ChangeDerivingEndpoint.
    *
    * @param mapper The JSON mapper to use.
+   * @param cache The cache holding the views.
+   * @param modelAccess The controller coordinating the access to the virtual model.
+   * @param committer The committer propagating the changes to the virtual model.
+   * @param eventPublisher The publisher notifying clients about views outdated by the changes.
+   * @param derivationPool The pool deriving the changes of the resources in parallel. It remains
+   *     owned by the caller.
    */
-  public ChangeDerivingEndpoint(JsonMapper mapper) {
+  public ChangeDerivingEndpoint(
+      JsonMapper mapper,
+      ServerCache cache,
+      ModelAccessController modelAccess,
+      GroupCommitter committer,
+      ViewEventPublisher eventPublisher,
+      ForkJoinPool derivationPool) {
+    this(
+        mapper,
+        cache,
+        modelAccess,
+        committer,
+        eventPublisher,
+        derivationPool,
+        DefaultStateBasedChangeResolutionStrategy::new);
+  }
+
+  /**
+   * Creates a new ChangeDerivingEndpoint deriving the changes with the given strategies.
+   *
+   * @param mapper The JSON mapper to use.
+   * @param cache The cache holding the views.
+   * @param modelAccess The controller coordinating the access to the virtual model.
+   * @param committer The committer propagating the changes to the virtual model.
+   * @param eventPublisher The publisher notifying clients about views outdated by the changes.
+   * @param derivationPool The pool deriving the changes of the resources in parallel.
+   * @param resolutionStrategies Creates the strategy deriving the changes of a resource. A new
+   *     strategy is used for each resource, since the strategies are not meant to be shared between
+   *     threads.
+   */
+  ChangeDerivingEndpoint(
+      JsonMapper mapper,
+      ServerCache cache,
+      ModelAccessController modelAccess,
+      GroupCommitter committer,
+      ViewEventPublisher eventPublisher,
+      ForkJoinPool derivationPool,
+      Supplier<StateBasedChangeResolutionStrategy> resolutionStrategies) {
     this.mapper = mapper;
+    this.cache = cache;
+    this.modelAccess = modelAccess;
+    this.committer = committer;
+    this.eventPublisher = eventPublisher;
+    this.derivationPool = derivationPool;
+    this.resolutionStrategies = resolutionStrategies;
   }
 
-  @SuppressWarnings("unchecked")
   @Override
   public String process(HttpWrapper wrapper) {
-    var view = Cache.getView(wrapper.getRequestHeader(Header.VIEW_UUID));
+    var viewUuid = wrapper.getRequestHeader(Header.VIEW_UUID);
+    var view = cache.getView(viewUuid);
     if (view == null) {
       throw notFound("View with given id not found!");
     }
-
-    String body;
-    try {
-      body = wrapper.getRequestBodyAsString();
-    } catch (IOException e) {
-      throw internalServerError(e.getMessage());
-    }
+    var hashes = resourceHashesOf(wrapper);
+    // The client's copy of the view now differs from the state it was last sent.
+    cache.invalidateViewSnapshot(viewUuid);
 
     ResourceSet resourceSet;
     var desTimer = Timer.start(Metrics.globalRegistry);
     try {
-      resourceSet = mapper.deserialize(body, ResourceSet.class);
+      resourceSet =
+          mapper.deserialize(wrapper.getRequestBody(), ResourceSet.class, requestFormat(wrapper));
       desTimer.stop(Metrics.timer(ENDPOINT_METRIC_NAME, "deserialization", "success"));
     } catch (JsonProcessingException e) {
       logger.warn("Failed to deserialize request body: {}", e.getMessage());
       desTimer.stop(Metrics.timer(ENDPOINT_METRIC_NAME, "deserialization", "failure"));
       throw new ServerHaltingException(HTTP_BAD_REQUEST, e.getMessage());
+    } catch (IOException e) {
+      desTimer.stop(Metrics.timer(ENDPOINT_METRIC_NAME, "deserialization", "failure"));
+      throw internalServerError(e.getMessage());
     }
+    var uploaded = List.copyOf(resourceSet.getResources());
 
-    var currentRessources =
-        view.getRootObjects().stream().map(EObject::eResource).distinct().toList();
-    Map<URI, Resource> resourceMap = new HashMap<>();
-    for (Resource r : currentRessources) {
-      resourceMap.put(r.getURI(), r);
+    // Commits to the same view are derived one after another, each from the state committed by
+    // the previous one.
+    var state = committedStates.getUnchecked(view);
+    state.lock.lock();
+    try {
+      var change = deriveAndCommit(view, state, uploaded, hashes);
+      state.adopt(uploaded, hashes);
+      if (change == null) {
+        logger.info("No changes detected.");
+        return "[]";
+      }
+      wrapper.addResponseHeader(
+          Header.VIEW_STATUS, ViewStatusEndpoint.statusOf(view, modelAccess));
+      return mapper.serialize(change);
+    } catch (JsonProcessingException e) {
+      throw internalServerError(e.getMessage());
+    } finally {
+      state.lock.unlock();
     }
+  }
 
-    var allChanges = new LinkedList<VitruviusChange<HierarchicalId>>();
-    resourceSet
-        .getResources()
-        .forEach(
-            it -> {
-              var u = resourceMap.get(it.getURI());
-              var changes = findChanges(u, it);
-              if (!changes.getEChanges().isEmpty()) {
-                allChanges.add(changes);
+  /**
+   * Derives the changes from the committed state of the given view to the given resources and
+   * commits them.
+   *
+   * @return The committed change, or {@code null} if there were no changes.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private VitruviusChange deriveAndCommit(
+      View view, CommittedState state, List<Resource> uploaded, Map<URI, String> hashes) {
+    var derivationTimer = Timer.start(Metrics.globalRegistry);
+    // The view is read while deriving, so neither the model nor the view must change meanwhile.
+    var allChanges =
+        modelAccess.readView(
+            view,
+            () -> {
+              // The view may have been evicted and closed before the lock was acquired.
+              if (view.isClosed()) {
+                throw notFound("View with given id not found!");
               }
+              state.refresh(view, modelAccess.getViewVersion(view));
+              if (hashes == null) {
+                return deriveChanges(uploaded, state.resources);
+              }
+              checkNotUploadedResources(hashes, uploaded, state);
+              var changes = new ArrayList<>(deriveChanges(uploaded, state.resources));
+              state.resources.forEach(
+                  (uri, resource) -> {
+                    if (!hashes.containsKey(uri)) {
+                      var deletion = findChanges(resource, null);
+                      if (!deletion.getEChanges().isEmpty()) {
+                        changes.add(deletion);
+                      }
+                    }
+                  });
+              return changes;
             });
+    derivationTimer.stop(Metrics.timer(ENDPOINT_METRIC_NAME, "derivation", "success"));
 
     if (allChanges.isEmpty()) {
-      logger.info("No changes detected.");
-      return "[]";
+      return null;
     }
 
-    @SuppressWarnings("rawtypes")
-    VitruviusChange change;
-    change = VitruviusChangeFactory.getInstance().createCompositeChange(allChanges);
+    VitruviusChange change = VitruviusChangeFactory.getInstance().createCompositeChange(allChanges);
 
     change
         .getEChanges()
@@ -114,21 +233,99 @@ public class ChangeDerivingEndpoint implements PatchEndpoint {
               }
             });
 
-    var type = (ViewCreatingViewType<?, ?>) view.getViewType();
     var propTimer = Timer.start(Metrics.globalRegistry);
     try {
-      type.commitViewChanges((ModifiableView) view, change);
+      committer.commit(view, change);
       propTimer.stop(Metrics.timer(ENDPOINT_METRIC_NAME, "propagation", "success"));
-      return mapper.serialize(change);
     } catch (RuntimeException e) {
       propTimer.stop(Metrics.timer(ENDPOINT_METRIC_NAME, "propagation", "failure"));
       throw new ServerHaltingException(HTTP_CONFLICT, "Changes rejected: " + e.getMessage());
-    } catch (JsonProcessingException e) {
-      throw internalServerError(e.getMessage());
+    } finally {
+      cache.invalidateViewPayloads();
+    }
+    eventPublisher.publishOutdatedViews();
+    return change;
+  }
+
+  /**
+   * Returns the hashes of the resources of the client's view by their global URI.
+   *
+   * @return The hashes or {@code null} if the client uploaded all resources.
+   */
+  private Map<URI, String> resourceHashesOf(HttpWrapper wrapper) {
+    var header = wrapper.getRequestHeader(Header.RESOURCE_HASHES);
+    if (header == null) {
+      return null;
+    }
+    var transformation = mapper.getIdTransformation();
+    var hashes = new HashMap<URI, String>();
+    try {
+      ResourceHashes.decode(header)
+          .forEach((uri, hash) -> hashes.put(transformation.toGlobal(URI.createURI(uri)), hash));
+    } catch (IllegalArgumentException e) {
+      throw new ServerHaltingException(HTTP_BAD_REQUEST, e.getMessage());
+    }
+    return hashes;
+  }
+
+  /**
+   * Checks that the uploaded resources are listed and that the resources which were not uploaded
+   * are part of the committed state of the view in the state the client listed.
+   */
+  private void checkNotUploadedResources(
+      Map<URI, String> hashes, List<Resource> uploaded, CommittedState state) {
+    var notUploaded = new HashMap<>(hashes);
+    for (var resource : uploaded) {
+      if (notUploaded.remove(resource.getURI()) == null) {
+        throw new ServerHaltingException(
+            HTTP_BAD_REQUEST, "No hash given for uploaded resource " + resource.getURI());
+      }
+    }
+    for (var entry : notUploaded.entrySet()) {
+      var uri = entry.getKey();
+      if (!state.resources.containsKey(uri)) {
+        throw new ServerHaltingException(
+            HTTP_CONFLICT, "Resource " + uri + " is neither uploaded nor part of the view");
+      }
+      if (!state.hashOf(uri).equals(entry.getValue())) {
+        throw new ServerHaltingException(
+            HTTP_CONFLICT, "Resource " + uri + " was modified but not uploaded");
+      }
     }
   }
 
+  /**
+   * Derives the changes of each resource in parallel. The changes are returned in the order of the
+   * given resources, so that the composite change is independent of the scheduling.
+   *
+   * <p>The resources of each state share a resource set, which is not thread-safe. Deriving the
+   * changes only reads the resources, since the {@link DefaultStateBasedChangeResolutionStrategy}
+   * rejects states containing proxies instead of resolving them, so no resource is ever loaded
+   * into the shared sets. Each resource is derived with its own strategy, so that no strategy is
+   * used by several threads.
+   *
+   * @param newStates The resources in the state given by the client.
+   * @param oldStates The resources of the view by their URI.
+   * @return The non-empty changes of the resources.
+   */
+  List<VitruviusChange<HierarchicalId>> deriveChanges(
+      List<Resource> newStates, Map<URI, Resource> oldStates) {
+    if (newStates.size() < 2) {
+      return deriveChanges(newStates.stream(), oldStates);
+    }
+    return derivationPool.submit(() -> deriveChanges(newStates.parallelStream(), oldStates)).join();
+  }
+
+  private List<VitruviusChange<HierarchicalId>> deriveChanges(
+      Stream<Resource> newStates, Map<URI, Resource> oldStates) {
+    return newStates
+        .map(it -> findChanges(oldStates.get(it.getURI()), it))
+        .filter(it -> !it.getEChanges().isEmpty())
+        .toList();
+  }
+
   private VitruviusChange<HierarchicalId> findChanges(Resource oldState, Resource newState) {
+    var resolutionStrategy = resolutionStrategies.get();
     if (oldState == null) {
       return resolutionStrategy.getChangeSequenceForCreated(newState);
     } else if (newState == null) {
@@ -137,4 +334,61 @@ public class ChangeDerivingEndpoint implements PatchEndpoint {
       return resolutionStrategy.getChangeSequenceBetween(newState, oldState);
     }
   }
+
+  /**
+   * The state of a view as committed by its client: the resources of the view, replaced by the
+   * resources committed since the view was last updated. The hashes of its resources are computed
+   * once per state. All fields are guarded by the lock.
+   */
+  private final class CommittedState {
+    private final Lock lock = new ReentrantLock();
+    private long viewVersion = -1;
+    private final Map<URI, Resource> resources = new HashMap<>();
+    private final Map<URI, String> hashes = new HashMap<>();
+
+    /**
+     * Takes over the resources of the given view if it changed since the state was last taken
+     * over. Must be called while reading the view.
+     */
+    void refresh(View view, long currentViewVersion) {
+      if (viewVersion == currentViewVersion) {
+        return;
+      }
+      resources.clear();
+      hashes.clear();
+      view.getRootObjects().stream()
+          .map(EObject::eResource)
+          .distinct()
+          .forEach(it -> resources.put(it.getURI(), it));
+      viewVersion = currentViewVersion;
+    }
+
+    /** Returns the hash of the resource with the given URI, which must be part of the state. */
+    String hashOf(URI uri) {
+      return hashes.computeIfAbsent(
+          uri,
+          it -> {
+            try {
+              return mapper.hashResource(resources.get(it));
+            } catch (IOException e) {
+              throw internalServerError(e.getMessage());
+            }
+          });
+    }
+
+    /**
+     * Replaces the resources of the state by the given committed ones and drops the resources not
+     * listed in the given hashes, if any.
+     */
+    void adopt(List<Resource> committed, Map<URI, String> listed) {
+      if (listed != null) {
+        resources.keySet().retainAll(listed.keySet());
+        hashes.keySet().retainAll(listed.keySet());
+      }
+      for (var resource : committed) {
+        resources.put(resource.getURI(), resource);
+        hashes.remove(resource.getURI());
+      }
+    }
+  }
 }
@@ -1,5 +1,6 @@
 package tools.vitruv.framework.remote.server.rest.endpoints;
 
+import static java.net.HttpURLConnection.HTTP_ACCEPTED;
 import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
 import static java.net.HttpURLConnection.HTTP_CONFLICT;
 
@@ -7,56 +8,91 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Timer;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletionException;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
 import tools.vitruv.change.atomic.root.InsertRootEObject;
 import tools.vitruv.change.composite.description.VitruviusChange;
 import tools.vitruv.framework.remote.common.json.JsonMapper;
 import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.server.cache.ServerCache;
+import tools.vitruv.framework.remote.server.concurrency.GroupCommitter;
+import tools.vitruv.framework.remote.server.concurrency.ModelAccessController;
+import tools.vitruv.framework.remote.server.concurrency.PropagationJobs;
 import tools.vitruv.framework.remote.server.exception.ServerHaltingException;
 import tools.vitruv.framework.remote.server.http.HttpWrapper;
+import tools.vitruv.framework.remote.server.notification.ViewEventPublisher;
 import tools.vitruv.framework.remote.server.rest.PatchEndpoint;
-import tools.vitruv.framework.views.impl.ModifiableView;
-import tools.vitruv.framework.views.impl.ViewCreatingViewType;
+import tools.vitruv.framework.views.View;
 
-/** This endpoint applies given {@link VitruviusChange}s to the VSUM. */
+/**
+ * This endpoint applies given {@link VitruviusChange}s to the VSUM. If the request prefers an
+ * asynchronous response by the {@link Header#PREFER} header, the endpoint answers with {@code 202
+ * Accepted} and the id of a job in the {@link Header#JOB_ID} header as soon as the changes are
+ * submitted. Once they are propagated, the job reports the outcome and the subscribers of the view
+ * receive a {@link tools.vitruv.framework.remote.common.rest.constants.ViewEvent#PROPAGATED
+ * PROPAGATED} event.
+ */
 public class ChangePropagationEndpoint implements PatchEndpoint {
   private static final String ENDPOINT_METRIC_NAME = "vitruv.server.rest.propagation";
   private final JsonMapper mapper;
+  private final ServerCache cache;
+  private final ModelAccessController modelAccess;
+  private final GroupCommitter committer;
+  private final PropagationJobs jobs;
+  private final ViewEventPublisher eventPublisher;
 
   /**
    * Creates a new ChangePropagationEndpoint.
    *
    * @param mapper The JSON mapper to use.
+   * @param cache The cache holding the views.
+   * @param modelAccess The controller coordinating the access to the virtual model.
+   * @param committer The committer propagating the changes to the virtual model.
+   * @param jobs The jobs of the asynchronous change propagations.
+   * @param eventPublisher The publisher notifying clients about views outdated by the changes.
    */
-  public ChangePropagationEndpoint(JsonMapper mapper) {
+  public ChangePropagationEndpoint(
+      JsonMapper mapper,
+      ServerCache cache,
+      ModelAccessController modelAccess,
+      GroupCommitter committer,
+      PropagationJobs jobs,
+      ViewEventPublisher eventPublisher) {
     this.mapper = mapper;
+    this.cache = cache;
+    this.modelAccess = modelAccess;
+    this.committer = committer;
+    this.jobs = jobs;
+    this.eventPublisher = eventPublisher;
   }
 
   @SuppressWarnings("unchecked")
   @Override
   public String process(HttpWrapper wrapper) {
-    var view = Cache.getView(wrapper.getRequestHeader(Header.VIEW_UUID));
+    var viewUuid = wrapper.getRequestHeader(Header.VIEW_UUID);
+    var view = cache.getView(viewUuid);
     if (view == null) {
       throw notFound("View with given id not found!");
     }
-
-    String body;
-    try {
-      body = wrapper.getRequestBodyAsString();
-    } catch (IOException e) {
-      throw internalServerError(e.getMessage());
-    }
+    // The client's copy of the view now differs from the state it was last sent.
+    cache.invalidateViewSnapshot(viewUuid);
 
     @SuppressWarnings("rawtypes")
     VitruviusChange change;
     var desTimer = Timer.start(Metrics.globalRegistry);
     try {
-      change = mapper.deserialize(body, VitruviusChange.class);
+      change =
+          mapper.deserialize(
+              wrapper.getRequestBody(), VitruviusChange.class, requestFormat(wrapper));
       desTimer.stop(Metrics.timer(ENDPOINT_METRIC_NAME, "deserialization", "success"));
     } catch (JsonProcessingException e) {
       desTimer.stop(Metrics.timer(ENDPOINT_METRIC_NAME, "deserialization", "failure"));
       throw new ServerHaltingException(HTTP_BAD_REQUEST, e.getMessage());
+    } catch (IOException e) {
+      desTimer.stop(Metrics.timer(ENDPOINT_METRIC_NAME, "deserialization", "failure"));
+      throw internalServerError(e.getMessage());
     }
     change
         .getEChanges()
@@ -67,15 +103,60 @@ public class ChangePropagationEndpoint implements PatchEndpoint {
               }
             });
 
-    var type = (ViewCreatingViewType<?, ?>) view.getViewType();
+    if (prefersAsync(wrapper)) {
+      wrapper.addResponseHeader(Header.JOB_ID, submit(view, change));
+      wrapper.setSuccessStatusCode(HTTP_ACCEPTED);
+      return null;
+    }
+
     var propTimer = Timer.start(Metrics.globalRegistry);
     try {
-      type.commitViewChanges((ModifiableView) view, change);
+      committer.commit(view, change);
       propTimer.stop(Metrics.timer(ENDPOINT_METRIC_NAME, "propagation", "success"));
     } catch (RuntimeException e) {
       propTimer.stop(Metrics.timer(ENDPOINT_METRIC_NAME, "propagation", "failure"));
       throw new ServerHaltingException(HTTP_CONFLICT, "Changes rejected: " + e.getMessage());
+    } finally {
+      cache.invalidateViewPayloads();
     }
+    eventPublisher.publishOutdatedViews();
+    wrapper.addResponseHeader(Header.VIEW_STATUS, ViewStatusEndpoint.statusOf(view, modelAccess));
     return null;
   }
+
+  private static boolean prefersAsync(HttpWrapper wrapper) {
+    var preferences = wrapper.getRequestHeader(Header.PREFER);
+    return preferences != null
+        && Arrays.stream(preferences.split(","))
+            .anyMatch(it -> it.trim().equalsIgnoreCase(Header.RESPOND_ASYNC));
+  }
+
+  private String submit(View view, VitruviusChange<?> change) {
+    var propTimer = Timer.start(Metrics.globalRegistry);
+    var propagation = committer.submit(view, change);
+    var jobId = jobs.start();
+    propagation.whenCompleteAsync(
+        (ignored, failure) -> {
+          var succeeded = failure == null;
+          propTimer.stop(
+              Metrics.timer(
+                  ENDPOINT_METRIC_NAME, "propagation", succeeded ? "success" : "failure"));
+          try {
+            cache.invalidateViewPayloads();
+            if (succeeded) {
+              eventPublisher.publishOutdatedViews();
+              jobs.succeed(jobId, ViewStatusEndpoint.statusOf(view, modelAccess));
+            } else {
+              var cause = failure instanceof CompletionException ? failure.getCause() : failure;
+              jobs.fail(jobId, "Changes rejected: " + cause.getMessage());
+            }
+          } catch (RuntimeException e) {
+            jobs.fail(jobId, e.getMessage());
+          }
+          // Published after the job was updated, so that notified clients see the outcome.
+          eventPublisher.publishPropagated(view, succeeded);
+        },
+        jobs.executor());
+    return jobId;
+  }
 }
@@ -1,22 +1,47 @@
 package tools.vitruv.framework.remote.server.rest.endpoints;
 
 import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.server.cache.ServerCache;
+import tools.vitruv.framework.remote.server.concurrency.ModelAccessController;
 import tools.vitruv.framework.remote.server.http.HttpWrapper;
+import tools.vitruv.framework.remote.server.notification.ViewEventPublisher;
 import tools.vitruv.framework.remote.server.rest.DeleteEndpoint;
 import tools.vitruv.framework.views.View;
 
-/** This endpoint closes a {@link tools.vitruv.framework.views.View View}. */
+/**
+ * This endpoint closes a {@link tools.vitruv.framework.views.View View}. Closing is idempotent, so
+ * closing a view which is already closed or unknown succeeds as well.
+ */
 public class CloseViewEndpoint implements DeleteEndpoint {
+  private final ServerCache cache;
+  private final ModelAccessController modelAccess;
+  private final ViewEventPublisher eventPublisher;
+
+  /**
+   * Creates a new CloseViewEndpoint.
+   *
+   * @param cache The cache holding the views.
+   * @param modelAccess The controller coordinating the access to the virtual model.
+   * @param eventPublisher The publisher notifying the subscribers of the view that it was closed.
+   */
+  public CloseViewEndpoint(
+      ServerCache cache, ModelAccessController modelAccess, ViewEventPublisher eventPublisher) {
+    this.cache = cache;
+    this.modelAccess = modelAccess;
+    this.eventPublisher = eventPublisher;
+  }
+
   @Override
   public String process(HttpWrapper wrapper) {
-    View view = Cache.removeView(wrapper.getRequestHeader(Header.VIEW_UUID));
+    View view = cache.removeView(wrapper.getRequestHeader(Header.VIEW_UUID));
     if (view == null) {
-      throw notFound("View with given id not found!");
+      return null;
     }
     try {
-      view.close();
+      modelAccess.closeView(view);
+      eventPublisher.publishClosed(view);
       return null;
-    } catch (Exception e) {
+    } catch (RuntimeException e) {
       throw internalServerError(e.getMessage());
     }
   }
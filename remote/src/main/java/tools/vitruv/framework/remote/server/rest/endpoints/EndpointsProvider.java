@@ -1,11 +1,20 @@
 package tools.vitruv.framework.remote.server.rest.endpoints;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import tools.vitruv.framework.remote.common.json.JsonMapper;
 import tools.vitruv.framework.remote.common.rest.constants.EndpointPath;
+import tools.vitruv.framework.remote.server.cache.BoundedServerCache;
+import tools.vitruv.framework.remote.server.cache.ServerCache;
+import tools.vitruv.framework.remote.server.concurrency.GroupCommitSettings;
+import tools.vitruv.framework.remote.server.concurrency.GroupCommitter;
+import tools.vitruv.framework.remote.server.concurrency.ModelAccessController;
+import tools.vitruv.framework.remote.server.concurrency.PropagationJobs;
 import tools.vitruv.framework.remote.server.exception.ServerHaltingException;
 import tools.vitruv.framework.remote.server.http.HttpWrapper;
+import tools.vitruv.framework.remote.server.notification.ViewEventPublisher;
 import tools.vitruv.framework.remote.server.rest.DeleteEndpoint;
 import tools.vitruv.framework.remote.server.rest.GetEndpoint;
 import tools.vitruv.framework.remote.server.rest.PatchEndpoint;
@@ -17,15 +26,87 @@ import tools.vitruv.framework.vsum.VirtualModel;
 /** Provides all REST endpoints for the Vitruv server. */
 public class EndpointsProvider {
 
+  /**
+   * Creates and returns all REST endpoints for the Vitruv server, caching views in a {@link
+   * BoundedServerCache} with the default limits.
+   *
+   * @param virtualModel The virtual model to use.
+   * @param mapper The JSON mapper to use.
+   * @return A list of all REST endpoints, which must be closed once they are no longer used.
+   * @deprecated The endpoints start threads of their own. Use {@link #getAllEndpoints(VirtualModel,
+   *     JsonMapper, ServerCache, ModelAccessController, GroupCommitter, PropagationJobs,
+   *     ViewEventPublisher, ForkJoinPool)} with components owned by the caller instead.
+   */
+  @Deprecated
+  public static CloseableEndpoints getAllEndpoints(VirtualModel virtualModel, JsonMapper mapper) {
+    return getAllEndpoints(virtualModel, mapper, new BoundedServerCache());
+  }
+
   /**
    * Creates and returns all REST endpoints for the Vitruv server.
    *
    * @param virtualModel The virtual model to use.
    * @param mapper The JSON mapper to use.
+   * @param cache The cache holding the views and selectors handed out to clients.
+   * @return A list of all REST endpoints, which must be closed once they are no longer used.
+   * @deprecated The endpoints start threads of their own. Use {@link #getAllEndpoints(VirtualModel,
+   *     JsonMapper, ServerCache, ModelAccessController, GroupCommitter, PropagationJobs,
+   *     ViewEventPublisher, ForkJoinPool)} with components owned by the caller instead.
+   */
+  @Deprecated
+  public static CloseableEndpoints getAllEndpoints(
+      VirtualModel virtualModel, JsonMapper mapper, ServerCache cache) {
+    var modelAccess = new ModelAccessController();
+    var committer = new GroupCommitter(modelAccess, GroupCommitSettings.disabled());
+    var jobs = new PropagationJobs();
+    var eventPublisher = new ViewEventPublisher(modelAccess);
+    var derivationPool = new ForkJoinPool();
+    var endpoints =
+        getAllEndpoints(
+            virtualModel,
+            mapper,
+            cache,
+            modelAccess,
+            committer,
+            jobs,
+            eventPublisher,
+            derivationPool);
+    return new CloseableEndpoints(
+        endpoints,
+        () -> {
+          // Close in the order of VitruvServer#stop, ending the event streams first.
+          eventPublisher.close();
+          committer.close();
+          jobs.close();
+          derivationPool.close();
+          modelAccess.close();
+        });
+  }
+
+  /**
+   * Creates and returns all REST endpoints for the Vitruv server. The given components are shared
+   * by the endpoints, but remain owned by the caller, who must close them once the endpoints are no
+   * longer used.
+   *
+   * @param virtualModel The virtual model to use.
+   * @param mapper The JSON mapper to use.
+   * @param cache The cache holding the views and selectors handed out to clients.
+   * @param modelAccess The controller coordinating the access to the virtual model.
+   * @param committer The committer propagating the changes of views to the virtual model.
+   * @param jobs The jobs of the asynchronous change propagations.
+   * @param eventPublisher The publisher notifying clients about events of their views.
+   * @param derivationPool The pool deriving the changes of uploaded resources in parallel.
    * @return A list of all REST endpoints.
    */
   public static List<PathEndointCollector> getAllEndpoints(
-      VirtualModel virtualModel, JsonMapper mapper) {
+      VirtualModel virtualModel,
+      JsonMapper mapper,
+      ServerCache cache,
+      ModelAccessController modelAccess,
+      GroupCommitter committer,
+      PropagationJobs jobs,
+      ViewEventPublisher eventPublisher,
+      ForkJoinPool derivationPool) {
     var defaultEndpoints = getDefaultEndpoints();
 
     List<PathEndointCollector> result = new ArrayList<>();
@@ -40,7 +121,7 @@ public class EndpointsProvider {
     result.add(
         new PathEndointCollector(
             EndpointPath.IS_VIEW_CLOSED,
-            new IsViewClosedEndpoint(),
+            new IsViewClosedEndpoint(cache),
             defaultEndpoints.postEndpoint(),
             defaultEndpoints.putEndpoint(),
             defaultEndpoints.patchEndpoint(),
@@ -48,7 +129,7 @@ public class EndpointsProvider {
     result.add(
         new PathEndointCollector(
             EndpointPath.IS_VIEW_OUTDATED,
-            new IsViewOutdatedEndpoint(),
+            new IsViewOutdatedEndpoint(cache, modelAccess),
             defaultEndpoints.postEndpoint(),
             defaultEndpoints.putEndpoint(),
             defaultEndpoints.patchEndpoint(),
@@ -56,15 +137,40 @@ public class EndpointsProvider {
     result.add(
         new PathEndointCollector(
             EndpointPath.VIEW,
-            new UpdateViewEndpoint(mapper),
-            new ViewEndpoint(mapper),
+            new UpdateViewEndpoint(mapper, cache, modelAccess),
+            new ViewEndpoint(virtualModel, mapper, cache, modelAccess),
+            defaultEndpoints.putEndpoint(),
+            new ChangePropagationEndpoint(
+                mapper, cache, modelAccess, committer, jobs, eventPublisher),
+            new CloseViewEndpoint(cache, modelAccess, eventPublisher)));
+    result.add(
+        new PathEndointCollector(
+            EndpointPath.VIEW_STATUS,
+            new ViewStatusEndpoint(cache, modelAccess),
+            defaultEndpoints.postEndpoint(),
+            defaultEndpoints.putEndpoint(),
+            defaultEndpoints.patchEndpoint(),
+            defaultEndpoints.deleteEndpoint()));
+    result.add(
+        new PathEndointCollector(
+            EndpointPath.JOB,
+            new JobEndpoint(mapper, jobs),
+            defaultEndpoints.postEndpoint(),
+            defaultEndpoints.putEndpoint(),
+            defaultEndpoints.patchEndpoint(),
+            defaultEndpoints.deleteEndpoint()));
+    result.add(
+        new PathEndointCollector(
+            EndpointPath.VIEW_EVENTS,
+            new ViewEventsEndpoint(cache, eventPublisher),
+            defaultEndpoints.postEndpoint(),
             defaultEndpoints.putEndpoint(),
-            new ChangePropagationEndpoint(mapper),
-            new CloseViewEndpoint()));
+            defaultEndpoints.patchEndpoint(),
+            defaultEndpoints.deleteEndpoint()));
     result.add(
         new PathEndointCollector(
             EndpointPath.VIEW_SELECTOR,
-            new ViewSelectorEndpoint(virtualModel, mapper),
+            new ViewSelectorEndpoint(virtualModel, mapper, cache, modelAccess),
             defaultEndpoints.postEndpoint(),
             defaultEndpoints.putEndpoint(),
             defaultEndpoints.patchEndpoint(),
@@ -83,7 +189,16 @@ public class EndpointsProvider {
             defaultEndpoints.getEndpoint(),
             defaultEndpoints.postEndpoint(),
             defaultEndpoints.putEndpoint(),
-            new ChangeDerivingEndpoint(mapper),
+            new ChangeDerivingEndpoint(
+                mapper, cache, modelAccess, committer, eventPublisher, derivationPool),
+            defaultEndpoints.deleteEndpoint()));
+    result.add(
+        new PathEndointCollector(
+            EndpointPath.BATCH,
+            defaultEndpoints.getEndpoint(),
+            new BatchEndpoint(mapper, List.copyOf(result)),
+            defaultEndpoints.putEndpoint(),
+            defaultEndpoints.patchEndpoint(),
             defaultEndpoints.deleteEndpoint()));
 
     return result;
@@ -130,4 +245,35 @@ public class EndpointsProvider {
   }
 
   private EndpointsProvider() {}
+
+  /**
+   * REST endpoints backed by components created for them. Closing the endpoints closes these
+   * components, e.g., stops their threads.
+   */
+  public static final class CloseableEndpoints extends AbstractList<PathEndointCollector>
+      implements AutoCloseable {
+    private final List<PathEndointCollector> endpoints;
+    private final Runnable closer;
+
+    private CloseableEndpoints(List<PathEndointCollector> endpoints, Runnable closer) {
+      this.endpoints = List.copyOf(endpoints);
+      this.closer = closer;
+    }
+
+    @Override
+    public PathEndointCollector get(int index) {
+      return endpoints.get(index);
+    }
+
+    @Override
+    public int size() {
+      return endpoints.size();
+    }
+
+    /** Closes the components backing the endpoints after the running operations are finished. */
+    @Override
+    public void close() {
+      closer.run();
+    }
+  }
 }
@@ -2,20 +2,32 @@ package tools.vitruv.framework.remote.server.rest.endpoints;
 
 import tools.vitruv.framework.remote.common.rest.constants.ContentType;
 import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.server.cache.ServerCache;
 import tools.vitruv.framework.remote.server.http.HttpWrapper;
 import tools.vitruv.framework.remote.server.rest.GetEndpoint;
 import tools.vitruv.framework.views.View;
 
 /** This endpoint returns whether a {@link tools.vitruv.framework.views.View View} is closed. */
 public class IsViewClosedEndpoint implements GetEndpoint {
+  private final ServerCache cache;
+
+  /**
+   * Creates a new IsViewClosedEndpoint.
+   *
+   * @param cache The cache holding the views.
+   */
+  public IsViewClosedEndpoint(ServerCache cache) {
+    this.cache = cache;
+  }
+
   @Override
   public String process(HttpWrapper wrapper) {
-    View view = Cache.getView(wrapper.getRequestHeader(Header.VIEW_UUID));
+    View view = cache.getView(wrapper.getRequestHeader(Header.VIEW_UUID));
     if (view == null) {
       return Boolean.TRUE.toString();
     }
     if (view.isClosed()) {
-      Cache.removeView(wrapper.getRequestHeader(Header.VIEW_UUID));
+      cache.removeView(wrapper.getRequestHeader(Header.VIEW_UUID));
     }
     wrapper.setContentType(ContentType.TEXT_PLAIN);
     return view.isClosed() ? Boolean.TRUE.toString() : Boolean.FALSE.toString();
@@ -2,19 +2,35 @@ package tools.vitruv.framework.remote.server.rest.endpoints;
 
 import tools.vitruv.framework.remote.common.rest.constants.ContentType;
 import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.server.cache.ServerCache;
+import tools.vitruv.framework.remote.server.concurrency.ModelAccessController;
 import tools.vitruv.framework.remote.server.http.HttpWrapper;
 import tools.vitruv.framework.remote.server.rest.GetEndpoint;
 import tools.vitruv.framework.views.View;
 
 /** This view returns whether a {@link tools.vitruv.framework.views.View View} is outdated. */
 public class IsViewOutdatedEndpoint implements GetEndpoint {
+  private final ServerCache cache;
+  private final ModelAccessController modelAccess;
+
+  /**
+   * Creates a new IsViewOutdatedEndpoint.
+   *
+   * @param cache The cache holding the views.
+   * @param modelAccess The controller coordinating the access to the virtual model.
+   */
+  public IsViewOutdatedEndpoint(ServerCache cache, ModelAccessController modelAccess) {
+    this.cache = cache;
+    this.modelAccess = modelAccess;
+  }
+
   @Override
   public String process(HttpWrapper wrapper) {
-    View view = Cache.getView(wrapper.getRequestHeader(Header.VIEW_UUID));
+    View view = cache.getView(wrapper.getRequestHeader(Header.VIEW_UUID));
     if (view == null) {
       throw notFound("View with given id not found!");
     }
     wrapper.setContentType(ContentType.TEXT_PLAIN);
-    return view.isOutdated() ? Boolean.TRUE.toString() : Boolean.FALSE.toString();
+    return modelAccess.read(view::isOutdated) ? Boolean.TRUE.toString() : Boolean.FALSE.toString();
   }
 }
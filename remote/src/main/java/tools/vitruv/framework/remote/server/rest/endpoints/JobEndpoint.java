@@ -0,0 +1,44 @@
+package tools.vitruv.framework.remote.server.rest.endpoints;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import tools.vitruv.framework.remote.common.json.JsonMapper;
+import tools.vitruv.framework.remote.common.rest.PropagationJob;
+import tools.vitruv.framework.remote.common.rest.constants.ContentType;
+import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.server.concurrency.PropagationJobs;
+import tools.vitruv.framework.remote.server.http.HttpWrapper;
+import tools.vitruv.framework.remote.server.rest.GetEndpoint;
+
+/**
+ * This endpoint returns the state of an asynchronous change propagation, identified by the {@link
+ * Header#JOB_ID} header, as {@link PropagationJob}.
+ */
+public class JobEndpoint implements GetEndpoint {
+  private final JsonMapper mapper;
+  private final PropagationJobs jobs;
+
+  /**
+   * Creates a new JobEndpoint.
+   *
+   * @param mapper The JSON mapper to serialize the response.
+   * @param jobs The jobs of the asynchronous change propagations.
+   */
+  public JobEndpoint(JsonMapper mapper, PropagationJobs jobs) {
+    this.mapper = mapper;
+    this.jobs = jobs;
+  }
+
+  @Override
+  public String process(HttpWrapper wrapper) {
+    var job = jobs.get(wrapper.getRequestHeader(Header.JOB_ID));
+    if (job == null) {
+      throw notFound("Job with given id not found!");
+    }
+    wrapper.setContentType(ContentType.APPLICATION_JSON);
+    try {
+      return mapper.serialize(job);
+    } catch (JsonProcessingException e) {
+      throw internalServerError(e.getMessage());
+    }
+  }
+}
@@ -1,56 +1,207 @@
 package tools.vitruv.framework.remote.server.rest.endpoints;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import edu.kit.ipd.sdq.commons.util.org.eclipse.emf.ecore.resource.ResourceCopier;
-import java.util.List;
-import org.eclipse.emf.ecore.EObject;
+import io.micrometer.core.instrument.Metrics;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
-import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.vitruv.change.atomic.hid.HierarchicalId;
+import tools.vitruv.change.composite.description.VitruviusChange;
+import tools.vitruv.change.composite.description.VitruviusChangeFactory;
 import tools.vitruv.framework.remote.common.json.JsonMapper;
-import tools.vitruv.framework.remote.common.rest.constants.ContentType;
 import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.server.cache.SelectionFingerprint;
+import tools.vitruv.framework.remote.server.cache.ServerCache;
+import tools.vitruv.framework.remote.server.cache.ViewPayload;
+import tools.vitruv.framework.remote.server.cache.ViewSnapshot;
+import tools.vitruv.framework.remote.server.concurrency.ModelAccessController;
 import tools.vitruv.framework.remote.server.http.HttpWrapper;
+import tools.vitruv.framework.remote.server.http.ResponseBodyWriter;
 import tools.vitruv.framework.remote.server.rest.GetEndpoint;
+import tools.vitruv.framework.remote.server.rest.StreamingEndpoint;
 import tools.vitruv.framework.views.View;
+import tools.vitruv.framework.views.changederivation.DefaultStateBasedChangeResolutionStrategy;
+import tools.vitruv.framework.views.changederivation.StateBasedChangeResolutionStrategy;
 
 /**
  * This endpoint updates a {@link tools.vitruv.framework.views.View View} and returns the updated
  * {@link org.eclipse.emf.ecore.resource.Resource Resources}.
+ *
+ * <p>If the client sends the version of the view it holds in the {@link Header#VIEW_VERSION}
+ * header and that version is the state last sent to it, only the {@link VitruviusChange} between
+ * that state and the updated view is returned, marked with the {@link Header#DELTA_BASE} header.
+ * Otherwise, or if the set of resources of the view changed, the complete view is returned. In both
+ * cases, the version of the updated state is returned in the {@link Header#VIEW_VERSION} header.
+ *
+ * <p>Complete views are served from the cached {@link ViewPayload} of views with the same selection
+ * at the current model version, if there is one. Otherwise, they are serialized directly to the
+ * response and recorded for the cache, unless they exceed the size limit of a payload.
  */
-public class UpdateViewEndpoint implements GetEndpoint {
+public class UpdateViewEndpoint implements GetEndpoint, StreamingEndpoint {
+  private static final String ENDPOINT_METRIC_NAME = "vitruv.server.rest.update";
+  private static final Logger LOGGER = LoggerFactory.getLogger(UpdateViewEndpoint.class);
+
   private final JsonMapper mapper;
+  private final ServerCache cache;
+  private final ModelAccessController modelAccess;
+  private final Supplier<StateBasedChangeResolutionStrategy> resolutionStrategies;
 
   /**
    * Creates a new UpdateViewEndpoint.
    *
    * @param mapper The JSON mapper to use.
+   * @param cache The cache holding the views.
+   * @param modelAccess The controller coordinating the access to the virtual model.
+   */
+  public UpdateViewEndpoint(
+      JsonMapper mapper, ServerCache cache, ModelAccessController modelAccess) {
+    this(mapper, cache, modelAccess, DefaultStateBasedChangeResolutionStrategy::new);
+  }
+
+  /**
+   * Creates a new UpdateViewEndpoint deriving the changes of the views with the given strategies.
+   *
+   * @param mapper The JSON mapper to use.
+   * @param cache The cache holding the views.
+   * @param modelAccess The controller coordinating the access to the virtual model.
+   * @param resolutionStrategies Creates the strategy deriving the changes of a view update. A new
+   *     strategy is used for each update, since updates of different views run concurrently.
    */
-  public UpdateViewEndpoint(JsonMapper mapper) {
+  UpdateViewEndpoint(
+      JsonMapper mapper,
+      ServerCache cache,
+      ModelAccessController modelAccess,
+      Supplier<StateBasedChangeResolutionStrategy> resolutionStrategies) {
     this.mapper = mapper;
+    this.cache = cache;
+    this.modelAccess = modelAccess;
+    this.resolutionStrategies = resolutionStrategies;
   }
 
   @Override
-  public String process(HttpWrapper wrapper) {
-    View view = Cache.getView(wrapper.getRequestHeader(Header.VIEW_UUID));
+  public ResponseBodyWriter processStreaming(HttpWrapper wrapper) {
+    String uuid = wrapper.getRequestHeader(Header.VIEW_UUID);
+    View view = cache.getView(uuid);
     if (view == null) {
       throw notFound("View with given id not found!");
     }
+    SelectionFingerprint selection = cache.getViewSelection(uuid);
+    var format = negotiateResponseFormat(wrapper, mapper);
+    var clientVersion = wrapper.getRequestHeader(Header.VIEW_VERSION);
 
-    view.update();
+    // Updating changes the resources of the view, so other operations on it are excluded. The
+    // delta is derived and the snapshot is replaced under the same lock, so that the delta is
+    // derived from the snapshot it replaces.
+    Updated updated =
+        modelAccess.updateView(
+            view,
+            () -> {
+              // The view may have been evicted and closed before the lock was acquired.
+              if (view.isClosed()) {
+                throw notFound("View with given id not found!");
+              }
+              ViewSnapshot previous = cache.getViewSnapshot(uuid);
+              view.update();
 
-    // Get resources.
-    List<Resource> resources =
-        view.getRootObjects().stream().map(EObject::eResource).distinct().toList();
-    ResourceSet set = new ResourceSetImpl();
-    ResourceCopier.copyViewResources(resources, set);
+              // Reuse the resources of views with the same selection, or copy them.
+              long modelVersion = modelAccess.getModelVersion();
+              ViewPayload cached =
+                  selection == null ? null : cache.getViewPayload(selection, modelVersion, format);
+              var resources = ViewEndpoint.resourcesOf(view, cached);
+              var delta = deriveDelta(previous, clientVersion, resources);
+              long version = cache.replaceViewSnapshot(uuid, previous, resources);
+              if (version < 0) {
+                // The snapshot was dropped meanwhile, so the client's state is unknown.
+                return new Updated(modelVersion, cached, resources, -1, null, null);
+              }
+              return new Updated(modelVersion, cached, resources, version, previous, delta);
+            });
+    ResourceSet set = updated.resources();
 
-    wrapper.setContentType(ContentType.APPLICATION_JSON);
+    if (updated.version() >= 0) {
+      wrapper.addResponseHeader(Header.VIEW_VERSION, Long.toString(updated.version()));
+    }
+    var delta = updated.delta();
+    if (delta != null) {
+      Metrics.counter(ENDPOINT_METRIC_NAME, "transfer", "delta").increment();
+      wrapper.addResponseHeader(Header.DELTA_BASE, Long.toString(updated.base().version()));
+      return body -> mapper.serialize(delta, body, format);
+    }
+    Metrics.counter(ENDPOINT_METRIC_NAME, "transfer", "snapshot").increment();
+    if (selection == null) {
+      return body -> mapper.serialize(set, body, format);
+    }
+    ViewPayload cached = updated.cached();
+    if (cached != null) {
+      byte[] serialized = cached.serialized();
+      return body -> body.write(serialized);
+    }
+    return new ViewPayloadWriter(
+        mapper,
+        format,
+        set,
+        cache.getMaximumViewPayloadBytes(),
+        payload -> cache.putViewPayload(selection, updated.modelVersion(), format, payload));
+  }
 
+  /**
+   * Derives the changes from the state last sent to the client to the updated state.
+   *
+   * @return The changes, or {@code null} if the complete view must be sent instead.
+   */
+  private VitruviusChange<HierarchicalId> deriveDelta(
+      ViewSnapshot previous, String clientVersion, ResourceSet updated) {
+    if (previous == null || !Long.toString(previous.version()).equals(clientVersion)) {
+      return null;
+    }
     try {
-      return mapper.serialize(set);
-    } catch (JsonProcessingException e) {
-      throw internalServerError(e.getMessage());
+      Map<URI, Resource> previousResources =
+          previous.resources().getResources().stream()
+              .collect(Collectors.toMap(Resource::getURI, Function.identity()));
+      if (previousResources.size() != updated.getResources().size()) {
+        return null;
+      }
+      var resolutionStrategy = resolutionStrategies.get();
+      var changes = new ArrayList<VitruviusChange<HierarchicalId>>();
+      for (Resource resource : updated.getResources()) {
+        Resource previousResource = previousResources.get(resource.getURI());
+        if (previousResource == null) {
+          return null;
+        }
+        var change = resolutionStrategy.getChangeSequenceBetween(resource, previousResource);
+        if (!change.getEChanges().isEmpty()) {
+          changes.add(change);
+        }
+      }
+      return VitruviusChangeFactory.getInstance().createCompositeChange(changes);
+    } catch (RuntimeException e) {
+      LOGGER.warn("Deriving the view update failed, sending the complete view: {}", e.getMessage());
+      return null;
     }
   }
+
+  /**
+   * The result of updating a view.
+   *
+   * @param modelVersion The model version the view was updated to.
+   * @param cached The cached payload of the updated view, or {@code null} if there is none.
+   * @param resources A copy of the resources of the updated view.
+   * @param version The version of the stored snapshot, or {@code -1} if none was stored.
+   * @param base The snapshot the delta was derived from.
+   * @param delta The changes since the state of the client, or {@code null} if the complete view
+   *     must be sent.
+   */
+  private record Updated(
+      long modelVersion,
+      ViewPayload cached,
+      ResourceSet resources,
+      long version,
+      ViewSnapshot base,
+      VitruviusChange<HierarchicalId> delta) {}
 }
@@ -1,7 +1,11 @@
 package tools.vitruv.framework.remote.server.rest.endpoints;
 
+import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
+import static java.net.HttpURLConnection.HTTP_CONFLICT;
+
 import edu.kit.ipd.sdq.commons.util.org.eclipse.emf.ecore.resource.ResourceCopier;
 import java.io.IOException;
+import java.util.BitSet;
 import java.util.List;
 import java.util.UUID;
 import org.eclipse.emf.ecore.EObject;
@@ -9,70 +13,162 @@ import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import tools.vitruv.framework.remote.common.json.JsonMapper;
-import tools.vitruv.framework.remote.common.rest.constants.ContentType;
 import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.common.util.SelectionRanges;
+import tools.vitruv.framework.remote.server.cache.SelectionFingerprint;
+import tools.vitruv.framework.remote.server.cache.SelectorMapping;
+import tools.vitruv.framework.remote.server.cache.ServerCache;
+import tools.vitruv.framework.remote.server.cache.ViewPayload;
+import tools.vitruv.framework.remote.server.concurrency.ModelAccessController;
+import tools.vitruv.framework.remote.server.exception.ServerHaltingException;
 import tools.vitruv.framework.remote.server.http.HttpWrapper;
+import tools.vitruv.framework.remote.server.http.ResponseBodyWriter;
 import tools.vitruv.framework.remote.server.rest.PostEndpoint;
+import tools.vitruv.framework.remote.server.rest.StreamingEndpoint;
 import tools.vitruv.framework.views.View;
 import tools.vitruv.framework.views.ViewSelector;
+import tools.vitruv.framework.views.ViewType;
+import tools.vitruv.framework.vsum.VirtualModel;
 
 /**
  * This endpoint returns a serialized {@link tools.vitruv.framework.views.View View} for the given
- * {@link tools.vitruv.framework.views.ViewType ViewType}.
+ * {@link tools.vitruv.framework.views.ViewType ViewType}. The selected elements are sent as {@link
+ * SelectionRanges} of their indices. The {@link ViewSelector} is created from the view type of the
+ * selector handle and selects the elements the indices are mapped to.
+ *
+ * <p>The serialized view is cached as a {@link ViewPayload} for its {@link SelectionFingerprint}
+ * and the model version, so that views with the same selection requested before the model changes
+ * are served without copying and serializing their resources again. Otherwise, the resources are
+ * serialized directly to the response and recorded for the cache, unless they exceed the size
+ * limit of a payload.
  */
-public class ViewEndpoint implements PostEndpoint {
+public class ViewEndpoint implements PostEndpoint, StreamingEndpoint {
+  private final VirtualModel model;
   private final JsonMapper mapper;
+  private final ServerCache cache;
+  private final ModelAccessController modelAccess;
 
   /**
    * Creates a new ViewEndpoint.
    *
+   * @param model The virtual model to create the views from.
    * @param mapper The JSON mapper to use.
+   * @param cache The cache holding the views and selectors.
+   * @param modelAccess The controller coordinating the access to the virtual model.
    */
-  public ViewEndpoint(JsonMapper mapper) {
+  public ViewEndpoint(
+      VirtualModel model,
+      JsonMapper mapper,
+      ServerCache cache,
+      ModelAccessController modelAccess) {
+    this.model = model;
     this.mapper = mapper;
+    this.cache = cache;
+    this.modelAccess = modelAccess;
   }
 
   @Override
-  public String process(HttpWrapper wrapper) {
+  public ResponseBodyWriter processStreaming(HttpWrapper wrapper) {
     String selectorUuid = wrapper.getRequestHeader(Header.SELECTOR_UUID);
-    ViewSelector selector = Cache.getSelector(selectorUuid);
+    ViewType<?> viewType = cache.getSelectorViewType(selectorUuid);
+    SelectorMapping mapping = cache.getSelectorMapping(selectorUuid);
 
-    // Check if view type exists.
-    if (selector == null) {
+    // Check if selector exists.
+    if (viewType == null || mapping == null) {
       throw notFound("Selector with UUID " + selectorUuid + " not found!");
     }
 
     try {
-      String body = wrapper.getRequestBodyAsString();
-      List<String> selection = mapper.deserializeArrayOf(body, String.class);
-
-      // Select elements using IDs sent from client.
-      selection.forEach(
-          it -> {
-            EObject object = Cache.getEObjectFromMapping(selectorUuid, it);
-            if (object != null) {
-              selector.setSelected(object, true);
-            }
-          });
-
-      // Create and cache view.
-      String uuid = UUID.randomUUID().toString();
-      View view = selector.createView();
-      Cache.addView(uuid, view);
-      Cache.removeSelectorAndMapping(selectorUuid);
+      BitSet selection;
+      try {
+        // Ranges past the selectable elements are rejected before a selection is allocated.
+        selection =
+            SelectionRanges.decode(
+                mapper.deserialize(wrapper.getRequestBody(), int[].class, requestFormat(wrapper)),
+                mapping.size());
+      } catch (IllegalArgumentException e) {
+        throw new ServerHaltingException(HTTP_BAD_REQUEST, e.getMessage());
+      }
+
+      var fingerprint = SelectionFingerprint.of(mapping, SelectionRanges.encode(selection));
+      var format = negotiateResponseFormat(wrapper, mapper);
+
+      Created created =
+          modelAccess.read(
+              () -> {
+                // Select elements using indices sent from client.
+                ViewSelector selector = model.createSelector(viewType);
+                try {
+                  selection.stream()
+                      .mapToObj(mapping::get)
+                      .forEach(it -> selector.setSelected(it, true));
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                  throw new ServerHaltingException(
+                      HTTP_CONFLICT, "Selected elements are not selectable: " + e.getMessage());
+                }
+                View view = selector.createView();
+
+                // Reuse the resources of views with the same selection, or copy them.
+                long modelVersion = modelAccess.getModelVersion();
+                ViewPayload cached = cache.getViewPayload(fingerprint, modelVersion, format);
+                return new Created(view, modelVersion, cached, resourcesOf(view, cached));
+              });
 
-      // Get resources.
-      List<Resource> resources =
-          view.getRootObjects().stream().map(EObject::eResource).distinct().toList();
-      ResourceSet set = new ResourceSetImpl();
-      ResourceCopier.copyViewResources(resources, set);
+      ViewPayload cached = created.cached();
+      ResourceSet resources = created.resources();
+
+      // Cache view.
+      String uuid = UUID.randomUUID().toString();
+      cache.addView(uuid, created.view());
+      cache.setViewSelection(uuid, fingerprint);
+      cache.removeSelectorAndMapping(selectorUuid);
 
-      wrapper.setContentType(ContentType.APPLICATION_JSON);
       wrapper.addResponseHeader(Header.VIEW_UUID, uuid);
+      wrapper.addResponseHeader(
+          Header.VIEW_VERSION, Long.toString(cache.storeViewSnapshot(uuid, resources)));
 
-      return mapper.serialize(set);
+      if (cached != null) {
+        byte[] serialized = cached.serialized();
+        return body -> body.write(serialized);
+      }
+      return new ViewPayloadWriter(
+          mapper,
+          format,
+          resources,
+          cache.getMaximumViewPayloadBytes(),
+          payload -> cache.putViewPayload(fingerprint, created.modelVersion(), format, payload));
     } catch (IOException e) {
       throw internalServerError(e.getMessage());
     }
   }
+
+  /**
+   * Returns the copy of the resources shared by the given payload if it is still retained, or a new
+   * copy of the resources of the given view. Must be called while reading the model.
+   *
+   * @param view The view to copy the resources of.
+   * @param cached The cached payload of views with the same selection, or {@code null}.
+   * @return The copied resources.
+   */
+  static ResourceSet resourcesOf(View view, ViewPayload cached) {
+    ResourceSet shared = cached == null ? null : cached.resources();
+    return shared == null ? copyResources(view) : shared;
+  }
+
+  /**
+   * Copies the resources of the given view. Must be called while reading the model.
+   *
+   * @param view The view to copy the resources of.
+   * @return The copied resources.
+   */
+  static ResourceSet copyResources(View view) {
+    List<Resource> resources =
+        view.getRootObjects().stream().map(EObject::eResource).distinct().toList();
+    ResourceSet copy = new ResourceSetImpl();
+    ResourceCopier.copyViewResources(resources, copy);
+    return copy;
+  }
+
+  private record Created(
+      View view, long modelVersion, ViewPayload cached, ResourceSet resources) {}
 }
@@ -0,0 +1,99 @@
+package tools.vitruv.framework.remote.server.rest.endpoints;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import tools.vitruv.framework.remote.common.rest.constants.ContentType;
+import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.common.rest.constants.ViewEvent;
+import tools.vitruv.framework.remote.server.cache.ServerCache;
+import tools.vitruv.framework.remote.server.http.DetachedResponseBodyWriter;
+import tools.vitruv.framework.remote.server.http.HttpWrapper;
+import tools.vitruv.framework.remote.server.http.ResponseBodyWriter;
+import tools.vitruv.framework.remote.server.notification.ViewEventPublisher;
+import tools.vitruv.framework.remote.server.rest.GetEndpoint;
+import tools.vitruv.framework.remote.server.rest.StreamingEndpoint;
+import tools.vitruv.framework.views.View;
+
+/**
+ * This endpoint streams the events about a {@link tools.vitruv.framework.views.View View} as
+ * server-sent events, see {@link ViewEvent}. The stream stays open until the view is closed, the
+ * client disconnects or the server stops. While no event occurs, a comment is sent periodically to
+ * detect disconnected clients. The stream is written on the executor of the {@link
+ * ViewEventPublisher}, so that it does not block the thread processing requests.
+ */
+public class ViewEventsEndpoint implements GetEndpoint, StreamingEndpoint {
+  /** The default interval in which a comment is sent if no event occurs. */
+  public static final Duration DEFAULT_HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+
+  private static final byte[] HEARTBEAT = ": heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+
+  private final ServerCache cache;
+  private final ViewEventPublisher publisher;
+  private final Duration heartbeatInterval;
+
+  /**
+   * Creates a new ViewEventsEndpoint.
+   *
+   * @param cache The cache holding the views.
+   * @param publisher The publisher of the events about the views.
+   */
+  public ViewEventsEndpoint(ServerCache cache, ViewEventPublisher publisher) {
+    this(cache, publisher, DEFAULT_HEARTBEAT_INTERVAL);
+  }
+
+  /**
+   * Creates a new ViewEventsEndpoint.
+   *
+   * @param cache The cache holding the views.
+   * @param publisher The publisher of the events about the views.
+   * @param heartbeatInterval The interval in which a comment is sent if no event occurs.
+   */
+  public ViewEventsEndpoint(
+      ServerCache cache, ViewEventPublisher publisher, Duration heartbeatInterval) {
+    this.cache = cache;
+    this.publisher = publisher;
+    this.heartbeatInterval = heartbeatInterval;
+  }
+
+  @Override
+  public ResponseBodyWriter processStreaming(HttpWrapper wrapper) {
+    View view = cache.getView(wrapper.getRequestHeader(Header.VIEW_UUID));
+    if (view == null) {
+      throw notFound("View with given id not found!");
+    }
+    wrapper.setContentType(ContentType.TEXT_EVENT_STREAM);
+    wrapper.addResponseHeader(Header.CACHE_CONTROL, "no-cache");
+
+    var subscription = publisher.subscribe(view);
+    ResponseBodyWriter writer =
+        body -> {
+          try (subscription) {
+            while (true) {
+              var event = subscription.next(heartbeatInterval);
+              if (event == null) {
+                if (subscription.isEnded()) {
+                  return;
+                }
+                body.write(HEARTBEAT);
+              } else {
+                write(event, body);
+                if (event.name().equals(ViewEvent.CLOSED)) {
+                  return;
+                }
+              }
+              body.flush();
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        };
+    return new DetachedResponseBodyWriter(publisher.executor(), writer);
+  }
+
+  private static void write(ViewEventPublisher.Event event, OutputStream body) throws IOException {
+    var message = "event: " + event.name() + "\ndata: " + event.value() + "\n\n";
+    body.write(message.getBytes(StandardCharsets.UTF_8));
+  }
+}
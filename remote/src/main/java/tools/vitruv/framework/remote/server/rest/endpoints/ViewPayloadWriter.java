@@ -0,0 +1,97 @@
+package tools.vitruv.framework.remote.server.rest.endpoints;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import tools.vitruv.framework.remote.common.json.JsonMapper;
+import tools.vitruv.framework.remote.common.json.WireFormat;
+import tools.vitruv.framework.remote.server.cache.ViewPayload;
+import tools.vitruv.framework.remote.server.http.ResponseBodyWriter;
+
+/**
+ * Serializes the resources of a view directly to the response body and records the written bytes
+ * on the way, so that they can be cached as a {@link ViewPayload} once the body is complete. If the
+ * serialized resources exceed the size limit, recording stops and nothing is cached, so that large
+ * views are never held in memory as a whole.
+ */
+final class ViewPayloadWriter implements ResponseBodyWriter {
+  private final JsonMapper mapper;
+  private final WireFormat format;
+  private final ResourceSet resources;
+  private final long maximumBytes;
+  private final Consumer<ViewPayload> store;
+
+  /**
+   * Creates a new ViewPayloadWriter.
+   *
+   * @param mapper The JSON mapper to serialize the resources with.
+   * @param format The format to write.
+   * @param resources The resources to write. They must not be modified while they are written.
+   * @param maximumBytes The maximum size of a payload to record.
+   * @param store Receives the payload if the resources were written completely within the limit.
+   */
+  ViewPayloadWriter(
+      JsonMapper mapper,
+      WireFormat format,
+      ResourceSet resources,
+      long maximumBytes,
+      Consumer<ViewPayload> store) {
+    this.mapper = mapper;
+    this.format = format;
+    this.resources = resources;
+    this.maximumBytes = maximumBytes;
+    this.store = store;
+  }
+
+  @Override
+  public void writeTo(OutputStream body) throws IOException {
+    var recording = new RecordingOutputStream(body, maximumBytes);
+    mapper.serialize(resources, recording, format);
+    byte[] recorded = recording.recorded();
+    if (recorded != null) {
+      store.accept(new ViewPayload(resources, recorded));
+    }
+  }
+
+  /** Passes all bytes through and records them until the limit is exceeded. */
+  private static final class RecordingOutputStream extends FilterOutputStream {
+    private final long maximumBytes;
+    private ByteArrayOutputStream recording = new ByteArrayOutputStream();
+
+    RecordingOutputStream(OutputStream out, long maximumBytes) {
+      super(out);
+      this.maximumBytes = maximumBytes;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      record(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      record(b, off, len);
+    }
+
+    private void record(byte[] b, int off, int len) {
+      if (recording == null) {
+        return;
+      }
+      if (recording.size() + (long) len > maximumBytes) {
+        recording = null;
+      } else {
+        recording.write(b, off, len);
+      }
+    }
+
+    /** Returns the recorded bytes, or {@code null} if the limit was exceeded. */
+    byte[] recorded() {
+      return recording == null ? null : recording.toByteArray();
+    }
+  }
+}
@@ -1,7 +1,6 @@
 package tools.vitruv.framework.remote.server.rest.endpoints;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.google.common.collect.HashBiMap;
 import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
@@ -11,34 +10,56 @@ import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.emfcloud.jackson.resource.JsonResource;
 import tools.vitruv.framework.remote.common.json.JsonFieldName;
 import tools.vitruv.framework.remote.common.json.JsonMapper;
-import tools.vitruv.framework.remote.common.rest.constants.ContentType;
 import tools.vitruv.framework.remote.common.rest.constants.Header;
 import tools.vitruv.framework.remote.common.util.ResourceUtil;
+import tools.vitruv.framework.remote.server.cache.SelectorMapping;
+import tools.vitruv.framework.remote.server.cache.SelectorSnapshot;
+import tools.vitruv.framework.remote.server.cache.ServerCache;
+import tools.vitruv.framework.remote.server.concurrency.ModelAccessController;
 import tools.vitruv.framework.remote.server.exception.ServerHaltingException;
 import tools.vitruv.framework.remote.server.http.HttpWrapper;
+import tools.vitruv.framework.remote.server.http.ResponseBodyWriter;
 import tools.vitruv.framework.remote.server.rest.GetEndpoint;
+import tools.vitruv.framework.remote.server.rest.StreamingEndpoint;
 import tools.vitruv.framework.views.ViewSelector;
 import tools.vitruv.framework.views.ViewType;
 import tools.vitruv.framework.vsum.VirtualModel;
 
-/** This endpoint creates a view selector for a given view type. */
-public class ViewSelectorEndpoint implements GetEndpoint {
+/**
+ * This endpoint creates a view selector for a given view type. The selectable elements are
+ * identified by their index in the serialized selection, which the client refers to when
+ * requesting the view. The copied and serialized selection is shared as a {@link SelectorSnapshot}
+ * by all selectors of the view type created while the model is unchanged, so each request only
+ * stores a handle referring to the view type and the shared mapping. The {@link ViewSelector} is
+ * created once the client requests the view.
+ */
+public class ViewSelectorEndpoint implements GetEndpoint, StreamingEndpoint {
   private final VirtualModel model;
   private final JsonMapper mapper;
+  private final ServerCache cache;
+  private final ModelAccessController modelAccess;
 
   /**
    * Creates a new ViewSelectorEndpoint.
    *
    * @param model The virtual model to create selectors from.
    * @param mapper The JSON mapper to use.
+   * @param cache The cache to store the created selectors in.
+   * @param modelAccess The controller coordinating the access to the virtual model.
    */
-  public ViewSelectorEndpoint(VirtualModel model, JsonMapper mapper) {
+  public ViewSelectorEndpoint(
+      VirtualModel model,
+      JsonMapper mapper,
+      ServerCache cache,
+      ModelAccessController modelAccess) {
     this.model = model;
     this.mapper = mapper;
+    this.cache = cache;
+    this.modelAccess = modelAccess;
   }
 
   @Override
-  public String process(HttpWrapper wrapper) throws ServerHaltingException {
+  public ResponseBodyWriter processStreaming(HttpWrapper wrapper) throws ServerHaltingException {
     String viewTypeName = wrapper.getRequestHeader(Header.VIEW_TYPE);
     Collection<ViewType<?>> types = model.getViewTypes();
     ViewType<?> viewType =
@@ -52,7 +73,30 @@ public class ViewSelectorEndpoint implements GetEndpoint {
     // Generate selector UUID.
     String selectorUuid = UUID.randomUUID().toString();
 
-    ViewSelector selector = model.createSelector(viewType);
+    SelectorSnapshot snapshot =
+        modelAccess.read(
+            () -> {
+              long modelVersion = modelAccess.getModelVersion();
+              return cache.getSelectorSnapshot(
+                  viewTypeName,
+                  modelVersion,
+                  () -> createSnapshot(model.createSelector(viewType), modelVersion));
+            });
+    cache.addSelectorWithMapping(selectorUuid, viewType, snapshot.mapping());
+
+    var format = negotiateResponseFormat(wrapper, mapper);
+    byte[] serialized;
+    try {
+      serialized = snapshot.serialized(format, mapper);
+    } catch (JsonProcessingException e) {
+      throw internalServerError(e.getMessage());
+    }
+    wrapper.addResponseHeader(Header.SELECTOR_UUID, selectorUuid);
+
+    return body -> body.write(serialized);
+  }
+
+  private static SelectorSnapshot createSnapshot(ViewSelector selector, long modelVersion) {
     List<EObject> originalSelection = selector.getSelectableElements().stream().toList();
     List<EObject> copiedSelection = EcoreUtil.copyAll(originalSelection).stream().toList();
 
@@ -62,22 +106,10 @@ public class ViewSelectorEndpoint implements GetEndpoint {
             ResourceUtil.createResourceWith(
                 URI.createURI(JsonFieldName.TEMP_VALUE), copiedSelection);
 
-    // Create EObject to UUID mapping.
-    HashBiMap<String, EObject> mapping = HashBiMap.create();
-    for (int i = 0; i < originalSelection.size(); i++) {
-      var objectUuid = UUID.randomUUID().toString();
-      mapping.put(objectUuid, originalSelection.get(i));
-      resource.setID(copiedSelection.get(i), objectUuid);
-    }
-    Cache.addSelectorWithMapping(selectorUuid, selector, mapping);
-
-    wrapper.setContentType(ContentType.APPLICATION_JSON);
-    wrapper.addResponseHeader(Header.SELECTOR_UUID, selectorUuid);
-
-    try {
-      return mapper.serialize(resource);
-    } catch (JsonProcessingException e) {
-      throw internalServerError(e.getMessage());
+    // Identify the elements by their index.
+    for (int i = 0; i < copiedSelection.size(); i++) {
+      resource.setID(copiedSelection.get(i), Integer.toString(i));
     }
+    return new SelectorSnapshot(modelVersion, new SelectorMapping(originalSelection), resource);
   }
 }
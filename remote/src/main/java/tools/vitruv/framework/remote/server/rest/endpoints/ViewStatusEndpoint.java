@@ -0,0 +1,62 @@
+package tools.vitruv.framework.remote.server.rest.endpoints;
+
+import tools.vitruv.framework.remote.common.rest.constants.ContentType;
+import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.common.rest.constants.ViewStatus;
+import tools.vitruv.framework.remote.server.cache.ServerCache;
+import tools.vitruv.framework.remote.server.concurrency.ModelAccessController;
+import tools.vitruv.framework.remote.server.http.HttpWrapper;
+import tools.vitruv.framework.remote.server.rest.GetEndpoint;
+import tools.vitruv.framework.views.View;
+
+/**
+ * This endpoint returns the combined status of a {@link tools.vitruv.framework.views.View View},
+ * see {@link ViewStatus}, so that a client can refresh its knowledge about the view with a single
+ * request. The status is sent as body and in the {@link Header#VIEW_STATUS} header. Unknown views
+ * are reported as closed.
+ */
+public class ViewStatusEndpoint implements GetEndpoint {
+  private final ServerCache cache;
+  private final ModelAccessController modelAccess;
+
+  /**
+   * Creates a new ViewStatusEndpoint.
+   *
+   * @param cache The cache holding the views.
+   * @param modelAccess The controller coordinating the access to the virtual model.
+   */
+  public ViewStatusEndpoint(ServerCache cache, ModelAccessController modelAccess) {
+    this.cache = cache;
+    this.modelAccess = modelAccess;
+  }
+
+  @Override
+  public String process(HttpWrapper wrapper) {
+    var viewUuid = wrapper.getRequestHeader(Header.VIEW_UUID);
+    View view = cache.getView(viewUuid);
+    var status = view == null ? ViewStatus.CLOSED : statusOf(view, modelAccess);
+    if (view != null && status.equals(ViewStatus.CLOSED)) {
+      cache.removeView(viewUuid);
+    }
+    wrapper.addResponseHeader(Header.VIEW_STATUS, status);
+    wrapper.setContentType(ContentType.TEXT_PLAIN);
+    return status;
+  }
+
+  /**
+   * Determines the status of the given view.
+   *
+   * @param view The view to determine the status of.
+   * @param modelAccess The controller coordinating the access to the virtual model.
+   * @return The status as defined in {@link ViewStatus}.
+   */
+  static String statusOf(View view, ModelAccessController modelAccess) {
+    return modelAccess.read(
+        () -> {
+          if (view.isClosed()) {
+            return ViewStatus.CLOSED;
+          }
+          return view.isOutdated() ? ViewStatus.OUTDATED : ViewStatus.OPEN;
+        });
+  }
+}
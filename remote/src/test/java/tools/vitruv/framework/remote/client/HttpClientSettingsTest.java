@@ -0,0 +1,34 @@
+package tools.vitruv.framework.remote.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import tools.vitruv.framework.remote.common.rest.constants.EndpointPath;
+
+class HttpClientSettingsTest {
+
+  @Test
+  void testEndpointTimeoutTakesPrecedence() {
+    var settings =
+        HttpClientSettings.defaults()
+            .withRequestTimeout(Duration.ofSeconds(30))
+            .withEndpointTimeout(EndpointPath.VIEW_TYPES, Duration.ofSeconds(2));
+
+    assertEquals(Duration.ofSeconds(2), settings.timeoutFor(EndpointPath.VIEW_TYPES));
+    assertEquals(Duration.ofSeconds(30), settings.timeoutFor(EndpointPath.VIEW));
+    assertNull(HttpClientSettings.defaults().timeoutFor(EndpointPath.VIEW));
+  }
+
+  @Test
+  void testNonPositiveTimeoutsAreRejected() {
+    var defaults = HttpClientSettings.defaults();
+
+    assertThrows(IllegalArgumentException.class, () -> defaults.withRequestTimeout(Duration.ZERO));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> defaults.withEndpointTimeout(EndpointPath.VIEW, Duration.ofSeconds(-1)));
+  }
+}
@@ -0,0 +1,175 @@
+package tools.vitruv.framework.remote.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import tools.vitruv.change.atomic.EChange;
+import tools.vitruv.change.atomic.hid.HierarchicalId;
+import tools.vitruv.change.composite.description.CompositeChange;
+import tools.vitruv.change.composite.description.VitruviusChange;
+import tools.vitruv.framework.remote.common.rest.constants.ViewStatus;
+import tools.vitruv.framework.views.ViewSelector;
+import tools.vitruv.framework.views.changederivation.StateBasedChangeResolutionStrategy;
+
+class ChangeDerivingRemoteViewTest {
+  private static final String UUID = "view";
+
+  private final StateBasedChangeResolutionStrategy strategy =
+      mock(StateBasedChangeResolutionStrategy.class);
+  private final Map<String, VitruviusChange<HierarchicalId>> derived = new ConcurrentHashMap<>();
+
+  /** The names of the packages in the old states compared with, recorded when comparing. */
+  private final List<String> comparedWith = new CopyOnWriteArrayList<>();
+  private VitruvRemoteConnection connection;
+  private ResourceSet source;
+  private Resource first;
+  private Resource second;
+  private Resource untouched;
+  private ChangeDerivingRemoteView view;
+
+  @BeforeEach
+  void setUp() {
+    connection = mock(VitruvRemoteConnection.class);
+    when(connection.subscribeToViewEvents(eq(UUID), any(), any()))
+        .thenAnswer(
+            invocation -> new ServerSentEventSubscriber(invocation.getArgument(1), () -> {}));
+    when(connection.getViewStatus(UUID)).thenReturn(ViewStatus.OPEN);
+    when(connection.propagateChanges(eq(UUID), any())).thenReturn(ViewStatus.OPEN);
+
+    source = new ResourceSetImpl();
+    first = resource("first");
+    second = resource("second");
+    untouched = resource("untouched");
+    source.getResources().addAll(List.of(first, second, untouched));
+    var base = new RemoteView(UUID, source, "1", mock(ViewSelector.class), connection);
+    view = new ChangeDerivingRemoteView(base, strategy);
+
+    when(strategy.getChangeSequenceBetween(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              Resource oldState = invocation.getArgument(1);
+              assertNotSame(invocation.getArgument(0), oldState, "Compared with a copy");
+              comparedWith.add(packageOf(oldState).getName());
+              return change("modified", invocation.getArgument(0));
+            });
+    when(strategy.getChangeSequenceForCreated(any()))
+        .thenAnswer(invocation -> change("created", invocation.getArgument(0)));
+    when(strategy.getChangeSequenceForDeleted(any()))
+        .thenAnswer(invocation -> change("deleted", invocation.getArgument(0)));
+  }
+
+  @Test
+  void testChangesAreOrderedLikeTheViewFollowedByDeletions() {
+    var third = resource("third");
+    source.getResources().remove(first);
+    rename(second, "renamed");
+    source.getResources().add(third);
+
+    view.commitChanges();
+
+    assertEquals(
+        List.of(
+            derived.get("modified:second"),
+            derived.get("created:third"),
+            derived.get("deleted:first")),
+        committedChanges().get(0).getChanges());
+    verify(strategy, never()).getChangeSequenceBetween(eq(untouched), any());
+    assertFalse(view.isModified());
+  }
+
+  @Test
+  void testCopiesAreRefreshedAfterCommit() {
+    var third = resource("third");
+    source.getResources().remove(first);
+    rename(second, "renamed");
+    source.getResources().add(third);
+    view.commitChanges();
+
+    rename(second, "again");
+    rename(third, "changed");
+    view.commitChanges();
+
+    assertEquals(
+        List.of("second", "renamed", "third"),
+        comparedWith,
+        "The copies hold the committed states");
+    verify(strategy).getChangeSequenceForCreated(any());
+    verify(strategy).getChangeSequenceForDeleted(any());
+    assertEquals(
+        List.of(derived.get("modified:second"), derived.get("modified:third")),
+        committedChanges().get(1).getChanges());
+  }
+
+  @Test
+  void testAsynchronousCommitRefreshesCopies() {
+    when(connection.propagateChangesAsync(eq(UUID), any()))
+        .thenAnswer(invocation -> CompletableFuture.supplyAsync(() -> ViewStatus.OPEN));
+    rename(second, "renamed");
+
+    view.commitChangesAsync().join();
+    assertFalse(view.isModified());
+
+    rename(second, "again");
+    view.commitChanges();
+
+    assertEquals(List.of("second", "renamed"), comparedWith);
+  }
+
+  private VitruviusChange<HierarchicalId> change(String kind, Resource resource) {
+    return derived.computeIfAbsent(
+        kind + ":" + resource.getURI().trimFileExtension().lastSegment(), key -> nonEmptyChange());
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static VitruviusChange<HierarchicalId> nonEmptyChange() {
+    VitruviusChange<HierarchicalId> change = mock(VitruviusChange.class);
+    when(change.getEChanges()).thenReturn((List) List.of(mock(EChange.class)));
+    return change;
+  }
+
+  @SuppressWarnings("rawtypes")
+  private List<CompositeChange> committedChanges() {
+    var changes = ArgumentCaptor.forClass(CompositeChange.class);
+    verify(connection, atLeastOnce()).propagateChanges(eq(UUID), changes.capture());
+    return changes.getAllValues();
+  }
+
+  private static Resource resource(String name) {
+    var resource = new ResourceImpl(URI.createURI("models/" + name + ".ecore"));
+    var ePackage = EcoreFactory.eINSTANCE.createEPackage();
+    ePackage.setName(name);
+    resource.getContents().add(ePackage);
+    return resource;
+  }
+
+  private static void rename(Resource resource, String name) {
+    packageOf(resource).setName(name);
+  }
+
+  private static EPackage packageOf(Resource resource) {
+    return (EPackage) resource.getContents().get(0);
+  }
+}
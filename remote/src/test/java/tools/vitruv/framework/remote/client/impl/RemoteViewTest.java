@@ -0,0 +1,230 @@
+package tools.vitruv.framework.remote.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.vitruv.change.atomic.hid.HierarchicalId;
+import tools.vitruv.change.composite.description.VitruviusChange;
+import tools.vitruv.change.composite.description.VitruviusChangeResolver;
+import tools.vitruv.change.composite.description.VitruviusChangeResolverFactory;
+import tools.vitruv.framework.remote.client.exception.BadServerResponseException;
+import tools.vitruv.framework.remote.common.rest.constants.ViewEvent;
+import tools.vitruv.framework.remote.common.rest.constants.ViewStatus;
+import tools.vitruv.framework.views.ViewSelector;
+
+class RemoteViewTest {
+  private static final String UUID = "view";
+
+  private final AtomicReference<BiConsumer<String, String>> events = new AtomicReference<>();
+  private VitruvRemoteConnection connection;
+  private RemoteView view;
+
+  @BeforeEach
+  void setUp() {
+    connection = mock(VitruvRemoteConnection.class);
+    when(connection.subscribeToViewEvents(eq(UUID), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              events.set(invocation.getArgument(1));
+              return new ServerSentEventSubscriber(invocation.getArgument(1), () -> {});
+            });
+    view = new RemoteView(UUID, new ResourceSetImpl(), "1", mock(ViewSelector.class), connection);
+  }
+
+  @Test
+  void testAccessingViewDoesNotQueryServer() {
+    events.get().accept(ViewEvent.OUTDATED, "false");
+    for (int i = 0; i < 100; i++) {
+      view.getRootObjects();
+      assertFalse(view.isClosed());
+      assertFalse(view.isOutdated());
+    }
+
+    verify(connection).subscribeToViewEvents(eq(UUID), any(), any());
+    verifyNoMoreInteractions(connection);
+  }
+
+  @Test
+  void testClosedEventClosesView() {
+    events.get().accept(ViewEvent.CLOSED, "true");
+
+    assertTrue(view.isClosed());
+    assertThrows(IllegalStateException.class, view::getRootObjects);
+  }
+
+  @Test
+  void testStatusOfCommitResponseIsTakenOver() {
+    events.get().accept(ViewEvent.OUTDATED, "false");
+    when(connection.propagateChanges(eq(UUID), any())).thenReturn(ViewStatus.OUTDATED);
+
+    view.propagateChanges(mock(VitruviusChange.class));
+
+    assertTrue(view.isOutdated());
+  }
+
+  @Test
+  void testServerSideDerivationSendsViewResourcesAndTakesOverStatus() {
+    events.get().accept(ViewEvent.OUTDATED, "false");
+    var hashes = new HashMap<String, String>();
+    when(connection.deriveChanges(eq(UUID), any(), eq(hashes))).thenReturn(ViewStatus.OUTDATED);
+
+    view.deriveChangesOnServer(hashes);
+
+    verify(connection).deriveChanges(UUID, view.viewSource.getResources(), hashes);
+    assertTrue(view.isOutdated());
+  }
+
+  @Test
+  void testRefreshStatusLearnsServerSideClose() {
+    when(connection.getViewStatus(UUID)).thenReturn(ViewStatus.CLOSED);
+
+    view.refreshStatus();
+    view.close();
+
+    assertTrue(view.isClosed());
+    verify(connection, never()).closeView(UUID);
+  }
+
+  @Test
+  void testCloseClosesViewOnServerWithoutQueryingItsStatus() {
+    view.close();
+    view.close();
+
+    assertTrue(view.isClosed());
+    verify(connection).closeView(UUID);
+    verify(connection, never()).isViewClosed(UUID);
+  }
+
+  @Test
+  void testFailedCloseLeavesViewOpen() {
+    doThrow(new BadServerResponseException("unavailable"))
+        .doNothing()
+        .when(connection)
+        .closeView(UUID);
+
+    assertThrows(BadServerResponseException.class, view::close);
+    assertFalse(view.isClosed());
+
+    view.close();
+    assertTrue(view.isClosed());
+  }
+
+  @Test
+  void testSingleTrackerFollowsContainmentAndTracksTouchedResources() {
+    var source = new ResourceSetImpl();
+    var resource = new ResourceImpl(URI.createURI("models/model.ecore"));
+    var untouched = new ResourceImpl(URI.createURI("models/other.ecore"));
+    source.getResources().addAll(List.of(resource, untouched));
+    var ePackage = EcoreFactory.eINSTANCE.createEPackage();
+    resource.getContents().add(ePackage);
+    var tracked = new RemoteView(UUID, source, "1", mock(ViewSelector.class), connection);
+
+    var eClass = EcoreFactory.eINSTANCE.createEClass();
+    ePackage.getEClassifiers().add(eClass);
+    tracked.untouch(tracked.getTouchedResources());
+    eClass.setName("Changed");
+
+    assertTrue(tracked.isModified());
+    assertEquals(Set.of(resource), tracked.getTouchedResources());
+    var trackers = eClass.eAdapters().stream().filter(EContentAdapter.class::isInstance).toList();
+    assertEquals(1, trackers.size());
+    assertTrue(ePackage.eAdapters().contains(trackers.get(0)));
+  }
+
+  @Test
+  void testReplacingViewSourceDetachesOnlyTracker() {
+    var source = new ResourceSetImpl();
+    var resource = new ResourceImpl(URI.createURI("models/model.ecore"));
+    source.getResources().add(resource);
+    var ePackage = EcoreFactory.eINSTANCE.createEPackage();
+    resource.getContents().add(ePackage);
+    var foreign = new AdapterImpl();
+    ePackage.eAdapters().add(foreign);
+    var tracked = new RemoteView(UUID, source, "1", mock(ViewSelector.class), connection);
+    when(connection.updateView(UUID, "1"))
+        .thenReturn(new ViewUpdate("2", new ResourceSetImpl(), null));
+
+    tracked.update();
+
+    assertEquals(List.of(foreign), ePackage.eAdapters());
+    assertTrue(source.eAdapters().isEmpty());
+    ePackage.setName("changed");
+    assertFalse(tracked.isModified());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testDeltaIsAppliedInPlace() {
+    var source = new ResourceSetImpl();
+    var resource = new ResourceImpl(URI.createURI("models/model.ecore"));
+    source.getResources().add(resource);
+    var ePackage = EcoreFactory.eINSTANCE.createEPackage();
+    resource.getContents().add(ePackage);
+    var tracked = new RemoteView(UUID, source, "1", mock(ViewSelector.class), connection);
+    tracked.untouch(tracked.getTouchedResources());
+    VitruviusChange<HierarchicalId> changes = mock(VitruviusChange.class);
+    VitruviusChangeResolver<HierarchicalId> resolver = mock(VitruviusChangeResolver.class);
+    when(resolver.resolveAndApply(changes))
+        .thenAnswer(
+            invocation -> {
+              ePackage.setName("updated");
+              return null;
+            });
+    when(connection.updateView(UUID, "1")).thenReturn(new ViewUpdate("2", null, changes));
+
+    try (var factory = mockStatic(VitruviusChangeResolverFactory.class)) {
+      factory
+          .when(() -> VitruviusChangeResolverFactory.forHierarchicalIds(source))
+          .thenReturn(resolver);
+      tracked.update();
+    }
+
+    assertSame(source, tracked.viewSource, "The view source should be kept");
+    assertEquals(List.of(ePackage), tracked.getRootObjects());
+    assertEquals("updated", ePackage.getName());
+    assertEquals(Set.of(resource), tracked.getTouchedResources());
+    assertFalse(tracked.isModified(), "Applied changes are not local modifications");
+
+    ePackage.setName("local");
+    assertTrue(tracked.isModified(), "The tracker should stay attached");
+  }
+
+  @Test
+  void testNextUpdateIsBasedOnAppliedVersion() {
+    when(connection.updateView(UUID, "1"))
+        .thenReturn(new ViewUpdate("2", new ResourceSetImpl(), null));
+    when(connection.updateView(UUID, "2"))
+        .thenReturn(new ViewUpdate("3", new ResourceSetImpl(), null));
+
+    view.update();
+    view.update();
+
+    verify(connection).updateView(UUID, "1");
+    verify(connection).updateView(UUID, "2");
+  }
+}
@@ -0,0 +1,48 @@
+package tools.vitruv.framework.remote.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class ServerSentEventSubscriberTest {
+  private final List<String> received = new ArrayList<>();
+  private final AtomicBoolean ended = new AtomicBoolean();
+  private final ServerSentEventSubscriber subscriber =
+      new ServerSentEventSubscriber(
+          (event, data) -> received.add(event + "=" + data), () -> ended.set(true));
+
+  @Test
+  void testEventsAreDispatchedOnBlankLines() {
+    feed("event: outdated", "data: false", "", ": heartbeat", "");
+    feed("event:outdated", "data:true", "");
+
+    assertEquals(List.of("outdated=false", "outdated=true"), received);
+  }
+
+  @Test
+  void testMultipleDataLinesAreJoined() {
+    feed("data: first", "data: second", "id: 1", "");
+
+    assertEquals(List.of("message=first\nsecond"), received);
+  }
+
+  @Test
+  void testCancelledSubscriberIgnoresEvents() {
+    subscriber.cancel();
+    feed("event: closed", "data: true", "");
+    subscriber.onComplete();
+
+    assertTrue(received.isEmpty());
+    assertTrue(ended.get());
+  }
+
+  private void feed(String... lines) {
+    for (var line : lines) {
+      subscriber.onNext(line);
+    }
+  }
+}
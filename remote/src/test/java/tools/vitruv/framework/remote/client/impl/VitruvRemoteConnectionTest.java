@@ -0,0 +1,214 @@
+package tools.vitruv.framework.remote.client.impl;
+
+import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
+import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
+import static java.net.HttpURLConnection.HTTP_OK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.vitruv.framework.remote.client.ClientSettings;
+import tools.vitruv.framework.remote.client.HttpClientSettings;
+import tools.vitruv.framework.remote.client.exception.BadServerResponseException;
+import tools.vitruv.framework.remote.common.json.JsonMapper;
+import tools.vitruv.framework.remote.common.json.JsonMapperSettings;
+import tools.vitruv.framework.remote.common.rest.BatchOperation;
+import tools.vitruv.framework.remote.common.rest.constants.ContentEncoding;
+import tools.vitruv.framework.remote.common.rest.constants.ContentType;
+import tools.vitruv.framework.remote.common.rest.constants.EndpointPath;
+import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.common.rest.constants.JobStatus;
+import tools.vitruv.framework.remote.common.rest.constants.ViewStatus;
+import tools.vitruv.framework.remote.server.concurrency.PropagationJobs;
+import tools.vitruv.framework.remote.server.exception.ServerHaltingException;
+import tools.vitruv.framework.remote.server.http.HttpWrapper;
+import tools.vitruv.framework.remote.server.http.ResponseBodyWriter;
+import tools.vitruv.framework.remote.server.http.java.RequestExecutor;
+import tools.vitruv.framework.remote.server.http.java.VitruvJavaHttpServer;
+import tools.vitruv.framework.remote.server.rest.GetEndpoint;
+import tools.vitruv.framework.remote.server.rest.PathEndointCollector;
+import tools.vitruv.framework.remote.server.rest.PostEndpoint;
+import tools.vitruv.framework.remote.server.rest.StreamingEndpoint;
+import tools.vitruv.framework.remote.server.rest.endpoints.BatchEndpoint;
+import tools.vitruv.framework.remote.server.rest.endpoints.JobEndpoint;
+import tools.vitruv.framework.views.ViewType;
+
+class VitruvRemoteConnectionTest {
+  private static final Duration STALL = Duration.ofSeconds(2);
+
+  private VitruvJavaHttpServer server;
+  private PropagationJobs jobs;
+  private Path temp;
+  private VitruvRemoteConnection connection;
+  private final List<String> batchEncodings = new CopyOnWriteArrayList<>();
+
+  @BeforeEach
+  void startServer(@TempDir Path temp) throws Exception {
+    GetEndpoint viewTypes =
+        wrapper -> {
+          wrapper.setContentType(ContentType.APPLICATION_JSON);
+          return "[\"first\",\"second\"]";
+        };
+    GetEndpoint failing =
+        wrapper -> {
+          throw new ServerHaltingException(HTTP_INTERNAL_ERROR, "failure");
+        };
+    GetEndpoint stalled =
+        wrapper -> {
+          try {
+            Thread.sleep(STALL.toMillis());
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return ViewStatus.OPEN;
+        };
+    jobs = new PropagationJobs();
+    var mapper = new JsonMapper(temp.resolve("server"), JsonMapperSettings.defaults());
+    var endpoints =
+        List.of(
+            new PathEndointCollector(EndpointPath.VIEW_TYPES, viewTypes, null, null, null, null),
+            new PathEndointCollector(
+                EndpointPath.JOB, new JobEndpoint(mapper, jobs), null, null, null, null),
+            new PathEndointCollector(EndpointPath.VIEW_SELECTOR, failing, null, null, null, null),
+            new PathEndointCollector(EndpointPath.VIEW_STATUS, stalled, null, null, null, null));
+    var batch = new BatchEndpoint(mapper, endpoints);
+    var allEndpoints = new ArrayList<>(endpoints);
+    var recordingBatch = new RecordingEndpoint(batch, batchEncodings);
+    allEndpoints.add(
+        new PathEndointCollector(EndpointPath.BATCH, null, recordingBatch, null, null, null));
+    server =
+        new VitruvJavaHttpServer(
+            "localhost", 0, allEndpoints, RequestExecutor.virtualThreadPerRequest());
+    server.start();
+    this.temp = temp;
+    connection =
+        new VitruvRemoteConnection("http", "localhost", server.getPort(), temp.resolve("models"));
+  }
+
+  @AfterEach
+  void stopServer() {
+    connection.close();
+    server.stop();
+    jobs.close();
+  }
+
+  @Test
+  void testConcurrentAsyncRequests() {
+    var futures = IntStream.range(0, 20).mapToObj(i -> connection.getViewTypesAsync()).toList();
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+    for (var future : futures) {
+      assertEquals(
+          List.of("first", "second"), future.join().stream().map(ViewType::getName).toList());
+    }
+  }
+
+  @Test
+  void testFailedAsyncRequestCompletesExceptionally() {
+    var future = connection.getSelectorAsync("first");
+
+    var exception = assertThrows(CompletionException.class, future::join);
+    assertInstanceOf(BadServerResponseException.class, exception.getCause());
+  }
+
+  @Test
+  void testJobReportsOutcomeOfPropagation() {
+    var jobId = jobs.start();
+    assertEquals(JobStatus.RUNNING, connection.getJobAsync(jobId).join().status());
+
+    jobs.succeed(jobId, ViewStatus.OUTDATED);
+    var job = connection.getJobAsync(jobId).join();
+    assertTrue(job.isFinished());
+    assertEquals(ViewStatus.OUTDATED, job.viewStatus());
+
+    var unknown = connection.getJobAsync("unknown");
+    var exception = assertThrows(CompletionException.class, unknown::join);
+    assertInstanceOf(BadServerResponseException.class, exception.getCause());
+  }
+
+  @Test
+  void testBatchReturnsResultOfEachOperation() {
+    var results =
+        connection.sendBatch(
+            List.of(
+                BatchOperation.of("GET", EndpointPath.VIEW_TYPES, Map.of()),
+                BatchOperation.of("GET", EndpointPath.VIEW_SELECTOR, Map.of()),
+                BatchOperation.of("GET", EndpointPath.VIEW_EVENTS, Map.of())));
+
+    assertEquals(3, results.size());
+    assertEquals(HTTP_OK, results.get(0).status());
+    assertEquals("[\"first\",\"second\"]", results.get(0).bodyAsString());
+    assertEquals(ContentType.APPLICATION_JSON, results.get(0).header(Header.CONTENT_TYPE));
+    assertEquals(HTTP_INTERNAL_ERROR, results.get(1).status());
+    assertEquals("failure", results.get(1).bodyAsString());
+    assertEquals(HTTP_BAD_REQUEST, results.get(2).status());
+  }
+
+  @Test
+  void testRequestsAreOnlyCompressedOnceTheServerAnnouncedAnEncoding() {
+    var operations =
+        IntStream.range(0, 50)
+            .mapToObj(i -> BatchOperation.of("GET", EndpointPath.VIEW_TYPES, Map.of()))
+            .toList();
+
+    connection.sendBatch(operations);
+    connection.sendBatch(operations);
+
+    assertEquals(Arrays.asList(null, ContentEncoding.GZIP), batchEncodings);
+  }
+
+  @Test
+  void testEndpointTimeoutAbortsStalledRequest() {
+    var timeout = Duration.ofMillis(200);
+    var settings =
+        HttpClientSettings.defaults()
+            .withVersion(HttpClient.Version.HTTP_1_1)
+            .withEndpointTimeout(EndpointPath.VIEW_STATUS, timeout);
+    var timed =
+        new VitruvRemoteConnection(
+            "http",
+            "localhost",
+            server.getPort(),
+            temp.resolve("timed"),
+            ClientSettings.defaults().withHttp(settings));
+
+    var start = System.nanoTime();
+    var exception = assertThrows(BadServerResponseException.class, () -> timed.getViewStatus("v"));
+    var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+    assertInstanceOf(HttpTimeoutException.class, exception.getCause());
+    assertTrue(elapsed.compareTo(STALL) < 0, "request should be aborted before the server answers");
+  }
+
+  /** Records the content encoding of each request before passing it to the given endpoint. */
+  private record RecordingEndpoint(StreamingEndpoint endpoint, List<String> encodings)
+      implements PostEndpoint, StreamingEndpoint {
+    @Override
+    public ResponseBodyWriter processStreaming(HttpWrapper wrapper) {
+      encodings.add(wrapper.getRequestHeader(Header.CONTENT_ENCODING));
+      return endpoint.processStreaming(wrapper);
+    }
+
+    @Override
+    public String process(HttpWrapper wrapper) {
+      return StreamingEndpoint.super.process(wrapper);
+    }
+  }
+}
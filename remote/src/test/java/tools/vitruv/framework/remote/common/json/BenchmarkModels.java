@@ -0,0 +1,105 @@
+package tools.vitruv.framework.remote.common.json;
+
+import java.nio.file.Path;
+import java.util.List;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import tools.vitruv.framework.remote.common.util.ResourceUtil;
+
+/**
+ * Creates the models serialized by the benchmarks of the {@link JsonMapper}. The models are
+ * instances of a dynamic metamodel of nested components with attributes and cross references
+ * between them.
+ */
+final class BenchmarkModels {
+  private static final String NS_URI = "http://vitruv.tools/remote/benchmark";
+
+  private BenchmarkModels() throws InstantiationException {
+    throw new InstantiationException("Cannot be instantiated");
+  }
+
+  /**
+   * Creates a {@link ResourceSet} with the given number of resources below the given directory.
+   *
+   * @param root The directory containing the resources.
+   * @param resources The number of resources.
+   * @param componentsPerResource The number of components in each resource.
+   * @return The created {@link ResourceSet}.
+   */
+  static ResourceSet createResourceSet(Path root, int resources, int componentsPerResource) {
+    var ecore = EcoreFactory.eINSTANCE;
+    EPackage ePackage = ecore.createEPackage();
+    ePackage.setName("benchmark");
+    ePackage.setNsPrefix("benchmark");
+    ePackage.setNsURI(NS_URI);
+
+    EClass component = ecore.createEClass();
+    component.setName("Component");
+    EAttribute name = attribute("name", EcorePackage.Literals.ESTRING);
+    EAttribute description = attribute("description", EcorePackage.Literals.ESTRING);
+    EAttribute size = attribute("size", EcorePackage.Literals.EINT);
+    EReference children = reference("children", component, true);
+    EReference dependencies = reference("dependencies", component, false);
+    component
+        .getEStructuralFeatures()
+        .addAll(List.of(name, description, size, children, dependencies));
+    ePackage.getEClassifiers().add(component);
+    EPackage.Registry.INSTANCE.put(NS_URI, ePackage);
+
+    ResourceSet set = ResourceUtil.createJsonResourceSet();
+    EObject previous = null;
+    for (int r = 0; r < resources; r++) {
+      var resource =
+          set.createResource(URI.createFileURI(root.resolve("model" + r + ".json").toString()));
+      EObject parent = null;
+      for (int c = 0; c < componentsPerResource; c++) {
+        EObject object = EcoreUtil.create(component);
+        object.eSet(name, "Component" + r + "_" + c);
+        object.eSet(description, "A component generated for benchmarking the JSON mapper.");
+        object.eSet(size, c);
+        if (previous != null) {
+          @SuppressWarnings("unchecked")
+          var dependencyList = (EList<EObject>) object.eGet(dependencies);
+          dependencyList.add(previous);
+        }
+        // Nest every ten components below a common parent.
+        if (c % 10 == 0) {
+          resource.getContents().add(object);
+          parent = object;
+        } else {
+          @SuppressWarnings("unchecked")
+          var childList = (EList<EObject>) parent.eGet(children);
+          childList.add(object);
+        }
+        previous = object;
+      }
+    }
+    return set;
+  }
+
+  private static EAttribute attribute(String name, EDataType type) {
+    EAttribute attribute = EcoreFactory.eINSTANCE.createEAttribute();
+    attribute.setName(name);
+    attribute.setEType(type);
+    return attribute;
+  }
+
+  private static EReference reference(String name, EClass type, boolean containment) {
+    EReference reference = EcoreFactory.eINSTANCE.createEReference();
+    reference.setName(name);
+    reference.setEType(type);
+    reference.setContainment(containment);
+    reference.setUpperBound(EReference.UNBOUNDED_MULTIPLICITY);
+    return reference;
+  }
+}
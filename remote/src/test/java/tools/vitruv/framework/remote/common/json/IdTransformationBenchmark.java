@@ -0,0 +1,111 @@
+package tools.vitruv.framework.remote.common.json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.emf.common.util.URI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.vitruv.change.utils.ProjectMarker;
+
+/**
+ * Measures the cost per reference of the {@link IdTransformation} for {@value #REFERENCES}
+ * hierarchical IDs spread over {@value #RESOURCES} resources, as transformed when serializing and
+ * deserializing changes. The {@code legacy} benchmark repeats the former transformation, which
+ * searched and replaced the root in the complete ID and parsed a new {@link URI} for every
+ * reference.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=tools.vitruv.framework.remote.common.json.IdTransformationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class IdTransformationBenchmark {
+  private static final int REFERENCES = 1_000_000;
+  private static final int RESOURCES = 100;
+
+  private IdTransformation transformation;
+  private String root;
+  private String[] globalIds;
+  private String[] localIds;
+  private URI[] resourceUris;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    Path folder = Files.createTempDirectory("vitruv-id-benchmark");
+    ProjectMarker.markAsProjectRootFolder(folder);
+    transformation = new IdTransformation(folder);
+    root = URI.createFileURI(folder.toString()).toString();
+    globalIds = new String[REFERENCES];
+    localIds = new String[REFERENCES];
+    resourceUris = new URI[REFERENCES];
+    for (int i = 0; i < REFERENCES; i++) {
+      var resource = root + "/models/model" + (i % RESOURCES) + ".xmi";
+      globalIds[i] = resource + "#//@components." + i + "/@children.0";
+      localIds[i] = transformation.toLocal(globalIds[i]);
+      resourceUris[i] = URI.createURI(resource);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(REFERENCES)
+  public void toLocal(Blackhole blackhole) {
+    for (var id : globalIds) {
+      blackhole.consume(transformation.toLocal(id));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(REFERENCES)
+  public void toGlobal(Blackhole blackhole) {
+    for (var id : localIds) {
+      blackhole.consume(transformation.toGlobal(id));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(REFERENCES)
+  public void toLocalResourceUri(Blackhole blackhole) {
+    for (var uri : resourceUris) {
+      blackhole.consume(transformation.toLocal(uri));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(REFERENCES)
+  public void legacyToLocal(Blackhole blackhole) {
+    for (var id : globalIds) {
+      var global = URI.createURI(id);
+      if (global.toString().contains("cache") || !global.isFile()) {
+        blackhole.consume(global.toString());
+      } else {
+        blackhole.consume(URI.createURI(global.toString().replace(root, "")).toString());
+      }
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(IdTransformationBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
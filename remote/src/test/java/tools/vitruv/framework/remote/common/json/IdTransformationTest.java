@@ -0,0 +1,55 @@
+package tools.vitruv.framework.remote.common.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import org.eclipse.emf.common.util.URI;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class IdTransformationTest {
+  private IdTransformation transformation;
+  private String root;
+
+  @BeforeEach
+  void setUp(@TempDir Path folder) {
+    transformation = new IdTransformation(folder);
+    root = URI.createFileURI(folder.toString()).toString();
+  }
+
+  @Test
+  void transformsIdsBelowRootBothWays() {
+    var global = root + "/models/model.xmi#//@components.0";
+
+    var local = transformation.toLocal(global);
+
+    assertTrue(local.endsWith("/models/model.xmi#//@components.0"));
+    assertTrue(URI.createURI(local).isRelative());
+    assertEquals(global, transformation.toGlobal(local));
+  }
+
+  @Test
+  void keepsIdsOutsideOfTransformation() {
+    var foreign = "platform:/resource/project/model.xmi";
+    var cached = root + "/cache/model.xmi";
+
+    assertSame(foreign, transformation.toLocal(foreign));
+    assertSame(cached, transformation.toLocal(cached));
+    assertSame(foreign, transformation.toGlobal(foreign));
+    assertEquals(JsonFieldName.TEMP_VALUE, transformation.toGlobal(JsonFieldName.TEMP_VALUE));
+  }
+
+  @Test
+  void memoizesResourceUris() {
+    var global = URI.createURI(root + "/models/model.xmi");
+
+    var local = transformation.toLocal(global);
+
+    assertTrue(local.isRelative());
+    assertSame(local, transformation.toLocal(global));
+    assertEquals(global, transformation.toGlobal(local));
+  }
+}
@@ -0,0 +1,75 @@
+package tools.vitruv.framework.remote.common.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.vitruv.change.utils.ProjectMarker;
+
+/**
+ * Compares the compact and the pretty printed output of the {@link JsonMapper} when serializing a
+ * {@link ResourceSet} as sent by the view endpoints, using the models of {@link BenchmarkModels}.
+ * The size of the produced JSON is printed once per trial.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=tools.vitruv.framework.remote.common.json.JsonMapperBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonMapperBenchmark {
+  @Param({"false", "true"})
+  private boolean prettyPrint;
+
+  @Param({"10"})
+  private int resources;
+
+  @Param({"1000"})
+  private int componentsPerResource;
+
+  private JsonMapper mapper;
+  private ResourceSet resourceSet;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    Path root = Files.createTempDirectory("vitruv-json-benchmark");
+    ProjectMarker.markAsProjectRootFolder(root);
+    mapper =
+        new JsonMapper(root, new JsonMapperSettings(prettyPrint, false, PersistencePolicy.SYNC));
+    resourceSet = BenchmarkModels.createResourceSet(root, resources, componentsPerResource);
+
+    int bytes = mapper.serialize(resourceSet).getBytes(StandardCharsets.UTF_8).length;
+    System.out.printf("%nSerialized size (prettyPrint=%s): %d bytes%n", prettyPrint, bytes);
+  }
+
+  @Benchmark
+  public String serializeResourceSet() throws JsonProcessingException {
+    return mapper.serialize(resourceSet);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(JsonMapperBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
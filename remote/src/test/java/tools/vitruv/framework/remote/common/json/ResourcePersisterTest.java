@@ -0,0 +1,125 @@
+package tools.vitruv.framework.remote.common.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.ENamedElement;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResourcePersisterTest {
+  @TempDir private Path folder;
+
+  /** Saves the names of its contents, so that the test does not depend on a resource format. */
+  private static class NamesResource extends ResourceImpl {
+    private int saves;
+
+    NamesResource(Path file, String name) {
+      super(URI.createFileURI(file.toString()));
+      EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+      ePackage.setName(name);
+      getContents().add(ePackage);
+    }
+
+    @Override
+    protected void doSave(OutputStream outputStream, Map<?, ?> options) throws IOException {
+      saves++;
+      for (var content : getContents()) {
+        outputStream.write(((ENamedElement) content).getName().getBytes(StandardCharsets.UTF_8));
+      }
+    }
+  }
+
+  @Test
+  void skipsResourcesWithUnchangedContent() throws Exception {
+    var file = folder.resolve("model");
+    var resource = new NamesResource(file, "first");
+    var persister = new ResourcePersister(PersistencePolicy.SYNC);
+
+    persister.persist(resource);
+    assertEquals("first", Files.readString(file));
+
+    Files.delete(file);
+    persister.persist(resource);
+    assertFalse(Files.exists(file));
+
+    ((EPackage) resource.getContents().get(0)).setName("changed");
+    persister.persist(resource);
+    assertEquals("changed", Files.readString(file));
+  }
+
+  @Test
+  void skipsResourcesWithUnchangedReceivedContentWithoutSerializingThem() throws Exception {
+    var file = folder.resolve("model");
+    var resource = new NamesResource(file, "first");
+    var persister = new ResourcePersister(PersistencePolicy.WRITE_BEHIND);
+
+    persister.persist(resource, content("first"));
+    persister.persist(resource, content("first"));
+    persister.flush();
+    assertEquals("first", Files.readString(file));
+    assertEquals(1, resource.saves);
+
+    ((EPackage) resource.getContents().get(0)).setName("changed");
+    persister.persist(resource, content("changed"));
+    persister.flush();
+    assertEquals("changed", Files.readString(file));
+    assertEquals(2, resource.saves);
+  }
+
+  @Test
+  void writesBehindInBackground() throws Exception {
+    var file = folder.resolve("model");
+    var persister = new ResourcePersister(PersistencePolicy.WRITE_BEHIND);
+
+    persister.persist(new NamesResource(file, "first"));
+    persister.flush();
+
+    assertTrue(Files.exists(file));
+  }
+
+  @Test
+  void closingWritesPendingResourcesAndRejectsFurtherOnes() throws Exception {
+    var file = folder.resolve("model");
+    var persister = new ResourcePersister(PersistencePolicy.WRITE_BEHIND);
+
+    persister.persist(new NamesResource(file, "first"));
+    persister.close();
+
+    assertEquals("first", Files.readString(file));
+    assertThrows(
+        RejectedExecutionException.class,
+        () -> persister.persist(new NamesResource(folder.resolve("other"), "second")));
+  }
+
+  @Test
+  void savesNothingWithoutPersistence() throws Exception {
+    var file = folder.resolve("model");
+
+    new ResourcePersister(PersistencePolicy.NONE).persist(new NamesResource(file, "first"));
+
+    assertFalse(Files.exists(file));
+  }
+
+  private static TokenBuffer content(String name) throws IOException {
+    var content = new TokenBuffer(null, false);
+    content.writeStartObject();
+    content.writeStringField("name", name);
+    content.writeEndObject();
+    return content;
+  }
+}
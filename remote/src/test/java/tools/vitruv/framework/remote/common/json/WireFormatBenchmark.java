@@ -0,0 +1,84 @@
+package tools.vitruv.framework.remote.common.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.vitruv.change.utils.ProjectMarker;
+import tools.vitruv.framework.remote.common.rest.constants.ContentEncoding;
+import tools.vitruv.framework.remote.common.util.CompressionUtil;
+
+/**
+ * Compares the {@link WireFormat}s of the {@link JsonMapper} when serializing and deserializing a
+ * {@link ResourceSet} as sent by the view endpoints, using the models of {@link BenchmarkModels}.
+ * The size of the produced data, uncompressed and gzip-compressed, is printed once per trial.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=tools.vitruv.framework.remote.common.json.WireFormatBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+  @Param({"JSON", "SMILE"})
+  private WireFormat format;
+
+  @Param({"10"})
+  private int resources;
+
+  @Param({"1000"})
+  private int componentsPerResource;
+
+  private JsonMapper mapper;
+  private ResourceSet resourceSet;
+  private byte[] serialized;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    Path root = Files.createTempDirectory("vitruv-wire-format-benchmark");
+    ProjectMarker.markAsProjectRootFolder(root);
+    mapper = new JsonMapper(root, JsonMapperSettings.defaults());
+    resourceSet = BenchmarkModels.createResourceSet(root, resources, componentsPerResource);
+    serialized = mapper.serializeToBytes(resourceSet, format);
+
+    int compressed = CompressionUtil.encode(ContentEncoding.GZIP, serialized).length;
+    System.out.printf(
+        "%nSerialized size (format=%s): %d bytes, %d bytes gzip-compressed%n",
+        format, serialized.length, compressed);
+  }
+
+  @Benchmark
+  public byte[] serializeResourceSet() throws IOException {
+    return mapper.serializeToBytes(resourceSet, format);
+  }
+
+  @Benchmark
+  public ResourceSet deserializeResourceSet() throws IOException {
+    return mapper.deserialize(new ByteArrayInputStream(serialized), ResourceSet.class, format);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(WireFormatBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,67 @@
+package tools.vitruv.framework.remote.common.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class WireFormatTest {
+
+  @ParameterizedTest
+  @CsvSource(
+      delimiter = '|',
+      nullValues = "null",
+      value = {
+        "application/x-jackson-smile, application/json;q=0.9 | SMILE",
+        "application/json, application/x-jackson-smile;q=0.5 | JSON",
+        "application/x-jackson-smile;q=0 | JSON",
+        "application/x-jackson-smile, */* | SMILE",
+        "*/* | JSON",
+        "text/plain | JSON",
+        "null | JSON"
+      })
+  void negotiatesPreferredFormat(String accept, WireFormat expected) {
+    assertEquals(expected, WireFormat.negotiate(accept));
+  }
+
+  @ParameterizedTest
+  @CsvSource(
+      delimiter = '|',
+      nullValues = "null",
+      value = {
+        "application/x-jackson-smile | SMILE",
+        "Application/X-Jackson-Smile; charset=binary | SMILE",
+        "application/json | JSON",
+        "null | JSON"
+      })
+  void detectsFormatOfContentType(String contentType, WireFormat expected) {
+    assertEquals(expected, WireFormat.fromContentType(contentType));
+  }
+
+  @Test
+  void mapperWithoutBinaryFormatAlwaysSelectsJson(@TempDir Path root) {
+    var mapper = new JsonMapper(root, JsonMapperSettings.debug());
+
+    assertEquals(WireFormat.JSON, mapper.negotiateFormat(WireFormat.ACCEPT_BINARY));
+    assertEquals(WireFormat.JSON.contentType(), mapper.getAcceptedFormats());
+  }
+
+  @ParameterizedTest
+  @EnumSource(WireFormat.class)
+  void roundTripsInEveryFormat(WireFormat format, @TempDir Path root) throws IOException {
+    var mapper = new JsonMapper(root, JsonMapperSettings.defaults());
+    var names = List.of("first", "second", "first");
+
+    var bytes = mapper.serializeToBytes(names, format);
+
+    assertEquals(
+        names, mapper.deserializeArrayOf(new ByteArrayInputStream(bytes), String.class, format));
+  }
+}
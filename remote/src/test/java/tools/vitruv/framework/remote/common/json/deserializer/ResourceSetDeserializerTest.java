@@ -0,0 +1,119 @@
+package tools.vitruv.framework.remote.common.json.deserializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import tools.vitruv.framework.remote.common.json.IdTransformation;
+import tools.vitruv.framework.remote.common.json.JsonMapper;
+import tools.vitruv.framework.remote.common.json.PersistencePolicy;
+import tools.vitruv.framework.remote.common.json.ResourcePersister;
+import tools.vitruv.framework.remote.common.json.WireFormat;
+
+class ResourceSetDeserializerTest {
+  private static final String FIRST_CONTENT = "[{\"name\":\"first\",\"ids\":[1,2]}]";
+  private static final String SECOND_CONTENT = "[{\"name\":\"second\",\"nested\":{\"a\":true}}]";
+
+  private final ObjectMapper json = new ObjectMapper();
+  private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+  private final List<String> deserializedContents = new ArrayList<>();
+  private IdTransformation transformation;
+
+  @BeforeEach
+  void setUp(@TempDir Path folder) throws IOException {
+    transformation = new IdTransformation(folder);
+    // Records the content handed to the mapper instead of depending on a resource format.
+    var mapper = mock(JsonMapper.class);
+    when(mapper.deserializeResource(any(JsonParser.class), anyString(), any(ResourceSet.class)))
+        .thenAnswer(
+            invocation -> {
+              JsonParser parser = invocation.getArgument(0);
+              deserializedContents.add(parser.readValueAsTree().toString());
+              Resource resource = new ResourceImpl(URI.createURI(invocation.getArgument(1)));
+              invocation.<ResourceSet>getArgument(2).getResources().add(resource);
+              return resource;
+            });
+    var deserializer =
+        new ResourceSetDeserializer(
+            mapper, transformation, new ResourcePersister(PersistencePolicy.NONE));
+    var module = new SimpleModule().addDeserializer(ResourceSet.class, deserializer);
+    json.registerModule(module);
+    smile.registerModule(module);
+  }
+
+  @ParameterizedTest
+  @EnumSource(WireFormat.class)
+  void testUriBeforeContentIsReadDirectly(WireFormat format) throws IOException {
+    var resources =
+        deserialize(
+            "[{\"uri\":\"/models/first.json\",\"content\":" + FIRST_CONTENT + "},"
+                + "{\"uri\":\"/models/second.json\",\"content\":" + SECOND_CONTENT + "}]",
+            format);
+
+    assertResources(resources);
+  }
+
+  @ParameterizedTest
+  @EnumSource(WireFormat.class)
+  void testContentBeforeUriIsBuffered(WireFormat format) throws IOException {
+    var resources =
+        deserialize(
+            "[{\"content\":" + FIRST_CONTENT + ",\"uri\":\"/models/first.json\"},"
+                + "{\"unknown\":[1,{\"a\":2}],\"content\":" + SECOND_CONTENT + ","
+                + "\"uri\":\"/models/second.json\"}]",
+            format);
+
+    assertResources(resources);
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "{\"uri\":\"/models/first.json\",\"content\":[]}",
+        "[{\"content\":[]}]",
+        "[{\"uri\":\"/models/first.json\"}]",
+        "[{\"uri\":\"/models/first.json\",\"content\":[]}, 1]"
+      })
+  void testMalformedInputIsReportedAsMismatch(String input) {
+    for (var format : WireFormat.values()) {
+      assertThrows(MismatchedInputException.class, () -> deserialize(input, format));
+    }
+  }
+
+  private void assertResources(ResourceSet resources) {
+    assertEquals(
+        List.of(
+            transformation.toGlobal("/models/first.json"),
+            transformation.toGlobal("/models/second.json")),
+        resources.getResources().stream().map(it -> it.getURI().toString()).toList());
+    assertEquals(List.of(FIRST_CONTENT, SECOND_CONTENT), deserializedContents);
+  }
+
+  private ResourceSet deserialize(String input, WireFormat format) throws IOException {
+    if (format == WireFormat.JSON) {
+      return json.readValue(input, ResourceSet.class);
+    }
+    return smile.readValue(smile.writeValueAsBytes(json.readTree(input)), ResourceSet.class);
+  }
+}
@@ -0,0 +1,137 @@
+package tools.vitruv.framework.remote.common.json.deserializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.emf.common.util.ECollections;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import tools.vitruv.change.atomic.root.RootEChange;
+import tools.vitruv.change.composite.description.CompositeChange;
+import tools.vitruv.change.composite.description.TransactionalChange;
+import tools.vitruv.change.composite.description.VitruviusChange;
+import tools.vitruv.framework.remote.common.json.IdTransformation;
+import tools.vitruv.framework.remote.common.json.JsonFieldName;
+import tools.vitruv.framework.remote.common.json.JsonMapper;
+import tools.vitruv.framework.remote.common.json.WireFormat;
+
+class VitruviusChangeDeserializerTest {
+  private static final String E_CHANGES = "[{\"eClass\":\"insert\",\"uri\":\"/models/a.json\"}]";
+
+  private final ObjectMapper json = new ObjectMapper();
+  private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+  private final List<String> deserializedEChanges = new ArrayList<>();
+  private final List<RootEChange<?>> rootChanges = new ArrayList<>();
+  private IdTransformation transformation;
+
+  @BeforeEach
+  void setUp(@TempDir Path folder) throws IOException {
+    transformation = new IdTransformation(folder);
+    // Records the changes handed to the mapper instead of depending on the change model.
+    var mapper = mock(JsonMapper.class);
+    when(mapper.deserializeResource(
+            any(JsonParser.class), eq(JsonFieldName.TEMP_VALUE), any(ResourceSet.class)))
+        .thenAnswer(
+            invocation -> {
+              JsonParser parser = invocation.getArgument(0);
+              deserializedEChanges.add(parser.readValueAsTree().toString());
+              RootEChange<?> change = mock(RootEChange.class);
+              when(change.getUri()).thenReturn("/models/a.json");
+              rootChanges.add(change);
+              Resource resource = mock(Resource.class);
+              when(resource.getContents()).thenReturn(ECollections.<EObject>asEList(change));
+              return resource;
+            });
+    when(mapper.deserialize(any(JsonParser.class), eq(VitruviusChange.class)))
+        .thenAnswer(
+            invocation -> invocation.<JsonParser>getArgument(0).readValueAs(VitruviusChange.class));
+    var module =
+        new SimpleModule()
+            .addDeserializer(
+                VitruviusChange.class, new VitruviusChangeDeserializer(mapper, transformation));
+    json.registerModule(module);
+    smile.registerModule(module);
+  }
+
+  @ParameterizedTest
+  @EnumSource(WireFormat.class)
+  void testTypeBeforeChanges(WireFormat format) throws IOException {
+    var change =
+        deserialize(
+            "{\"changeType\":\"COMPOSITE\",\"vChanges\":["
+                + "{\"changeType\":\"TRANSACTIONAL\",\"eChanges\":" + E_CHANGES + "},"
+                + "{\"changeType\":\"TRANSACTIONAL\",\"eChanges\":" + E_CHANGES + "}]}",
+            format);
+
+    assertChanges(change);
+  }
+
+  @ParameterizedTest
+  @EnumSource(WireFormat.class)
+  void testChangesBeforeType(WireFormat format) throws IOException {
+    var change =
+        deserialize(
+            "{\"vChanges\":["
+                + "{\"eChanges\":" + E_CHANGES + ",\"changeType\":\"TRANSACTIONAL\"},"
+                + "{\"unknown\":{\"a\":[1]},\"eChanges\":" + E_CHANGES + ","
+                + "\"changeType\":\"TRANSACTIONAL\"}],\"changeType\":\"COMPOSITE\"}",
+            format);
+
+    assertChanges(change);
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "[]",
+        "{\"changeType\":\"TRANSACTIONAL\"}",
+        "{\"changeType\":\"COMPOSITE\"}",
+        "{\"changeType\":\"COMPOSITE\",\"vChanges\":{}}"
+      })
+  void testMalformedInputIsReportedAsMismatch(String input) {
+    for (var format : WireFormat.values()) {
+      assertThrows(MismatchedInputException.class, () -> deserialize(input, format));
+    }
+  }
+
+  private void assertChanges(VitruviusChange<?> change) {
+    var composite = assertInstanceOf(CompositeChange.class, change);
+    assertEquals(2, composite.getChanges().size());
+    for (var child : composite.getChanges()) {
+      assertInstanceOf(TransactionalChange.class, child);
+      assertEquals(1, ((VitruviusChange<?>) child).getEChanges().size());
+    }
+    assertEquals(List.of(E_CHANGES, E_CHANGES), deserializedEChanges);
+    for (var rootChange : rootChanges) {
+      verify(rootChange).setUri(transformation.toGlobal("/models/a.json"));
+    }
+  }
+
+  private VitruviusChange<?> deserialize(String input, WireFormat format) throws IOException {
+    if (format == WireFormat.JSON) {
+      return json.readValue(input, VitruviusChange.class);
+    }
+    return smile.readValue(smile.writeValueAsBytes(json.readTree(input)), VitruviusChange.class);
+  }
+}
@@ -0,0 +1,64 @@
+package tools.vitruv.framework.remote.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import tools.vitruv.framework.remote.common.rest.constants.ContentEncoding;
+
+class CompressionUtilTest {
+
+  @ParameterizedTest
+  @CsvSource(
+      delimiter = '|',
+      nullValues = "null",
+      value = {
+        "gzip, deflate | gzip",
+        "deflate, gzip | gzip",
+        "deflate | deflate",
+        "gzip;q=0.5, deflate | deflate",
+        "gzip;q=0, deflate;q=0 | null",
+        "* | gzip",
+        "br, zstd | null",
+        "null | null"
+      })
+  void negotiatesPreferredEncoding(String acceptEncoding, String expected) {
+    assertEquals(expected, CompressionUtil.negotiate(acceptEncoding));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {ContentEncoding.GZIP, ContentEncoding.DEFLATE, ContentEncoding.IDENTITY})
+  void decodesEncodedData(String encoding) throws IOException {
+    var data = "{\"eClass\":\"http://vitruv.tools#//Component\"}".repeat(100);
+    var bytes = data.getBytes(StandardCharsets.UTF_8);
+
+    var encoded = CompressionUtil.encode(encoding, bytes);
+    try (var decoded = CompressionUtil.decode(encoding, new ByteArrayInputStream(encoded))) {
+      assertArrayEquals(bytes, decoded.readAllBytes());
+    }
+    if (!encoding.equals(ContentEncoding.IDENTITY)) {
+      assertTrue(encoded.length < bytes.length);
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"gzip", "GZIP", " deflate", "identity"})
+  void supportsKnownEncodings(String encoding) {
+    assertTrue(CompressionUtil.isSupported(encoding));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"br", "zstd", "compress"})
+  void rejectsUnknownEncodings(String encoding) {
+    assertFalse(CompressionUtil.isSupported(encoding));
+    assertNull(CompressionUtil.negotiate(encoding));
+  }
+}
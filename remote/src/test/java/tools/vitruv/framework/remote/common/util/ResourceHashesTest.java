@@ -0,0 +1,45 @@
+package tools.vitruv.framework.remote.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ResourceHashesTest {
+
+  @Test
+  void testHashesRoundTripWithSeparatorsInUris() {
+    var hashes = new LinkedHashMap<String, String>();
+    hashes.put("models/a,b.json", ResourceHashes.hash("a".getBytes(StandardCharsets.UTF_8)));
+    hashes.put("models/x=y z.json", ResourceHashes.hash("b".getBytes(StandardCharsets.UTF_8)));
+
+    var decoded = ResourceHashes.decode(ResourceHashes.encode(hashes));
+
+    assertEquals(hashes, decoded);
+    assertEquals(List.copyOf(hashes.keySet()), List.copyOf(decoded.keySet()));
+    assertEquals(Map.of(), ResourceHashes.decode(ResourceHashes.encode(Map.of())));
+  }
+
+  @Test
+  void testHashDependsOnContent() {
+    var content = "content".getBytes(StandardCharsets.UTF_8);
+
+    assertEquals(ResourceHashes.hash(content), ResourceHashes.hash(content.clone()));
+    assertNotEquals(
+        ResourceHashes.hash(content),
+        ResourceHashes.hash("contents".getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  void testMalformedHashesAreRejected() {
+    assertThrows(IllegalArgumentException.class, () -> ResourceHashes.decode("a.json"));
+    assertThrows(IllegalArgumentException.class, () -> ResourceHashes.decode("a.json="));
+    assertThrows(IllegalArgumentException.class, () -> ResourceHashes.decode("=1f"));
+    assertThrows(IllegalArgumentException.class, () -> ResourceHashes.decode("a=1f,a=2e"));
+  }
+}
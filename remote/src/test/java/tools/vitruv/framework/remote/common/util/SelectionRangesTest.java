@@ -0,0 +1,49 @@
+package tools.vitruv.framework.remote.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.BitSet;
+import org.junit.jupiter.api.Test;
+
+class SelectionRangesTest {
+
+  @Test
+  void testConsecutiveElementsAreEncodedAsRanges() {
+    var selected = new BitSet();
+    selected.set(0, 3);
+    selected.set(10);
+    selected.set(12, 1000);
+
+    var ranges = SelectionRanges.encode(selected);
+
+    assertArrayEquals(new int[] {0, 3, 10, 1, 12, 988}, ranges);
+    assertEquals(selected, SelectionRanges.decode(ranges, 1000));
+    assertArrayEquals(new int[0], SelectionRanges.encode(new BitSet()));
+  }
+
+  @Test
+  void testMalformedRangesAreRejected() {
+    assertThrows(IllegalArgumentException.class, () -> SelectionRanges.decode(new int[] {1}, 10));
+    assertThrows(
+        IllegalArgumentException.class, () -> SelectionRanges.decode(new int[] {-1, 2}, 10));
+    assertThrows(
+        IllegalArgumentException.class, () -> SelectionRanges.decode(new int[] {0, -1}, 10));
+  }
+
+  @Test
+  void testRangesPastSelectableElementsAreRejected() {
+    assertEquals(10, SelectionRanges.decode(new int[] {0, 10}, 10).cardinality());
+    assertThrows(
+        IllegalArgumentException.class, () -> SelectionRanges.decode(new int[] {0, 11}, 10));
+    assertThrows(
+        IllegalArgumentException.class, () -> SelectionRanges.decode(new int[] {10, 1}, 10));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SelectionRanges.decode(new int[] {0, Integer.MAX_VALUE}, 10));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SelectionRanges.decode(new int[] {Integer.MAX_VALUE, Integer.MAX_VALUE}, 10));
+  }
+}
@@ -0,0 +1,37 @@
+package tools.vitruv.framework.remote.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.Test;
+import tools.vitruv.framework.remote.server.cache.BoundedServerCache;
+import tools.vitruv.framework.remote.server.cache.CacheSettings;
+import tools.vitruv.framework.remote.server.cache.ServerCache;
+
+class ServerSettingsTest {
+
+  @Test
+  void testCustomCacheIsUsed() {
+    var cache = mock(ServerCache.class);
+
+    var settings = ServerSettings.defaults().withCache(cache);
+
+    assertSame(cache, settings.cache().get());
+    assertInstanceOf(
+        BoundedServerCache.class,
+        settings.withCache(CacheSettings.defaults()).cache().get(),
+        "Cache limits should configure a bounded cache");
+  }
+
+  @Test
+  void testDerivationParallelismIsConfigurable() {
+    var defaults = ServerSettings.defaults();
+
+    assertEquals(Runtime.getRuntime().availableProcessors(), defaults.derivationParallelism());
+    assertEquals(2, defaults.withDerivationParallelism(2).derivationParallelism());
+    assertThrows(IllegalArgumentException.class, () -> defaults.withDerivationParallelism(0));
+  }
+}
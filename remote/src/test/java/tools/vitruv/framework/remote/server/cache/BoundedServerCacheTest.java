@@ -0,0 +1,301 @@
+package tools.vitruv.framework.remote.server.cache;
+
+import static com.google.common.util.concurrent.Uninterruptibles.awaitUninterruptibly;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.vitruv.framework.remote.common.json.WireFormat;
+import tools.vitruv.framework.remote.server.concurrency.ModelAccessController;
+import tools.vitruv.framework.views.View;
+import tools.vitruv.framework.views.ViewType;
+
+class BoundedServerCacheTest {
+  private SimpleMeterRegistry registry;
+  private BoundedServerCache cache;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    cache =
+        new BoundedServerCache(
+            new CacheSettings(1, Duration.ofMinutes(1), 1, Duration.ofMinutes(1), 10, 8), registry);
+  }
+
+  @Test
+  void testViewEvictedBySizeIsClosed() throws Exception {
+    View first = mock(View.class);
+    View second = mock(View.class);
+
+    cache.addView("first", first);
+    cache.addView("second", second);
+    cache.cleanUp();
+
+    assertNull(cache.getView("first"), "Least recently used view should be evicted");
+    assertSame(second, cache.getView("second"));
+    verify(first).close();
+    verify(second, never()).close();
+  }
+
+  @Test
+  void testViewEvictedDuringRequestIsClosedAfterIt() throws Exception {
+    var modelAccess = new ModelAccessController(true, registry);
+    cache.setEvictedViewCloser(modelAccess::submitCloseView);
+    View first = mock(View.class);
+    var entered = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    cache.addView("first", first);
+    var request =
+        CompletableFuture.runAsync(
+            () ->
+                modelAccess.updateView(
+                    first,
+                    () -> {
+                      entered.countDown();
+                      awaitUninterruptibly(release);
+                      return null;
+                    }));
+    entered.await();
+
+    cache.addView("second", mock(View.class));
+    cache.cleanUp();
+
+    assertNull(cache.getView("first"), "Least recently used view should be evicted");
+    verify(first, after(200).never()).close();
+    release.countDown();
+    request.join();
+    verify(first, timeout(1000)).close();
+    modelAccess.close();
+  }
+
+  @Test
+  void testRemovedViewIsNotClosed() throws Exception {
+    View view = mock(View.class);
+
+    cache.addView("view", view);
+
+    assertSame(view, cache.removeView("view"));
+    assertNull(cache.getView("view"));
+    verify(view, never()).close();
+  }
+
+  @Test
+  void testViewSnapshotsAreVersionedAndDroppedWithTheView() {
+    cache.addView("view", mock(View.class));
+    ResourceSet first = new ResourceSetImpl();
+    ResourceSet second = new ResourceSetImpl();
+
+    long firstVersion = cache.storeViewSnapshot("view", first);
+    long secondVersion = cache.storeViewSnapshot("view", second);
+
+    assertTrue(secondVersion > firstVersion, "Versions should increase");
+    assertEquals(new ViewSnapshot(secondVersion, second), cache.getViewSnapshot("view"));
+
+    cache.invalidateViewSnapshot("view");
+    assertNull(cache.getViewSnapshot("view"));
+
+    cache.storeViewSnapshot("view", first);
+    cache.removeView("view");
+    assertNull(cache.getViewSnapshot("view"), "Snapshot should be dropped with its view");
+
+    cache.storeViewSnapshot("unknown", first);
+    assertNull(cache.getViewSnapshot("unknown"), "Snapshots need a cached view");
+  }
+
+  @Test
+  void testViewSnapshotIsOnlyReplacedIfUnchanged() {
+    cache.addView("view", mock(View.class));
+    ResourceSet first = new ResourceSetImpl();
+    ResourceSet second = new ResourceSetImpl();
+
+    long firstVersion = cache.replaceViewSnapshot("view", null, first);
+    var stored = cache.getViewSnapshot("view");
+    assertEquals(new ViewSnapshot(firstVersion, first), stored);
+    assertEquals(-1, cache.replaceViewSnapshot("view", null, second), "A snapshot is stored");
+
+    long secondVersion = cache.replaceViewSnapshot("view", stored, second);
+    assertEquals(new ViewSnapshot(secondVersion, second), cache.getViewSnapshot("view"));
+    assertEquals(
+        -1, cache.replaceViewSnapshot("view", stored, first), "The base was replaced meanwhile");
+    assertEquals(new ViewSnapshot(secondVersion, second), cache.getViewSnapshot("view"));
+  }
+
+  @Test
+  void testViewSnapshotsAreEvictedByObjectBudget() {
+    cache =
+        new BoundedServerCache(
+            new CacheSettings(10, Duration.ofMinutes(1), 1, Duration.ofMinutes(1), 10, 8, 5),
+            registry);
+    cache.addView("first", mock(View.class));
+    cache.addView("second", mock(View.class));
+
+    cache.storeViewSnapshot("first", resourcesWith(3));
+    assertNotNull(cache.getViewSnapshot("first"));
+    cache.storeViewSnapshot("second", resourcesWith(3));
+    cache.cleanUp();
+
+    assertNull(cache.getViewSnapshot("first"), "Least recently used snapshot should be evicted");
+    assertNotNull(cache.getViewSnapshot("second"));
+    assertNotNull(cache.getView("first"), "The view itself should be kept");
+
+    cache.storeViewSnapshot("first", resourcesWith(6));
+    cache.cleanUp();
+    assertNull(cache.getViewSnapshot("first"), "Snapshots exceeding the budget are not kept");
+  }
+
+  @Test
+  void testSelectorSnapshotIsSharedPerModelVersion() {
+    var first = new SelectorSnapshot(1, new SelectorMapping(List.of()), null);
+    var second = new SelectorSnapshot(2, new SelectorMapping(List.of()), null);
+
+    assertSame(first, cache.getSelectorSnapshot("type", 1, () -> first));
+    assertSame(
+        first,
+        cache.getSelectorSnapshot("type", 1, () -> second),
+        "Snapshot of the same model version should be reused");
+    assertSame(second, cache.getSelectorSnapshot("type", 2, () -> second));
+    assertSame(second, cache.getSelectorSnapshot("other", 2, () -> second));
+  }
+
+  @Test
+  void testSelectorSnapshotIsCreatedWithoutBlockingOtherViewTypes() throws Exception {
+    var snapshot = new SelectorSnapshot(1, new SelectorMapping(List.of()), null);
+    var creating = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    var slow =
+        CompletableFuture.supplyAsync(
+            () ->
+                cache.getSelectorSnapshot(
+                    "slow",
+                    1,
+                    () -> {
+                      creating.countDown();
+                      awaitUninterruptibly(release);
+                      return snapshot;
+                    }));
+    awaitUninterruptibly(creating);
+
+    var waiting = CompletableFuture.supplyAsync(() -> cache.getSelectorSnapshot("slow", 1, null));
+    assertSame(snapshot, cache.getSelectorSnapshot("other", 1, () -> snapshot));
+    assertFalse(waiting.isDone(), "Requests for the same view type wait for the creation");
+
+    release.countDown();
+    assertSame(snapshot, slow.get(1, TimeUnit.SECONDS));
+    assertSame(snapshot, waiting.get(1, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testFailedSelectorSnapshotIsCreatedAgain() {
+    var snapshot = new SelectorSnapshot(1, new SelectorMapping(List.of()), null);
+
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            cache.getSelectorSnapshot(
+                "type",
+                1,
+                () -> {
+                  throw new IllegalStateException("failed");
+                }));
+    assertSame(snapshot, cache.getSelectorSnapshot("type", 1, () -> snapshot));
+  }
+
+  @Test
+  void testViewPayloadsAreBoundedAndInvalidated() {
+    var selection = SelectionFingerprint.of(new SelectorMapping(List.of()), new int[] {0, 1});
+    var small = new ViewPayload(null, new byte[4]);
+    var large = new ViewPayload(null, new byte[8]);
+
+    cache.putViewPayload(selection, 1, WireFormat.JSON, small);
+    assertSame(small, cache.getViewPayload(selection, 1, WireFormat.JSON));
+    assertNull(cache.getViewPayload(selection, 2, WireFormat.JSON));
+    assertNull(cache.getViewPayload(selection, 1, WireFormat.SMILE));
+
+    cache.putViewPayload(selection, 2, WireFormat.JSON, large);
+    cache.cleanUp();
+    assertNull(cache.getViewPayload(selection, 1, WireFormat.JSON), "Byte budget is exceeded");
+    assertEquals(8, registry.get(BoundedServerCache.PAYLOAD_CACHE_NAME + ".bytes").gauge().value());
+
+    cache.putViewPayload(selection, 3, WireFormat.JSON, new ViewPayload(null, new byte[9]));
+    assertNull(cache.getViewPayload(selection, 3, WireFormat.JSON), "Payload is too large");
+    assertEquals(8, cache.getMaximumViewPayloadBytes());
+
+    cache.invalidateViewPayloads();
+    assertNull(cache.getViewPayload(selection, 2, WireFormat.JSON));
+  }
+
+  @Test
+  void testSelectorMappingLookup() {
+    ViewType<?> viewType = mock(ViewType.class);
+    EObject first = mock(EObject.class);
+    EObject second = mock(EObject.class);
+
+    cache.addSelectorWithMapping("selector", viewType, new SelectorMapping(List.of(first, second)));
+
+    assertSame(viewType, cache.getSelectorViewType("selector"));
+    assertSame(second, cache.getEObjectFromMapping("selector", 1));
+    assertEquals(1, cache.getIndexFromMapping("selector", second));
+    assertNull(cache.getEObjectFromMapping("selector", 2));
+    assertEquals(-1, cache.getIndexFromMapping("selector", mock(EObject.class)));
+
+    cache.removeSelectorAndMapping("selector");
+
+    assertNull(cache.getSelectorViewType("selector"));
+    assertNull(cache.getEObjectFromMapping("selector", 1));
+  }
+
+  @Test
+  void testHitsAndMissesArePublished() {
+    cache.addView("view", mock(View.class));
+    cache.getView("view");
+    cache.getView("unknown");
+
+    var hits =
+        registry
+            .find("cache.gets")
+            .tags("cache", BoundedServerCache.VIEW_CACHE_NAME, "result", "hit")
+            .functionCounter();
+    var misses =
+        registry
+            .find("cache.gets")
+            .tags("cache", BoundedServerCache.VIEW_CACHE_NAME, "result", "miss")
+            .functionCounter();
+    assertNotNull(hits, "Hit counter should be registered");
+    assertNotNull(misses, "Miss counter should be registered");
+    assertEquals(1.0, hits.count());
+    assertEquals(1.0, misses.count());
+  }
+
+  private static ResourceSet resourcesWith(int classes) {
+    var resourceSet = new ResourceSetImpl();
+    var resource = new ResourceImpl(URI.createURI("models/model.ecore"));
+    resourceSet.getResources().add(resource);
+    for (int i = 0; i < classes; i++) {
+      resource.getContents().add(EcoreFactory.eINSTANCE.createEClass());
+    }
+    return resourceSet;
+  }
+}
@@ -0,0 +1,83 @@
+package tools.vitruv.framework.remote.server.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.vitruv.change.composite.description.VitruviusChange;
+import tools.vitruv.framework.views.View;
+import tools.vitruv.framework.views.impl.ModifiableView;
+import tools.vitruv.framework.views.impl.ViewCreatingViewType;
+
+class GroupCommitterTest {
+  private SimpleMeterRegistry registry;
+  private ModelAccessController controller;
+  private GroupCommitter committer;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    controller = new ModelAccessController(true, registry);
+    committer =
+        new GroupCommitter(
+            controller, new GroupCommitSettings(true, Duration.ofSeconds(5), 3), registry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    committer.close();
+    controller.close();
+  }
+
+  @Test
+  void testFullGroupIsCommittedInOneWrite() throws Exception {
+    var first = committer.submit(viewOf(mock(ViewCreatingViewType.class)), change());
+    var second = committer.submit(viewOf(mock(ViewCreatingViewType.class)), change());
+    ViewCreatingViewType<?, ?> rejecting = mock(ViewCreatingViewType.class);
+    doThrow(new IllegalStateException("rejected")).when(rejecting).commitViewChanges(any(), any());
+    var third = committer.submit(viewOf(rejecting), change());
+
+    assertNull(first.get(5, TimeUnit.SECONDS));
+    assertNull(second.get(5, TimeUnit.SECONDS));
+    var failure = assertThrows(ExecutionException.class, () -> third.get(5, TimeUnit.SECONDS));
+    assertInstanceOf(IllegalStateException.class, failure.getCause());
+
+    assertEquals(1, controller.getModelVersion(), "Group should be committed in a single write");
+    var groupSize = registry.get("vitruv.server.model.commit.group.size").summary();
+    assertEquals(1, groupSize.count());
+    assertEquals(3, groupSize.totalAmount());
+  }
+
+  @Test
+  void testDisabledGroupCommitsEachChangeOnItsOwn() {
+    try (var ungrouped = new GroupCommitter(controller, GroupCommitSettings.disabled(), registry)) {
+      ungrouped.commit(viewOf(mock(ViewCreatingViewType.class)), change());
+      ungrouped.commit(viewOf(mock(ViewCreatingViewType.class)), change());
+    }
+
+    assertEquals(2, controller.getModelVersion());
+  }
+
+  private static View viewOf(ViewCreatingViewType<?, ?> type) {
+    View view = mock(View.class, withSettings().extraInterfaces(ModifiableView.class));
+    doReturn(type).when(view).getViewType();
+    return view;
+  }
+
+  private static VitruviusChange<?> change() {
+    return mock(VitruviusChange.class);
+  }
+}
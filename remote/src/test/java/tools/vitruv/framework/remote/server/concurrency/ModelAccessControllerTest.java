@@ -0,0 +1,162 @@
+package tools.vitruv.framework.remote.server.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.vitruv.framework.views.View;
+
+class ModelAccessControllerTest {
+  private ModelAccessController controller;
+
+  @BeforeEach
+  void setUp() {
+    controller = new ModelAccessController(true, new SimpleMeterRegistry());
+  }
+
+  @AfterEach
+  void tearDown() {
+    controller.close();
+  }
+
+  @Test
+  void testReadsRunInParallel() throws Exception {
+    var bothInside = new CountDownLatch(2);
+    var first = CompletableFuture.supplyAsync(() -> controller.read(() -> awaitOther(bothInside)));
+    var second = CompletableFuture.supplyAsync(() -> controller.read(() -> awaitOther(bothInside)));
+
+    assertTrue(first.get(5, TimeUnit.SECONDS), "First reader should see the second one");
+    assertTrue(second.get(5, TimeUnit.SECONDS), "Second reader should see the first one");
+  }
+
+  @Test
+  void testWriteWaitsForReaders() throws Exception {
+    var readerInside = new CountDownLatch(1);
+    var releaseReader = new CountDownLatch(1);
+    var readerDone = new AtomicBoolean();
+    var reader =
+        CompletableFuture.runAsync(
+            () ->
+                controller.read(
+                    () -> {
+                      readerInside.countDown();
+                      awaitQuietly(releaseReader);
+                      readerDone.set(true);
+                      return null;
+                    }));
+    readerInside.await(5, TimeUnit.SECONDS);
+
+    var write = controller.submitWrite(readerDone::get);
+    assertFalse(write.isDone(), "Write should wait for the reader");
+    assertEquals(1, controller.getQueuedWrites());
+
+    releaseReader.countDown();
+    reader.get(5, TimeUnit.SECONDS);
+    assertTrue(write.get(5, TimeUnit.SECONDS), "Write should run after the reader finished");
+  }
+
+  @Test
+  void testViewUpdateExcludesOnlyOperationsOnSameView() throws Exception {
+    View view = mock(View.class);
+    View other = mock(View.class);
+    var updateInside = new CountDownLatch(1);
+    var releaseUpdate = new CountDownLatch(1);
+    var updateDone = new AtomicBoolean();
+    var update =
+        CompletableFuture.runAsync(
+            () ->
+                controller.updateView(
+                    view,
+                    () -> {
+                      updateInside.countDown();
+                      awaitQuietly(releaseUpdate);
+                      updateDone.set(true);
+                      return null;
+                    }));
+    updateInside.await(5, TimeUnit.SECONDS);
+
+    assertFalse(controller.readView(other, updateDone::get), "Other views should not wait");
+    var read = CompletableFuture.supplyAsync(() -> controller.readView(view, updateDone::get));
+    assertFalse(read.isDone(), "Reading the view should wait for its update");
+
+    releaseUpdate.countDown();
+    update.get(5, TimeUnit.SECONDS);
+    assertTrue(read.get(5, TimeUnit.SECONDS), "Reading should run after the update finished");
+  }
+
+  @Test
+  void testWritesAreExecutedInSubmissionOrder() throws Exception {
+    List<Integer> order = new ArrayList<>();
+    List<CompletableFuture<Boolean>> writes = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      final int index = i;
+      writes.add(controller.submitWrite(() -> order.add(index)));
+    }
+    CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+    for (int i = 0; i < 50; i++) {
+      assertEquals(i, order.get(i));
+    }
+    assertEquals(0, controller.getQueuedWrites());
+  }
+
+  @Test
+  void testWriteRethrowsException() {
+    var exception =
+        assertThrows(
+            IllegalStateException.class,
+            () ->
+                controller.write(
+                    () -> {
+                      throw new IllegalStateException("rejected");
+                    }));
+    assertEquals("rejected", exception.getMessage());
+  }
+
+  @Test
+  void testWritesIncrementModelVersion() {
+    controller.read(() -> null);
+    assertEquals(0, controller.getModelVersion(), "Reads must not change the model version");
+
+    controller.write(() -> null);
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            controller.write(
+                () -> {
+                  throw new IllegalStateException("rejected");
+                }));
+
+    assertEquals(2, controller.getModelVersion(), "Failed writes may have changed the model");
+  }
+
+  private static boolean awaitOther(CountDownLatch latch) {
+    latch.countDown();
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
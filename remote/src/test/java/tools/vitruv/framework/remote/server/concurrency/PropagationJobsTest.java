@@ -0,0 +1,106 @@
+package tools.vitruv.framework.remote.server.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.base.Ticker;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.vitruv.framework.remote.common.rest.PropagationJob;
+import tools.vitruv.framework.remote.common.rest.constants.JobStatus;
+import tools.vitruv.framework.remote.common.rest.constants.ViewStatus;
+
+class PropagationJobsTest {
+  private static final Duration RETENTION = Duration.ofMinutes(10);
+
+  private final AtomicLong nanos = new AtomicLong();
+  private PropagationJobs jobs;
+
+  @BeforeEach
+  void setUp() {
+    jobs =
+        new PropagationJobs(
+            RETENTION,
+            new Ticker() {
+              @Override
+              public long read() {
+                return nanos.get();
+              }
+            });
+  }
+
+  @AfterEach
+  void tearDown() {
+    jobs.close();
+  }
+
+  @Test
+  void testStartedJobIsRunning() {
+    var id = jobs.start();
+
+    assertEquals(new PropagationJob(id, JobStatus.RUNNING, null, null), jobs.get(id));
+    assertFalse(jobs.get(id).isFinished());
+    assertNotEquals(id, jobs.start(), "Each job should have its own id");
+  }
+
+  @Test
+  void testSucceededJobReportsViewStatus() {
+    var id = jobs.start();
+
+    jobs.succeed(id, ViewStatus.OUTDATED);
+
+    assertEquals(
+        new PropagationJob(id, JobStatus.SUCCEEDED, ViewStatus.OUTDATED, null), jobs.get(id));
+    assertTrue(jobs.get(id).isFinished());
+    assertFalse(jobs.get(id).isFailed());
+  }
+
+  @Test
+  void testFailedJobReportsMessage() {
+    var id = jobs.start();
+
+    jobs.fail(id, "Changes rejected: conflict");
+
+    assertEquals(
+        new PropagationJob(id, JobStatus.FAILED, null, "Changes rejected: conflict"), jobs.get(id));
+    assertTrue(jobs.get(id).isFinished());
+    assertTrue(jobs.get(id).isFailed());
+  }
+
+  @Test
+  void testUnknownJobIsNotFound() {
+    assertNull(jobs.get("unknown"));
+    assertNull(jobs.get(null));
+  }
+
+  @Test
+  void testJobExpiresAfterRetentionSinceItLastChanged() {
+    var id = jobs.start();
+    advance(RETENTION.minusMinutes(1));
+    jobs.succeed(id, ViewStatus.OPEN);
+
+    advance(RETENTION.minusMinutes(1));
+    assertNotNull(jobs.get(id), "Finishing the job should restart its retention");
+
+    advance(Duration.ofMinutes(1));
+    assertNull(jobs.get(id));
+  }
+
+  @Test
+  void testRetentionMustBePositive() {
+    assertThrows(IllegalArgumentException.class, () -> new PropagationJobs(Duration.ZERO));
+    assertThrows(IllegalArgumentException.class, () -> new PropagationJobs(null));
+  }
+
+  private void advance(Duration duration) {
+    nanos.addAndGet(duration.toNanos());
+  }
+}
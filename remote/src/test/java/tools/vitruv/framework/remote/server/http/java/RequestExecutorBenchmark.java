@@ -0,0 +1,255 @@
+package tools.vitruv.framework.remote.server.http.java;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.vitruv.framework.remote.common.json.JsonMapper;
+import tools.vitruv.framework.remote.common.rest.constants.ContentType;
+import tools.vitruv.framework.remote.common.rest.constants.EndpointPath;
+import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.common.util.SelectionRanges;
+import tools.vitruv.framework.remote.server.cache.BoundedServerCache;
+import tools.vitruv.framework.remote.server.cache.CacheSettings;
+import tools.vitruv.framework.remote.server.concurrency.ModelAccessController;
+import tools.vitruv.framework.remote.server.rest.PathEndointCollector;
+import tools.vitruv.framework.remote.server.rest.endpoints.UpdateViewEndpoint;
+import tools.vitruv.framework.remote.server.rest.endpoints.ViewEndpoint;
+import tools.vitruv.framework.remote.server.rest.endpoints.ViewSelectorEndpoint;
+import tools.vitruv.framework.views.View;
+import tools.vitruv.framework.views.ViewSelector;
+import tools.vitruv.framework.views.ViewType;
+import tools.vitruv.framework.vsum.VirtualModel;
+
+/**
+ * Measures the throughput of concurrent view requests for each {@link RequestExecutor} mode. The
+ * requests are served by the {@link ViewSelectorEndpoint}, {@link ViewEndpoint} and {@link
+ * UpdateViewEndpoint} over a VSUM fixture, whose single view type selects packages of classes held
+ * in EMF resources. The views are only stubbed, so copying and serializing the resources, the
+ * model lock and the server cache are measured, but not the view creation of a concrete VSUM.
+ *
+ * <p>The client runs in the same JVM as the server. The results only compare the executors if the
+ * server threads are the bottleneck, so check with {@code -prof stack} that the CPU is not
+ * saturated by the client, e.g., on machines with few cores.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=tools.vitruv.framework.remote.server.http.java.RequestExecutorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(32)
+public class RequestExecutorBenchmark {
+  private static final String VIEW_TYPE = "benchmark";
+
+  @Param({"dispatcher", "fixed", "virtual"})
+  private String mode;
+
+  @Param({"16"})
+  private int resources;
+
+  @Param({"100"})
+  private int classesPerResource;
+
+  private JsonMapper mapper;
+  private ModelAccessController modelAccess;
+  private VitruvJavaHttpServer server;
+  private ExecutorService clientExecutor;
+  private HttpClient client;
+  private String selectAll;
+
+  /** A view opened by a benchmark thread, which is updated repeatedly. */
+  @State(Scope.Thread)
+  public static class OpenedView {
+    private String uuid;
+
+    @Setup(Level.Trial)
+    public void open(RequestExecutorBenchmark benchmark) throws IOException, InterruptedException {
+      uuid = benchmark.openView();
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    var registry = new SimpleMeterRegistry();
+    VirtualModel model = createModel();
+    mapper = new JsonMapper(Files.createTempDirectory("vitruv-benchmark"));
+    modelAccess = new ModelAccessController(true, registry);
+    var cache = new BoundedServerCache(CacheSettings.defaults(), registry);
+    var endpoints =
+        List.of(
+            new PathEndointCollector(
+                EndpointPath.VIEW_SELECTOR,
+                new ViewSelectorEndpoint(model, mapper, cache, modelAccess),
+                null,
+                null,
+                null,
+                null),
+            new PathEndointCollector(
+                EndpointPath.VIEW,
+                new UpdateViewEndpoint(mapper, cache, modelAccess),
+                new ViewEndpoint(model, mapper, cache, modelAccess),
+                null,
+                null,
+                null));
+    var executor =
+        switch (mode) {
+          case "fixed" ->
+              RequestExecutor.fixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+          case "virtual" -> RequestExecutor.virtualThreadPerRequest();
+          default -> RequestExecutor.dispatcherThread();
+        };
+    server = new VitruvJavaHttpServer("localhost", 0, endpoints, executor);
+    server.start();
+
+    var all = new BitSet();
+    all.set(0, resources);
+    selectAll = mapper.serialize(SelectionRanges.encode(all));
+    clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    client = HttpClient.newBuilder().executor(clientExecutor).build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    server.stop();
+    clientExecutor.shutdownNow();
+    modelAccess.close();
+    mapper.close();
+  }
+
+  /** Creates a virtual model with a single view type selecting all packages of the model. */
+  private VirtualModel createModel() {
+    var resourceSet = new ResourceSetImpl();
+    List<EObject> packages = new ArrayList<>();
+    for (int i = 0; i < resources; i++) {
+      var resource =
+          new ResourceImpl(
+              org.eclipse.emf.common.util.URI.createFileURI("/benchmark/model" + i + ".ecore"));
+      resourceSet.getResources().add(resource);
+      var ePackage = createPackage("model" + i);
+      resource.getContents().add(ePackage);
+      packages.add(ePackage);
+    }
+
+    // Stub-only mocks do not record their invocations, which would otherwise pile up.
+    View view = mock(View.class, withSettings().stubOnly());
+    when(view.getRootObjects()).thenAnswer(invocation -> packages);
+    ViewSelector selector = mock(ViewSelector.class, withSettings().stubOnly());
+    when(selector.getSelectableElements()).thenAnswer(invocation -> packages);
+    when(selector.createView()).thenReturn(view);
+    ViewType<?> viewType = mock(ViewType.class, withSettings().stubOnly());
+    when(viewType.getName()).thenReturn(VIEW_TYPE);
+    VirtualModel model = mock(VirtualModel.class, withSettings().stubOnly());
+    when(model.getViewTypes()).thenAnswer(invocation -> List.of(viewType));
+    when(model.createSelector(any())).thenAnswer(invocation -> selector);
+    return model;
+  }
+
+  private EPackage createPackage(String name) {
+    var ecore = EcoreFactory.eINSTANCE;
+    EPackage ePackage = ecore.createEPackage();
+    ePackage.setName(name);
+    ePackage.setNsURI("http://vitruv.tools/remote/benchmark/" + name);
+    for (int i = 0; i < classesPerResource; i++) {
+      EClass eClass = ecore.createEClass();
+      eClass.setName("Class" + i);
+      ePackage.getEClassifiers().add(eClass);
+    }
+    return ePackage;
+  }
+
+  /** Requests a selector and opens a view selecting all packages, returning its UUID. */
+  private String openView() throws IOException, InterruptedException {
+    var selector =
+        send(
+            HttpRequest.newBuilder(uri(EndpointPath.VIEW_SELECTOR))
+                .header(Header.VIEW_TYPE, VIEW_TYPE)
+                .GET());
+    var view =
+        send(
+            HttpRequest.newBuilder(uri(EndpointPath.VIEW))
+                .header(Header.SELECTOR_UUID, header(selector, Header.SELECTOR_UUID))
+                .header(Header.CONTENT_TYPE, ContentType.APPLICATION_JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(selectAll)));
+    return header(view, Header.VIEW_UUID);
+  }
+
+  @Benchmark
+  public String createView() throws IOException, InterruptedException {
+    return openView();
+  }
+
+  @Benchmark
+  public int updateView(OpenedView view) throws IOException, InterruptedException {
+    var response =
+        send(
+            HttpRequest.newBuilder(uri(EndpointPath.VIEW))
+                .header(Header.VIEW_UUID, view.uuid)
+                .GET());
+    return response.body().length;
+  }
+
+  private HttpResponse<byte[]> send(HttpRequest.Builder request)
+      throws IOException, InterruptedException {
+    var response = client.send(request.build(), BodyHandlers.ofByteArray());
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException(
+          "Request failed with " + response.statusCode() + ": " + new String(response.body()));
+    }
+    return response;
+  }
+
+  private static String header(HttpResponse<?> response, String name) {
+    return response.headers().firstValue(name).orElseThrow();
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://localhost:" + server.getPort() + path);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(RequestExecutorBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,224 @@
+package tools.vitruv.framework.remote.server.http.java;
+
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
+import static java.net.HttpURLConnection.HTTP_OK;
+import static java.net.HttpURLConnection.HTTP_UNSUPPORTED_TYPE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.vitruv.framework.remote.common.rest.constants.ContentEncoding;
+import tools.vitruv.framework.remote.common.rest.constants.ContentType;
+import tools.vitruv.framework.remote.common.rest.constants.EndpointPath;
+import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.common.util.CompressionUtil;
+import tools.vitruv.framework.remote.server.exception.ServerHaltingException;
+import tools.vitruv.framework.remote.server.http.HttpWrapper;
+import tools.vitruv.framework.remote.server.http.ResponseBodyWriter;
+import tools.vitruv.framework.remote.server.rest.GetEndpoint;
+import tools.vitruv.framework.remote.server.rest.PathEndointCollector;
+import tools.vitruv.framework.remote.server.rest.PostEndpoint;
+import tools.vitruv.framework.remote.server.rest.StreamingEndpoint;
+
+class RequestHandlerTest {
+  private static final String CHUNK = "{\"chunk\":true}";
+  private static final int CHUNKS = 10_000;
+
+  private VitruvJavaHttpServer server;
+  private HttpClient client;
+
+  @BeforeEach
+  void startServer() throws IOException {
+    GetEndpoint streaming = new StreamingGetEndpoint();
+    PostEndpoint buffered =
+        wrapper -> {
+          try {
+            var body = wrapper.getRequestBodyAsString();
+            return body.isEmpty() ? "buffered" : body;
+          } catch (IOException e) {
+            throw new ServerHaltingException(HTTP_INTERNAL_ERROR, e.getMessage());
+          }
+        };
+    var endpoints =
+        new PathEndointCollector(EndpointPath.VIEW, streaming, buffered, null, null, null);
+    GetEndpoint events =
+        new StreamingGetEndpoint() {
+          @Override
+          public ResponseBodyWriter processStreaming(HttpWrapper wrapper) {
+            wrapper.setContentType(ContentType.TEXT_EVENT_STREAM);
+            return super.processStreaming(wrapper);
+          }
+        };
+    var eventEndpoints =
+        new PathEndointCollector(EndpointPath.VIEW_EVENTS, events, buffered, null, null, null);
+    server = new VitruvJavaHttpServer("localhost", 0, List.of(endpoints, eventEndpoints));
+    server.start();
+    client = HttpClient.newHttpClient();
+  }
+
+  @AfterEach
+  void stopServer() {
+    server.stop();
+    client.close();
+  }
+
+  @Test
+  void streamingEndpointSendsChunkedBody() throws IOException, InterruptedException {
+    var response = send(HttpRequest.newBuilder(viewUri()).header(Header.VIEW_UUID, "view").GET());
+
+    assertEquals(HTTP_OK, response.statusCode());
+    assertTrue(response.headers().firstValue("Content-Length").isEmpty());
+    assertEquals(
+        "chunked", response.headers().firstValue("Transfer-Encoding").orElse("").toLowerCase());
+    assertEquals(CHUNK.repeat(CHUNKS), response.body());
+  }
+
+  @Test
+  void streamingEndpointReportsErrorsBeforeWritingTheBody()
+      throws IOException, InterruptedException {
+    var response = send(HttpRequest.newBuilder(viewUri()).GET());
+
+    assertEquals(HTTP_NOT_FOUND, response.statusCode());
+    assertEquals("View with given id not found!", response.body());
+  }
+
+  @Test
+  void bufferedEndpointSendsFixedLengthBody() throws IOException, InterruptedException {
+    var response = send(HttpRequest.newBuilder(viewUri()).POST(BodyPublishers.noBody()));
+
+    assertEquals(HTTP_OK, response.statusCode());
+    assertEquals("8", response.headers().firstValue("Content-Length").orElse(""));
+    assertEquals("buffered", response.body());
+    assertEquals(
+        CompressionUtil.ACCEPTED_ENCODINGS,
+        response.headers().firstValue(Header.ACCEPT_ENCODING).orElse(""),
+        "Responses announce the encodings accepted for requests");
+  }
+
+  @Test
+  void streamingResponseIsCompressedIfAccepted() throws IOException, InterruptedException {
+    var request =
+        HttpRequest.newBuilder(viewUri())
+            .header(Header.VIEW_UUID, "view")
+            .header(Header.ACCEPT_ENCODING, "gzip")
+            .GET()
+            .build();
+    var response = client.send(request, BodyHandlers.ofByteArray());
+
+    assertEquals(HTTP_OK, response.statusCode());
+    assertEquals("gzip", response.headers().firstValue(Header.CONTENT_ENCODING).orElse(""));
+    var expected = CHUNK.repeat(CHUNKS).getBytes(StandardCharsets.UTF_8);
+    assertTrue(response.body().length < expected.length);
+    try (var body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+      assertArrayEquals(expected, body.readAllBytes());
+    }
+  }
+
+  @Test
+  void smallResponseIsNotCompressed() throws IOException, InterruptedException {
+    var response =
+        send(
+            HttpRequest.newBuilder(viewUri())
+                .header(Header.ACCEPT_ENCODING, "gzip")
+                .POST(BodyPublishers.noBody()));
+
+    assertTrue(response.headers().firstValue(Header.CONTENT_ENCODING).isEmpty());
+    assertEquals("buffered", response.body());
+  }
+
+  @Test
+  void compressedRequestIsDecoded() throws IOException, InterruptedException {
+    var body = CHUNK.repeat(100);
+    var encoded =
+        CompressionUtil.encode(ContentEncoding.DEFLATE, body.getBytes(StandardCharsets.UTF_8));
+    var response =
+        send(
+            HttpRequest.newBuilder(viewUri())
+                .header(Header.CONTENT_ENCODING, ContentEncoding.DEFLATE)
+                .POST(BodyPublishers.ofByteArray(encoded)));
+
+    assertEquals(HTTP_OK, response.statusCode());
+    assertEquals(body, response.body());
+  }
+
+  @Test
+  void requestWithUnknownEncodingIsRejected() throws IOException, InterruptedException {
+    var response =
+        send(
+            HttpRequest.newBuilder(viewUri())
+                .header(Header.CONTENT_ENCODING, "br")
+                .POST(BodyPublishers.ofString("{}")));
+
+    assertEquals(HTTP_UNSUPPORTED_TYPE, response.statusCode());
+  }
+
+  @Test
+  void eventStreamIsNeverCompressed() throws IOException, InterruptedException {
+    var response =
+        send(
+            HttpRequest.newBuilder(uri(EndpointPath.VIEW_EVENTS))
+                .header(Header.VIEW_UUID, "view")
+                .header(Header.ACCEPT_ENCODING, "gzip")
+                .GET());
+
+    assertEquals(HTTP_OK, response.statusCode());
+    assertEquals(
+        ContentType.TEXT_EVENT_STREAM,
+        response.headers().firstValue(Header.CONTENT_TYPE).orElse(""));
+    assertTrue(response.headers().firstValue(Header.CONTENT_ENCODING).isEmpty());
+    assertEquals(CHUNK.repeat(CHUNKS), response.body());
+  }
+
+  @Test
+  void streamingEndpointCanBeBuffered() {
+    var wrapper = mock(HttpWrapper.class);
+    when(wrapper.getRequestHeader(Header.VIEW_UUID)).thenReturn("view");
+
+    assertEquals(CHUNK.repeat(CHUNKS), new StreamingGetEndpoint().process(wrapper));
+  }
+
+  private URI viewUri() {
+    return uri(EndpointPath.VIEW);
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://localhost:" + server.getPort() + path);
+  }
+
+  private HttpResponse<String> send(HttpRequest.Builder request)
+      throws IOException, InterruptedException {
+    return client.send(request.build(), BodyHandlers.ofString());
+  }
+
+  private static class StreamingGetEndpoint implements GetEndpoint, StreamingEndpoint {
+    @Override
+    public ResponseBodyWriter processStreaming(HttpWrapper wrapper) {
+      if (wrapper.getRequestHeader(Header.VIEW_UUID) == null) {
+        throw new ServerHaltingException(HTTP_NOT_FOUND, "View with given id not found!");
+      }
+      return body -> {
+        var chunk = CHUNK.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < CHUNKS; i++) {
+          body.write(chunk);
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package tools.vitruv.framework.remote.server.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.vitruv.framework.remote.common.rest.constants.ViewEvent;
+import tools.vitruv.framework.remote.server.concurrency.ModelAccessController;
+import tools.vitruv.framework.remote.server.notification.ViewEventPublisher.Event;
+import tools.vitruv.framework.views.View;
+
+class ViewEventPublisherTest {
+  private static final Duration TIMEOUT = Duration.ofMillis(50);
+
+  private ModelAccessController modelAccess;
+  private ViewEventPublisher publisher;
+
+  @BeforeEach
+  void setUp() {
+    var registry = new SimpleMeterRegistry();
+    modelAccess = new ModelAccessController(true, registry);
+    publisher = new ViewEventPublisher(modelAccess, registry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    publisher.close();
+    modelAccess.close();
+  }
+
+  @Test
+  void testSubscriptionStartsWithCurrentState() throws InterruptedException {
+    View view = mock(View.class);
+    when(view.isOutdated()).thenReturn(true);
+
+    try (var subscription = publisher.subscribe(view)) {
+      assertEquals(new Event(ViewEvent.OUTDATED, true), subscription.next(TIMEOUT));
+      assertNull(subscription.next(TIMEOUT), "No further events should be pending");
+    }
+  }
+
+  @Test
+  void testOnlyOutdatedViewsAreNotified() throws InterruptedException {
+    View outdated = mock(View.class);
+    View current = mock(View.class);
+
+    try (var outdatedSubscription = publisher.subscribe(outdated);
+        var currentSubscription = publisher.subscribe(current)) {
+      outdatedSubscription.next(TIMEOUT);
+      currentSubscription.next(TIMEOUT);
+      when(outdated.isOutdated()).thenReturn(true);
+
+      publisher.publishOutdatedViews();
+      publisher.publishOutdatedViews();
+
+      assertEquals(new Event(ViewEvent.OUTDATED, true), outdatedSubscription.next(TIMEOUT));
+      assertNull(outdatedSubscription.next(TIMEOUT), "Pending events should be coalesced");
+      assertNull(currentSubscription.next(TIMEOUT));
+    }
+  }
+
+  @Test
+  void testOutdatedViewIsNotifiedOnlyOnceUntilUpdated() throws InterruptedException {
+    View view = mock(View.class);
+
+    try (var subscription = publisher.subscribe(view)) {
+      subscription.next(TIMEOUT);
+      when(view.isOutdated()).thenReturn(true);
+      publisher.publishOutdatedViews();
+      subscription.next(TIMEOUT);
+
+      publisher.publishOutdatedViews();
+      assertNull(subscription.next(TIMEOUT), "Still outdated views should not be notified again");
+
+      modelAccess.updateView(view, () -> null);
+      publisher.publishOutdatedViews();
+      assertEquals(new Event(ViewEvent.OUTDATED, true), subscription.next(TIMEOUT));
+
+      when(view.isOutdated()).thenReturn(false);
+      publisher.publishOutdatedViews();
+      when(view.isOutdated()).thenReturn(true);
+      publisher.publishOutdatedViews();
+      assertEquals(new Event(ViewEvent.OUTDATED, true), subscription.next(TIMEOUT));
+    }
+  }
+
+  @Test
+  void testAllViewsAreCheckedUnderSingleLock() {
+    publisher.close();
+    modelAccess = spy(modelAccess);
+    publisher = new ViewEventPublisher(modelAccess, new SimpleMeterRegistry());
+    for (int i = 0; i < 10; i++) {
+      publisher.subscribe(mock(View.class));
+    }
+    clearInvocations(modelAccess);
+
+    publisher.publishOutdatedViews();
+
+    verify(modelAccess, times(1)).read(any());
+  }
+
+  @Test
+  void testClosedViewEndsSubscription() throws InterruptedException {
+    View view = mock(View.class);
+
+    try (var subscription = publisher.subscribe(view)) {
+      subscription.next(TIMEOUT);
+      publisher.publishClosed(view);
+
+      assertEquals(new Event(ViewEvent.CLOSED, true), subscription.next(TIMEOUT));
+      assertNull(subscription.next(TIMEOUT));
+      assertTrue(subscription.isEnded());
+    }
+  }
+
+  @Test
+  void testEvictedViewEndsSubscription() throws InterruptedException {
+    View view = mock(View.class);
+
+    try (var subscription = publisher.subscribe(view)) {
+      subscription.next(TIMEOUT);
+      when(view.isClosed()).thenReturn(true);
+
+      assertEquals(new Event(ViewEvent.CLOSED, true), subscription.next(TIMEOUT));
+      assertTrue(subscription.isEnded());
+    }
+  }
+
+  @Test
+  void testClosingThePublisherEndsAllSubscriptions() throws InterruptedException {
+    var subscription = publisher.subscribe(mock(View.class));
+    subscription.next(TIMEOUT);
+
+    publisher.close();
+
+    assertNull(subscription.next(TIMEOUT));
+    assertTrue(subscription.isEnded());
+    assertTrue(publisher.subscribe(mock(View.class)).isEnded());
+  }
+}
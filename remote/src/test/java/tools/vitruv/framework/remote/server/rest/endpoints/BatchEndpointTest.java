@@ -0,0 +1,156 @@
+package tools.vitruv.framework.remote.server.rest.endpoints;
+
+import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
+import static java.net.HttpURLConnection.HTTP_CONFLICT;
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+import static java.net.HttpURLConnection.HTTP_OK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.vitruv.framework.remote.common.json.JsonMapper;
+import tools.vitruv.framework.remote.common.json.WireFormat;
+import tools.vitruv.framework.remote.common.rest.BatchOperation;
+import tools.vitruv.framework.remote.common.rest.BatchResult;
+import tools.vitruv.framework.remote.common.rest.constants.ContentType;
+import tools.vitruv.framework.remote.common.rest.constants.EndpointPath;
+import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.server.exception.ServerHaltingException;
+import tools.vitruv.framework.remote.server.http.HttpWrapper;
+import tools.vitruv.framework.remote.server.rest.GetEndpoint;
+import tools.vitruv.framework.remote.server.rest.PathEndointCollector;
+import tools.vitruv.framework.remote.server.rest.StreamingEndpoint;
+
+class BatchEndpointTest {
+  private interface StreamingGetEndpoint extends GetEndpoint, StreamingEndpoint {}
+
+  private final List<String> processed = new CopyOnWriteArrayList<>();
+  private JsonMapper mapper;
+  private BatchEndpoint batch;
+
+  @BeforeEach
+  void setUp() {
+    mapper = new JsonMapper(Path.of("vsum"));
+    GetEndpoint first =
+        wrapper -> {
+          processed.add("first");
+          wrapper.setContentType(ContentType.APPLICATION_JSON);
+          return "[\"first\"]";
+        };
+    GetEndpoint failing =
+        wrapper -> {
+          processed.add("failing");
+          throw new ServerHaltingException(HTTP_CONFLICT, "failure");
+        };
+    StreamingGetEndpoint streaming =
+        wrapper -> {
+          processed.add("streaming");
+          var format = mapper.negotiateFormat(wrapper.getRequestHeader(Header.ACCEPT));
+          wrapper.setContentType(format.contentType());
+          return body -> mapper.serialize(Map.of("streamed", true), body, format);
+        };
+    batch =
+        new BatchEndpoint(
+            mapper,
+            List.of(
+                new PathEndointCollector(EndpointPath.VIEW_TYPES, first, null, null, null, null),
+                new PathEndointCollector(EndpointPath.VIEW_STATUS, failing, null, null, null, null),
+                new PathEndointCollector(EndpointPath.VIEW, streaming, null, null, null, null)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    mapper.close();
+  }
+
+  @Test
+  void testOperationsAreProcessedInOrderAndFailuresAreIsolated() throws IOException {
+    var results =
+        send(
+            WireFormat.JSON,
+            get(EndpointPath.VIEW_STATUS),
+            get(EndpointPath.VIEW_TYPES),
+            get(EndpointPath.VIEW_SELECTOR),
+            get(EndpointPath.BATCH),
+            get(EndpointPath.VIEW));
+
+    assertEquals(List.of("failing", "first", "streaming"), processed);
+    assertEquals(
+        List.of(HTTP_CONFLICT, HTTP_OK, HTTP_NOT_FOUND, HTTP_BAD_REQUEST, HTTP_OK),
+        results.stream().map(BatchResult::status).toList());
+    assertEquals("failure", results.get(0).bodyAsString());
+    assertEquals(ContentType.TEXT_PLAIN, results.get(0).header(Header.CONTENT_TYPE));
+    assertEquals("[\"first\"]", results.get(1).bodyAsString());
+  }
+
+  @Test
+  void testBodiesAreEmbeddedAsJsonValues() throws IOException {
+    var envelope =
+        new ObjectMapper()
+            .readTree(
+                write(WireFormat.JSON, get(EndpointPath.VIEW), get(EndpointPath.VIEW_STATUS)));
+
+    assertTrue(envelope.get(0).get("body").isObject(), "Streamed body is embedded as JSON value");
+    assertTrue(envelope.get(0).get("body").get("streamed").asBoolean());
+    assertEquals("failure", envelope.get(1).get("body").asText());
+  }
+
+  @Test
+  void testBodiesAreEmbeddedAsBinaryInSmile() throws IOException {
+    var results = send(WireFormat.SMILE, get(EndpointPath.VIEW), get(EndpointPath.VIEW_STATUS));
+
+    var streamed = results.get(0);
+    assertEquals(WireFormat.SMILE, streamed.format(), "Operations use the format of the batch");
+    assertEquals(
+        Map.of("streamed", true),
+        mapper.deserialize(new ByteArrayInputStream(streamed.body()), Map.class, WireFormat.SMILE));
+    assertEquals("failure", results.get(1).bodyAsString());
+  }
+
+  @Test
+  void testOperationWithoutBodyHasNullBody() throws IOException {
+    GetEndpoint empty = wrapper -> null;
+    batch =
+        new BatchEndpoint(
+            mapper,
+            List.of(new PathEndointCollector(EndpointPath.HEALTH, empty, null, null, null, null)));
+
+    assertNull(send(WireFormat.JSON, get(EndpointPath.HEALTH)).get(0).body());
+  }
+
+  private static BatchOperation get(String path) {
+    return BatchOperation.of("GET", path, Map.of());
+  }
+
+  private List<BatchResult> send(WireFormat format, BatchOperation... operations)
+      throws IOException {
+    return mapper.deserializeArrayOf(
+        new ByteArrayInputStream(write(format, operations)), BatchResult.class, format);
+  }
+
+  private byte[] write(WireFormat format, BatchOperation... operations) throws IOException {
+    var wrapper = mock(HttpWrapper.class);
+    when(wrapper.getRequestHeader(Header.ACCEPT)).thenReturn(format.contentType());
+    when(wrapper.getRequestBody())
+        .thenReturn(
+            new ByteArrayInputStream(
+                mapper.serialize(List.of(operations)).getBytes(StandardCharsets.UTF_8)));
+    var body = new ByteArrayOutputStream();
+    batch.processStreaming(wrapper).writeTo(body);
+    return body.toByteArray();
+  }
+}
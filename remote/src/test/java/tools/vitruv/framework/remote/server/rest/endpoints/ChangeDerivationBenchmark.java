@@ -0,0 +1,124 @@
+package tools.vitruv.framework.remote.server.rest.endpoints;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.vitruv.change.atomic.hid.HierarchicalId;
+import tools.vitruv.change.composite.description.VitruviusChange;
+
+/**
+ * Measures how the latency of deriving the changes of an uploaded view state scales with the number
+ * of resources, for sequential and parallel derivation in the {@link ChangeDerivingEndpoint}. Each
+ * resource contains a package of classes, of which every tenth is renamed in the new state.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=tools.vitruv.framework.remote.server.rest.endpoints.ChangeDerivationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChangeDerivationBenchmark {
+  private static final int CLASSES_PER_RESOURCE = 200;
+
+  @Param({"1", "4", "16", "64"})
+  private int resources;
+
+  @Param({"1", "8"})
+  private int parallelism;
+
+  private ForkJoinPool derivationPool;
+  private ChangeDerivingEndpoint endpoint;
+  private List<Resource> newStates;
+  private Map<URI, Resource> oldStates;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    derivationPool = new ForkJoinPool(parallelism);
+    endpoint = new ChangeDerivingEndpoint(null, null, null, null, null, derivationPool);
+    var oldSet = new ResourceSetImpl();
+    var newSet = new ResourceSetImpl();
+    newStates = new ArrayList<>();
+    oldStates = new HashMap<>();
+    for (int i = 0; i < resources; i++) {
+      var uri = URI.createFileURI("/benchmark/model" + i + ".ecore");
+      var oldState = createResource(oldSet, uri);
+      oldState.getContents().add(createPackage("model" + i));
+      oldStates.put(uri, oldState);
+
+      var newState = createResource(newSet, uri);
+      var newPackage = (EPackage) EcoreUtil.copy(oldState.getContents().get(0));
+      for (int j = 0; j < CLASSES_PER_RESOURCE; j += 10) {
+        newPackage.getEClassifiers().get(j).setName("Renamed" + j);
+      }
+      newState.getContents().add(newPackage);
+      newStates.add(newState);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    derivationPool.close();
+  }
+
+  /** Creates a resource without relying on a resource factory registered for its extension. */
+  private static Resource createResource(ResourceSet resourceSet, URI uri) {
+    var resource = new ResourceImpl(uri);
+    resourceSet.getResources().add(resource);
+    return resource;
+  }
+
+  private static EPackage createPackage(String name) {
+    var ecore = EcoreFactory.eINSTANCE;
+    EPackage ePackage = ecore.createEPackage();
+    ePackage.setName(name);
+    ePackage.setNsURI("http://vitruv.tools/remote/benchmark/" + name);
+    for (int i = 0; i < CLASSES_PER_RESOURCE; i++) {
+      EClass eClass = ecore.createEClass();
+      eClass.setName("Class" + i);
+      ePackage.getEClassifiers().add(eClass);
+    }
+    return ePackage;
+  }
+
+  @Benchmark
+  public List<VitruviusChange<HierarchicalId>> deriveChanges() {
+    return endpoint.deriveChanges(newStates, oldStates);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(ChangeDerivationBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,269 @@
+package tools.vitruv.framework.remote.server.rest.endpoints;
+
+import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
+import static java.net.HttpURLConnection.HTTP_CONFLICT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.vitruv.change.atomic.EChange;
+import tools.vitruv.change.atomic.hid.HierarchicalId;
+import tools.vitruv.change.composite.description.VitruviusChange;
+import tools.vitruv.framework.remote.common.json.IdTransformation;
+import tools.vitruv.framework.remote.common.json.JsonMapper;
+import tools.vitruv.framework.remote.common.json.WireFormat;
+import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.server.cache.ServerCache;
+import tools.vitruv.framework.remote.server.concurrency.GroupCommitter;
+import tools.vitruv.framework.remote.server.concurrency.ModelAccessController;
+import tools.vitruv.framework.remote.server.exception.ServerHaltingException;
+import tools.vitruv.framework.remote.server.http.HttpWrapper;
+import tools.vitruv.framework.remote.server.notification.ViewEventPublisher;
+import tools.vitruv.framework.views.View;
+import tools.vitruv.framework.views.changederivation.StateBasedChangeResolutionStrategy;
+
+class ChangeDerivingEndpointTest {
+  private static final String UUID = "view";
+  private static final String VIEW_HASH = "3f2a";
+
+  private final IdTransformation transformation = new IdTransformation(Path.of("vsum"));
+  private final ResourceSet uploaded = new ResourceSetImpl();
+  private final StateBasedChangeResolutionStrategy strategy =
+      mock(StateBasedChangeResolutionStrategy.class);
+  private ModelAccessController modelAccess;
+  private JsonMapper mapper;
+  private ServerCache cache;
+  private GroupCommitter committer;
+  private HttpWrapper wrapper;
+  private Resource viewResource;
+  private View view;
+  private ChangeDerivingEndpoint endpoint;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    modelAccess = new ModelAccessController(true, new SimpleMeterRegistry());
+    mapper = mock(JsonMapper.class);
+    when(mapper.getIdTransformation()).thenReturn(transformation);
+    when(mapper.deserialize(any(InputStream.class), eq(ResourceSet.class), eq(WireFormat.JSON)))
+        .thenReturn(uploaded);
+
+    viewResource = new ResourceImpl(global("models/a.json"));
+    viewResource.getContents().add(EcoreFactory.eINSTANCE.createEPackage());
+    when(mapper.hashResource(viewResource)).thenReturn(VIEW_HASH);
+    view = mock(View.class);
+    when(view.getRootObjects()).thenReturn(List.copyOf(viewResource.getContents()));
+    cache = mock(ServerCache.class);
+    when(cache.getView(UUID)).thenReturn(view);
+
+    wrapper = mock(HttpWrapper.class);
+    when(wrapper.getRequestHeader(Header.VIEW_UUID)).thenReturn(UUID);
+    when(wrapper.getRequestHeader(Header.CONTENT_TYPE)).thenReturn(WireFormat.JSON.contentType());
+    when(wrapper.getRequestBody()).thenReturn(new ByteArrayInputStream(new byte[0]));
+
+    committer = mock(GroupCommitter.class);
+    endpoint =
+        new ChangeDerivingEndpoint(
+            mapper,
+            cache,
+            modelAccess,
+            committer,
+            mock(ViewEventPublisher.class),
+            ForkJoinPool.commonPool(),
+            () -> strategy);
+  }
+
+  @AfterEach
+  void tearDown() {
+    modelAccess.close();
+  }
+
+  @Test
+  void testMalformedHashesAreRejected() {
+    when(wrapper.getRequestHeader(Header.RESOURCE_HASHES)).thenReturn("models%2Fa.json");
+
+    assertStatus(HTTP_BAD_REQUEST);
+  }
+
+  @Test
+  void testUploadedResourceWithoutHashIsRejected() {
+    when(wrapper.getRequestHeader(Header.RESOURCE_HASHES))
+        .thenReturn("models%2Fa.json=" + VIEW_HASH);
+    uploaded.getResources().add(new ResourceImpl(global("models/b.json")));
+
+    assertStatus(HTTP_BAD_REQUEST);
+  }
+
+  @Test
+  void testListedResourceMissingFromViewIsAConflict() {
+    when(wrapper.getRequestHeader(Header.RESOURCE_HASHES))
+        .thenReturn("models%2Fa.json=" + VIEW_HASH + ",models%2Fc.json=1f");
+
+    assertStatus(HTTP_CONFLICT);
+  }
+
+  @Test
+  void testResourceModifiedButNotUploadedIsAConflict() {
+    when(wrapper.getRequestHeader(Header.RESOURCE_HASHES)).thenReturn("models%2Fa.json=1f");
+
+    assertStatus(HTTP_CONFLICT);
+  }
+
+  @Test
+  void testUnchangedResourceIsTakenFromView() throws IOException {
+    when(wrapper.getRequestHeader(Header.RESOURCE_HASHES))
+        .thenReturn("models%2Fa.json=" + VIEW_HASH);
+
+    assertEquals("[]", endpoint.process(wrapper));
+    verify(mapper).hashResource(viewResource);
+    verifyNoInteractions(committer);
+  }
+
+  @Test
+  void testConsecutiveCommitsDeriveFromCommittedState() throws IOException {
+    var firstCommit = new ResourceImpl(global("models/a.json"));
+    var secondCommit = new ResourceImpl(global("models/a.json"));
+    when(mapper.hashResource(firstCommit)).thenReturn("1f");
+    var change = nonEmptyChange();
+    when(strategy.getChangeSequenceBetween(any(), any())).thenReturn(change);
+    when(mapper.serialize(any())).thenReturn("change");
+
+    // The first commit is derived from the view.
+    uploaded.getResources().add(firstCommit);
+    when(wrapper.getRequestHeader(Header.RESOURCE_HASHES)).thenReturn("models%2Fa.json=1f");
+    assertEquals("change", endpoint.process(wrapper));
+    verify(strategy).getChangeSequenceBetween(firstCommit, viewResource);
+
+    // Without an update, the view is unchanged, but the committed resource is not uploaded again.
+    uploaded.getResources().clear();
+    assertEquals("[]", endpoint.process(wrapper));
+
+    // A further change is derived from the committed resource instead of the view.
+    uploaded.getResources().add(secondCommit);
+    when(wrapper.getRequestHeader(Header.RESOURCE_HASHES)).thenReturn("models%2Fa.json=2e");
+    assertEquals("change", endpoint.process(wrapper));
+    verify(strategy).getChangeSequenceBetween(secondCommit, firstCommit);
+    verify(committer, times(2)).commit(eq(view), any());
+  }
+
+  @Test
+  void testHashesAreComputedOncePerViewVersion() throws IOException {
+    when(wrapper.getRequestHeader(Header.RESOURCE_HASHES))
+        .thenReturn("models%2Fa.json=" + VIEW_HASH);
+
+    endpoint.process(wrapper);
+    endpoint.process(wrapper);
+    verify(mapper, times(1)).hashResource(viewResource);
+
+    modelAccess.updateView(view, () -> null);
+    endpoint.process(wrapper);
+    verify(mapper, times(2)).hashResource(viewResource);
+  }
+
+  @Test
+  void testParallelDerivationKeepsResourceOrderAndUsesOneStrategyPerResource() {
+    var resources = new ArrayList<Resource>();
+    var changes = new HashMap<Resource, VitruviusChange<HierarchicalId>>();
+    for (int i = 0; i < 32; i++) {
+      var resource = new ResourceImpl(global("models/" + i + ".json"));
+      resources.add(resource);
+      changes.put(resource, nonEmptyChange());
+    }
+    var strategies = ConcurrentHashMap.<StateBasedChangeResolutionStrategy>newKeySet();
+    var pool = new ForkJoinPool(4);
+    try {
+      var parallelEndpoint =
+          new ChangeDerivingEndpoint(
+              mapper,
+              cache,
+              modelAccess,
+              committer,
+              mock(ViewEventPublisher.class),
+              pool,
+              () -> {
+                var resolution = new CreatingStrategy(changes);
+                strategies.add(resolution);
+                return resolution;
+              });
+
+      var derived = parallelEndpoint.deriveChanges(resources, Map.of());
+
+      assertEquals(resources.stream().map(changes::get).toList(), derived);
+      assertEquals(resources.size(), strategies.size());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /** Derives precomputed changes for created resources, slowing down the first ones. */
+  private static final class CreatingStrategy implements StateBasedChangeResolutionStrategy {
+    private final Map<Resource, VitruviusChange<HierarchicalId>> changes;
+
+    CreatingStrategy(Map<Resource, VitruviusChange<HierarchicalId>> changes) {
+      this.changes = changes;
+    }
+
+    @Override
+    public VitruviusChange<HierarchicalId> getChangeSequenceForCreated(Resource newState) {
+      if (newState.getURI().lastSegment().startsWith("0")) {
+        Uninterruptibles.sleepUninterruptibly(Duration.ofMillis(20));
+      }
+      return changes.get(newState);
+    }
+
+    @Override
+    public VitruviusChange<HierarchicalId> getChangeSequenceBetween(
+        Resource newState, Resource oldState) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public VitruviusChange<HierarchicalId> getChangeSequenceForDeleted(Resource oldState) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static VitruviusChange<HierarchicalId> nonEmptyChange() {
+    VitruviusChange<HierarchicalId> change = mock(VitruviusChange.class);
+    when(change.getEChanges()).thenReturn((List) List.of(mock(EChange.class)));
+    return change;
+  }
+
+  private void assertStatus(int statusCode) {
+    var exception = assertThrows(ServerHaltingException.class, () -> endpoint.process(wrapper));
+    assertEquals(statusCode, exception.getStatusCode());
+    verifyNoInteractions(committer);
+  }
+
+  private URI global(String local) {
+    return transformation.toGlobal(URI.createURI(local));
+  }
+}
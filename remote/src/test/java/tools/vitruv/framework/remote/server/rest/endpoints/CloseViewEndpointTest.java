@@ -0,0 +1,53 @@
+package tools.vitruv.framework.remote.server.rest.endpoints;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.server.cache.BoundedServerCache;
+import tools.vitruv.framework.remote.server.concurrency.ModelAccessController;
+import tools.vitruv.framework.remote.server.http.HttpWrapper;
+import tools.vitruv.framework.remote.server.notification.ViewEventPublisher;
+import tools.vitruv.framework.views.View;
+
+class CloseViewEndpointTest {
+  private static final String UUID = "view";
+
+  private final BoundedServerCache cache = new BoundedServerCache();
+  private final ModelAccessController modelAccess = mock(ModelAccessController.class);
+  private final ViewEventPublisher eventPublisher = mock(ViewEventPublisher.class);
+  private CloseViewEndpoint endpoint;
+  private HttpWrapper wrapper;
+
+  @BeforeEach
+  void setUp() {
+    endpoint = new CloseViewEndpoint(cache, modelAccess, eventPublisher);
+    wrapper = mock(HttpWrapper.class);
+    when(wrapper.getRequestHeader(Header.VIEW_UUID)).thenReturn(UUID);
+  }
+
+  @Test
+  void testCloseClosesViewAndNotifiesSubscribers() {
+    var view = mock(View.class);
+    cache.addView(UUID, view);
+
+    assertNull(endpoint.process(wrapper));
+
+    verify(modelAccess).closeView(view);
+    verify(eventPublisher).publishClosed(view);
+    assertNull(cache.getView(UUID));
+  }
+
+  @Test
+  void testClosingUnknownViewSucceeds() {
+    assertNull(endpoint.process(wrapper));
+    assertNull(endpoint.process(wrapper));
+
+    verifyNoInteractions(modelAccess, eventPublisher);
+  }
+}
@@ -0,0 +1,57 @@
+package tools.vitruv.framework.remote.server.rest.endpoints;
+
+import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import tools.vitruv.framework.remote.common.json.JsonMapper;
+import tools.vitruv.framework.remote.common.rest.constants.EndpointPath;
+import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.server.cache.BoundedServerCache;
+import tools.vitruv.framework.remote.server.exception.ServerHaltingException;
+import tools.vitruv.framework.remote.server.http.HttpWrapper;
+import tools.vitruv.framework.remote.server.rest.PathEndointCollector;
+import tools.vitruv.framework.views.View;
+import tools.vitruv.framework.vsum.VirtualModel;
+
+class EndpointsProviderTest {
+  @Test
+  @SuppressWarnings("deprecation")
+  void testClosingDeprecatedEndpointsClosesTheirComponents() throws Exception {
+    var cache = new BoundedServerCache();
+    var first = mock(View.class);
+    var second = mock(View.class);
+    cache.addView("first", first);
+    cache.addView("second", second);
+    try (var mapper = new JsonMapper(Path.of("vsum"))) {
+      var endpoints = EndpointsProvider.getAllEndpoints(mock(VirtualModel.class), mapper, cache);
+      var closeView =
+          endpoints.stream()
+              .filter(endpoint -> endpoint.path().equals(EndpointPath.VIEW))
+              .map(PathEndointCollector::deleteEndpoint)
+              .findFirst()
+              .orElseThrow();
+
+      closeView.process(request("first"));
+      verify(first).close();
+
+      endpoints.close();
+      var exception =
+          assertThrows(ServerHaltingException.class, () -> closeView.process(request("second")));
+      assertEquals(HTTP_INTERNAL_ERROR, exception.getStatusCode(), "The writer should be stopped");
+      verify(second, never()).close();
+    }
+  }
+
+  private static HttpWrapper request(String uuid) {
+    var wrapper = mock(HttpWrapper.class);
+    when(wrapper.getRequestHeader(Header.VIEW_UUID)).thenReturn(uuid);
+    return wrapper;
+  }
+}
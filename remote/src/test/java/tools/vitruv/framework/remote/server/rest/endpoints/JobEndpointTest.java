@@ -0,0 +1,164 @@
+package tools.vitruv.framework.remote.server.rest.endpoints;
+
+import static java.net.HttpURLConnection.HTTP_ACCEPTED;
+import static java.net.HttpURLConnection.HTTP_BAD_METHOD;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.vitruv.change.composite.description.VitruviusChange;
+import tools.vitruv.framework.remote.common.json.JsonMapper;
+import tools.vitruv.framework.remote.common.json.WireFormat;
+import tools.vitruv.framework.remote.common.rest.PropagationJob;
+import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.common.rest.constants.JobStatus;
+import tools.vitruv.framework.remote.common.rest.constants.ViewStatus;
+import tools.vitruv.framework.remote.server.cache.ServerCache;
+import tools.vitruv.framework.remote.server.concurrency.GroupCommitter;
+import tools.vitruv.framework.remote.server.concurrency.ModelAccessController;
+import tools.vitruv.framework.remote.server.concurrency.PropagationJobs;
+import tools.vitruv.framework.remote.server.exception.ServerHaltingException;
+import tools.vitruv.framework.remote.server.http.HttpWrapper;
+import tools.vitruv.framework.remote.server.notification.ViewEventPublisher;
+import tools.vitruv.framework.views.View;
+
+class JobEndpointTest {
+  private static final String UUID = "view";
+  private static final long TIMEOUT_MILLIS = 5000;
+
+  private final Map<String, String> headers = new HashMap<>();
+  private final VitruviusChange<?> change = mock(VitruviusChange.class);
+  private final View view = mock(View.class);
+  private ModelAccessController modelAccess;
+  private JsonMapper mapper;
+  private GroupCommitter committer;
+  private PropagationJobs jobs;
+  private ViewEventPublisher eventPublisher;
+  private HttpWrapper wrapper;
+  private ChangePropagationEndpoint propagationEndpoint;
+  private JobEndpoint jobEndpoint;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    modelAccess = new ModelAccessController(true, new SimpleMeterRegistry());
+    mapper = new JsonMapper(Path.of("vsum"));
+    var changeMapper = mock(JsonMapper.class);
+    when(changeMapper.deserialize(any(InputStream.class), eq(VitruviusChange.class), any()))
+        .thenReturn(change);
+    var cache = mock(ServerCache.class);
+    when(cache.getView(UUID)).thenReturn(view);
+    committer = mock(GroupCommitter.class);
+    jobs = new PropagationJobs();
+    eventPublisher = mock(ViewEventPublisher.class);
+    propagationEndpoint =
+        new ChangePropagationEndpoint(
+            changeMapper, cache, modelAccess, committer, jobs, eventPublisher);
+    jobEndpoint = new JobEndpoint(mapper, jobs);
+
+    wrapper = mock(HttpWrapper.class);
+    when(wrapper.getRequestHeader(Header.VIEW_UUID)).thenReturn(UUID);
+    when(wrapper.getRequestHeader(Header.PREFER)).thenReturn("wait=5, " + Header.RESPOND_ASYNC);
+    when(wrapper.getRequestBody()).thenReturn(new ByteArrayInputStream(new byte[0]));
+    doAnswer(invocation -> headers.put(invocation.getArgument(0), invocation.getArgument(1)))
+        .when(wrapper)
+        .addResponseHeader(any(), any());
+  }
+
+  @AfterEach
+  void tearDown() {
+    jobs.close();
+    modelAccess.close();
+    mapper.close();
+  }
+
+  @Test
+  void testAsynchronousPropagationIsAcceptedAndReportsSuccess() throws IOException {
+    var propagation = new CompletableFuture<Void>();
+    when(committer.submit(view, change)).thenReturn(propagation);
+
+    assertNull(propagationEndpoint.process(wrapper));
+
+    verify(wrapper).setSuccessStatusCode(HTTP_ACCEPTED);
+    var jobId = headers.get(Header.JOB_ID);
+    assertNotNull(jobId, "The job id should be returned");
+    assertEquals(new PropagationJob(jobId, JobStatus.RUNNING, null, null), query(jobId));
+
+    propagation.complete(null);
+
+    verify(eventPublisher, timeout(TIMEOUT_MILLIS)).publishPropagated(view, true);
+    assertEquals(
+        new PropagationJob(jobId, JobStatus.SUCCEEDED, ViewStatus.OPEN, null), query(jobId));
+    verify(eventPublisher).publishOutdatedViews();
+  }
+
+  @Test
+  void testAsynchronousPropagationReportsRejection() throws IOException {
+    var propagation = new CompletableFuture<Void>();
+    when(committer.submit(view, change)).thenReturn(propagation);
+    propagationEndpoint.process(wrapper);
+    var jobId = headers.get(Header.JOB_ID);
+
+    propagation.completeExceptionally(new IllegalStateException("conflict"));
+
+    verify(eventPublisher, timeout(TIMEOUT_MILLIS)).publishPropagated(view, false);
+    assertEquals(
+        new PropagationJob(jobId, JobStatus.FAILED, null, "Changes rejected: conflict"),
+        query(jobId));
+    verify(eventPublisher, never()).publishOutdatedViews();
+  }
+
+  @Test
+  void testPropagationWithoutPreferenceIsSynchronous() {
+    when(wrapper.getRequestHeader(Header.PREFER)).thenReturn(null);
+
+    propagationEndpoint.process(wrapper);
+
+    verify(committer).commit(view, change);
+    verify(wrapper, never()).setSuccessStatusCode(HTTP_ACCEPTED);
+    assertFalse(headers.containsKey(Header.JOB_ID));
+    assertEquals(ViewStatus.OPEN, headers.get(Header.VIEW_STATUS));
+  }
+
+  @Test
+  void testUnknownJobIsNotFound() {
+    var jobWrapper = mock(HttpWrapper.class);
+    when(jobWrapper.getRequestHeader(Header.JOB_ID)).thenReturn("unknown");
+
+    var exception =
+        assertThrows(ServerHaltingException.class, () -> jobEndpoint.process(jobWrapper));
+    // Like all endpoints, the job endpoint reports missing entities with RestEndpoint#notFound.
+    assertEquals(HTTP_BAD_METHOD, exception.getStatusCode());
+  }
+
+  private PropagationJob query(String jobId) throws IOException {
+    var jobWrapper = mock(HttpWrapper.class);
+    when(jobWrapper.getRequestHeader(Header.JOB_ID)).thenReturn(jobId);
+    var body = jobEndpoint.process(jobWrapper);
+    return mapper.deserialize(
+        new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+        PropagationJob.class,
+        WireFormat.JSON);
+  }
+}
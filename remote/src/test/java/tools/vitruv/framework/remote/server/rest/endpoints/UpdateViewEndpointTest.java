@@ -0,0 +1,156 @@
+package tools.vitruv.framework.remote.server.rest.endpoints;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.vitruv.change.composite.description.VitruviusChange;
+import tools.vitruv.framework.remote.common.json.JsonMapper;
+import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.server.cache.BoundedServerCache;
+import tools.vitruv.framework.remote.server.cache.CacheSettings;
+import tools.vitruv.framework.remote.server.concurrency.ModelAccessController;
+import tools.vitruv.framework.remote.server.http.HttpWrapper;
+import tools.vitruv.framework.views.View;
+import tools.vitruv.framework.views.changederivation.StateBasedChangeResolutionStrategy;
+
+class UpdateViewEndpointTest {
+  private static final String UUID = "view";
+
+  private final StateBasedChangeResolutionStrategy strategy =
+      mock(StateBasedChangeResolutionStrategy.class);
+  private final List<EObject> roots = new ArrayList<>();
+  private final ResourceSetImpl model = new ResourceSetImpl();
+  private ModelAccessController modelAccess;
+  private JsonMapper mapper;
+  private BoundedServerCache cache;
+  private UpdateViewEndpoint endpoint;
+
+  @BeforeEach
+  void setUp() {
+    var registry = new SimpleMeterRegistry();
+    modelAccess = new ModelAccessController(true, registry);
+    mapper = new JsonMapper(Path.of("vsum"));
+    cache = new BoundedServerCache(CacheSettings.defaults(), registry);
+    endpoint = new UpdateViewEndpoint(mapper, cache, modelAccess, () -> strategy);
+
+    addRoot("models/first.ecore");
+    View view = mock(View.class);
+    when(view.getRootObjects()).thenAnswer(invocation -> List.copyOf(roots));
+    cache.addView(UUID, view);
+    when(strategy.getChangeSequenceBetween(any(), any())).thenReturn(mock(VitruviusChange.class));
+  }
+
+  @AfterEach
+  void tearDown() {
+    modelAccess.close();
+    mapper.close();
+  }
+
+  @Test
+  void testUpdateWithoutVersionSendsCompleteView() {
+    var headers = update(null);
+
+    assertNotNull(headers.get(Header.VIEW_VERSION));
+    assertFalse(headers.containsKey(Header.DELTA_BASE));
+    verify(strategy, never()).getChangeSequenceBetween(any(), any());
+  }
+
+  @Test
+  void testUpdateFromSentVersionSendsDelta() {
+    var sent = update(null).get(Header.VIEW_VERSION);
+
+    var headers = update(sent);
+
+    assertEquals(sent, headers.get(Header.DELTA_BASE));
+    assertNotEquals(sent, headers.get(Header.VIEW_VERSION));
+  }
+
+  @Test
+  void testUpdateFromStaleVersionSendsCompleteView() {
+    var stale = update(null).get(Header.VIEW_VERSION);
+    update(stale);
+
+    var headers = update(stale);
+
+    assertNotNull(headers.get(Header.VIEW_VERSION));
+    assertFalse(headers.containsKey(Header.DELTA_BASE), "The client does not hold the base");
+  }
+
+  @Test
+  void testChangedResourcesSendCompleteView() {
+    var sent = update(null).get(Header.VIEW_VERSION);
+    addRoot("models/second.ecore");
+
+    var headers = update(sent);
+
+    assertFalse(headers.containsKey(Header.DELTA_BASE));
+    verify(strategy, never()).getChangeSequenceBetween(any(), any());
+  }
+
+  @Test
+  void testFailedDerivationSendsCompleteView() {
+    var sent = update(null).get(Header.VIEW_VERSION);
+    when(strategy.getChangeSequenceBetween(any(), any()))
+        .thenThrow(new IllegalStateException("unresolvable"));
+
+    var headers = update(sent);
+
+    assertFalse(headers.containsKey(Header.DELTA_BASE));
+    assertNotEquals(sent, headers.get(Header.VIEW_VERSION), "The new state is the base now");
+  }
+
+  @Test
+  void testDroppedSnapshotSendsCompleteView() {
+    var sent = update(null).get(Header.VIEW_VERSION);
+    cache.invalidateViewSnapshot(UUID);
+
+    var headers = update(sent);
+
+    assertNotNull(headers.get(Header.VIEW_VERSION));
+    assertFalse(headers.containsKey(Header.DELTA_BASE));
+  }
+
+  private void addRoot(String uri) {
+    var resource = new ResourceImpl(URI.createURI(uri));
+    model.getResources().add(resource);
+    var ePackage = EcoreFactory.eINSTANCE.createEPackage();
+    resource.getContents().add(ePackage);
+    roots.add(ePackage);
+  }
+
+  /** Updates the view held in the given version and returns the response headers. */
+  private Map<String, String> update(String clientVersion) {
+    var headers = new HashMap<String, String>();
+    var wrapper = mock(HttpWrapper.class);
+    when(wrapper.getRequestHeader(Header.VIEW_UUID)).thenReturn(UUID);
+    when(wrapper.getRequestHeader(Header.VIEW_VERSION)).thenReturn(clientVersion);
+    doAnswer(invocation -> headers.put(invocation.getArgument(0), invocation.getArgument(1)))
+        .when(wrapper)
+        .addResponseHeader(any(), any());
+
+    assertNotNull(endpoint.processStreaming(wrapper));
+    return headers;
+  }
+}
@@ -0,0 +1,102 @@
+package tools.vitruv.framework.remote.server.rest.endpoints;
+
+import static java.net.HttpURLConnection.HTTP_OK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.vitruv.framework.remote.common.rest.constants.EndpointPath;
+import tools.vitruv.framework.remote.common.rest.constants.Header;
+import tools.vitruv.framework.remote.common.rest.constants.ViewEvent;
+import tools.vitruv.framework.remote.server.cache.ServerCache;
+import tools.vitruv.framework.remote.server.concurrency.ModelAccessController;
+import tools.vitruv.framework.remote.server.http.java.VitruvJavaHttpServer;
+import tools.vitruv.framework.remote.server.notification.ViewEventPublisher;
+import tools.vitruv.framework.remote.server.rest.GetEndpoint;
+import tools.vitruv.framework.remote.server.rest.PathEndointCollector;
+import tools.vitruv.framework.views.View;
+
+class ViewEventsEndpointTest {
+  private static final long TIMEOUT_SECONDS = 5;
+
+  private ModelAccessController modelAccess;
+  private ViewEventPublisher publisher;
+  private VitruvJavaHttpServer server;
+  private HttpClient client;
+
+  @BeforeEach
+  void startServer() throws IOException {
+    var registry = new SimpleMeterRegistry();
+    modelAccess = new ModelAccessController(true, registry);
+    publisher = new ViewEventPublisher(modelAccess, registry);
+    var cache = mock(ServerCache.class);
+    when(cache.getView("view")).thenReturn(mock(View.class));
+    GetEndpoint viewTypes = wrapper -> "[]";
+    var endpoints =
+        List.of(
+            new PathEndointCollector(
+                EndpointPath.VIEW_EVENTS,
+                new ViewEventsEndpoint(cache, publisher, Duration.ofMillis(100)),
+                null,
+                null,
+                null,
+                null),
+            new PathEndointCollector(EndpointPath.VIEW_TYPES, viewTypes, null, null, null, null));
+    // Processes requests on the dispatcher thread, as configured by default.
+    server = new VitruvJavaHttpServer("localhost", 0, endpoints);
+    server.start();
+    client = HttpClient.newHttpClient();
+  }
+
+  @AfterEach
+  void stopServer() {
+    publisher.close();
+    server.stop();
+    client.close();
+    modelAccess.close();
+  }
+
+  @Test
+  void testOpenEventStreamDoesNotBlockFurtherRequests() throws Exception {
+    var events =
+        client.send(
+            HttpRequest.newBuilder(uri(EndpointPath.VIEW_EVENTS))
+                .header(Header.VIEW_UUID, "view")
+                .GET()
+                .build(),
+            BodyHandlers.ofInputStream());
+    try (var reader =
+        new BufferedReader(new InputStreamReader(events.body(), StandardCharsets.UTF_8))) {
+      assertEquals("event: " + ViewEvent.OUTDATED, reader.readLine());
+
+      var response =
+          client
+              .sendAsync(
+                  HttpRequest.newBuilder(uri(EndpointPath.VIEW_TYPES)).GET().build(),
+                  BodyHandlers.ofString())
+              .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+      assertEquals(HTTP_OK, response.statusCode());
+      assertEquals("[]", response.body());
+    }
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://localhost:" + server.getPort() + path);
+  }
+}
@@ -0,0 +1,68 @@
+package tools.vitruv.framework.remote.server.rest.endpoints;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.vitruv.framework.remote.common.json.JsonMapper;
+import tools.vitruv.framework.remote.common.json.WireFormat;
+import tools.vitruv.framework.remote.server.cache.ViewPayload;
+
+class ViewPayloadWriterTest {
+  private static final byte[] SERIALIZED =
+      "[{\"uri\":\"a.json\"}]".getBytes(StandardCharsets.UTF_8);
+
+  private JsonMapper mapper;
+  private ResourceSet resources;
+  private final AtomicReference<ViewPayload> stored = new AtomicReference<>();
+
+  @BeforeEach
+  void setUp() throws Exception {
+    mapper = mock(JsonMapper.class);
+    resources = mock(ResourceSet.class);
+    doAnswer(
+            invocation -> {
+              OutputStream out = invocation.getArgument(1);
+              out.write(SERIALIZED, 0, 5);
+              out.write(SERIALIZED[5]);
+              out.write(SERIALIZED, 6, SERIALIZED.length - 6);
+              return null;
+            })
+        .when(mapper)
+        .serialize(eq(resources), any(OutputStream.class), eq(WireFormat.JSON));
+  }
+
+  @Test
+  void testPayloadWithinLimitIsWrittenAndStored() throws Exception {
+    var body = new ByteArrayOutputStream();
+
+    new ViewPayloadWriter(mapper, WireFormat.JSON, resources, SERIALIZED.length, stored::set)
+        .writeTo(body);
+
+    assertArrayEquals(SERIALIZED, body.toByteArray());
+    assertSame(resources, stored.get().resources());
+    assertArrayEquals(SERIALIZED, stored.get().serialized());
+  }
+
+  @Test
+  void testPayloadExceedingLimitIsWrittenButNotStored() throws Exception {
+    var body = new ByteArrayOutputStream();
+
+    new ViewPayloadWriter(mapper, WireFormat.JSON, resources, SERIALIZED.length - 1, stored::set)
+        .writeTo(body);
+
+    assertArrayEquals(SERIALIZED, body.toByteArray());
+    assertNull(stored.get());
+  }
+}